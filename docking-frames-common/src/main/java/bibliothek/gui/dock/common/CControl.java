@@ -258,6 +258,12 @@ public class CControl {
      */
     private final Map<CDockable, CDockableAccess> accesses = new HashMap<>();
 
+    /**
+     * all the {@link MultipleCDockable}s accessible by the unique identifier stored in their
+     * {@link CDockableAccess}, this is the identifier created by {@link CControlRegister#toMultiId(String)}
+     */
+    private final Map<String, MultipleCDockable> multipleDockablesById = new HashMap<>();
+
     /**
      * a manager allowing the user to change the extended-state of some {@link CDockable}s
      */
@@ -1854,12 +1860,7 @@ CControl.class.getClassLoader()));
      * @return the element with that identifier or <code>null</code>
      */
     public SingleCDockable getSingleDockable(String id) {
-        for (SingleCDockable dockable : register.getSingleDockables()) {
-            if (dockable.getUniqueId().equals(id)) {
-                return dockable;
-            }
-        }
-        return null;
+        return register.getSingleDockable(id);
     }
 
     /**
@@ -1870,10 +1871,9 @@ CControl.class.getClassLoader()));
      * otherwise
      */
     public boolean removeSingleDockable(String id) {
-        for (SingleCDockable dockable : register.getSingleDockables()) {
-            if (dockable.getUniqueId().equals(id)) {
-                return removeDockable(dockable);
-            }
+        SingleCDockable dockable = register.getSingleDockable(id);
+        if (dockable != null) {
+            return removeDockable(dockable);
         }
         return false;
     }
@@ -2053,8 +2053,6 @@ CControl.class.getClassLoader()));
       *                                  {@link #addMultipleDockableFactory(String, MultipleCDockableFactory)}).
      */
     public <M extends MultipleCDockable> M addDockable(M dockable) {
-        Set<String> ids = new HashSet<>();
-
         String factoryId;
         MultipleCDockableFactory<?, ?> factory = dockable.getFactory();
         if (factory == null) {
@@ -2068,15 +2066,9 @@ CControl.class.getClassLoader()));
         }
 
 
-        for (MultipleCDockable multi : register.getMultipleDockables()) {
-            if (factoryId.equals(access.getFactoryId(multi.getFactory()))) {
-                ids.add(accesses.get(multi).getUniqueId());
-            }
-        }
-
         int count = 0;
         String id = count + " " + factoryId;
-        while (ids.contains(register.toMultiId(id))) {
+        while (multipleDockablesById.containsKey(register.toMultiId(id))) {
             count++;
             id = count + " " + factoryId;
         }
@@ -2118,15 +2110,13 @@ CControl.class.getClassLoader()));
 
         uniqueId = register.toMultiId(uniqueId);
 
-        for (MultipleCDockable multi : register.getMultipleDockables()) {
-            String id = accesses.get(multi).getUniqueId();
-            if (uniqueId.equals(id)) {
-                throw new IllegalArgumentException("The unique identifier is already in use: " + uniqueId);
-            }
+        if (multipleDockablesById.containsKey(uniqueId)) {
+            throw new IllegalArgumentException("The unique identifier is already in use: " + uniqueId);
         }
 
         dockable.setControlAccess(access);
         accesses.get(dockable).setUniqueId(uniqueId);
+        multipleDockablesById.put(uniqueId, dockable);
 
         frontend.addDockable(uniqueId, dockable.intern());
         frontend.setHideable(dockable.intern(), true);
@@ -2197,13 +2187,7 @@ CControl.class.getClassLoader()));
      * was found
      */
     public MultipleCDockable getMultipleDockable(String id) {
-        id = register.toMultiId(id);
-        for (MultipleCDockable dockable : register.getMultipleDockables()) {
-            if (accesses.get(dockable).getUniqueId().equals(id)) {
-                return dockable;
-            }
-        }
-        return null;
+        return multipleDockablesById.get(register.toMultiId(id));
     }
 
     /**
@@ -2261,10 +2245,8 @@ CControl.class.getClassLoader()));
 
         String multiId = register.toMultiId(uniqueId);
 
-        for (MultipleCDockable multi : register.getMultipleDockables()) {
-            if (accesses.get(multi).getUniqueId().equals(multiId)) {
-                return false;
-            }
+        if (multipleDockablesById.containsKey(multiId)) {
+            return false;
         }
 
         String factoryId = access.getFactoryId(factory);
@@ -2284,10 +2266,12 @@ CControl.class.getClassLoader()));
         }
 
         if (dockable.getControl() == this) {
+            String uniqueId = accesses.get(dockable).getUniqueId();
             dockable.setVisible(false);
             frontend.remove(dockable.intern());
 
             register.removeMultipleDockable(dockable);
+            multipleDockablesById.remove(uniqueId, dockable);
 
             dockable.setControlAccess(null);
 
@@ -2559,6 +2543,30 @@ CControl.class.getClassLoader()));
         return frontend.getOwner();
     }
 
+    /**
+     * Sets the format which is used to write layouts into byte streams, e.g. by {@link #write(DataOutputStream)}.
+     * The default is {@link Version#VERSION_1_0_8}, which can be read by older versions of this library.
+     * {@link Version#VERSION_1_1_2} is more compact, but can only be read by this or newer versions.
+     * Both formats can always be read.
+     *
+     * @param format the new format, either {@link Version#VERSION_1_0_8} or {@link Version#VERSION_1_1_2}
+     * @throws IllegalArgumentException if <code>format</code> is not supported
+     * @see DockFrontend#setLayoutStreamFormat(Version)
+     */
+    public void setLayoutStreamFormat(Version format) {
+        frontend.setLayoutStreamFormat(format);
+    }
+
+    /**
+     * Gets the format which is used to write layouts into byte streams.
+     *
+     * @return the format
+     * @see #setLayoutStreamFormat(Version)
+     */
+    public Version getLayoutStreamFormat() {
+        return frontend.getLayoutStreamFormat();
+    }
+
     /**
      * Gets the storage container for {@link PreferenceModel}s for this control.
      * The contents of this container are stored in the
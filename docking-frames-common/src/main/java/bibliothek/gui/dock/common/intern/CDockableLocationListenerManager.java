@@ -25,10 +25,12 @@
  */
 package bibliothek.gui.dock.common.intern;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.common.CLocation;
 import bibliothek.gui.dock.common.event.CDockableLocationEvent;
 import bibliothek.gui.dock.common.event.CDockableLocationListener;
+import bibliothek.gui.dock.dockable.DockableStateEvent;
 import bibliothek.gui.dock.dockable.DockableStateListener;
 import bibliothek.util.FrameworkOnly;
 
@@ -74,6 +76,14 @@ public class CDockableLocationListenerManager {
      */
     private final DockableStateListener dockableListener = event -> check();
 
+    /**
+     * executes a delayed check, posted by {@link #check()}
+     */
+    private final Runnable delayedCheck = () -> {
+        delayed = false;
+        checkNow();
+    };
+
     /**
      * Creates a new manager
      *
@@ -100,13 +110,21 @@ public class CDockableLocationListenerManager {
         }
     }
 
+    /**
+     * Schedules a check of the location of {@link #dockable}. The check is executed by the
+     * {@link DockController#getEventCoalescer() coalescer} after all pending {@link DockableStateEvent}s
+     * were fired, hence the location is computed only once per batch of events.
+     */
     private void check() {
         if (!delayed) {
             delayed = true;
-            EventQueue.invokeLater(() -> {
-                delayed = false;
-                checkNow();
-            });
+            Dockable intern = dockable.intern();
+            DockController controller = intern.getController();
+            if (controller == null) {
+                EventQueue.invokeLater(delayedCheck);
+            } else {
+                controller.getEventCoalescer().postCheck(intern, delayedCheck);
+            }
         }
     }
 
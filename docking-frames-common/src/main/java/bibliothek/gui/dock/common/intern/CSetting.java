@@ -34,6 +34,8 @@ import bibliothek.gui.dock.support.mode.ModeSettings;
 import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -82,6 +84,18 @@ public class CSetting extends Setting {
         modes.writeXML(element.addElement("modes"));
     }
 
+    @Override
+    public void writeXML(DockSituation situation, PropertyTransformer transformer, boolean entry, XStreamWriter out)
+            throws IOException {
+        out.startElement("base");
+        super.writeXML(situation, transformer, entry, out);
+        out.endElement();
+
+        XElement xmodes = new XElement("modes");
+        modes.writeXML(xmodes);
+        out.addElement(xmodes);
+    }
+
     @Override
     public void read(DockSituation situation, PropertyTransformer transformer, boolean entry, DataInputStream in) throws IOException {
 
@@ -111,4 +125,15 @@ public class CSetting extends Setting {
         super.readXML(situation, transformer, entry, element.getElement("base"));
         modes.readXML(element.getElement("modes"));
     }
+
+    @Override
+    public void readXML(DockSituation situation, PropertyTransformer transformer, boolean entry, XStreamReader in) {
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "base" -> super.readXML(situation, transformer, entry, in);
+                case "modes" -> modes.readXML(in.readElement());
+                default -> in.skip();
+            }
+        }
+    }
 }
@@ -80,6 +80,11 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     private final List<SingleCDockable> singleDockables =
             new ArrayList<>();
 
+    /**
+     * all {@link SingleCDockable}s accessible by their {@link SingleCDockable#getUniqueId() unique identifier}
+     */
+    private final Map<String, SingleCDockable> singleDockablesById = new HashMap<>();
+
     /**
      * the set of {@link MultipleCDockable}s
      */
@@ -287,15 +292,11 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     public void addSingleDockable(SingleCDockable dockable) {
         dockables.add(dockable);
         singleDockables.add(dockable);
+        singleDockablesById.put(dockable.getUniqueId(), dockable);
     }
 
     public SingleCDockable getSingleDockable(String id) {
-        for (SingleCDockable dockable : singleDockables) {
-            if (dockable.getUniqueId().equals(id)) {
-                return dockable;
-            }
-        }
-        return null;
+        return singleDockablesById.get(id);
     }
 
     public void addStation(CStation<?> station) {
@@ -388,6 +389,7 @@ public class DefaultCControlRegister implements MutableCControlRegister {
     public boolean removeSingleDockable(SingleCDockable dockable) {
         if (dockables.remove(dockable)) {
             singleDockables.remove(dockable);
+            singleDockablesById.remove(dockable.getUniqueId(), dockable);
             return true;
         }
         return false;
@@ -64,7 +64,7 @@ public class DockableCollector implements ComponentCollector {
             set.add(dockable.getComponent());
         }
 
-        for (Dockable dockable : frontend.getController().getRegister().listDockables()) {
+        for (Dockable dockable : frontend.getController().getRegister().getDockables()) {
             set.add(dockable.getComponent());
         }
 
@@ -0,0 +1,144 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link CControl} finds its {@link SingleCDockable}s and {@link MultipleCDockable}s by their
+ * identifier while dockables are added, removed and replaced.
+ *
+ * @author Benjamin Sigg
+ */
+public class CControlDockableLookupTest {
+    private CControl control;
+    private Factory factory;
+
+    @BeforeEach
+    public void setUp() {
+        control = new CControl();
+        factory = new Factory();
+        control.addMultipleDockableFactory("factory", factory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        control.destroy();
+    }
+
+    @Test
+    public void multipleDockablesAreFoundById() {
+        DefaultMultipleCDockable a = control.addDockable("a", factory.createDockable());
+        DefaultMultipleCDockable b = control.addDockable("b", factory.createDockable());
+
+        assertSame(a, control.getMultipleDockable("a"));
+        assertSame(b, control.getMultipleDockable("b"));
+        assertNull(control.getMultipleDockable("c"));
+        assertEquals("a", control.getUniqueId(a));
+
+        assertThrows(IllegalArgumentException.class, () -> control.addDockable("a", factory.createDockable()));
+        assertSame(a, control.getMultipleDockable("a"));
+    }
+
+    @Test
+    public void removedIdCanBeReused() {
+        DefaultMultipleCDockable a = control.addDockable("a", factory.createDockable());
+        control.removeDockable(a);
+        assertNull(control.getMultipleDockable("a"));
+        assertNull(a.getControl());
+
+        DefaultMultipleCDockable reused = control.addDockable("a", factory.createDockable());
+        assertSame(reused, control.getMultipleDockable("a"));
+        assertEquals(1, control.getRegister().getMultipleDockables().size());
+    }
+
+    @Test
+    public void generatedIdsAreUniqueAndReused() {
+        DefaultMultipleCDockable first = control.addDockable(factory.createDockable());
+        DefaultMultipleCDockable second = control.addDockable(factory.createDockable());
+
+        String firstId = control.getUniqueId(first);
+        String secondId = control.getUniqueId(second);
+        assertNotEquals(firstId, secondId);
+        assertSame(first, control.getMultipleDockable(firstId));
+        assertSame(second, control.getMultipleDockable(secondId));
+
+        control.removeDockable(first);
+        DefaultMultipleCDockable third = control.addDockable(factory.createDockable());
+        assertEquals(firstId, control.getUniqueId(third));
+        assertSame(third, control.getMultipleDockable(firstId));
+        assertSame(second, control.getMultipleDockable(secondId));
+    }
+
+    @Test
+    public void replaceUpdatesLookup() {
+        DefaultMultipleCDockable oldDockable = control.addDockable("a", factory.createDockable());
+        DefaultMultipleCDockable newDockable = factory.createDockable();
+
+        control.replace(oldDockable, newDockable);
+        assertSame(newDockable, control.getMultipleDockable("a"));
+        assertEquals("a", control.getUniqueId(newDockable));
+        assertNull(oldDockable.getControl());
+
+        control.removeDockable(newDockable);
+        assertNull(control.getMultipleDockable("a"));
+
+        DefaultMultipleCDockable reused = control.addDockable("a", factory.createDockable());
+        assertSame(reused, control.getMultipleDockable("a"));
+    }
+
+    @Test
+    public void singleDockablesAreFoundById() {
+        DefaultSingleCDockable a = control.addDockable(new DefaultSingleCDockable("a"));
+        DefaultSingleCDockable b = control.addDockable(new DefaultSingleCDockable("b"));
+
+        assertSame(a, control.getSingleDockable("a"));
+        assertSame(b, control.getSingleDockable("b"));
+        assertNull(control.getSingleDockable("c"));
+
+        assertTrue(control.removeSingleDockable("a"));
+        assertFalse(control.removeSingleDockable("a"));
+        assertNull(control.getSingleDockable("a"));
+        assertSame(b, control.getSingleDockable("b"));
+
+        DefaultSingleCDockable reused = control.addDockable(new DefaultSingleCDockable("a"));
+        assertSame(reused, control.getSingleDockable("a"));
+
+        control.removeDockable(b);
+        assertNull(control.getSingleDockable("b"));
+    }
+
+    private static class Factory extends EmptyMultipleCDockableFactory<DefaultMultipleCDockable> {
+        @Override
+        public DefaultMultipleCDockable createDockable() {
+            return new DefaultMultipleCDockable(this);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package bibliothek.test.layout;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGrid;
+import bibliothek.gui.dock.common.CWorkingArea;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.EmptyMultipleCDockableFactory;
+import bibliothek.util.xml.XElement;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Measures how long it takes to restore a layout with an increasing number of {@link DefaultMultipleCDockable}s.
+ * The time per dockable should remain roughly the same for all sizes.
+ */
+public class MultipleDockableRestoreBenchmark {
+    private static final int[] SIZES = {100, 200, 400, 800, 1600};
+
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(() -> {
+            // warm up
+            measure(SIZES[0]);
+
+            for (int size : SIZES) {
+                long time = measure(size);
+                System.out.printf("%6d dockables: %6d ms, %6.3f ms per dockable%n", size, time, time / (double) size);
+            }
+        });
+        System.exit(0);
+    }
+
+    private static long measure(int size) {
+        CControl control = new CControl();
+        Factory factory = new Factory();
+        control.addMultipleDockableFactory("benchmark", factory);
+        CWorkingArea area = control.createWorkingArea("benchmark area");
+
+        CGrid grid = new CGrid(control);
+        for (int i = 0; i < size; i++) {
+            DefaultMultipleCDockable dockable = factory.createDockable();
+            control.addDockable("dockable " + i, dockable);
+            grid.add(i % 10, i / 10, 1, 1, dockable);
+        }
+        area.deploy(grid);
+
+        XElement layout = new XElement("layout");
+        control.writeXML(layout);
+
+        for (int i = 0; i < size; i++) {
+            control.removeDockable(control.getMultipleDockable("dockable " + i));
+        }
+
+        long start = System.currentTimeMillis();
+        control.readXML(layout);
+        long time = System.currentTimeMillis() - start;
+
+        if (control.getRegister().getMultipleDockables().size() != size) {
+            throw new IllegalStateException("layout was not restored completely");
+        }
+
+        control.destroy();
+        return time;
+    }
+
+    private static class Factory extends EmptyMultipleCDockableFactory<DefaultMultipleCDockable> {
+        @Override
+        public DefaultMultipleCDockable createDockable() {
+            return new DefaultMultipleCDockable(this);
+        }
+    }
+}
@@ -29,6 +29,8 @@ import bibliothek.util.Path;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -108,6 +110,34 @@ public class PreferenceStorage {
         storage.load(model, true);
     }
 
+    /**
+     * Writes the preferences of <code>model</code> as children of the current element
+     * of <code>out</code>.
+     *
+     * @param model the model to store
+     * @param out   the writer, the attributes of its current element will not be changed
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public static void writeXML(PreferenceModel model, XStreamWriter out) throws IOException {
+        PreferenceStorage storage = new PreferenceStorage();
+        storage.store(model);
+        storage.writeXML(out);
+    }
+
+    /**
+     * Reads some preferences from the current element of <code>in</code> and stores them in
+     * <code>model</code>.
+     *
+     * @param model the model to write into
+     * @param in    the reader pointing to the element to read, the element is finished afterwards
+     * @throws XException if the content of <code>in</code> is incorrect
+     */
+    public static void readXML(PreferenceModel model, XStreamReader in) {
+        PreferenceStorage storage = new PreferenceStorage();
+        storage.readXML(in);
+        storage.load(model, true);
+    }
+
     /**
      * the available factories
      */
@@ -319,6 +349,75 @@ public class PreferenceStorage {
         }
     }
 
+    /**
+     * Writes the contents of this storage as children of the current element of <code>out</code>. The
+     * output is the same as the output of {@link #writeXML(XElement)}.
+     *
+     * @param out the writer, the attributes of its current element will not be changed
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeXML(XStreamWriter out) throws IOException {
+        writeXML(root, out);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeXML(Node node, XStreamWriter out) throws IOException {
+        Path type = node.getType();
+        Object value = node.getValue();
+        if (type != null && value != null) {
+            PreferenceFactory factory = factories.get(type);
+            if (factory != null) {
+                XElement xvalue = new XElement("value");
+                xvalue.addString("type", type.toString());
+                factory.writeXML(value, xvalue);
+                out.addElement(xvalue);
+            }
+        }
+
+        int size = node.getChildrenCount();
+        for (int i = 0; i < size; i++) {
+            Node child = node.getChild(i);
+            out.startElement("child");
+            out.addString("name", child.getName());
+            writeXML(child, out);
+            out.endElement();
+        }
+    }
+
+    /**
+     * Reads the contents of this storage from the current element of <code>in</code>. Behaves
+     * like {@link #readXML(XElement)}, but only the single values are materialized as
+     * {@link XElement}s.
+     *
+     * @param in the reader pointing to the element to read, the element is finished afterwards
+     * @throws XException if the content of <code>in</code> is not correct
+     */
+    public void readXML(XStreamReader in) {
+        readXML(root, in);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readXML(Node node, XStreamReader in) {
+        node.put(null, null);
+
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "value" -> {
+                    XElement xvalue = in.readElement();
+                    Path type = new Path(xvalue.getString("type"));
+                    PreferenceFactory factory = factories.get(type);
+                    node.put(type, factory == null ? null : factory.readXML(xvalue));
+                }
+                case "child" -> {
+                    String name = in.getString("name");
+                    Node child = node.getNode(new Path(name), true);
+                    readXML(child, in);
+                }
+                default -> in.skip();
+            }
+        }
+    }
+
     /**
      * Reads the contents of this storage from <code>element</code>.  Note that this
      * method does not clear the storage, if there are values in this storage that are not
@@ -171,6 +171,7 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle {
     @Override
     public void bind() {
         super.bind();
+        animation.setController(getDockable().getController());
         animation.kick();
     }
 
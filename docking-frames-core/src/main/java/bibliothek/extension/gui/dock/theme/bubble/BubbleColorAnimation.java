@@ -26,7 +26,9 @@
 
 package bibliothek.extension.gui.dock.theme.bubble;
 
-import javax.swing.*;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.AnimationClock;
+
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,7 +42,8 @@ import java.util.Map;
  * can call {@link #getColor(String)} any time to get the current intermediate color. Adding a
  * {@link #addTask(Runnable) task}
  * will allow a client to be informed whenever the colors change.<br>
- * The animation itself takes {@link #setDuration(int) duration} milliseconds.
+ * The animation itself takes {@link #setDuration(int) duration} milliseconds and is driven
+ * by an {@link AnimationClock}.
  *
  * @author Benjamin Sigg
  */
@@ -55,9 +58,14 @@ public class BubbleColorAnimation {
      */
     private final Map<String, Entry> colors = new HashMap<>();
     /**
-     * The timer that triggers steps of the animation
+     * The clock that triggers steps of the animation
      */
-    private final Timer timer;
+    private AnimationClock clock = AnimationClock.getDefault();
+
+    /**
+     * The callback registered at {@link #clock}
+     */
+    private final AnimationClock.Animation ticker = now -> pulse();
     /**
      * The current time in milliseconds
      */
@@ -72,8 +80,35 @@ public class BubbleColorAnimation {
      * Creates a new animation.
      */
     public BubbleColorAnimation() {
-        timer = new Timer(25, e -> pulse());
-        timer.setCoalesce(true);
+        // nothing
+    }
+
+    /**
+     * Sets the clock which drives this animation. A running animation is moved to the new clock.
+     *
+     * @param clock the new clock, <code>null</code> to use the {@link AnimationClock#getDefault() default clock}
+     */
+    public void setClock(AnimationClock clock) {
+        if (clock == null) {
+            clock = AnimationClock.getDefault();
+        }
+        if (this.clock != clock) {
+            if (this.clock.isRunning(ticker)) {
+                this.clock.stop(ticker);
+                clock.start(ticker);
+            }
+            this.clock = clock;
+        }
+    }
+
+    /**
+     * Uses the {@link DockController#getAnimationClock() clock} of <code>controller</code> to drive
+     * this animation.
+     *
+     * @param controller the controller, can be <code>null</code>
+     */
+    public void setController(DockController controller) {
+        setClock(controller == null ? null : controller.getAnimationClock());
     }
 
     /**
@@ -173,14 +208,14 @@ public class BubbleColorAnimation {
      * in an unfinished state.
      */
     public void stop() {
-        timer.stop();
+        clock.stop(ticker);
     }
 
     /**
      * Immediately puts all colors to their final state and stops the animation.
      */
     public void kick() {
-        if (timer.isRunning()) {
+        if (clock.isRunning(ticker)) {
             stop();
             for (Entry entry : colors.values()) {
                 entry.kick();
@@ -196,9 +231,9 @@ public class BubbleColorAnimation {
      * Starts the animation if it is not yet running.
      */
     protected void start() {
-        if (!timer.isRunning()) {
+        if (!clock.isRunning(ticker)) {
             time = System.currentTimeMillis();
-            timer.start();
+            clock.start(ticker);
         }
     }
 
@@ -216,7 +251,7 @@ public class BubbleColorAnimation {
         }
 
         if (!run) {
-            timer.stop();
+            stop();
         }
 
         for (Runnable task : tasks) {
@@ -480,6 +480,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 
 
         checkAnimation();
+        animation.setController(controller);
         animation.kick();
     }
 
@@ -243,6 +243,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable {
             color.connect(controller);
         }
 
+        animation.setController(controller);
         animation.kick();
     }
 
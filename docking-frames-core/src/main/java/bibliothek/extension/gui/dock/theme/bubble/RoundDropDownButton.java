@@ -232,6 +232,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
             color.connect(controller);
         }
 
+        animation.setController(controller);
         animation.kick();
     }
 
@@ -14,6 +14,7 @@ import bibliothek.gui.dock.station.stack.tab.TabConfiguration;
 import bibliothek.gui.dock.station.stack.tab.layouting.TabPlacement;
 import bibliothek.gui.dock.title.*;
 import bibliothek.gui.dock.title.DockTitle.Orientation;
+import bibliothek.util.ListenerList;
 
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -22,8 +23,6 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * A {@link DockTitleTab} is a wrapper around an ordinary {@link DockTitle}
@@ -112,11 +111,12 @@ public class DockTitleTab implements TabComponent, EclipseTabStateInfo {
     /**
      * MouseListeners of this tab
      */
-    private final List<MouseListener> mouseListeners = new ArrayList<>();
+    private final ListenerList<MouseListener> mouseListeners = new ListenerList<>(MouseListener[]::new);
     /**
      * MouseMotionListeners of this tab
      */
-    private final List<MouseMotionListener> mouseMotionListeners = new ArrayList<>();
+    private final ListenerList<MouseMotionListener> mouseMotionListeners =
+            new ListenerList<>(MouseMotionListener[]::new);
 
     /**
      * whether this tab is currently focused
@@ -136,43 +136,43 @@ public class DockTitleTab implements TabComponent, EclipseTabStateInfo {
      */
     private final MouseInputListener mouseListener = new MouseInputListener() {
         public void mouseClicked(MouseEvent e) {
-            for (MouseListener m : mouseListeners.toArray(new MouseListener[0])) {
+            for (MouseListener m : mouseListeners.toArray()) {
                 m.mouseClicked(e);
             }
         }
 
         public void mouseEntered(MouseEvent e) {
-            for (MouseListener m : mouseListeners.toArray(new MouseListener[0])) {
+            for (MouseListener m : mouseListeners.toArray()) {
                 m.mouseEntered(e);
             }
         }
 
         public void mouseExited(MouseEvent e) {
-            for (MouseListener m : mouseListeners.toArray(new MouseListener[0])) {
+            for (MouseListener m : mouseListeners.toArray()) {
                 m.mouseExited(e);
             }
         }
 
         public void mousePressed(MouseEvent e) {
-            for (MouseListener m : mouseListeners.toArray(new MouseListener[0])) {
+            for (MouseListener m : mouseListeners.toArray()) {
                 m.mousePressed(e);
             }
         }
 
         public void mouseReleased(MouseEvent e) {
-            for (MouseListener m : mouseListeners.toArray(new MouseListener[0])) {
+            for (MouseListener m : mouseListeners.toArray()) {
                 m.mouseReleased(e);
             }
         }
 
         public void mouseDragged(MouseEvent e) {
-            for (MouseMotionListener m : mouseMotionListeners.toArray(new MouseMotionListener[0])) {
+            for (MouseMotionListener m : mouseMotionListeners.toArray()) {
                 m.mouseDragged(e);
             }
         }
 
         public void mouseMoved(MouseEvent e) {
-            for (MouseMotionListener m : mouseMotionListeners.toArray(new MouseMotionListener[0])) {
+            for (MouseMotionListener m : mouseMotionListeners.toArray()) {
                 m.mouseMoved(e);
             }
         }
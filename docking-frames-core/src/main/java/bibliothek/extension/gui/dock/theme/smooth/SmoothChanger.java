@@ -26,7 +26,9 @@
 
 package bibliothek.extension.gui.dock.theme.smooth;
 
-import javax.swing.*;
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.AnimationClock;
+
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -35,7 +37,8 @@ import java.awt.event.ActionListener;
  * or in the other direction. This class contains an array of states: one state is
  * counted upwards (the {@link #destination()}), all the other states are counted
  * downwards. Clients can use this class to smoothly switch between different states.<br>
- * This class works on the EDT, no new threads are created.
+ * This class works on the EDT, no new threads are created. The transitions are driven
+ * by an {@link AnimationClock}.
  *
  * @author Benjamin Sigg
  */
@@ -56,9 +59,14 @@ public abstract class SmoothChanger implements ActionListener {
     private int duration;
 
     /**
-     * a timer which pulses this changer
+     * the clock which pulses this changer
      */
-    private final Timer timer;
+    private AnimationClock clock = AnimationClock.getDefault();
+
+    /**
+     * the callback registered at {@link #clock}
+     */
+    private final AnimationClock.Animation ticker = now -> actionPerformed(null);
 
     /**
      * Constructor, sets {@link #setDuration(int) duration} to 250 milliseconds.
@@ -78,10 +86,37 @@ public abstract class SmoothChanger implements ActionListener {
      */
     public SmoothChanger(int duration, int states) {
         this.duration = duration;
-        timer = new Timer(15, this);
         current = new int[states];
     }
 
+    /**
+     * Sets the clock which drives this changer. A running transition is moved to the new clock.
+     *
+     * @param clock the new clock, <code>null</code> to use the {@link AnimationClock#getDefault() default clock}
+     */
+    public void setClock(AnimationClock clock) {
+        if (clock == null) {
+            clock = AnimationClock.getDefault();
+        }
+        if (this.clock != clock) {
+            if (this.clock.isRunning(ticker)) {
+                this.clock.stop(ticker);
+                clock.start(ticker);
+            }
+            this.clock = clock;
+        }
+    }
+
+    /**
+     * Uses the {@link DockController#getAnimationClock() clock} of <code>controller</code> to drive
+     * this changer.
+     *
+     * @param controller the controller, can be <code>null</code>
+     */
+    public void setController(DockController controller) {
+        setClock(controller == null ? null : controller.getAnimationClock());
+    }
+
     /**
      * The direction of the change. The counter of for the state
      * <code>destination()</code> will always rise, while the other
@@ -125,7 +160,7 @@ public abstract class SmoothChanger implements ActionListener {
      * @return <code>true</code> if active, <code>false</code> if not
      */
     public boolean isRunning() {
-        return timer.isRunning();
+        return clock.isRunning(ticker);
     }
 
     /**
@@ -142,7 +177,7 @@ public abstract class SmoothChanger implements ActionListener {
      * Starts a transition
      */
     public void trigger() {
-        timer.start();
+        clock.start(ticker);
         last = System.currentTimeMillis();
     }
 
@@ -165,7 +200,7 @@ public abstract class SmoothChanger implements ActionListener {
         }
 
         if (!incomplete) {
-            timer.stop();
+            clock.stop(ticker);
         }
 
         repaint(current);
@@ -82,6 +82,12 @@ public class SmoothDefaultButtonTitle extends BasicButtonDockTitle {
     }
 
 
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController(getDockable().getController());
+    }
+
     @Override
     public void setActive(boolean active) {
         super.setActive(active);
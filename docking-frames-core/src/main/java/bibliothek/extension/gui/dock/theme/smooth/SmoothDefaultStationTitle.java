@@ -68,6 +68,12 @@ public class SmoothDefaultStationTitle extends BasicStationTitle {
         }
     };
 
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController(getDockable().getController());
+    }
+
     @Override
     public void setActive(boolean active) {
         super.setActive(active);
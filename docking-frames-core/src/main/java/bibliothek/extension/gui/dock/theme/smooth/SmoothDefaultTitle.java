@@ -101,6 +101,12 @@ public class SmoothDefaultTitle extends BasicDockTitle {
         changer.setDuration(duration);
     }
 
+    @Override
+    public void bind() {
+        super.bind();
+        changer.setController(getDockable().getController());
+    }
+
     @Override
     public void setActive(boolean active) {
         super.setActive(active);
@@ -55,6 +55,7 @@ import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.text.DefaultTextScheme;
 import bibliothek.gui.dock.util.text.TextBridge;
 import bibliothek.gui.dock.util.text.TextValue;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Version;
@@ -106,6 +107,10 @@ public class DockController {
      * the known dockables and DockStations
      */
     private DockRegister register;
+    /**
+     * collects delayed events of the {@link Dockable}s and executes them in batches
+     */
+    private DockableEventCoalescer eventCoalescer;
     /**
      * the known {@link Component}s in the realm of this controller
      */
@@ -134,11 +139,13 @@ public class DockController {
     /**
      * Listeners observing the selected {@link Dockable}s
      */
-    private final List<DockableSelectionListener> dockableSelectionListeners = new ArrayList<>();
+    private final ListenerList<DockableSelectionListener> dockableSelectionListeners =
+            new ListenerList<>(DockableSelectionListener[]::new);
     /**
      * Listeners observing the bound-state of {@link DockTitle}s
      */
-    private final List<DockTitleBindingListener> dockTitleBindingListeners = new ArrayList<>();
+    private final ListenerList<DockTitleBindingListener> dockTitleBindingListeners =
+            new ListenerList<>(DockTitleBindingListener[]::new);
 
     /**
      * a special controller listening to AWT-events and changing the focused dockable
@@ -235,6 +242,10 @@ public class DockController {
      * a theme describing the look of the stations
      */
     private ThemeManager theme;
+    /**
+     * the clock driving all the animations of the theme
+     */
+    private final AnimationClock animationClock = new AnimationClock();
     /**
      * a set of properties
      */
@@ -250,11 +261,22 @@ public class DockController {
      */
     private final Map<Component, DockElementRepresentative> componentToDockElements =
             new HashMap<>();
+    /**
+     * the same representatives as in {@link #componentToDockElements}, grouped by their {@link DockElement}
+     */
+    private final Map<DockElement, List<DockElementRepresentative>> dockElementToRepresentatives =
+            new IdentityHashMap<>();
+    /**
+     * results of {@link #searchElement(Component)} for {@link Component}s whose parents are observed by the
+     * {@link #getComponentHierarchyObserver() hierarchy observer}, a <code>null</code> value means there is no
+     * representative
+     */
+    private final Map<Component, DockElementRepresentative> searchElementCache = new HashMap<>();
     /**
      * a list of listeners listening for changes in {@link #componentToDockElements}
      */
-    private final List<DockControllerRepresentativeListener> componentToDockElementsListeners =
-            new ArrayList<>();
+    private final ListenerList<DockControllerRepresentativeListener> componentToDockElementsListeners =
+            new ListenerList<>(DockControllerRepresentativeListener[]::new);
 
     /**
      * the root window of the application
@@ -381,6 +403,7 @@ public class DockController {
         this.factory = factory;
 
         register = factory.createRegister(this, setup);
+        eventCoalescer = new DockableEventCoalescer(this);
         DockRegisterListener focus = factory.createVisibilityFocusObserver(this, setup);
         if (focus != null) {
             register.addDockRegisterListener(focus);
@@ -477,11 +500,13 @@ public class DockController {
     public void kill() {
         setRootWindowProvider(null);
         focusObserver.kill();
+        relocator.kill();
         register.kill();
         keyboardController.kill();
         theme.kill();
         extensions.kill();
         mouseDispatcher.kill();
+        animationClock.kill();
     }
 
     /**
@@ -553,6 +578,16 @@ public class DockController {
         return register;
     }
 
+    /**
+     * Gets the object which collects the delayed events of the {@link Dockable}s known to this controller,
+     * and which executes them in batches once the {@link #isLayoutFrozen() layout is no longer frozen}.
+     *
+     * @return the coalescer, not <code>null</code>
+     */
+    public DockableEventCoalescer getEventCoalescer() {
+        return eventCoalescer;
+    }
+
     /**
      * Gets a list of all {@link Component}s which are used on the {@link Dockable}s
      * known to this controller.
@@ -562,6 +597,15 @@ public class DockController {
     public ComponentHierarchyObserver getComponentHierarchyObserver() {
         if (componentHierarchyObserver == null) {
             componentHierarchyObserver = new ComponentHierarchyObserver(this);
+            componentHierarchyObserver.addListener(new ComponentHierarchyObserverListener() {
+                public void added(ComponentHierarchyObserverEvent event) {
+                    clearSearchElementCache();
+                }
+
+                public void removed(ComponentHierarchyObserverEvent event) {
+                    clearSearchElementCache();
+                }
+            });
             if (rootWindow != null) {
                 componentHierarchyObserver.add(rootWindow);
             }
@@ -569,6 +613,16 @@ public class DockController {
         return componentHierarchyObserver;
     }
 
+    /**
+     * Gets the clock which drives the animations of the components that are associated with
+     * this controller, e.g. fading colors or growing spans.
+     *
+     * @return the clock, never <code>null</code>
+     */
+    public AnimationClock getAnimationClock() {
+        return animationClock;
+    }
+
     /**
      * Gets the manager for handling drag and drop operations.
      *
@@ -923,10 +977,15 @@ public class DockController {
      * @see #searchElement(Component)
      */
     public void addRepresentative(DockElementRepresentative representative) {
-        DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners
-                .toArray(new DockControllerRepresentativeListener[0]);
+        DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners.toArray();
 
         DockElementRepresentative old = componentToDockElements.put(representative.getComponent(), representative);
+        if (old != null) {
+            removeFromElementIndex(old);
+        }
+        dockElementToRepresentatives.computeIfAbsent(representative.getElement(), key -> new ArrayList<>(2))
+                .add(representative);
+        clearSearchElementCache();
 
         if (old != null) {
             for (DockControllerRepresentativeListener listener : listeners) {
@@ -946,9 +1005,12 @@ public class DockController {
      * @see #addRepresentative(DockElementRepresentative)
      */
     public void removeRepresentative(DockElementRepresentative representative) {
-        if (componentToDockElements.remove(representative.getComponent()) != null) {
-            DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners
-                    .toArray(new DockControllerRepresentativeListener[0]);
+        DockElementRepresentative removed = componentToDockElements.remove(representative.getComponent());
+        if (removed != null) {
+            removeFromElementIndex(removed);
+            clearSearchElementCache();
+
+            DockControllerRepresentativeListener[] listeners = componentToDockElementsListeners.toArray();
 
             for (DockControllerRepresentativeListener listener : listeners) {
                 listener.representativeRemoved(this, representative);
@@ -959,25 +1021,70 @@ public class DockController {
     /**
      * Searches the element which is parent or equal to <code>representative</code>.
      * This method searches through all elements given by {@link #addRepresentative(DockElementRepresentative)}.
-     * This also includes all {@link Dockable}s and all {@link DockTitle}s.
+     * This also includes all {@link Dockable}s and all {@link DockTitle}s.<br>
+     * Results are remembered for {@link Component}s known to the {@link #getComponentHierarchyObserver() hierarchy
+     * observer}, the memory is cleared whenever the observer or the set of representatives changes.
      *
      * @param representative some component
      * @return the parent or <code>null</code>
      * @see #addRepresentative(DockElementRepresentative)
      */
     public DockElementRepresentative searchElement(Component representative) {
+        Set<Component> observed = getComponentHierarchyObserver().getComponents();
+        List<Component> chain = new ArrayList<>();
+        boolean cacheable = true;
+        DockElementRepresentative result = null;
+
         while (representative != null) {
+            if (cacheable) {
+                DockElementRepresentative cached = searchElementCache.get(representative);
+                if (cached != null || searchElementCache.containsKey(representative)) {
+                    if (cached == null || cached.getElement().getController() == this) {
+                        result = cached;
+                        break;
+                    }
+                    searchElementCache.clear();
+                }
+            }
+
+            chain.add(representative);
+            cacheable = cacheable && observed.contains(representative);
+
             DockElementRepresentative element = componentToDockElements.get(representative);
             if (element != null) {
                 if (element.getElement().getController() == this) {
-                    return element;
+                    result = element;
+                    break;
                 }
+                // the parents of this component are not necessarily observed
+                cacheable = false;
             }
 
             representative = representative.getParent();
         }
 
-        return null;
+        if (cacheable) {
+            for (Component component : chain) {
+                searchElementCache.put(component, result);
+            }
+        }
+        return result;
+    }
+
+    private void clearSearchElementCache() {
+        if (!searchElementCache.isEmpty()) {
+            searchElementCache.clear();
+        }
+    }
+
+    private void removeFromElementIndex(DockElementRepresentative representative) {
+        List<DockElementRepresentative> list = dockElementToRepresentatives.get(representative.getElement());
+        if (list != null) {
+            list.remove(representative);
+            if (list.isEmpty()) {
+                dockElementToRepresentatives.remove(representative.getElement());
+            }
+        }
     }
 
     /**
@@ -987,11 +1094,9 @@ public class DockController {
      * @return the representatives, may include <code>element</code> as well
      */
     public DockElementRepresentative[] getRepresentatives(DockElement element) {
-        List<DockElementRepresentative> result = new ArrayList<>();
-        for (DockElementRepresentative representative : componentToDockElements.values()) {
-            if (representative.getElement() == element) {
-                result.add(representative);
-            }
+        List<DockElementRepresentative> result = dockElementToRepresentatives.get(element);
+        if (result == null) {
+            return new DockElementRepresentative[0];
         }
         return result.toArray(new DockElementRepresentative[0]);
     }
@@ -1413,7 +1518,7 @@ public class DockController {
             }
         }
 
-        for (Dockable dockable : getRegister().listDockables()) {
+        for (Dockable dockable : getRegister().getDockables()) {
             Component component = dockable.getComponent();
             Window ancestor = SwingUtilities.getWindowAncestor(component);
             if (ancestor != null) {
@@ -1535,8 +1640,7 @@ public class DockController {
      * @return the modifiable array
      */
     protected DockTitleBindingListener[] dockTitleBindingListeners() {
-        return dockTitleBindingListeners.toArray(
-                new DockTitleBindingListener[0]);
+        return dockTitleBindingListeners.toArray().clone();
     }
 
     /**
@@ -1588,7 +1692,7 @@ public class DockController {
      * @return the modifiable array
      */
     protected DockableSelectionListener[] dockableSelectionListeners() {
-        return dockableSelectionListeners.toArray(new DockableSelectionListener[0]);
+        return dockableSelectionListeners.toArray().clone();
     }
 
     /**
@@ -1599,7 +1703,7 @@ public class DockController {
      * @param dockable the owner of <code>title</code>
      */
     protected void fireTitleBound(DockTitle title, Dockable dockable) {
-        for (DockTitleBindingListener listener : dockTitleBindingListeners()) {
+        for (DockTitleBindingListener listener : dockTitleBindingListeners.toArray()) {
             listener.titleBound(this, title, dockable);
         }
     }
@@ -1612,7 +1716,7 @@ public class DockController {
      * @param dockable the former owner of <code>title</code>
      */
     protected void fireTitleUnbound(DockTitle title, Dockable dockable) {
-        for (DockTitleBindingListener listener : dockTitleBindingListeners()) {
+        for (DockTitleBindingListener listener : dockTitleBindingListeners.toArray()) {
             listener.titleUnbound(this, title, dockable);
         }
     }
@@ -1628,7 +1732,7 @@ public class DockController {
     protected void fireDockableSelected(DockStation station, Dockable oldSelected, Dockable newSelected) {
         DockableSelectionEvent event = new DockableSelectionEvent(this, station, oldSelected, newSelected);
 
-        for (DockableSelectionListener listener : dockableSelectionListeners()) {
+        for (DockableSelectionListener listener : dockableSelectionListeners.toArray()) {
             listener.dockableSelected(event);
         }
     }
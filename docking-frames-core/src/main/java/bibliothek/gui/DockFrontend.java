@@ -63,12 +63,12 @@ import bibliothek.util.Version;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.security.KeyStore;
 import java.util.List;
 import java.util.*;
@@ -189,9 +189,27 @@ public class DockFrontend {
      */
     private String currentSetting;
     /**
-     * A map of all known settings
+     * A map of all known settings, settings that were read from a file may not yet be decoded
      */
-    private final Map<String, Setting> settings = new HashMap<>();
+    private final Map<String, StoredSetting> settings = new HashMap<>();
+    /**
+     * The settings which were decoded from their raw form, ordered from least to most recently used
+     */
+    private final LinkedHashMap<String, StoredSetting> decodedSettings = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The maximum number of settings in {@link #decodedSettings}
+     */
+    private int settingsCacheSize = 5;
+
+    /**
+     * The format used by the {@link DockSituation}s that write layouts into byte streams
+     */
+    private Version layoutStreamFormat = Version.VERSION_1_0_8;
+
+    /**
+     * Whether {@link #write(DataOutputStream)} prefixes each setting with its size
+     */
+    private boolean lazySettings = false;
 
     /**
      * A list of observers
@@ -1142,13 +1160,149 @@ public class DockFrontend {
     }
 
     /**
-     * Gets the {@link Setting} which stores locations and other information under the key <code>name</code>.
+     * Gets the {@link Setting} which stores locations and other information under the key <code>name</code>.<br>
+     * Settings that were {@link #read(DataInputStream) read} from a file are only decoded when they are
+     * requested for the first time. A setting returned by this method is kept in its decoded form from
+     * then on, hence changes made directly to the setting are not lost and will be written by
+     * {@link #write(DataOutputStream)}.
      *
      * @param name a key that was used for calling {@link #save(String)}
      * @return the setting or <code>null</code> if not found
+     * @throws IllegalStateException if the setting cannot be decoded
      */
     public Setting getSetting(String name) {
-        return settings.get(name);
+        StoredSetting stored = settings.get(name);
+        if (stored == null) {
+            return null;
+        }
+        Setting setting = decode(name, stored);
+        if (stored.data != null || stored.xml != null) {
+            // the client may modify the setting, it must never be replaced by its raw form again
+            settings.put(name, new StoredSetting(setting));
+            decodedSettings.remove(name);
+        }
+        return setting;
+    }
+
+    /**
+     * Sets the number of settings which were read from a file and which are kept in their decoded form
+     * after being {@link #load(String) loaded}. Settings that are not in the cache are decoded again when
+     * they are needed. Settings that were returned by {@link #getSetting(String)} are not part of this cache,
+     * they are always kept.
+     *
+     * @param settingsCacheSize the size of the cache, at least 0
+     */
+    public void setSettingsCacheSize(int settingsCacheSize) {
+        if (settingsCacheSize < 0) {
+            throw new IllegalArgumentException("settingsCacheSize must be at least 0");
+        }
+        this.settingsCacheSize = settingsCacheSize;
+        evictDecodedSettings();
+    }
+
+    /**
+     * Gets the number of settings which were read from a file and which are kept in their decoded form.
+     *
+     * @return the size of the cache
+     * @see #setSettingsCacheSize(int)
+     */
+    public int getSettingsCacheSize() {
+        return settingsCacheSize;
+    }
+
+    /**
+     * Sets the format which is used to write the layouts of {@link Setting}s into byte streams, e.g. by
+     * {@link #write(DataOutputStream)}. The default is {@link Version#VERSION_1_0_8}, which can be read
+     * by older versions of this library. {@link Version#VERSION_1_1_2} is more compact, but can only
+     * be read by this or newer versions. Both formats can always be read.
+     *
+     * @param layoutStreamFormat the new format, either {@link Version#VERSION_1_0_8} or
+     *                           {@link Version#VERSION_1_1_2}
+     * @throws IllegalArgumentException if <code>layoutStreamFormat</code> is not supported
+     * @see DockSituation#setStreamFormat(Version)
+     */
+    public void setLayoutStreamFormat(Version layoutStreamFormat) {
+        if (!Version.VERSION_1_0_8.equals(layoutStreamFormat) && !Version.VERSION_1_1_2.equals(layoutStreamFormat)) {
+            throw new IllegalArgumentException("unsupported format: " + layoutStreamFormat);
+        }
+        this.layoutStreamFormat = layoutStreamFormat;
+    }
+
+    /**
+     * Sets whether {@link #write(DataOutputStream)} prefixes each {@link Setting} with its size. This
+     * format is tagged with {@link Version#VERSION_1_1_2} and cannot be read by older versions of this library.
+     * When reading this format, {@link #read(DataInputStream)} keeps the settings in their raw form until
+     * they are needed, and settings that were never needed are written again without decoding them.
+     * The default value is <code>false</code>, then the {@link Version#VERSION_1_1_1a} format is written.
+     * Both formats can always be read.
+     *
+     * @param lazySettings whether to write the format that allows to decode settings lazily
+     */
+    public void setLazySettings(boolean lazySettings) {
+        this.lazySettings = lazySettings;
+    }
+
+    /**
+     * Tells whether {@link #write(DataOutputStream)} prefixes each {@link Setting} with its size.
+     *
+     * @return whether the format that allows to decode settings lazily is written
+     * @see #setLazySettings(boolean)
+     */
+    public boolean isLazySettings() {
+        return lazySettings;
+    }
+
+    /**
+     * Gets the format which is used to write the layouts of {@link Setting}s into byte streams.
+     *
+     * @return the format, either {@link Version#VERSION_1_0_8} or {@link Version#VERSION_1_1_2}
+     * @see #setLayoutStreamFormat(Version)
+     */
+    public Version getLayoutStreamFormat() {
+        return layoutStreamFormat;
+    }
+
+    /**
+     * Gets the decoded form of <code>stored</code>, decoding it if necessary.
+     *
+     * @param name   the name of the setting
+     * @param stored the setting to decode
+     * @return the decoded setting
+     */
+    private Setting decode(String name, StoredSetting stored) {
+        if (stored.data == null && stored.xml == null) {
+            return stored.setting;
+        }
+
+        Setting setting = stored.setting;
+        if (setting == null) {
+            if (stored.data != null) {
+                try {
+                    setting = read(true, new DataInputStream(new ByteArrayInputStream(stored.data)));
+                } catch (IOException ex) {
+                    throw new IllegalStateException("cannot read setting '" + name + "'", ex);
+                }
+            } else {
+                setting = readXML(true, stored.xml);
+            }
+            stored.setting = setting;
+        }
+
+        decodedSettings.put(name, stored);
+        evictDecodedSettings();
+        return setting;
+    }
+
+    /**
+     * Drops the decoded form of the least recently used settings until {@link #decodedSettings} is
+     * no longer too big.
+     */
+    private void evictDecodedSettings() {
+        Iterator<StoredSetting> iterator = decodedSettings.values().iterator();
+        while (decodedSettings.size() > settingsCacheSize && iterator.hasNext()) {
+            iterator.next().setting = null;
+            iterator.remove();
+        }
     }
 
     /**
@@ -1200,7 +1354,8 @@ public class DockFrontend {
         if (setting == null) {
             throw new IllegalArgumentException("setting is null");
         }
-        settings.put(name, setting);
+        settings.put(name, new StoredSetting(setting));
+        decodedSettings.remove(name);
     }
 
     /**
@@ -1680,10 +1835,11 @@ public class DockFrontend {
             throw new IllegalArgumentException("name must not be null");
         }
 
-        Setting setting = settings.get(name);
-        if (setting == null) {
+        StoredSetting stored = settings.get(name);
+        if (stored == null) {
             throw new IllegalArgumentException("Unknown setting \"" + name + "\"");
         }
+        Setting setting = decode(name, stored);
 
         currentSetting = name;
 
@@ -1820,17 +1976,21 @@ public class DockFrontend {
     private void fillMissing() {
         DockSituation situation = layoutChangeStrategy.createSituation(new Internals(), false);
 
-        // fill gaps
-        for (Setting setting : settings.values()) {
-            setting.fillMissing(situation);
+        // fill gaps, settings which are not yet decoded will use the new factories once they are decoded
+        Set<Setting> decoded = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (StoredSetting stored : settings.values()) {
+            if (stored.setting != null) {
+                decoded.add(stored.setting);
+                stored.setting.fillMissing(situation);
+            }
         }
 
-        if (lastAppliedFullSetting != null && !settings.containsValue(lastAppliedFullSetting)) {
+        if (lastAppliedFullSetting != null && !decoded.contains(lastAppliedFullSetting)) {
             lastAppliedFullSetting.fillMissing(situation);
         }
 
         if (lastAppliedEntrySetting != null && lastAppliedEntrySetting != lastAppliedFullSetting &&
-                !settings.containsValue(lastAppliedEntrySetting)) {
+                !decoded.contains(lastAppliedEntrySetting)) {
             lastAppliedEntrySetting.fillMissing(situation);
         }
 
@@ -2073,6 +2233,7 @@ public class DockFrontend {
         }
 
         boolean deleted = settings.remove(name) != null;
+        decodedSettings.remove(name);
         if (deleted) {
             if (name.equals(currentSetting)) {
                 currentSetting = null;
@@ -2091,7 +2252,8 @@ public class DockFrontend {
      * @throws IOException if there are any problems
      */
     public void write(DataOutputStream out) throws IOException {
-        writeBlop(writeBlop(), out);
+        Map<String, StoredSetting> raw = new HashMap<>();
+        writeBlop(writeBlop(lazySettings ? raw : null, false), raw, out);
     }
 
     /**
@@ -2102,7 +2264,23 @@ public class DockFrontend {
      * @throws IOException if there are any problems
      */
     public void writeBlop(SettingsBlop blop, DataOutputStream out) throws IOException {
-        Version.write(out, Version.VERSION_1_1_1a);
+        writeBlop(blop, Collections.emptyMap(), out);
+    }
+
+    /**
+     * Writes the contents of <code>blop</code> and the settings of <code>raw</code> into <code>out</code>.
+     * If {@link #isLazySettings() lazy settings} are enabled, each setting is prefixed with its size, allowing
+     * {@link #read(DataInputStream)} to keep the setting in its raw form until it is needed.
+     *
+     * @param blop the {@link Setting}s to write
+     * @param raw  additional settings whose {@link StoredSetting#data} is copied into <code>out</code>, must
+     *             be empty unless lazy settings are enabled
+     * @param out  the stream to write into
+     * @throws IOException if there are any problems
+     */
+    private void writeBlop(SettingsBlop blop, Map<String, StoredSetting> raw, DataOutputStream out) throws IOException {
+        boolean sized = lazySettings;
+        Version.write(out, sized ? Version.VERSION_1_1_2 : Version.VERSION_1_1_1a);
 
         String currentSetting = blop.getCurrentName();
 
@@ -2114,10 +2292,28 @@ public class DockFrontend {
         }
 
         String[] names = blop.getNames();
-        out.writeInt(names.length);
+        out.writeInt(names.length + raw.size());
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream bufferOut = new DataOutputStream(buffer);
         for (String name : names) {
             out.writeUTF(name);
-            write(blop.getSetting(name), true, out);
+            if (sized) {
+                buffer.reset();
+                write(blop.getSetting(name), true, bufferOut);
+                bufferOut.flush();
+                out.writeInt(buffer.size());
+                buffer.writeTo(out);
+            } else {
+                write(blop.getSetting(name), true, out);
+            }
+        }
+
+        for (Map.Entry<String, StoredSetting> entry : raw.entrySet()) {
+            out.writeUTF(entry.getKey());
+            byte[] data = entry.getValue().data;
+            out.writeInt(data.length);
+            out.write(data);
         }
 
         write(blop.getCurrentSetting(), false, out);
@@ -2135,6 +2331,7 @@ public class DockFrontend {
     protected void write(Setting setting, boolean entry, DataOutputStream out) throws IOException {
         Internals internals = new Internals();
         DockSituation situation = layoutChangeStrategy.createSituation(internals, entry);
+        situation.setStreamFormat(layoutStreamFormat);
         PropertyTransformer properties = layoutChangeStrategy.createTransformer(internals);
         setting.write(situation, properties, entry, out);
     }
@@ -2161,7 +2358,8 @@ public class DockFrontend {
      * @throws IOException if there are any problems
      */
     public void read(DataInputStream in, boolean keepExistingSettings) throws IOException {
-        readBlop(readBlop(in), keepExistingSettings);
+        Map<String, StoredSetting> raw = new HashMap<>();
+        readBlop(readBlop(in, raw), raw, keepExistingSettings);
     }
 
     /**
@@ -2173,11 +2371,27 @@ public class DockFrontend {
      * @throws IOException if <code>in</code> cannot be read properly
      */
     public SettingsBlop readBlop(DataInputStream in) throws IOException {
+        return readBlop(in, null);
+    }
+
+    /**
+     * Reads the contents of <code>in</code> using all the factories that are currently installed
+     * on this {@link DockFrontend}.
+     *
+     * @param in  the stream to read from
+     * @param raw if not <code>null</code>, then the ordinary settings are not decoded but stored in
+     *            this map, this only works if <code>in</code> uses a format that allows to skip settings
+     * @return the {@link Setting}s that were read and decoded
+     * @throws IOException if <code>in</code> cannot be read properly
+     */
+    private SettingsBlop readBlop(DataInputStream in, Map<String, StoredSetting> raw) throws IOException {
         SettingsBlop blop = new SettingsBlop();
 
         Version version = Version.read(in);
         version.checkCurrent();
 
+        boolean version112 = Version.VERSION_1_1_2.compareTo(version) <= 0;
+
         String currentSetting = null;
 
         if (in.readBoolean()) {
@@ -2187,8 +2401,18 @@ public class DockFrontend {
         int count = in.readInt();
         for (int i = 0; i < count; i++) {
             String key = in.readUTF();
-            Setting setting = read(true, in);
-            blop.put(key, setting);
+            if (version112) {
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                if (raw == null) {
+                    blop.put(key, read(true, new DataInputStream(new ByteArrayInputStream(data))));
+                } else {
+                    raw.put(key, new StoredSetting(data));
+                }
+            } else {
+                Setting setting = read(true, in);
+                blop.put(key, setting);
+            }
         }
 
         blop.setCurrent(currentSetting, read(false, in));
@@ -2222,7 +2446,8 @@ public class DockFrontend {
      *                change the attributes of <code>element</code>
      */
     public void writeXML(XElement element) {
-        writeBlopXML(writeBlop(), element);
+        Map<String, StoredSetting> raw = new HashMap<>();
+        writeBlopXML(writeBlop(raw, true), raw, element);
     }
 
     /**
@@ -2235,15 +2460,31 @@ public class DockFrontend {
      *                change the attributes of <code>element</code>
      */
     public void writeBlopXML(SettingsBlop blop, XElement element) {
+        writeBlopXML(blop, Collections.emptyMap(), element);
+    }
+
+    /**
+     * Writes all the {@link Setting}s of <code>blop</code> and the settings of <code>raw</code>
+     * into <code>element</code>.
+     *
+     * @param blop    the settings to write
+     * @param raw     additional settings whose {@link StoredSetting#xml} is copied into <code>element</code>
+     * @param element the element to write into, this method will not
+     *                change the attributes of <code>element</code>
+     */
+    private void writeBlopXML(SettingsBlop blop, Map<String, StoredSetting> raw, XElement element) {
         String[] names = blop.getNames();
 
-        if (names.length > 0) {
+        if (names.length > 0 || !raw.isEmpty()) {
             XElement xsettings = element.addElement("settings");
             for (String name : names) {
                 XElement xsetting = xsettings.addElement("setting");
                 xsetting.addString("name", name);
                 writeXML(blop.getSetting(name), true, xsetting);
             }
+            for (StoredSetting stored : raw.values()) {
+                xsettings.addElement(stored.xml.copy());
+            }
         }
 
         XElement xcurrent = element.addElement("current");
@@ -2271,6 +2512,85 @@ public class DockFrontend {
         setting.writeXML(situation, properties, entry, element);
     }
 
+    /**
+     * Writes all properties of this frontend as children of the current element of <code>out</code>. The
+     * output is the same as the output of {@link #writeXML(XElement)}, but the layouts are not collected in a
+     * tree of {@link XElement}s before they are written.
+     *
+     * @param out the writer, this method will not change the attributes of its current element
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeXML(XStreamWriter out) throws IOException {
+        Map<String, StoredSetting> raw = new HashMap<>();
+        writeBlopXML(writeBlop(raw, true), raw, out);
+    }
+
+    /**
+     * Writes all the {@link Setting}s of <code>blop</code> as children of the current element of
+     * <code>out</code>, this method does use the factories installed on this {@link DockFrontend}, but
+     * does not change any properties of the frontend.
+     *
+     * @param blop the settings to write
+     * @param out  the writer, this method will not change the attributes of its current element
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeBlopXML(SettingsBlop blop, XStreamWriter out) throws IOException {
+        writeBlopXML(blop, Collections.emptyMap(), out);
+    }
+
+    /**
+     * Writes all the {@link Setting}s of <code>blop</code> and the settings of <code>raw</code>
+     * as children of the current element of <code>out</code>.
+     *
+     * @param blop the settings to write
+     * @param raw  additional settings whose {@link StoredSetting#xml} is copied into <code>out</code>
+     * @param out  the writer, this method will not change the attributes of its current element
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    private void writeBlopXML(SettingsBlop blop, Map<String, StoredSetting> raw, XStreamWriter out)
+            throws IOException {
+        String[] names = blop.getNames();
+
+        if (names.length > 0 || !raw.isEmpty()) {
+            out.startElement("settings");
+            for (String name : names) {
+                out.startElement("setting");
+                out.addString("name", name);
+                writeXML(blop.getSetting(name), true, out);
+                out.endElement();
+            }
+            for (StoredSetting stored : raw.values()) {
+                out.addElement(stored.xml);
+            }
+            out.endElement();
+        }
+
+        out.startElement("current");
+        String current = blop.getCurrentName();
+        if (current != null) {
+            out.addString("name", current);
+        }
+
+        writeXML(blop.getCurrentSetting(), false, out);
+        out.endElement();
+    }
+
+    /**
+     * Calls {@link Setting#writeXML(DockSituation, PropertyTransformer, boolean, XStreamWriter)}.
+     *
+     * @param setting the setting to write
+     * @param entry   whether <code>setting</code> is an ordinary entry, or
+     *                the final setting that contains more data.
+     * @param out     the writer, this method does not change the attributes of its current element
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    protected void writeXML(Setting setting, boolean entry, XStreamWriter out) throws IOException {
+        Internals internals = new Internals();
+        DockSituation situation = layoutChangeStrategy.createSituation(internals, entry);
+        PropertyTransformer properties = layoutChangeStrategy.createTransformer(internals);
+        setting.writeXML(situation, properties, entry, out);
+    }
+
     /**
      * Reads the contents of this frontend from an xml element. All existing settings
      * are deleted (see {@link #deleteAll()}) by this method.
@@ -2289,7 +2609,8 @@ public class DockFrontend {
      *                             existing settings.
      */
     public void readXML(XElement element, boolean keepExistingSettings) {
-        readBlop(readBlopXML(element), keepExistingSettings);
+        Map<String, StoredSetting> raw = new HashMap<>();
+        readBlop(readBlopXML(element, raw), raw, keepExistingSettings);
     }
 
     /**
@@ -2300,14 +2621,31 @@ public class DockFrontend {
      * @return all the layouts stored in <code>element</code>
      */
     public SettingsBlop readBlopXML(XElement element) {
+        return readBlopXML(element, null);
+    }
+
+    /**
+     * Reads the contents of <code>element</code> using all the factories installed on this
+     * {@link DockFrontend}.
+     *
+     * @param element the element to read
+     * @param raw     if not <code>null</code>, then the ordinary settings are not decoded but
+     *                copies of their xml elements are stored in this map
+     * @return the layouts stored in <code>element</code> that were decoded
+     */
+    private SettingsBlop readBlopXML(XElement element, Map<String, StoredSetting> raw) {
         SettingsBlop blop = new SettingsBlop();
 
         XElement xsettings = element.getElement("settings");
         if (xsettings != null) {
             for (XElement xsetting : xsettings.getElements("setting")) {
                 String key = xsetting.getString("name");
-                Setting setting = readXML(true, xsetting);
-                blop.put(key, setting);
+                if (raw == null) {
+                    Setting setting = readXML(true, xsetting);
+                    blop.put(key, setting);
+                } else {
+                    raw.put(key, new StoredSetting(xsetting.copy()));
+                }
             }
         }
 
@@ -2343,15 +2681,129 @@ public class DockFrontend {
         return setting;
     }
 
+    /**
+     * Reads the contents of this frontend from the current element of <code>in</code>, which was written
+     * by {@link #writeXML(XStreamWriter)} or {@link #writeXML(XElement)}. All existing settings
+     * are deleted (see {@link #deleteAll()}) by this method.
+     *
+     * @param in the reader pointing to the element to read, the element is finished afterwards
+     */
+    public void readXML(XStreamReader in) {
+        readXML(in, false);
+    }
+
+    /**
+     * Reads the contents of this frontend from the current element of <code>in</code>.
+     *
+     * @param in                   the reader pointing to the element to read, the element is finished afterwards
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     *                             existing settings.
+     */
+    public void readXML(XStreamReader in, boolean keepExistingSettings) {
+        Map<String, StoredSetting> raw = new HashMap<>();
+        readBlop(readBlopXML(in, raw), raw, keepExistingSettings);
+    }
+
+    /**
+     * Reads the current element of <code>in</code> using all the factories installed on this
+     * {@link DockFrontend}, without actually changing any property of this frontend.
+     *
+     * @param in the reader pointing to the element to read, the element is finished afterwards
+     * @return all the layouts stored in the element
+     */
+    public SettingsBlop readBlopXML(XStreamReader in) {
+        return readBlopXML(in, null);
+    }
+
+    /**
+     * Reads the current element of <code>in</code> using all the factories installed on this
+     * {@link DockFrontend}.
+     *
+     * @param in  the reader pointing to the element to read, the element is finished afterwards
+     * @param raw if not <code>null</code>, then the ordinary settings are not decoded but
+     *            their xml elements are stored in this map
+     * @return the layouts stored in the element that were decoded
+     */
+    private SettingsBlop readBlopXML(XStreamReader in, Map<String, StoredSetting> raw) {
+        SettingsBlop blop = new SettingsBlop();
+
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "settings" -> {
+                    while (in.nextChild()) {
+                        if ("setting".equals(in.getName())) {
+                            String key = in.getString("name");
+                            if (raw == null) {
+                                blop.put(key, readXML(true, in));
+                            } else {
+                                raw.put(key, new StoredSetting(in.readElement()));
+                            }
+                        } else {
+                            in.skip();
+                        }
+                    }
+                }
+                case "current" -> {
+                    XAttribute xname = in.getAttribute("name");
+                    String name = null;
+                    if (xname != null) {
+                        name = xname.getString();
+                    }
+
+                    blop.setCurrent(name, readXML(false, in));
+                }
+                default -> in.skip();
+            }
+        }
+        return blop;
+    }
+
+    /**
+     * Calls {@link #createSetting()} and then
+     * {@link Setting#readXML(DockSituation, PropertyTransformer, boolean, XStreamReader)}.
+     *
+     * @param entry whether the set of properties is used as ordinary entry,
+     *              or contains more data than usual.
+     * @param in    the reader pointing to the element containing the data for the new setting,
+     *              the element is finished afterwards
+     * @return the new setting
+     * @see #createSetting()
+     */
+    protected Setting readXML(boolean entry, XStreamReader in) {
+        Setting setting = createSetting();
+        Internals internals = new Internals();
+        DockSituation situation = layoutChangeStrategy.createSituation(internals, entry);
+        PropertyTransformer properties = layoutChangeStrategy.createTransformer(internals);
+        setting.readXML(situation, properties, entry, in);
+        return setting;
+    }
+
     /**
      * Stores all the current {@link Setting}s of this {@link DockFrontend} in a new {@link SettingsBlop}.
      *
      * @return the blop that contains all the settings of this frontend
      */
     public SettingsBlop writeBlop() {
+        return writeBlop(null, false);
+    }
+
+    /**
+     * Stores the current {@link Setting}s of this {@link DockFrontend} in a new {@link SettingsBlop}.
+     *
+     * @param raw if not <code>null</code>, then settings which were never decoded and whose raw form
+     *            matches <code>xml</code> are put into this map instead of the blop
+     * @param xml whether the raw form of the settings must be xml or binary data
+     * @return the blop that contains the decoded settings of this frontend
+     */
+    private SettingsBlop writeBlop(Map<String, StoredSetting> raw, boolean xml) {
         SettingsBlop blop = new SettingsBlop();
-        for (Map.Entry<String, Setting> entry : settings.entrySet()) {
-            blop.put(entry.getKey(), entry.getValue());
+        for (Map.Entry<String, StoredSetting> entry : settings.entrySet()) {
+            StoredSetting stored = entry.getValue();
+            if (raw != null && stored.setting == null && (xml ? stored.xml != null : stored.data != null)) {
+                raw.put(entry.getKey(), stored);
+            } else {
+                blop.put(entry.getKey(), decode(entry.getKey(), stored));
+            }
         }
         blop.setCurrent(currentSetting, getSetting(false));
         return blop;
@@ -2366,13 +2818,30 @@ public class DockFrontend {
      *                             call {@link #deleteAll()}
      */
     public void readBlop(SettingsBlop blop, boolean keepExistingSettings) {
+        readBlop(blop, Collections.emptyMap(), keepExistingSettings);
+    }
+
+    /**
+     * Reads and applies the {@link Setting}s stored in <code>blop</code> and <code>raw</code>.
+     *
+     * @param blop                 the settings to read
+     * @param raw                  additional settings that are not yet decoded
+     * @param keepExistingSettings whether {@link #deleteAll()} should not be called
+     */
+    private void readBlop(SettingsBlop blop, Map<String, StoredSetting> raw, boolean keepExistingSettings) {
         if (!keepExistingSettings) {
             deleteAll();
         }
         for (String name : blop.getNames()) {
-            settings.put(name, blop.getSetting(name));
+            settings.put(name, new StoredSetting(blop.getSetting(name)));
+            decodedSettings.remove(name);
             fireRead(name);
         }
+        for (Map.Entry<String, StoredSetting> entry : raw.entrySet()) {
+            settings.put(entry.getKey(), entry.getValue());
+            decodedSettings.remove(entry.getKey());
+            fireRead(entry.getKey());
+        }
         currentSetting = blop.getCurrentName();
         setSetting(blop.getCurrentSetting(), false);
     }
@@ -2707,6 +3176,60 @@ public class DockFrontend {
         }
     }
 
+    /**
+     * A {@link Setting} known to a {@link DockFrontend}, either in its decoded form or as the raw data
+     * that was read from a file. The raw data is decoded when the setting is needed for the first time.
+     *
+     * @author Benjamin Sigg
+     */
+    private static class StoredSetting {
+        /**
+         * the decoded setting, can be <code>null</code> if {@link #data} or {@link #xml} is set
+         */
+        private Setting setting;
+        /**
+         * the setting as written by {@link DockFrontend#write(Setting, boolean, DataOutputStream)}, can be <code>null</code>
+         */
+        private final byte[] data;
+        /**
+         * the setting as written by {@link DockFrontend#writeXML(Setting, boolean, XElement)}, can be <code>null</code>
+         */
+        private final XElement xml;
+
+        /**
+         * Creates a new setting that is already decoded.
+         *
+         * @param setting the decoded setting, not <code>null</code>
+         */
+        public StoredSetting(Setting setting) {
+            this.setting = setting;
+            this.data = null;
+            this.xml = null;
+        }
+
+        /**
+         * Creates a new setting that is not yet decoded.
+         *
+         * @param data the binary form of the setting
+         */
+        public StoredSetting(byte[] data) {
+            this.setting = null;
+            this.data = data;
+            this.xml = null;
+        }
+
+        /**
+         * Creates a new setting that is not yet decoded.
+         *
+         * @param xml the xml form of the setting
+         */
+        public StoredSetting(XElement xml) {
+            this.setting = null;
+            this.data = null;
+            this.xml = xml;
+        }
+    }
+
     /**
      * Information about a {@link Dockable}.
      *
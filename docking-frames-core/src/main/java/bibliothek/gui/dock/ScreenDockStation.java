@@ -319,6 +319,9 @@ public class ScreenDockStation extends AbstractDockStation {
                 @Override
                 protected void valueChanged(ScreenDockWindowFactory oldValue, ScreenDockWindowFactory newValue) {
                     updateWindows(true);
+                    if (oldValue != null) {
+                        oldValue.uninstall(ScreenDockStation.this);
+                    }
                 }
             };
 
@@ -714,6 +717,9 @@ public class ScreenDockStation extends AbstractDockStation {
 
         restriction.setProperties(controller);
         windowFactory.setProperties(controller);
+        if (controller == null) {
+            getWindowFactory().uninstall(this);
+        }
         windowConfiguration.setProperties(controller);
         fullscreenStrategy.setProperties(controller);
         placeholderStrategy.setProperties(controller);
@@ -66,6 +66,7 @@ import bibliothek.gui.dock.util.icon.DockIcon;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
 import bibliothek.util.FrameworkOnly;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Path;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
@@ -172,7 +173,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
     /**
      * A list of {@link DockableListener} which will be invoked when something noticable happens
      */
-    private final List<DockableListener> dockableListeners = new ArrayList<>();
+    private final ListenerList<DockableListener> dockableListeners = new ListenerList<>(DockableListener[]::new);
 
     /**
      * All {@link DockableStateListener}s of this station
@@ -228,7 +229,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
                 newValue = "";
             }
 
-            for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+            for (DockableListener listener : dockableListeners.toArray()) {
                 listener.titleTextChanged(SplitDockStation.this, oldValue, newValue);
             }
         }
@@ -245,7 +246,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
     private final PropertyValue<String> titleToolTip = new PropertyValue<>(PropertyKey.DOCK_STATION_TOOLTIP) {
         @Override
         protected void valueChanged(String oldValue, String newValue) {
-            for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+            for (DockableListener listener : dockableListeners.toArray()) {
                 listener.titleToolTipChanged(SplitDockStation.this, oldValue, newValue);
             }
         }
@@ -338,6 +339,12 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      */
     private final List<StationChildHandle> dockables = new ArrayList<>();
 
+    /**
+     * The location of each {@link Dockable} in {@link #dockables}, built lazily and updated whenever an
+     * element is added to or removed from {@link #dockables}
+     */
+    private final Map<Dockable, Integer> dockableIndices = new IdentityHashMap<>();
+
     /**
      * The {@link Dockable} which has the focus
      */
@@ -522,7 +529,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
         titleIcon = new DockStationIcon("dockStation.default", this) {
             protected void changed(Icon oldValue, Icon newValue) {
-                for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+                for (DockableListener listener : dockableListeners.toArray()) {
                     listener.titleIconChanged(SplitDockStation.this, oldValue, newValue);
                 }
             }
@@ -1205,7 +1212,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
             throw new IllegalArgumentException("Title is already bound");
         }
         titles.add(title);
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleBound(this, title);
         }
     }
@@ -1215,7 +1222,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
             throw new IllegalArgumentException("Title is unknown");
         }
         titles.remove(title);
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleUnbound(this, title);
         }
     }
@@ -2745,7 +2752,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      * @param title a title, can be <code>null</code>
      */
     protected void fireTitleExchanged(DockTitle title) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleExchanged(this, title);
         }
     }
@@ -2997,6 +3004,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
             }
 
             dockables.add(handle);
+            if (!dockableIndices.isEmpty() || dockables.size() == 1) {
+                dockableIndices.put(dockable, dockables.size() - 1);
+            }
             dockable.setDockParent(this);
 
             handle.updateDisplayer();
@@ -3049,13 +3059,14 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      * @return the index or -1 if the child was not found
      */
     public int indexOfDockable(Dockable dockable) {
-        for (int i = 0, n = dockables.size(); i < n; i++) {
-            if (dockables.get(i).getDockable() == dockable) {
-                return i;
+        if (dockableIndices.isEmpty()) {
+            for (int i = 0, n = dockables.size(); i < n; i++) {
+                dockableIndices.put(dockables.get(i).getDockable(), i);
             }
         }
 
-        return -1;
+        Integer index = dockableIndices.get(dockable);
+        return index == null ? -1 : index;
     }
 
     /**
@@ -3174,8 +3185,8 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      *               and this method will fire events, otherwise this methods is executed silently
      */
     private void removeHandle(StationChildHandle handle, DockHierarchyLock.Token token) {
-        int index = dockables.indexOf(handle);
-        if (index >= 0) {
+        int index = indexOfDockable(handle.getDockable());
+        if (index >= 0 && dockables.get(index) == handle) {
             removeDisplayer(index, token);
         }
     }
@@ -3210,6 +3221,12 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
             }
 
             dockables.remove(index);
+            if (!dockableIndices.isEmpty()) {
+                dockableIndices.remove(dockable);
+                for (int i = index, n = dockables.size(); i < n; i++) {
+                    dockableIndices.put(dockables.get(i).getDockable(), i);
+                }
+            }
 
             DockableDisplayer displayer = handle.getDisplayer();
 
@@ -3259,42 +3276,11 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
      * @param id the id to search
      * @return the node with the id <code>id</code>
      */
-    public SplitNode getNode(final long id) {
-        class Visitor implements SplitNodeVisitor {
-            private SplitNode result;
-
-            public void handleRoot(Root root) {
-                if (root.getId() == id) {
-                    result = root;
-                }
-            }
-
-            public void handleLeaf(Leaf leaf) {
-                if (leaf.getId() == id) {
-                    result = leaf;
-                }
-            }
-
-            public void handlePlaceholder(Placeholder placeholder) {
-                if (placeholder.getId() == id) {
-                    result = placeholder;
-                }
-            }
-
-            public void handleNode(Node node) {
-                if (node.getId() == id) {
-                    result = node;
-                }
-            }
-        }
-
+    public SplitNode getNode(long id) {
         if (root == null) {
             return null;
         }
-
-        Visitor visitor = new Visitor();
-        getRoot().visit(visitor);
-        return visitor.result;
+        return root.getNode(id);
     }
 
     public String getFactoryID() {
@@ -29,14 +29,14 @@ package bibliothek.gui.dock.action;
 import bibliothek.gui.dock.action.actions.SeparatorAction;
 import bibliothek.gui.dock.event.DockActionSourceListener;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 /**
  * A {@link DockActionSource} that combines various sources in one source.
- * This source behaves like a list of {@link DockActionSource DockActionSources}.
+ * This source behaves like a list of {@link DockActionSource DockActionSources}.<br>
+ * While this source has listeners it is informed about any change of its children, and uses that
+ * information to cache the index of the first action of each child. Hence accessing an action by its
+ * index does not require to visit all the children.
  * @author Benjamin Sigg
  */
 public class MultiDockActionSource extends AbstractDockActionSource {
@@ -47,6 +47,22 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     private boolean separateSources = false;
     private LocationHint hint;
 
+    /**
+     * the index of the first action of each source, the last entry is the total number of actions,
+     * <code>null</code> if not yet calculated. Only valid while there are listeners.
+     */
+    private int[] offsets;
+    /**
+     * the index of each source in {@link #sources}, <code>null</code> if not yet calculated.
+     * Only valid while there are listeners.
+     */
+    private Map<DockActionSource, Integer> sourceIndices;
+    /**
+     * the index of the source of each action, <code>null</code> if not yet calculated.
+     * Only valid while there are listeners.
+     */
+    private Map<DockAction, Integer> actionSources;
+
     /**
      * Constructs a new source. The <code>sources</code> are added as children
      * of this source.
@@ -115,6 +131,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         boolean empty = listeners.isEmpty();
         super.addDockActionSourceListener(listener);
         if (empty && !listeners.isEmpty()) {
+            invalidate();
             for (DockActionSource source : sources) {
                 source.addDockActionSourceListener(this.listener);
             }
@@ -130,6 +147,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
             for (DockActionSource source : sources) {
                 source.removeDockActionSourceListener(this.listener);
             }
+            invalidate();
         }
     }
 
@@ -190,6 +208,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         sources.add(source);
         sources.add(separator);
         separators.add(separator);
+        invalidate();
 
         if (!listeners.isEmpty()) {
             source.addDockActionSourceListener(listener);
@@ -218,11 +237,12 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         SeparatorSource separator = (SeparatorSource) sources.get(index + 1);
 
         int actionIndex = getDockActionCountUntil(index, false);
-        int length = source.getDockActionCount();
+        int length = source.getDockActionCount() + separator.getDockActionCount();
 
         sources.remove(index + 1);
         sources.remove(index);
         separators.remove(separator);
+        invalidate();
 
         if (!listeners.isEmpty()) {
             source.removeDockActionSourceListener(listener);
@@ -230,7 +250,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         }
 
         if (length > 0) {
-            fireRemoved(actionIndex, index + length - 1);
+            fireRemoved(actionIndex, actionIndex + length - 1);
         }
 
         updateSeparators();
@@ -251,6 +271,7 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         }
         separators.clear();
         sources.clear();
+        invalidate();
 
         if (length > 0) {
             fireRemoved(0, length - 1);
@@ -275,6 +296,20 @@ public class MultiDockActionSource extends AbstractDockActionSource {
      * @return the index of the source which contains the action or -1
      */
     protected int getSource(DockAction action) {
+        if (!listeners.isEmpty()) {
+            if (actionSources == null) {
+                actionSources = new IdentityHashMap<>();
+                for (int i = sources.size() - 1; i >= 0; i--) {
+                    DockActionSource source = sources.get(i);
+                    for (int j = 0, m = source.getDockActionCount(); j < m; j++) {
+                        actionSources.put(source.getDockAction(j), i);
+                    }
+                }
+            }
+            Integer index = actionSources.get(action);
+            return index == null ? -1 : index;
+        }
+
         for (int i = 0, n = sources.size(); i < n; i++) {
             DockActionSource source = sources.get(i);
             for (int j = 0, m = source.getDockActionCount(); j < m; j++) {
@@ -301,6 +336,10 @@ public class MultiDockActionSource extends AbstractDockActionSource {
             updateSeparators();
         }
 
+        if (!listeners.isEmpty() && index >= 0) {
+            return offsets()[index];
+        }
+
         int sum = 0;
 
         for (int i = 0; i < index; i++) {
@@ -313,6 +352,24 @@ public class MultiDockActionSource extends AbstractDockActionSource {
     public DockAction getDockAction(int index) {
         if (listeners.isEmpty()) {
             updateSeparators();
+        } else {
+            int[] offsets = offsets();
+            if (index < 0 || index >= offsets[offsets.length - 1]) {
+                throw new ArrayIndexOutOfBoundsException();
+            }
+
+            // search the last source whose first action is at or before index
+            int low = 0;
+            int high = offsets.length - 2;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return sources.get(low).getDockAction(index - offsets[low]);
         }
 
         int sum = 0;
@@ -328,6 +385,64 @@ public class MultiDockActionSource extends AbstractDockActionSource {
         throw new ArrayIndexOutOfBoundsException();
     }
 
+    /**
+     * Gets the cached index of the first action of each source, calculates the indices if necessary.
+     * @return the indices, the last entry being the total number of actions
+     */
+    private int[] offsets() {
+        if (offsets == null) {
+            int[] result = new int[sources.size() + 1];
+            for (int i = 0, n = sources.size(); i < n; i++) {
+                result[i + 1] = result[i] + sources.get(i).getDockActionCount();
+            }
+            offsets = result;
+        }
+        return offsets;
+    }
+
+    /**
+     * Gets the index of <code>source</code> in {@link #sources}.
+     * @param source some child of this source
+     * @return the index of <code>source</code> or -1
+     */
+    private int indexOf(DockActionSource source) {
+        if (listeners.isEmpty()) {
+            return sources.indexOf(source);
+        }
+        if (sourceIndices == null) {
+            sourceIndices = new IdentityHashMap<>();
+            for (int i = sources.size() - 1; i >= 0; i--) {
+                sourceIndices.put(sources.get(i), i);
+            }
+        }
+        Integer index = sourceIndices.get(source);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Deletes all cached information about the children of this source.
+     */
+    private void invalidate() {
+        offsets = null;
+        sourceIndices = null;
+        actionSources = null;
+    }
+
+    /**
+     * Updates the cached indices after actions were added to or removed from a child.
+     * @param offsets the indices that were cached before the child changed, can be <code>null</code>
+     * @param sourceIndex the index of the child that changed
+     * @param delta the number of added or removed actions
+     */
+    private void shift(int[] offsets, int sourceIndex, int delta) {
+        actionSources = null;
+        if (offsets != null && sourceIndex >= 0) {
+            for (int i = sourceIndex + 1; i < offsets.length; i++) {
+                offsets[i] += delta;
+            }
+        }
+    }
+
     /**
      * Ensures that all separators which must be visible are really visible.
      */
@@ -346,13 +461,21 @@ public class MultiDockActionSource extends AbstractDockActionSource {
      */
     private class Listener implements DockActionSourceListener {
         public void actionsAdded(DockActionSource source, int firstIndex, int lastIndex) {
-            int index = getDockActionCountUntil(sources.indexOf(source), false);
+            // offsets calculated now already include the change
+            int[] cached = offsets;
+            int sourceIndex = indexOf(source);
+            int index = getDockActionCountUntil(sourceIndex, false);
+            shift(cached, sourceIndex, lastIndex - firstIndex + 1);
             fireAdded(firstIndex + index, lastIndex + index);
             updateSeparators();
         }
 
         public void actionsRemoved(DockActionSource source, int firstIndex, int lastIndex) {
-            int index = getDockActionCountUntil(sources.indexOf(source), false);
+            // offsets calculated now already include the change
+            int[] cached = offsets;
+            int sourceIndex = indexOf(source);
+            int index = getDockActionCountUntil(sourceIndex, false);
+            shift(cached, sourceIndex, -(lastIndex - firstIndex + 1));
             fireRemoved(firstIndex + index, lastIndex + index);
             updateSeparators();
         }
@@ -240,7 +240,12 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
     }
 
     public void setAcceleratorIsGlobal(boolean global) {
-        this.globalAccelerator = global;
+        if (this.globalAccelerator != global) {
+            this.globalAccelerator = global;
+            for (DockableKeyForwarder forwarder : forwarders.values()) {
+                forwarder.relocate();
+            }
+        }
     }
 
     public boolean isAcceleratorGlobal() {
@@ -318,6 +323,17 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
             }
         }
 
+        /**
+         * Registers this forwarder again, called when the {@link #getTreeLocation() location} of this
+         * forwarder changed.
+         */
+        public void relocate() {
+            if (controller != null) {
+                controller.getKeyboardController().removeListener(this);
+                controller.getKeyboardController().addListener(this);
+            }
+        }
+
         /**
          * Removes all listeners added by this forwarder.
          */
@@ -30,11 +30,10 @@ import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.DockElementRepresentative;
 import bibliothek.gui.dock.event.KeyboardListener;
 import bibliothek.gui.dock.event.LocatedListenerList;
+import bibliothek.util.ListenerList;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Abstract implementation of {@link KeyboardController} offering methods to store and call
@@ -43,6 +42,15 @@ import java.util.List;
  * @author Benjamin Sigg
  */
 public abstract class AbstractKeyboardController implements KeyboardController {
+    private static final LocatedListenerList.Dispatcher<KeyboardListener, KeyEvent> PRESSED =
+            (listener, element, event) -> listener.keyPressed(element, event);
+
+    private static final LocatedListenerList.Dispatcher<KeyboardListener, KeyEvent> RELEASED =
+            (listener, element, event) -> listener.keyReleased(element, event);
+
+    private static final LocatedListenerList.Dispatcher<KeyboardListener, KeyEvent> TYPED =
+            (listener, element, event) -> listener.keyTyped(element, event);
+
     /**
      * the list of listeners
      */
@@ -52,7 +60,7 @@ public abstract class AbstractKeyboardController implements KeyboardController {
     /**
      * the listeners which will be informed about any events
      */
-    private final List<KeyListener> globalListeners = new ArrayList<>();
+    private final ListenerList<KeyListener> globalListeners = new ListenerList<>(KeyListener[]::new);
 
     /**
      * the controller in whose realm this {@link KeyboardController} works
@@ -107,19 +115,13 @@ public abstract class AbstractKeyboardController implements KeyboardController {
         if (!event.isConsumed()) {
             DockElementRepresentative representative = controller.searchElement(event.getComponent());
             if (representative != null) {
-                DockElement element = representative.getElement();
-
-                List<KeyboardListener> list = keyListeners.affected(element);
-                for (KeyboardListener listener : list) {
-                    if (listener.keyPressed(element, event)) {
-                        event.consume();
-                        break;
-                    }
+                if (keyListeners.fire(representative.getElement(), event, PRESSED)) {
+                    event.consume();
                 }
             }
         }
 
-        for (KeyListener listener : globalListeners.toArray(new KeyListener[0])) {
+        for (KeyListener listener : globalListeners.toArray()) {
             listener.keyPressed(event);
         }
     }
@@ -135,19 +137,13 @@ public abstract class AbstractKeyboardController implements KeyboardController {
         if (!event.isConsumed()) {
             DockElementRepresentative representative = controller.searchElement(event.getComponent());
             if (representative != null) {
-                DockElement element = representative.getElement();
-
-                List<KeyboardListener> list = keyListeners.affected(element);
-                for (KeyboardListener listener : list) {
-                    if (listener.keyReleased(element, event)) {
-                        event.consume();
-                        break;
-                    }
+                if (keyListeners.fire(representative.getElement(), event, RELEASED)) {
+                    event.consume();
                 }
             }
         }
 
-        for (KeyListener listener : globalListeners.toArray(new KeyListener[0])) {
+        for (KeyListener listener : globalListeners.toArray()) {
             listener.keyReleased(event);
         }
     }
@@ -163,18 +159,13 @@ public abstract class AbstractKeyboardController implements KeyboardController {
         if (!event.isConsumed()) {
             DockElementRepresentative representative = controller.searchElement(event.getComponent());
             if (representative != null) {
-                DockElement element = representative.getElement();
-                List<KeyboardListener> list = keyListeners.affected(element);
-                for (KeyboardListener listener : list) {
-                    if (listener.keyTyped(element, event)) {
-                        event.consume();
-                        break;
-                    }
+                if (keyListeners.fire(representative.getElement(), event, TYPED)) {
+                    event.consume();
                 }
             }
         }
 
-        for (KeyListener listener : globalListeners.toArray(new KeyListener[0])) {
+        for (KeyListener listener : globalListeners.toArray()) {
             listener.keyTyped(event);
         }
     }
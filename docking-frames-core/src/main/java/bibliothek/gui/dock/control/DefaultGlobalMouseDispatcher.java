@@ -27,11 +27,10 @@ package bibliothek.gui.dock.control;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.util.ListenerList;
 
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * This default implementation of a {@link GlobalMouseDispatcher} uses an {@link AWTEventListener} is possible, or
@@ -45,14 +44,12 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
      */
     private AWTEventListener listener;
 
-    private final List<MouseListener> mouseListeners = new ArrayList<>();
-    private MouseListener[] mouseListenersCache = null;
+    private final ListenerList<MouseListener> mouseListeners = new ListenerList<>(MouseListener[]::new);
 
-    private final List<MouseMotionListener> mouseMotionListeners = new ArrayList<>();
-    private MouseMotionListener[] mouseMotionListenersCache = null;
+    private final ListenerList<MouseMotionListener> mouseMotionListeners =
+            new ListenerList<>(MouseMotionListener[]::new);
 
-    private final List<MouseWheelListener> mouseWheelListeners = new ArrayList<>();
-    private MouseWheelListener[] mouseWheelListenersCache = null;
+    private final ListenerList<MouseWheelListener> mouseWheelListeners = new ListenerList<>(MouseWheelListener[]::new);
 
     /**
      * whether the application is in restricted mode or not
@@ -125,12 +122,10 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
 
     public synchronized void addMouseListener(MouseListener listener) {
         mouseListeners.add(listener);
-        mouseListenersCache = null;
     }
 
     public synchronized void removeMouseListener(MouseListener listener) {
         mouseListeners.remove(listener);
-        mouseListenersCache = null;
     }
 
     /**
@@ -139,20 +134,15 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
      * @return all the listeners
      */
     protected synchronized MouseListener[] getMouseListeners() {
-        if (mouseListenersCache == null) {
-            mouseListenersCache = mouseListeners.toArray(new MouseListener[0]);
-        }
-        return mouseListenersCache;
+        return mouseListeners.toArray();
     }
 
     public synchronized void addMouseMotionListener(MouseMotionListener listener) {
         mouseMotionListeners.add(listener);
-        mouseMotionListenersCache = null;
     }
 
     public synchronized void removeMouseMotionListener(MouseMotionListener listener) {
         mouseMotionListeners.remove(listener);
-        mouseMotionListenersCache = null;
     }
 
     /**
@@ -161,20 +151,15 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
      * @return all the listeners
      */
     protected synchronized MouseMotionListener[] getMouseMotionListeners() {
-        if (mouseMotionListenersCache == null) {
-            mouseMotionListenersCache = mouseMotionListeners.toArray(new MouseMotionListener[0]);
-        }
-        return mouseMotionListenersCache;
+        return mouseMotionListeners.toArray();
     }
 
     public synchronized void addMouseWheelListener(MouseWheelListener listener) {
         mouseWheelListeners.add(listener);
-        mouseWheelListenersCache = null;
     }
 
     public synchronized void removeMouseWheelListener(MouseWheelListener listener) {
         mouseWheelListeners.remove(listener);
-        mouseWheelListenersCache = null;
     }
 
     /**
@@ -183,10 +168,7 @@ public class DefaultGlobalMouseDispatcher implements GlobalMouseDispatcher {
      * @return all the listeners
      */
     protected synchronized MouseWheelListener[] getMouseWheelListeners() {
-        if (mouseWheelListenersCache == null) {
-            mouseWheelListenersCache = mouseWheelListeners.toArray(new MouseWheelListener[0]);
-        }
-        return mouseWheelListenersCache;
+        return mouseWheelListeners.toArray();
     }
 
     private void updateRestricted() {
@@ -33,6 +33,7 @@ import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.station.LayoutLocked;
 import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.util.container.IdentityIndexedSet;
 
 import java.util.*;
 
@@ -52,11 +53,25 @@ public class DockRegister {
     /**
      * the known stations
      */
-    private final List<DockStation> stations = new ArrayList<>();
+    private final IdentityIndexedSet<DockStation> stations = new IdentityIndexedSet<>();
     /**
      * the known dockables
      */
-    private final List<Dockable> dockables = new ArrayList<>();
+    private final IdentityIndexedSet<Dockable> dockables = new IdentityIndexedSet<>();
+
+    /**
+     * unmodifiable view of {@link #stations}
+     */
+    private final Set<DockStation> stationsView = Collections.unmodifiableSet(stations);
+    /**
+     * unmodifiable view of {@link #dockables}
+     */
+    private final Set<Dockable> dockablesView = Collections.unmodifiableSet(dockables);
+
+    /**
+     * the stations which have no parent, <code>null</code> if not yet computed
+     */
+    private DockStation[] roots;
 
     /**
      * The controller for which the dockables and stations are stored
@@ -294,6 +309,16 @@ public class DockRegister {
         return stations.toArray(new DockStation[0]);
     }
 
+    /**
+     * Gets an unmodifiable view of all known {@link DockStation DockStations}. The view does not
+     * need to copy any data, but it must not be used while stations are registered or unregistered.
+     *
+     * @return the live view of all stations
+     */
+    public Set<DockStation> getDockStations() {
+        return stationsView;
+    }
+
     /**
      * Gets a list of stations which have no parent and are therefore
      * the roots of the dock-trees.
@@ -301,15 +326,31 @@ public class DockRegister {
      * @return the roots
      */
     public DockStation[] listRoots() {
-        List<DockStation> list = new LinkedList<>();
-        for (DockStation station : stations) {
-            Dockable dockable = station.asDockable();
-            if (dockable == null || dockable.getDockParent() == null) {
-                list.add(station);
+        if (roots == null) {
+            List<DockStation> list = new ArrayList<>();
+            for (DockStation station : stations) {
+                if (isRoot(station)) {
+                    list.add(station);
+                }
             }
+            roots = list.toArray(new DockStation[0]);
         }
 
-        return list.toArray(new DockStation[0]);
+        return roots.clone();
+    }
+
+    /**
+     * Tells whether <code>station</code> is a registered station without parent.
+     *
+     * @param station the station to check
+     * @return <code>true</code> if <code>station</code> is one of the {@link #listRoots() roots}
+     */
+    public boolean isRoot(DockStation station) {
+        if (!stations.contains(station)) {
+            return false;
+        }
+        Dockable dockable = station.asDockable();
+        return dockable == null || dockable.getDockParent() == null;
     }
 
     /**
@@ -371,6 +412,16 @@ public class DockRegister {
         return dockables.toArray(new Dockable[0]);
     }
 
+    /**
+     * Gets an unmodifiable view of all known {@link Dockable Dockables}. The view does not
+     * need to copy any data, but it must not be used while dockables are registered or unregistered.
+     *
+     * @return the live view of all dockables
+     */
+    public Set<Dockable> getDockables() {
+        return dockablesView;
+    }
+
     /**
      * Registers <code>dockable</code>, the associated controller will know the titles
      * of <code>dockable</code> to allow drag and drop operations.<br>
@@ -419,6 +470,7 @@ public class DockRegister {
             fireDockStationRegistering(station);
 
             stations.add(station);
+            roots = null;
 
             station.setController(controller);
             station.updateTheme();
@@ -440,6 +492,7 @@ public class DockRegister {
      */
     protected void unregister(DockStation station) {
         if (stations.remove(station)) {
+            roots = null;
             station.setController(null);
             station.removeDockStationListener(stationListener);
 
@@ -736,8 +789,15 @@ public class DockRegister {
             }
         }
 
+        @Override
+        public void dockableAdded(DockStation station, Dockable dockable) {
+            roots = null;
+        }
+
         @Override
         public void dockableRemoved(DockStation station, Dockable dockable) {
+            roots = null;
+
             if (dockable.getDockParent() != null && dockable.getDockParent() != station) {
                 throw new IllegalStateException(
                         "the parent of dockable is wrong: it is neither null nor '" + station + "'");
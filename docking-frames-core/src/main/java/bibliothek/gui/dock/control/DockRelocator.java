@@ -25,6 +25,7 @@
  */
 package bibliothek.gui.dock.control;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.control.relocator.Inserter;
@@ -162,6 +163,15 @@ public interface DockRelocator {
      */
     void cancel();
 
+    /**
+     * Releases all resources this relocator holds, e.g. listeners added to the {@link DockController} or to
+     * {@link java.awt.Component}s. This method is called by {@link DockController#kill()}, the relocator is not used
+     * afterwards. The default implementation does nothing.
+     */
+    default void kill() {
+        // ignore
+    }
+
     /**
      * Creates a device with which drag&amp;drop operations concerning
      * <code>dockable</code> can be initiated and executed.
@@ -0,0 +1,202 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.dockable.DockableStateListenerManager;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+/**
+ * Collects delayed events concerning {@link Dockable}s, like the events of a {@link DockableStateListenerManager},
+ * and executes them in one batch on the EventDispatchThread. While the {@link DockRegister} of the
+ * {@link DockController} is {@link DockRegister#isStalled() stalled}, e.g. because a new layout is applied, the
+ * events are only collected. Once the register is no longer stalled all the events are executed by one single
+ * task.<br>
+ * Events are executed in the order of the tree of {@link Dockable}s and {@link DockStation}s, events of parents
+ * are executed before the events of their children, events of siblings are executed in the order in which they
+ * were posted. Events that are posted while the batch is executed are
+ * executed in the same batch, unless the batch already needed {@link #MAX_ROUNDS} rounds. Then the remaining
+ * events are executed by a new task, giving other tasks of the EventDispatchThread a chance to run. Each event
+ * is executed only once per round, no matter how often it was posted.
+ * Checks, which compare some cached state with the current state of a {@link Dockable}, are executed after all
+ * events were handled.
+ *
+ * @author Benjamin Sigg
+ */
+public class DockableEventCoalescer {
+    /**
+     * the maximum number of rounds of events and checks executed by one call to {@link #flush()}
+     */
+    static final int MAX_ROUNDS = 64;
+
+    /**
+     * the controller whose events are collected
+     */
+    private final DockController controller;
+
+    /**
+     * the events that wait for their execution
+     */
+    private Map<Runnable, Dockable> events = new LinkedHashMap<>();
+
+    /**
+     * the checks that wait for their execution
+     */
+    private Map<Runnable, Dockable> checks = new LinkedHashMap<>();
+
+    /**
+     * whether a task is scheduled on the EventDispatchThread
+     */
+    private boolean scheduled = false;
+
+    /**
+     * whether the events are currently executed
+     */
+    private boolean flushing = false;
+
+    /**
+     * Creates a new coalescer.
+     *
+     * @param controller the controller whose {@link DockRegister} decides when events are executed
+     */
+    public DockableEventCoalescer(DockController controller) {
+        this.controller = controller;
+        controller.getRegister().addDockRegisterListener(new DockRegisterAdapter() {
+            @Override
+            public void registerUnstalled(DockController controller) {
+                schedule();
+            }
+        });
+    }
+
+    /**
+     * Posts a new event. The event will be executed later on the EventDispatchThread. If
+     * <code>event</code> was already posted and not yet executed, then this method does nothing.
+     *
+     * @param dockable the element which is affected by <code>event</code>, used to order the events
+     * @param event    the event to execute
+     */
+    public void post(Dockable dockable, Runnable event) {
+        events.putIfAbsent(event, dockable);
+        schedule();
+    }
+
+    /**
+     * Posts a new check. The check will be executed later on the EventDispatchThread, after all the
+     * events that are known at that time were executed.
+     *
+     * @param dockable the element which is checked, used to order the checks
+     * @param check    the check to execute
+     */
+    public void postCheck(Dockable dockable, Runnable check) {
+        checks.putIfAbsent(check, dockable);
+        schedule();
+    }
+
+    /**
+     * Makes sure that the pending events are executed once the {@link DockRegister} is no longer stalled.
+     */
+    private void schedule() {
+        if (!scheduled && !flushing && (!events.isEmpty() || !checks.isEmpty())) {
+            scheduled = true;
+            EventQueue.invokeLater(() -> {
+                scheduled = false;
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Executes all the pending events and checks, unless the {@link DockRegister} is stalled. Events which
+     * are still pending after {@link #MAX_ROUNDS} rounds are executed by a new task.
+     */
+    public void flush() {
+        if (flushing || controller.getRegister().isStalled()) {
+            return;
+        }
+
+        flushing = true;
+        try {
+            for (int round = 0; round < MAX_ROUNDS && (!events.isEmpty() || !checks.isEmpty()); round++) {
+                if (!events.isEmpty()) {
+                    Map<Runnable, Dockable> current = events;
+                    events = new LinkedHashMap<>();
+                    run(current);
+                } else {
+                    Map<Runnable, Dockable> current = checks;
+                    checks = new LinkedHashMap<>();
+                    run(current);
+                }
+            }
+        } finally {
+            flushing = false;
+            schedule();
+        }
+    }
+
+    /**
+     * Executes <code>tasks</code> in the order of the tree. If a task throws an exception, the remaining tasks
+     * are still executed and the first exception is thrown afterwards.
+     *
+     * @param tasks the tasks to execute
+     */
+    private void run(Map<Runnable, Dockable> tasks) {
+        Map<Dockable, Integer> depths = new IdentityHashMap<>();
+        List<Map.Entry<Runnable, Dockable>> order = new ArrayList<>(tasks.entrySet());
+        order.sort(Comparator.comparingInt(entry -> depths.computeIfAbsent(entry.getValue(), this::depth)));
+
+        RuntimeException failure = null;
+        for (Map.Entry<Runnable, Dockable> entry : order) {
+            try {
+                entry.getKey().run();
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private int depth(Dockable dockable) {
+        int depth = 0;
+        DockStation parent = dockable.getDockParent();
+        while (parent != null) {
+            depth++;
+            Dockable next = parent.asDockable();
+            parent = next == null ? null : next.getDockParent();
+        }
+        return depth;
+    }
+}
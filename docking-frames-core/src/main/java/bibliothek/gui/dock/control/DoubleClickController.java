@@ -38,7 +38,6 @@ import javax.swing.event.MouseInputAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -49,6 +48,9 @@ import java.util.Map;
  * @author Benjamin Sigg
  */
 public class DoubleClickController {
+    private static final LocatedListenerList.Dispatcher<DoubleClickListener, MouseEvent> PROCESS =
+            (observer, element, event) -> observer.process(element.asDockable(), event);
+
     /**
      * the list of all observers
      */
@@ -134,12 +136,8 @@ public class DoubleClickController {
             throw new IllegalArgumentException("click count must be equal to 2");
         }
 
-        List<DoubleClickListener> list = observers.affected(dockable);
-        for (DoubleClickListener observer : list) {
-            if (observer.process(dockable, event)) {
-                event.consume();
-                break;
-            }
+        if (observers.fire(dockable, event, PROCESS)) {
+            event.consume();
         }
     }
 
@@ -32,10 +32,9 @@ import bibliothek.gui.dock.event.DockableFocusListener;
 import bibliothek.gui.dock.event.FocusVetoListener;
 import bibliothek.gui.dock.event.FocusVetoListener.FocusVeto;
 import bibliothek.gui.dock.title.DockTitle;
+import bibliothek.util.ListenerList;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Abstract implementation of {@link FocusController} offering methods to
@@ -57,12 +56,13 @@ public abstract class AbstractFocusController implements FocusController {
     /**
      * Listeners observing the focused {@link Dockable}
      */
-    private final List<DockableFocusListener> dockableFocusListeners = new ArrayList<>();
+    private final ListenerList<DockableFocusListener> dockableFocusListeners =
+            new ListenerList<>(DockableFocusListener[]::new);
 
     /**
      * A list of listeners which can cancel a call to the controller
      */
-    private final List<FocusVetoListener> vetos = new ArrayList<>();
+    private final ListenerList<FocusVetoListener> vetos = new ListenerList<>(FocusVetoListener[]::new);
 
     /**
      * how often this focus controller was frozen
@@ -142,7 +142,7 @@ public abstract class AbstractFocusController implements FocusController {
      * @return the first veto
      */
     protected FocusVeto fireVetoTitle(DockTitle title) {
-        for (FocusVetoListener listener : vetos.toArray(new FocusVetoListener[0])) {
+        for (FocusVetoListener listener : vetos.toArray()) {
             FocusVeto veto = listener.vetoFocus(this, title);
             if (veto != FocusVeto.NONE) {
                 return veto;
@@ -161,7 +161,7 @@ public abstract class AbstractFocusController implements FocusController {
      * @return the first veto
      */
     protected FocusVeto fireVetoDockable(Dockable dockable) {
-        for (FocusVetoListener listener : vetos.toArray(new FocusVetoListener[0])) {
+        for (FocusVetoListener listener : vetos.toArray()) {
             FocusVeto veto = listener.vetoFocus(this, dockable);
             if (veto != FocusVeto.NONE) {
                 return veto;
@@ -207,7 +207,7 @@ public abstract class AbstractFocusController implements FocusController {
      * @return the modifiable array
      */
     protected DockableFocusListener[] dockableFocusListeners() {
-        return dockableFocusListeners.toArray(new DockableFocusListener[0]);
+        return dockableFocusListeners.toArray().clone();
     }
 
     /**
@@ -220,7 +220,7 @@ public abstract class AbstractFocusController implements FocusController {
     protected void fireDockableFocused(Dockable oldFocused, Dockable newFocused) {
         DockableFocusEvent event = new DockableFocusEvent(controller, oldFocused, newFocused);
 
-        for (DockableFocusListener listener : dockableFocusListeners()) {
+        for (DockableFocusListener listener : dockableFocusListeners.toArray()) {
             listener.dockableFocused(event);
         }
     }
@@ -31,16 +31,20 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockableFocusEvent;
 import bibliothek.gui.dock.event.DockableFocusListener;
-import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.util.Filter;
+import bibliothek.util.container.IdentityIndexedSet;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The default implementation of {@link FocusHistory} adds listeners to a
  * {@link DockController} to keep the history up to date. Only {@link Dockable}s that
- * are actually registered at the controller are reported in the history
+ * are actually registered at the controller are reported in the history.<br>
+ * Registering, unregistering and focusing a {@link Dockable} runs in constant time.
  *
  * @author Benjamin Sigg
  */
@@ -51,14 +55,14 @@ public class DefaultFocusHistory implements FocusHistory {
     private DockController controller;
 
     /**
-     * the actual history
+     * the actual history, the last element had the focus most recently
      */
-    private final List<Dockable> history = new LinkedList<>();
+    private final IdentityIndexedSet<Dockable> history = new IdentityIndexedSet<>();
 
     /**
      * these Dockables did not yet have the focus
      */
-    private final List<Dockable> unfocused = new LinkedList<>();
+    private final IdentityIndexedSet<Dockable> unfocused = new IdentityIndexedSet<>();
 
     /**
      * the listeners that are added to {@link #controller}
@@ -85,28 +89,74 @@ public class DefaultFocusHistory implements FocusHistory {
         for (Dockable dockable : unfocused) {
             result[index++] = dockable;
         }
-
-
-        index = result.length - 1;
         for (Dockable item : history) {
-            result[index--] = item;
+            result[index++] = item;
         }
         return result;
     }
 
+    /**
+     * Searches the newest item of the history that is a child of one of <code>parents</code>. The history is
+     * visited from the newest to the oldest item. Whether a {@link DockStation} is one of <code>parents</code>
+     * or a child of them is remembered for the duration of the call, hence each station is visited at most
+     * once and the search runs in O(history + stations).
+     */
     public Dockable getNewestOn(DockStation... parents) {
-        for (Dockable item : history) {
-            for (DockStation station : parents) {
-                if (item != station && DockUtilities.isAncestor(station, item)) {
-                    return item;
-                }
+        if (parents.length == 0 || history.isEmpty()) {
+            return null;
+        }
+
+        Map<DockStation, Boolean> below = new IdentityHashMap<>();
+        for (DockStation parent : parents) {
+            below.put(parent, Boolean.TRUE);
+        }
+        List<DockStation> chain = new ArrayList<>();
+
+        Iterator<Dockable> iterator = history.descendingIterator();
+        while (iterator.hasNext()) {
+            Dockable item = iterator.next();
+            if (isChildOf(item, below, chain)) {
+                return item;
             }
         }
         return null;
     }
 
+    /**
+     * Tells whether one of the parents of <code>item</code> is in <code>below</code> with the value
+     * <code>true</code>. The chain of parents is climbed until a station with a known answer is found, and the
+     * answer is then stored for all the stations that were visited.
+     *
+     * @param item  the element whose parents are checked
+     * @param below for each known station whether it is one of the searched stations or a child of them
+     * @param chain a list used to collect the visited stations, its content is replaced
+     * @return <code>true</code> if <code>item</code> is a direct or indirect child of one of the searched stations
+     */
+    private boolean isChildOf(Dockable item, Map<DockStation, Boolean> below, List<DockStation> chain) {
+        chain.clear();
+        Boolean known = null;
+        DockStation station = item.getDockParent();
+        while (station != null) {
+            known = below.get(station);
+            if (known != null) {
+                break;
+            }
+            chain.add(station);
+            Dockable next = station.asDockable();
+            station = next == null ? null : next.getDockParent();
+        }
+
+        boolean result = known != null && known;
+        for (DockStation visited : chain) {
+            below.put(visited, result);
+        }
+        return result;
+    }
+
     public Dockable getFirst(Filter<Dockable> filter) {
-        for (Dockable dockable : history) {
+        Iterator<Dockable> iterator = history.descendingIterator();
+        while (iterator.hasNext()) {
+            Dockable dockable = iterator.next();
             if (filter.includes(dockable)) {
                 return dockable;
             }
@@ -128,7 +178,7 @@ public class DefaultFocusHistory implements FocusHistory {
 
         @Override
         public void dockableRegistered(DockController controller, Dockable dockable) {
-            if (!unfocused.contains(dockable) && !history.contains(dockable)) {
+            if (!history.contains(dockable)) {
                 unfocused.add(dockable);
             }
         }
@@ -138,7 +188,7 @@ public class DefaultFocusHistory implements FocusHistory {
             if (owner != null) {
                 unfocused.remove(owner);
                 history.remove(owner);
-                history.add(0, owner);
+                history.add(owner);
             }
         }
     }
@@ -61,9 +61,8 @@ import javax.swing.*;
 import javax.swing.event.MouseInputAdapter;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Default implementation of a handler that performs the {@literal drag & drop} operations
@@ -143,6 +142,11 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
      */
     private final Listener listeners;
 
+    /**
+     * Spatial index of the {@link DockStation}s, used to find the stations under the mouse
+     */
+    private final DropLayerIndex dropLayerIndex;
+
     /**
      * Creates a new manager.
      *
@@ -160,9 +164,11 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
         final MultiInserter inserter = new MultiInserter();
 
         listeners = new Listener();
+        dropLayerIndex = new DropLayerIndex(controller);
 
         setup.add(controller1 -> {
             controller1.addRepresentativeListener(listeners);
+            dropLayerIndex.bind();
 
             List<Merger> mergers =
                     controller1.getExtensions().load(new ExtensionName<>(MERGE_EXTENSION, Merger.class,
@@ -411,9 +417,19 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
         return merger.canMerge(operation, parent, child);
     }
 
+    /**
+     * Gets the spatial index which is used to find the {@link DockStation}s that are under the mouse.
+     *
+     * @return the index, not <code>null</code>
+     */
+    public DropLayerIndex getDropLayerIndex() {
+        return dropLayerIndex;
+    }
+
     /**
      * Makes a list of all stations which are visible and contain the point
-     * <code>x/y</code>. The stations are ordered by their visibility.
+     * <code>x/y</code>. The stations are ordered by their visibility. Only the stations
+     * which are reported by the {@link #getDropLayerIndex() index}, and their parents, are checked.
      *
      * @param x     x-coordinate on the screen
      * @param y     y-coordinate on the screen
@@ -432,14 +448,22 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
         if (disabling == null || !disabling.isDisabled(moved)) {
             DockStation movedStation = moved.asDockStation();
             if (!isCancelLocation(x, y, moved)) {
-                for (DockStation station : controller.getRegister().listDockStations()) {
-                    if (disabling == null || !disabling.isDisabled(station)) {
-                        if (movedStation == null ||
-                                (!DockUtilities.isAncestor(movedStation, station) && movedStation != station)) {
-                            if (station.isStationShowing() && isStationValid(station)) {
-                                collection.add(station);
-                            }
+                Set<DockStation> candidates = new HashSet<>();
+                if (dropLayerIndex.isBound()) {
+                    dropLayerIndex.getStationsAt(x, y, candidates);
+                } else {
+                    candidates.addAll(controller.getRegister().getDockStations());
+                }
+
+                Set<DockStation> checked = new HashSet<>();
+                for (DockStation station : candidates) {
+                    // parents may modify the layers of their children, hence they have to be present as well
+                    while (station != null && checked.add(station)) {
+                        if (isStationAcceptable(station, movedStation, disabling)) {
+                            collection.add(station);
                         }
+                        Dockable dockable = station.asDockable();
+                        station = dockable == null ? null : dockable.getDockParent();
                     }
                 }
             }
@@ -447,6 +471,27 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
         return collection.sort(x, y);
     }
 
+    /**
+     * Tells whether <code>station</code> can be a target of a drag and drop operation.
+     *
+     * @param station      the station to check
+     * @param movedStation the dragged element as station, can be <code>null</code>
+     * @param disabling    the current {@link DisablingStrategy}, can be <code>null</code>
+     * @return whether <code>station</code> is a valid target
+     */
+    private boolean isStationAcceptable(DockStation station, DockStation movedStation, DisablingStrategy disabling) {
+        if (disabling != null && disabling.isDisabled(station)) {
+            return false;
+        }
+        if (movedStation != null && (movedStation == station || DockUtilities.isAncestor(movedStation, station))) {
+            return false;
+        }
+        if (station.getController() != getController()) {
+            return false;
+        }
+        return station.isStationShowing() && isStationValid(station);
+    }
+
     /**
      * Checks whether the mouse is at a location that cancels a drag and drop operation. This method just calls
      * {@link #isCancelLocation(int, int, DockElementRepresentative)} with all the {@link DockElementRepresentative}
@@ -995,6 +1040,12 @@ public class DefaultDockRelocator extends AbstractDockRelocator {
         }
     }
 
+    @Override
+    public void kill() {
+        cancel();
+        dropLayerIndex.unbind();
+    }
+
     /**
      * Cancels the current drag and drop operation and fires events
      *
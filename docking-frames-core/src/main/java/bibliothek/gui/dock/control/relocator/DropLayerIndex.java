@@ -0,0 +1,432 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.relocator;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.control.DockRegister;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.DockRegisterListener;
+import bibliothek.gui.dock.station.layer.DockStationDropLayer;
+import bibliothek.gui.dock.station.layer.DockStationDropLayerFactory;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.List;
+import java.util.*;
+
+/**
+ * A {@link DropLayerIndex} divides the screen into a grid of cells and remembers which {@link DockStation}s
+ * have a {@link DockStationDropLayer} overlapping each cell. The index allows to find the stations that
+ * may be under the mouse without visiting every registered station.<br>
+ * The index observes the {@link DockRegister} and the {@link Component}s of the layers. Stations whose layers
+ * may have been moved, resized, shown or hidden are measured again the next time the index is queried. Stations
+ * with a layer whose {@link DockStationDropLayer#getScreenBounds() boundaries} are unknown are always reported.
+ *
+ * @author Benjamin Sigg
+ */
+public class DropLayerIndex {
+    /**
+     * the width and height of one cell of the grid, in pixels
+     */
+    private static final int CELL_SIZE = 128;
+
+    /**
+     * stations covering more cells than this are treated like stations with unknown boundaries
+     */
+    private static final int MAX_CELLS = 256;
+
+    /**
+     * the controller whose stations are indexed
+     */
+    private final DockController controller;
+
+    /**
+     * all the known stations
+     */
+    private final Map<DockStation, Entry> entries = new HashMap<>();
+
+    /**
+     * the cells of the grid, the key is built by {@link #key(int, int)}
+     */
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+    /**
+     * the stations whose boundaries are not known
+     */
+    private final Set<Entry> unbounded = new LinkedHashSet<>();
+
+    /**
+     * the stations which have to be measured again
+     */
+    private final Set<Entry> dirty = new LinkedHashSet<>();
+
+    /**
+     * the factory that was used to find the layers of the stations
+     */
+    private DockStationDropLayerFactory factory;
+
+    /**
+     * whether this index currently observes the {@link DockRegister}
+     */
+    private boolean bound = false;
+
+    /**
+     * a listener adding and removing stations
+     */
+    private final DockRegisterListener registerListener = new DockRegisterAdapter() {
+        @Override
+        public void dockStationRegistered(DockController controller, DockStation station) {
+            add(station);
+        }
+
+        @Override
+        public void dockStationUnregistered(DockController controller, DockStation station) {
+            remove(station);
+        }
+    };
+
+    /**
+     * Creates a new index.
+     *
+     * @param controller the controller whose stations are to be indexed, not <code>null</code>
+     */
+    public DropLayerIndex(DockController controller) {
+        if (controller == null) {
+            throw new IllegalArgumentException("controller must not be null");
+        }
+        this.controller = controller;
+    }
+
+    /**
+     * Starts observing the {@link DockRegister} of the controller and adds all the stations that are
+     * already registered.
+     */
+    public void bind() {
+        if (!bound) {
+            bound = true;
+            DockRegister register = controller.getRegister();
+            register.addDockRegisterListener(registerListener);
+            for (int i = 0, n = register.getStationCount(); i < n; i++) {
+                add(register.getStation(i));
+            }
+        }
+    }
+
+    /**
+     * Stops observing the {@link DockRegister} and releases all resources.
+     */
+    public void unbind() {
+        if (bound) {
+            bound = false;
+            controller.getRegister().removeDockRegisterListener(registerListener);
+            for (Entry entry : entries.values()) {
+                entry.observe(Collections.emptyList());
+            }
+            entries.clear();
+            cells.clear();
+            unbounded.clear();
+            dirty.clear();
+        }
+    }
+
+    /**
+     * Tells whether this index is observing the {@link DockRegister}.
+     *
+     * @return <code>true</code> if {@link #bind()} was called
+     */
+    public boolean isBound() {
+        return bound;
+    }
+
+    /**
+     * Adds all the stations to <code>result</code> which may have a {@link DockStationDropLayer} containing
+     * the point <code>x/y</code>. The stations are not checked for visibility or any other property, and
+     * the result may contain stations whose layers do not contain <code>x/y</code>.
+     *
+     * @param x      the x-coordinate of the mouse on the screen
+     * @param y      the y-coordinate of the mouse on the screen
+     * @param result the collection to fill
+     */
+    public void getStationsAt(int x, int y, Collection<DockStation> result) {
+        update();
+
+        List<Entry> cell = cells.get(key(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(y, CELL_SIZE)));
+        if (cell != null) {
+            for (Entry entry : cell) {
+                if (entry.contains(x, y)) {
+                    result.add(entry.station);
+                }
+            }
+        }
+        for (Entry entry : unbounded) {
+            result.add(entry.station);
+        }
+    }
+
+    /**
+     * Marks all stations as invalid, they will be measured again the next time this index is queried.
+     */
+    public void invalidate() {
+        dirty.addAll(entries.values());
+    }
+
+    /**
+     * Measures all the stations which were marked as invalid.
+     */
+    private void update() {
+        DockStationDropLayerFactory current =
+                controller.getProperties().get(DockStationDropLayerFactory.DROP_LAYER_FACTORY);
+        if (current != factory) {
+            factory = current;
+            invalidate();
+        }
+
+        if (!dirty.isEmpty()) {
+            for (Entry entry : dirty) {
+                entry.measure();
+            }
+            dirty.clear();
+        }
+    }
+
+    private void add(DockStation station) {
+        if (!entries.containsKey(station)) {
+            Entry entry = new Entry(station);
+            entries.put(station, entry);
+            dirty.add(entry);
+        }
+    }
+
+    private void remove(DockStation station) {
+        Entry entry = entries.remove(station);
+        if (entry != null) {
+            dirty.remove(entry);
+            entry.clear();
+            entry.observe(Collections.emptyList());
+        }
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Information about one {@link DockStation}, also observes the {@link Component}s of the station.
+     *
+     * @author Benjamin Sigg
+     */
+    private class Entry implements ComponentListener, HierarchyListener, HierarchyBoundsListener {
+        private final DockStation station;
+
+        /**
+         * the boundaries of the layers, <code>null</code> if unknown
+         */
+        private Rectangle[] bounds;
+
+        /**
+         * the keys of the cells this entry is stored in
+         */
+        private long[] keys;
+
+        /**
+         * the components to which this entry is added as listener
+         */
+        private List<Component> observed = Collections.emptyList();
+
+        public Entry(DockStation station) {
+            this.station = station;
+        }
+
+        /**
+         * Tells whether any of the layers of this station may contain <code>x/y</code>.
+         *
+         * @param x the x-coordinate on the screen
+         * @param y the y-coordinate on the screen
+         * @return whether the point may be inside the station
+         */
+        public boolean contains(int x, int y) {
+            for (Rectangle rectangle : bounds) {
+                // layers often include their border, hence the additional pixel
+                if (x >= rectangle.x && x <= rectangle.x + rectangle.width &&
+                        y >= rectangle.y && y <= rectangle.y + rectangle.height) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Reads the layers of the station and stores this entry in the cells of the grid.
+         */
+        public void measure() {
+            clear();
+
+            List<Component> components = new ArrayList<>();
+            Dockable dockable = station.asDockable();
+            if (dockable != null) {
+                components.add(dockable.getComponent());
+            }
+
+            DockStationDropLayer[] layers = factory.getLayers(station);
+            List<Rectangle> rectangles = new ArrayList<>(layers.length);
+            boolean known = true;
+
+            for (DockStationDropLayer layer : layers) {
+                Component component = layer.getComponent();
+                if (component != null && !components.contains(component)) {
+                    components.add(component);
+                }
+
+                Rectangle rectangle = layer.getScreenBounds();
+                if (rectangle == null) {
+                    known = false;
+                } else if (!rectangle.isEmpty()) {
+                    rectangles.add(rectangle);
+                }
+            }
+
+            observe(components);
+
+            if (!known) {
+                bounds = null;
+                unbounded.add(this);
+                return;
+            }
+
+            bounds = rectangles.toArray(new Rectangle[0]);
+
+            Set<Long> keySet = new HashSet<>();
+            for (Rectangle rectangle : bounds) {
+                int minX = Math.floorDiv(rectangle.x, CELL_SIZE);
+                int minY = Math.floorDiv(rectangle.y, CELL_SIZE);
+                int maxX = Math.floorDiv(rectangle.x + rectangle.width, CELL_SIZE);
+                int maxY = Math.floorDiv(rectangle.y + rectangle.height, CELL_SIZE);
+
+                if ((long) (maxX - minX + 1) * (maxY - minY + 1) + keySet.size() > MAX_CELLS) {
+                    bounds = null;
+                    unbounded.add(this);
+                    return;
+                }
+
+                for (int cx = minX; cx <= maxX; cx++) {
+                    for (int cy = minY; cy <= maxY; cy++) {
+                        keySet.add(key(cx, cy));
+                    }
+                }
+            }
+
+            keys = new long[keySet.size()];
+            int index = 0;
+            for (long key : keySet) {
+                keys[index++] = key;
+                cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(this);
+            }
+        }
+
+        /**
+         * Removes this entry from all the cells.
+         */
+        public void clear() {
+            if (bounds == null) {
+                unbounded.remove(this);
+            }
+            if (keys != null) {
+                for (long key : keys) {
+                    List<Entry> cell = cells.get(key);
+                    if (cell != null) {
+                        cell.remove(this);
+                        if (cell.isEmpty()) {
+                            cells.remove(key);
+                        }
+                    }
+                }
+                keys = null;
+            }
+            bounds = null;
+        }
+
+        /**
+         * Changes the set of components which are observed by this entry.
+         *
+         * @param components the components to observe
+         */
+        public void observe(List<Component> components) {
+            for (Component component : observed) {
+                if (!components.contains(component)) {
+                    component.removeComponentListener(this);
+                    component.removeHierarchyListener(this);
+                    component.removeHierarchyBoundsListener(this);
+                }
+            }
+            for (Component component : components) {
+                if (!observed.contains(component)) {
+                    component.addComponentListener(this);
+                    component.addHierarchyListener(this);
+                    component.addHierarchyBoundsListener(this);
+                }
+            }
+            observed = components;
+        }
+
+        private void invalidate() {
+            if (entries.get(station) == this) {
+                dirty.add(this);
+            }
+        }
+
+        public void componentResized(ComponentEvent e) {
+            invalidate();
+        }
+
+        public void componentMoved(ComponentEvent e) {
+            invalidate();
+        }
+
+        public void componentShown(ComponentEvent e) {
+            invalidate();
+        }
+
+        public void componentHidden(ComponentEvent e) {
+            invalidate();
+        }
+
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+                invalidate();
+            }
+        }
+
+        public void ancestorMoved(HierarchyEvent e) {
+            invalidate();
+        }
+
+        public void ancestorResized(HierarchyEvent e) {
+            invalidate();
+        }
+    }
+}
@@ -47,6 +47,7 @@ import bibliothek.gui.dock.util.DockProperties;
 import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.icon.DockIcon;
+import bibliothek.util.ListenerList;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Priority;
@@ -86,7 +87,7 @@ public abstract class AbstractDockable implements Dockable {
     /**
      * a list of dockableListeners which will be informed when some properties changes
      */
-    private final List<DockableListener> dockableListeners = new ArrayList<>();
+    private final ListenerList<DockableListener> dockableListeners = new ListenerList<>(DockableListener[]::new);
     /**
      * a listener to the hierarchy of the parent
      */
@@ -599,7 +600,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param newTitle the new title
      */
     protected void fireTitleTextChanged(String oldTitle, String newTitle) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleTextChanged(this, oldTitle, newTitle);
         }
     }
@@ -612,7 +613,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param newTooltip the new value
      */
     protected void fireTitleTooltipChanged(String oldTooltip, String newTooltip) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleToolTipChanged(this, oldTooltip, newTooltip);
         }
     }
@@ -626,7 +627,7 @@ public abstract class AbstractDockable implements Dockable {
      */
     protected void fireTitleIconChanged(Icon oldIcon, Icon newIcon) {
         currentTitleIcon = newIcon;
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleIconChanged(this, oldIcon, newIcon);
         }
     }
@@ -637,7 +638,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title the title which was bound
      */
     protected void fireTitleBound(DockTitle title) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleBound(this, title);
         }
     }
@@ -648,7 +649,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title the title which was unbound
      */
     protected void fireTitleUnbound(DockTitle title) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleUnbound(this, title);
         }
     }
@@ -660,7 +661,7 @@ public abstract class AbstractDockable implements Dockable {
      * @param title a title, can be <code>null</code>
      */
     protected void fireTitleExchanged(DockTitle title) {
-        for (DockableListener listener : dockableListeners.toArray(new DockableListener[0])) {
+        for (DockableListener listener : dockableListeners.toArray()) {
             listener.titleExchanged(this, title);
         }
     }
@@ -30,9 +30,7 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
-
-import java.util.ArrayList;
-import java.util.List;
+import bibliothek.util.ListenerList;
 
 /**
  * A helper class that is able to send {@link DockHierarchyEvent}s to
@@ -53,7 +51,8 @@ public class DockHierarchyObserver implements DockHierarchyListener {
     /**
      * a list of listeners which are informed when the hierarchy changes
      */
-    private final List<DockHierarchyListener> hierarchyListeners = new ArrayList<>();
+    private final ListenerList<DockHierarchyListener> hierarchyListeners =
+            new ListenerList<>(DockHierarchyListener[]::new);
 
     /**
      * The Dockable for which events are generated
@@ -110,7 +109,7 @@ public class DockHierarchyObserver implements DockHierarchyListener {
     protected void fireHierarchyChanged() {
         if (!hierarchyListeners.isEmpty()) {
             DockHierarchyEvent event = new DockHierarchyEvent(owner);
-            for (DockHierarchyListener listener : hierarchyListeners.toArray(new DockHierarchyListener[0])) {
+            for (DockHierarchyListener listener : hierarchyListeners.toArray()) {
                 listener.hierarchyChanged(event);
             }
         }
@@ -124,7 +123,7 @@ public class DockHierarchyObserver implements DockHierarchyListener {
     protected void fireControllerChanged(DockController controller) {
         if (!hierarchyListeners.isEmpty()) {
             DockHierarchyEvent event = new DockHierarchyEvent(owner, controller);
-            for (DockHierarchyListener listener : hierarchyListeners.toArray(new DockHierarchyListener[0])) {
+            for (DockHierarchyListener listener : hierarchyListeners.toArray()) {
                 listener.controllerChanged(event);
             }
         }
@@ -25,16 +25,16 @@
  */
 package bibliothek.gui.dock.dockable;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.util.ListenerList;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * A handler for invoking {@link DockableStateListener}s. Can be used by {@link Dockable}s.<br>
@@ -53,7 +53,7 @@ public class DockableStateListenerManager {
     /**
      * all the listeners that are currently registered
      */
-    private final List<DockableStateListener> listeners = new ArrayList<>();
+    private final ListenerList<DockableStateListener> listeners = new ListenerList<>(DockableStateListener[]::new);
 
     /**
      * the currently pending events
@@ -80,6 +80,14 @@ public class DockableStateListenerManager {
      */
     private boolean firing = false;
 
+    /**
+     * fires the collected events, executed delayed by {@link #event(int)}
+     */
+    private final Runnable fire = () -> {
+        firing = false;
+        fireNow();
+    };
+
     /**
      * this listener is added to the parent of {@link #dockable} and forwards an event if it is triggered
      */
@@ -226,7 +234,9 @@ public class DockableStateListenerManager {
 
     /**
      * Informs this observer that <code>dockable</code> changed. The flags are created using the
-     * constants from {@link DockableStateEvent}.
+     * constants from {@link DockableStateEvent}. The event is fired later using the
+     * {@link DockController#getEventCoalescer() coalescer} of the current {@link DockController}, which
+     * combines the events of all the {@link Dockable}s of a layout transaction into one batch.
      *
      * @param flags the changes
      */
@@ -234,10 +244,12 @@ public class DockableStateListenerManager {
         current |= flags;
         if (!firing) {
             firing = true;
-            EventQueue.invokeLater(() -> {
-                firing = false;
-                fireNow();
-            });
+            DockController controller = dockable.getController();
+            if (controller == null) {
+                EventQueue.invokeLater(fire);
+            } else {
+                controller.getEventCoalescer().post(dockable, fire);
+            }
         }
     }
 
@@ -249,7 +261,7 @@ public class DockableStateListenerManager {
             if (listeners.size() > 0) {
                 DockableStateEvent event = new DockableStateEvent(dockable, current);
                 current = 0;
-                for (DockableStateListener listener : listeners.toArray(new DockableStateListener[0])) {
+                for (DockableStateListener listener : listeners.toArray()) {
                     listener.changed(event);
                 }
             }
@@ -23,28 +23,51 @@
  * benjamin_sigg@gmx.ch
  * CH - Switzerland
  */
-
 package bibliothek.gui.dock.event;
 
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
-import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.util.ListenerList;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * An object that can hold some {@link LocatedListener}s and order and filter
- * them regarding to one element of the tree.
+ * them regarding to one element of the tree.<br>
+ * The listeners are grouped by their {@link LocatedListener#getTreeLocation() location}, an event only visits
+ * the groups of the element on which it occurred and of the ancestors of that element. The location of a
+ * listener is read when the listener is added, a listener whose location changes has to be removed and
+ * added again.
  *
  * @param <L> the type of listeners in this list
  * @author Benjamin Sigg
  */
 public class LocatedListenerList<L extends LocatedListener> {
     /**
-     * the listener of listeners known to this list
+     * the listeners whose location is not <code>null</code>, grouped by their location
+     */
+    private final Map<DockElement, ListenerList<L>> located = new IdentityHashMap<>();
+
+    /**
+     * the listeners whose location is <code>null</code>
+     */
+    private final ListenerList<L> global = createGroup();
+
+    /**
+     * the number of listeners in this list
      */
-    private final List<L> listeners = new ArrayList<>();
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    private ListenerList<L> createGroup() {
+        IntFunction<?> generator = LocatedListener[]::new;
+        return new ListenerList<>((IntFunction<L[]>) generator);
+    }
 
     /**
      * Adds a listener to the list of listeners.
@@ -52,7 +75,13 @@ public class LocatedListenerList<L extends LocatedListener> {
      * @param listener the new listener
      */
     public void addListener(L listener) {
-        listeners.add(listener);
+        DockElement location = listener.getTreeLocation();
+        if (location == null) {
+            global.add(listener);
+        } else {
+            located.computeIfAbsent(location, key -> createGroup()).add(listener);
+        }
+        size++;
     }
 
     /**
@@ -61,7 +90,37 @@ public class LocatedListenerList<L extends LocatedListener> {
      * @param listener the listener to remove
      */
     public void removeListener(L listener) {
-        listeners.remove(listener);
+        if (remove(listener.getTreeLocation(), listener)) {
+            size--;
+            return;
+        }
+
+        // the location of the listener changed since it was added
+        if (global.remove(listener)) {
+            size--;
+            return;
+        }
+        for (DockElement location : located.keySet()) {
+            if (remove(location, listener)) {
+                size--;
+                return;
+            }
+        }
+    }
+
+    private boolean remove(DockElement location, L listener) {
+        if (location == null) {
+            return global.remove(listener);
+        }
+
+        ListenerList<L> group = located.get(location);
+        if (group == null || !group.remove(listener)) {
+            return false;
+        }
+        if (group.isEmpty()) {
+            located.remove(location);
+        }
+        return true;
     }
 
     /**
@@ -70,7 +129,7 @@ public class LocatedListenerList<L extends LocatedListener> {
      * @return the number of listeners
      */
     public int size() {
-        return listeners.size();
+        return size;
     }
 
     /**
@@ -82,39 +141,79 @@ public class LocatedListenerList<L extends LocatedListener> {
      * @return the ordered list of observers
      */
     public List<L> affected(DockElement element) {
-        List<L> list = new LinkedList<>();
-        for (L listener : listeners) {
-            DockElement location = listener.getTreeLocation();
-            if (location == null) {
-                list.add(listener);
-            } else if (element != null && DockUtilities.isAncestor(location, element)) {
-                list.add(listener);
-            }
-        }
+        List<L> list = new ArrayList<>();
+        fire(element, list, (listener, source, result) -> {
+            result.add(listener);
+            return false;
+        });
+        return list;
+    }
 
-        list.sort((o1, o2) -> {
-            DockElement a = o1.getTreeLocation();
-            DockElement b = o2.getTreeLocation();
+    /**
+     * Calls <code>dispatcher</code> for all {@link LocatedListener}s which are affected by an event which occurs
+     * on <code>element</code>, in the same order as {@link #affected(DockElement)} would list them. The listeners
+     * whose location is <code>element</code> are called first, then the listeners of the parents of
+     * <code>element</code>, and finally the listeners without location. Apart from what <code>dispatcher</code>
+     * does, this method does not allocate any memory. Listeners may be added or removed while this method runs,
+     * these changes do not affect the current call.
+     *
+     * @param element    the element which is the source of an event, can be <code>null</code>
+     * @param argument   an argument for <code>dispatcher</code>, usually the event
+     * @param dispatcher the code that calls one listener
+     * @param <A>        the type of <code>argument</code>
+     * @return <code>true</code> if <code>dispatcher</code> returned <code>true</code> for a listener, in which
+     * case the remaining listeners were not called
+     */
+    public <A> boolean fire(DockElement element, A argument, Dispatcher<? super L, ? super A> dispatcher) {
+        if (element != null && !located.isEmpty()) {
+            Dockable dockable = element.asDockable();
+            DockStation station = null;
 
-            if (a == b) {
-                return 0;
+            while (dockable != null) {
+                if (fire(located.get(dockable), element, argument, dispatcher)) {
+                    return true;
+                }
+                station = dockable.getDockParent();
+                dockable = station == null ? null : station.asDockable();
             }
 
-            if (a == null) {
-                return 1;
+            if (station != null && fire(located.get(station), element, argument, dispatcher)) {
+                return true;
             }
+        }
 
-            if (b == null) {
-                return -1;
-            }
+        return fire(global, element, argument, dispatcher);
+    }
 
-            if (DockUtilities.isAncestor(a, b)) {
-                return 1;
+    private <A> boolean fire(ListenerList<L> group, DockElement element, A argument,
+                             Dispatcher<? super L, ? super A> dispatcher) {
+        if (group != null) {
+            for (L listener : group.toArray()) {
+                if (dispatcher.dispatch(listener, element, argument)) {
+                    return true;
+                }
             }
+        }
+        return false;
+    }
 
-            return -1;
-        });
-
-        return list;
+    /**
+     * Calls one {@link LocatedListener} on behalf of {@link LocatedListenerList#fire(DockElement, Object, Dispatcher)}.
+     *
+     * @param <L> the type of the listeners
+     * @param <A> the type of the additional argument
+     * @author Benjamin Sigg
+     */
+    public interface Dispatcher<L extends LocatedListener, A> {
+        /**
+         * Calls <code>listener</code>.
+         *
+         * @param listener the listener to call
+         * @param element  the element on which the event occurred
+         * @param argument the argument that was given to
+         *                 {@link LocatedListenerList#fire(DockElement, Object, Dispatcher)}
+         * @return <code>true</code> if the event was consumed and no other listener must be called
+         */
+        boolean dispatch(L listener, DockElement element, A argument);
     }
 }
@@ -32,12 +32,12 @@ import bibliothek.gui.dock.event.DockRegisterAdapter;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockableAdapter;
 import bibliothek.gui.dock.event.DockableListener;
+import bibliothek.util.ListenerList;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -52,7 +52,8 @@ import java.util.List;
  * @author Benjamin Sigg
  */
 public abstract class AbstractDockableSelection extends JPanel implements DockableSelection {
-    private final List<DockableSelectionListener> listeners = new ArrayList<>();
+    private final ListenerList<DockableSelectionListener> listeners =
+            new ListenerList<>(DockableSelectionListener[]::new);
 
     /**
      * Action called when the up arrow key was pressed.
@@ -359,7 +360,7 @@ public abstract class AbstractDockableSelection extends JPanel implements Dockab
      */
     protected void setSelection(Dockable dockable) {
         selection = dockable;
-        for (DockableSelectionListener listener : listeners.toArray(new DockableSelectionListener[0])) {
+        for (DockableSelectionListener listener : listeners.toArray()) {
             listener.considering(dockable);
         }
     }
@@ -368,7 +369,7 @@ public abstract class AbstractDockableSelection extends JPanel implements Dockab
      * Cancels this selection
      */
     protected void cancel() {
-        for (DockableSelectionListener listener : listeners.toArray(new DockableSelectionListener[0])) {
+        for (DockableSelectionListener listener : listeners.toArray()) {
             listener.canceled();
         }
     }
@@ -382,7 +383,7 @@ public abstract class AbstractDockableSelection extends JPanel implements Dockab
         if (selection != null) {
             Dockable dockable = this.selection;
 
-            for (DockableSelectionListener listener : listeners.toArray(new DockableSelectionListener[0])) {
+            for (DockableSelectionListener listener : listeners.toArray()) {
                 listener.selected(dockable);
             }
         }
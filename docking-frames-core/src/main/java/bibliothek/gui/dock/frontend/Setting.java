@@ -31,6 +31,8 @@ import bibliothek.util.Version;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -265,6 +267,61 @@ public class Setting {
         }
     }
 
+    /**
+     * Writes the properties of this setting as children of the current element of <code>out</code>. The
+     * output is the same as the output of {@link #writeXML(DockSituation, PropertyTransformer, boolean, XElement)},
+     * but the layouts are written directly into <code>out</code> instead of being collected in a tree of
+     * {@link XElement}s first. Subclasses overriding the other <code>writeXML</code> method should override
+     * this method as well.
+     *
+     * @param situation   can be used to write {@link DockLayout}s
+     * @param transformer can be used to write {@link DockableProperty}s
+     * @param entry       if <code>true</code>, then this setting is used as one of
+     *                    the settings a user can choose. If <code>false</code> then this setting
+     *                    is used as the final setting that is written when the application
+     *                    shuts down.
+     * @param out         the writer, the attributes of its current element are not changed
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeXML(DockSituation situation, PropertyTransformer transformer, boolean entry, XStreamWriter out)
+            throws IOException {
+        out.startElement("roots");
+        for (String root : getRootKeys()) {
+            out.startElement("root");
+            out.addString("name", root);
+            situation.writeCompositionXML(getRoot(root), out);
+            out.endElement();
+        }
+        out.endElement();
+
+        out.startElement("children");
+        for (int i = 0, n = getInvisibleCount(); i < n; i++) {
+            out.startElement("child");
+            out.addString("key", getInvisibleKey(i));
+            String root = getInvisibleRoot(i);
+            if (root != null) {
+                out.addString("root", root);
+            }
+
+            DockableProperty location = getInvisibleLocation(i);
+            out.addBoolean("location", location != null);
+            if (location != null) {
+                XElement xlocation = new XElement("location");
+                transformer.writeXML(location, xlocation);
+                out.addElement(xlocation);
+            }
+
+            DockLayoutComposition layout = getInvisibleLayout(i);
+            if (layout != null) {
+                out.startElement("layout");
+                situation.writeCompositionXML(layout, out);
+                out.endElement();
+            }
+            out.endElement();
+        }
+        out.endElement();
+    }
+
     /**
      * Reads the properties of this setting. Old properties are deleted without
      * further notice.
@@ -399,6 +456,97 @@ public class Setting {
         }
     }
 
+    /**
+     * Reads the properties of this setting from the current element of <code>in</code>, which was written by
+     * {@link #writeXML(DockSituation, PropertyTransformer, boolean, XStreamWriter)} or by
+     * {@link #writeXML(DockSituation, PropertyTransformer, boolean, XElement)}. Old properties are deleted
+     * without further notice. Afterwards the current element of <code>in</code> is finished. Subclasses overriding
+     * the other <code>readXML</code> method should override this method as well.
+     *
+     * @param situation   can be used to read {@link DockLayout}s
+     * @param transformer can be used to read {@link DockableProperty}s
+     * @param entry       if <code>true</code>, then this setting is used as one of
+     *                    the settings a user can choose. If <code>false</code> then this setting
+     *                    is used as the first setting that is read when the application
+     *                    starts up.
+     * @param in          the reader pointing to the element which should be read
+     */
+    public void readXML(DockSituation situation, PropertyTransformer transformer, boolean entry, XStreamReader in) {
+        roots.clear();
+        dockables.clear();
+
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "roots" -> {
+                    while (in.nextChild()) {
+                        if ("root".equals(in.getName())) {
+                            String name = in.getString("name");
+                            DockLayoutComposition composition = situation.readCompositionXML(in);
+                            if (composition != null) {
+                                putRoot(name, composition);
+                            }
+                        } else {
+                            in.skip();
+                        }
+                    }
+                }
+                case "children" -> {
+                    while (in.nextChild()) {
+                        if ("child".equals(in.getName())) {
+                            readInvisibleXML(situation, transformer, in);
+                        } else {
+                            in.skip();
+                        }
+                    }
+                }
+                default -> in.skip();
+            }
+        }
+    }
+
+    /**
+     * Reads one invisible element from the current element of <code>in</code>.
+     *
+     * @param situation   used to read {@link DockLayout}s
+     * @param transformer used to read {@link DockableProperty}s
+     * @param in          the reader pointing to a "child" element
+     */
+    private void readInvisibleXML(DockSituation situation, PropertyTransformer transformer, XStreamReader in) {
+        String key = in.getString("key");
+        String root = null;
+
+        XAttribute aroot = in.getAttribute("root");
+        if (aroot != null) {
+            root = aroot.getString();
+        }
+
+        XAttribute alocation = in.getAttribute("location");
+        DockableProperty location = null;
+        DockLayoutComposition layout = null;
+
+        if (alocation == null) {
+            // old style, the location is stored directly in the element
+            location = transformer.readXML(in.readElement());
+        } else {
+            boolean hasLocation = alocation.getBoolean();
+            while (in.nextChild()) {
+                switch (in.getName()) {
+                    case "location" -> {
+                        if (hasLocation) {
+                            location = transformer.readXML(in.readElement());
+                        } else {
+                            in.skip();
+                        }
+                    }
+                    case "layout" -> layout = situation.readCompositionXML(in);
+                    default -> in.skip();
+                }
+            }
+        }
+
+        addInvisible(key, root, layout, location);
+    }
+
     /**
      * Describes the location of an invisible element.
      *
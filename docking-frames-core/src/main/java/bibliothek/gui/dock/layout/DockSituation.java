@@ -49,6 +49,8 @@ import bibliothek.util.Version;
 import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import java.io.*;
 import java.util.*;
@@ -112,6 +114,11 @@ public class DockSituation {
      */
     private PlaceholderStrategy placeholders;
 
+    /**
+     * the format used to write {@link DockLayoutComposition}s into a byte stream
+     */
+    private Version streamFormat = Version.VERSION_1_0_8;
+
     /**
      * Constructs a new DockSituation and sets some factories which are
      * used to create new {@link DockElement DockElements}. Please note that this
@@ -320,6 +327,36 @@ public class DockSituation {
         return missingAdjacent;
     }
 
+    /**
+     * Sets the format that is used by {@link #writeComposition(DockLayoutComposition, DataOutputStream)}.
+     * Both formats can always be read.
+     * <ul>
+     *     <li>{@link Version#VERSION_1_0_8} is the original and default format, it can be read by older versions
+     *     of this library.</li>
+     *     <li>{@link Version#VERSION_1_1_2} writes each identifier and each placeholder only once, and uses less
+     *     memory to write and to read a layout. Older versions of this library cannot read this format.</li>
+     * </ul>
+     *
+     * @param streamFormat the new format, either {@link Version#VERSION_1_0_8} or {@link Version#VERSION_1_1_2}
+     * @throws IllegalArgumentException if <code>streamFormat</code> is not supported
+     */
+    public void setStreamFormat(Version streamFormat) {
+        if (!Version.VERSION_1_0_8.equals(streamFormat) && !Version.VERSION_1_1_2.equals(streamFormat)) {
+            throw new IllegalArgumentException("unsupported format: " + streamFormat);
+        }
+        this.streamFormat = streamFormat;
+    }
+
+    /**
+     * Gets the format that is used to write {@link DockLayoutComposition}s into byte streams.
+     *
+     * @return the format
+     * @see #setStreamFormat(Version)
+     */
+    public Version getStreamFormat() {
+        return streamFormat;
+    }
+
     /**
      * Converts the layout of <code>element</code> and all its children into a
      * {@link DockLayoutComposition}.
@@ -471,8 +508,13 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public void writeComposition(DockLayoutComposition composition, DataOutputStream out) throws IOException {
-        Version.write(out, Version.VERSION_1_0_8);
-        writeCompositionStream(composition, out);
+        if (Version.VERSION_1_1_2.equals(streamFormat)) {
+            Version.write(out, Version.VERSION_1_1_2);
+            new CompositionStreamWriter(out).write(composition);
+        } else {
+            Version.write(out, Version.VERSION_1_0_8);
+            writeCompositionStream(composition, out);
+        }
     }
 
     /**
@@ -569,6 +611,9 @@ public class DockSituation {
     public DockLayoutComposition readComposition(DataInputStream in) throws IOException {
         Version version = Version.read(in);
         version.checkCurrent();
+        if (Version.VERSION_1_1_2.compareTo(version) <= 0) {
+            return new CompositionStreamReader(in).read();
+        }
         return readCompositionStream(in, version);
     }
 
@@ -664,51 +709,90 @@ public class DockSituation {
      * @return the information that was obtained, may be <code>null</code>
      * @throws IOException if <code>entry</code> has not the correct format
      */
-    @SuppressWarnings("unchecked")
     private DockLayoutInfo readEntry(byte[] entry, Path placeholder) throws IOException {
         DataInputStream entryIn = new DataInputStream(new ByteArrayInputStream(entry));
-
         String factoryId = entryIn.readUTF();
+        int count = entryIn.readInt();
+        entryIn.close();
+
+        return readEntry(factoryId, entry, entry.length - count, count, entry, placeholder);
+    }
 
+    /**
+     * Reads the data of a {@link DockFactory}.
+     *
+     * @param factoryId   the identifier of the factory
+     * @param data        an array containing the data
+     * @param offset      the index of the first byte of the data in <code>data</code>
+     * @param count       the number of bytes of the data
+     * @param entry       the whole entry in the format described by {@link #readEntry(byte[], Path)}, can be
+     *                    <code>null</code> in which case the entry is created if necessary
+     * @param placeholder the placeholder which is associated with this element
+     * @return the information that was obtained, may be <code>null</code>
+     * @throws IOException if the data has not the correct format
+     */
+    @SuppressWarnings("unchecked")
+    private DockLayoutInfo readEntry(String factoryId, byte[] data, int offset, int count, byte[] entry,
+                                     Path placeholder) throws IOException {
         DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>) getFactory(factoryId);
 
         // contents
-        DockLayoutInfo info;
-        int count = entryIn.readInt();
+        DockLayoutInfo info = null;
 
         if (factory == null) {
             // try read
-            info = null;
-
             if (missingFactory != null) {
-                Object data = missingFactory.read(getFactoryID(factoryId), entryIn, count);
-                entryIn.close();
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, count));
+                Object result = missingFactory.read(getFactoryID(factoryId), in, count);
+                in.close();
 
-                if (data != null) {
-                    info = new DockLayoutInfo(new DockLayout<>(factoryId, data));
-                    info.setPlaceholder(placeholder);
+                if (result != null) {
+                    info = new DockLayoutInfo(new DockLayout<>(factoryId, result));
                 }
             }
 
             if (info == null) {
+                if (entry == null) {
+                    entry = toEntry(factoryId, data, offset, count);
+                }
                 info = new DockLayoutInfo(entry);
-                info.setPlaceholder(placeholder);
             }
         } else {
-            Object data = factory.read(entryIn, intermediatePlaceholders);
-            if (data == null) {
-                info = null;
-            } else {
-                info = new DockLayoutInfo(new DockLayout<>(factoryId, data));
-                info.setPlaceholder(placeholder);
-            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, count));
+            Object result = factory.read(in, intermediatePlaceholders);
+            in.close();
 
-            entryIn.close();
+            if (result != null) {
+                info = new DockLayoutInfo(new DockLayout<>(factoryId, result));
+            }
         }
 
+        if (info != null) {
+            info.setPlaceholder(placeholder);
+        }
         return info;
     }
 
+    /**
+     * Creates an entry in the format described by {@link #readEntry(byte[], Path)}.
+     *
+     * @param factoryId the identifier of the factory
+     * @param data      an array containing the data of the factory
+     * @param offset    the index of the first byte of the data
+     * @param count     the number of bytes of the data
+     * @return the new entry
+     * @throws IOException if the entry cannot be written
+     */
+    private byte[] toEntry(String factoryId, byte[] data, int offset, int count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(factoryId.length() * 4 + 4 + count);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(factoryId);
+        out.writeInt(count);
+        out.write(data, offset, count);
+        out.close();
+        return bytes.toByteArray();
+    }
+
     /**
      * Reads <code>count</code> bytes from <code>in</code> and returns them
      * in a new stream.
@@ -892,11 +976,72 @@ public class DockSituation {
      * @param element     the element to write into
      * @throws IllegalArgumentException if a factory is missing
      */
-    @SuppressWarnings("unchecked")
     public void writeCompositionXML(DockLayoutComposition composition, XElement element) {
-        DockLayoutInfo info = composition.getLayout();
+        element.addElement(writeLayoutXML(composition.getLayout()));
+
+        List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
+        if (adjacentLayouts != null) {
+            XElement xadjacent = element.addElement("adjacent");
+
+            for (DockLayout<?> adjacentLayout : adjacentLayouts) {
+                xadjacent.addElement(writeAdjacentXML(adjacentLayout));
+            }
+        }
+
+        XElement xchildren = element.addElement("children");
+        xchildren.addBoolean("ignore", composition.isIgnoreChildren());
+
+        for (DockLayoutComposition child : composition.getChildren()) {
+            XElement xchild = xchildren.addElement("child");
+            writeCompositionXML(child, xchild);
+        }
+    }
+
+    /**
+     * Writes the contents of <code>composition</code> as children of the current element of <code>out</code>.
+     * Only the layouts of single elements are built as {@link XElement}s, the structure of the tree is written
+     * directly into <code>out</code>.
+     *
+     * @param composition the composition to write
+     * @param out         the writer, the attributes of its current element will not be changed
+     * @throws IOException              if <code>out</code> cannot be written
+     * @throws IllegalArgumentException if a factory is missing
+     */
+    public void writeCompositionXML(DockLayoutComposition composition, XStreamWriter out) throws IOException {
+        out.addElement(writeLayoutXML(composition.getLayout()));
+
+        List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
+        if (adjacentLayouts != null) {
+            out.startElement("adjacent");
+            for (DockLayout<?> adjacentLayout : adjacentLayouts) {
+                out.addElement(writeAdjacentXML(adjacentLayout));
+            }
+            out.endElement();
+        }
+
+        out.startElement("children");
+        out.addBoolean("ignore", composition.isIgnoreChildren());
+
+        for (DockLayoutComposition child : composition.getChildren()) {
+            out.startElement("child");
+            writeCompositionXML(child, out);
+            out.endElement();
+        }
+        out.endElement();
+    }
+
+    /**
+     * Converts <code>info</code> into the element "layout".
+     *
+     * @param info the layout to write
+     * @return the new element
+     * @throws IllegalArgumentException if a factory is missing or if <code>info</code> is not in a
+     *                                  format that can be converted
+     */
+    @SuppressWarnings("unchecked")
+    private XElement writeLayoutXML(DockLayoutInfo info) {
         if (info.getKind() == DockLayoutInfo.Data.XML) {
-            element.addElement(info.getDataXML());
+            return info.getDataXML();
         } else if (info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT) {
             DockLayout<?> layout = info.getDataLayout();
 
@@ -906,43 +1051,40 @@ public class DockSituation {
                 throw new IllegalArgumentException("Missing factory: " + layout.getFactoryID());
             }
 
-            XElement xfactory = element.addElement("layout");
+            XElement xfactory = new XElement("layout");
             xfactory.addString("factory", getID(factory));
             Path placeholder = info.getPlaceholder();
             if (placeholder != null) {
                 xfactory.addString("placeholder", placeholder.toString());
             }
             factory.write(layout.getData(), xfactory);
+            return xfactory;
         } else {
             // there is nothing to write...
             throw new IllegalArgumentException("Cannot store layout as XML: it was never translated and its raw " +
                     "format is not XML");
         }
+    }
 
-        List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
-        if (adjacentLayouts != null) {
-            XElement xadjacent = element.addElement("adjacent");
-
-            for (DockLayout<?> adjacentLayout : adjacentLayouts) {
-                AdjacentDockFactory<Object> adjacentFactory =
-                        (AdjacentDockFactory<Object>) getAdjacentFactory(adjacentLayout.getFactoryID());
-                if (adjacentFactory == null) {
-                    throw new IllegalArgumentException("Missing adjacent factory: " + adjacentLayout.getFactoryID());
-                }
-
-                XElement xlayout = xadjacent.addElement("layout");
-                xlayout.addString("factory", getAdjacentID(adjacentFactory));
-                adjacentFactory.write(adjacentLayout.getData(), xlayout);
-            }
+    /**
+     * Converts the adjacent layout <code>adjacentLayout</code> into the element "layout".
+     *
+     * @param adjacentLayout the layout to write
+     * @return the new element
+     * @throws IllegalArgumentException if the factory is missing
+     */
+    @SuppressWarnings("unchecked")
+    private XElement writeAdjacentXML(DockLayout<?> adjacentLayout) {
+        AdjacentDockFactory<Object> adjacentFactory =
+                (AdjacentDockFactory<Object>) getAdjacentFactory(adjacentLayout.getFactoryID());
+        if (adjacentFactory == null) {
+            throw new IllegalArgumentException("Missing adjacent factory: " + adjacentLayout.getFactoryID());
         }
 
-        XElement xchildren = element.addElement("children");
-        xchildren.addBoolean("ignore", composition.isIgnoreChildren());
-
-        for (DockLayoutComposition child : composition.getChildren()) {
-            XElement xchild = xchildren.addElement("child");
-            writeCompositionXML(child, xchild);
-        }
+        XElement xlayout = new XElement("layout");
+        xlayout.addString("factory", getAdjacentID(adjacentFactory));
+        adjacentFactory.write(adjacentLayout.getData(), xlayout);
+        return xlayout;
     }
 
     /**
@@ -952,7 +1094,6 @@ public class DockSituation {
      * @return the composition that was read
      * @throws XException if something is missing or malformed in <code>element</code>
      */
-    @SuppressWarnings("unchecked")
     public DockLayoutComposition readCompositionXML(XElement element) {
         XElement xfactory = element.getElement("layout");
         DockLayoutInfo layout = readEntry(xfactory);
@@ -963,19 +1104,9 @@ public class DockSituation {
             adjacentLayouts = new ArrayList<>();
 
             for (XElement xlayout : xadjacent.getElements("layout")) {
-                String factoryId = xlayout.getString("factory");
-                AdjacentDockFactory<Object> adjacentFactory =
-                        (AdjacentDockFactory<Object>) getAdjacentFactory(factoryId);
-                if (adjacentFactory != null) {
-                    Object data = adjacentFactory.read(xlayout, intermediatePlaceholders);
-                    if (data != null) {
-                        adjacentLayouts.add(new DockLayout<>(factoryId, data));
-                    }
-                } else if (missingAdjacent != null) {
-                    Object data = missingAdjacent.readXML(getAdjacentFactoryID(factoryId), xlayout);
-                    if (data != null) {
-                        adjacentLayouts.add(new DockLayout<>(factoryId, data));
-                    }
+                DockLayout<?> adjacentLayout = readAdjacentXML(xlayout);
+                if (adjacentLayout != null) {
+                    adjacentLayouts.add(adjacentLayout);
                 }
             }
         }
@@ -994,6 +1125,74 @@ public class DockSituation {
         return new DockLayoutComposition(layout, adjacentLayouts, children, ignore);
     }
 
+    /**
+     * Reads a {@link DockLayoutComposition} from the current element of <code>in</code>. Only the layouts of
+     * single elements are materialized as {@link XElement}s, the structure of the tree is read directly
+     * from <code>in</code>. Afterwards the current element of <code>in</code> is finished.
+     *
+     * @param in the reader pointing to the element to read
+     * @return the composition that was read
+     * @throws XException if something is missing or malformed in <code>in</code>
+     */
+    public DockLayoutComposition readCompositionXML(XStreamReader in) {
+        DockLayoutInfo layout = null;
+        List<DockLayout<?>> adjacentLayouts = null;
+        boolean ignore = true;
+        List<DockLayoutComposition> children = new ArrayList<>();
+
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "layout" -> layout = readEntry(in.readElement());
+                case "adjacent" -> {
+                    adjacentLayouts = new ArrayList<>();
+                    while (in.nextChild()) {
+                        if ("layout".equals(in.getName())) {
+                            DockLayout<?> adjacentLayout = readAdjacentXML(in.readElement());
+                            if (adjacentLayout != null) {
+                                adjacentLayouts.add(adjacentLayout);
+                            }
+                        } else {
+                            in.skip();
+                        }
+                    }
+                }
+                case "children" -> {
+                    ignore = in.getBoolean("ignore");
+                    while (in.nextChild()) {
+                        if ("child".equals(in.getName())) {
+                            children.add(readCompositionXML(in));
+                        } else {
+                            in.skip();
+                        }
+                    }
+                }
+                default -> in.skip();
+            }
+        }
+
+        return new DockLayoutComposition(layout, adjacentLayouts, children, ignore);
+    }
+
+    /**
+     * Reads the layout of an {@link AdjacentDockFactory}.
+     *
+     * @param xlayout the element to read
+     * @return the layout or <code>null</code> if the factory is missing
+     */
+    @SuppressWarnings("unchecked")
+    private DockLayout<?> readAdjacentXML(XElement xlayout) {
+        String factoryId = xlayout.getString("factory");
+        AdjacentDockFactory<Object> adjacentFactory =
+                (AdjacentDockFactory<Object>) getAdjacentFactory(factoryId);
+        Object data = null;
+        if (adjacentFactory != null) {
+            data = adjacentFactory.read(xlayout, intermediatePlaceholders);
+        } else if (missingAdjacent != null) {
+            data = missingAdjacent.readXML(getAdjacentFactoryID(factoryId), xlayout);
+        }
+        return data == null ? null : new DockLayout<>(factoryId, data);
+    }
+
     /**
      * Reads an entry that was stored in xml format. The entry should have
      * one attribute <code>factory</code>.
@@ -1072,6 +1271,89 @@ public class DockSituation {
         }
     }
 
+    /**
+     * Writes all locations and relationships of the {@link DockStation}s
+     * <code>stations</code> and their children as children of the current element of <code>out</code>.
+     *
+     * @param stations The stations to store, only the roots are needed.
+     * @param out      the writer, the attributes of its current element will not be changed
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeXML(Map<String, DockStation> stations, XStreamWriter out) throws IOException {
+        for (Map.Entry<String, DockStation> entry : stations.entrySet()) {
+            DockLayoutComposition composition = convert(entry.getValue());
+            if (composition != null) {
+                out.startElement("element");
+                out.addString("name", entry.getKey());
+                writeCompositionXML(composition, out);
+                out.endElement();
+            }
+        }
+    }
+
+    /**
+     * Writes the contents of <code>stations</code> as children of the current element of <code>out</code>.
+     *
+     * @param stations the items to write
+     * @param out      the writer, the attributes of its current element will not be changed
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public void writeCompositionsXML(Map<String, DockLayoutComposition> stations, XStreamWriter out)
+            throws IOException {
+        for (Map.Entry<String, DockLayoutComposition> entry : stations.entrySet()) {
+            out.startElement("element");
+            out.addString("name", entry.getKey());
+            writeCompositionXML(entry.getValue(), out);
+            out.endElement();
+        }
+    }
+
+    /**
+     * Reads a set of {@link DockStation}s that were stored earlier. Each station is converted as soon
+     * as it is read, the layout of the other stations is not kept in memory.
+     *
+     * @param in the reader pointing to the element which was used by {@link #writeXML(Map, XStreamWriter)}, the
+     *           element is finished afterwards
+     * @return the set of station
+     */
+    public Map<String, DockStation> readXML(XStreamReader in) {
+        Map<String, DockStation> result = new HashMap<>();
+        while (in.nextChild()) {
+            if ("element".equals(in.getName())) {
+                String name = in.getString("name");
+                DockLayoutComposition composition = readCompositionXML(in);
+                DockElement element = convert(composition);
+                DockStation station = element == null ? null : element.asDockStation();
+                if (station != null) {
+                    result.put(name, station);
+                }
+            } else {
+                in.skip();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads a set of {@link DockLayoutComposition}s that were stored earlier.
+     *
+     * @param in the reader pointing to the element which was used by
+     *           {@link #writeCompositionsXML(Map, XStreamWriter)}, the element is finished afterwards
+     * @return the set of compositions
+     */
+    public Map<String, DockLayoutComposition> readCompositionsXML(XStreamReader in) {
+        Map<String, DockLayoutComposition> result = new HashMap<>();
+        while (in.nextChild()) {
+            if ("element".equals(in.getName())) {
+                String name = in.getString("name");
+                result.put(name, readCompositionXML(in));
+            } else {
+                in.skip();
+            }
+        }
+        return result;
+    }
+
     /**
      * Reads a set of {@link DockStation}s that were stored earlier.
      *
@@ -1516,4 +1798,279 @@ public class DockSituation {
     public String getIdentifier(DockLayoutComposition composition) {
         return null;
     }
+
+    /**
+     * Writes {@link DockLayoutComposition}s in the format {@link Version#VERSION_1_1_2}. Compared to the
+     * format {@link Version#VERSION_1_0_8}:
+     * <ul>
+     *     <li>Identifiers of factories and placeholders are written only once, any later occurrence is written
+     *     as index into the table of strings that were already written.</li>
+     *     <li>Lengths and counts are written as variable length integers.</li>
+     *     <li>One buffer is reused to collect the data of all factories.</li>
+     * </ul>
+     *
+     * @author Benjamin Sigg
+     */
+    private class CompositionStreamWriter {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DataOutputStream bufferOut = new DataOutputStream(buffer);
+
+        /**
+         * Creates a new writer.
+         *
+         * @param out the stream to write into
+         */
+        public CompositionStreamWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes <code>composition</code> and all its children.
+         *
+         * @param composition the composition to write
+         * @throws IOException if an I/O-error occurs or if a factory is missing
+         */
+        @SuppressWarnings("unchecked")
+        public void write(DockLayoutComposition composition) throws IOException {
+            DockLayoutInfo info = composition.getLayout();
+
+            // placeholder
+            Path placeholder = info.getPlaceholder();
+            writeString(placeholder == null ? null : placeholder.toString());
+
+            if (info.getKind() == DockLayoutInfo.Data.BYTE) {
+                byte[] entry = info.getDataByte();
+                DataInputStream entryIn = new DataInputStream(new ByteArrayInputStream(entry));
+                String factoryId = entryIn.readUTF();
+                int count = entryIn.readInt();
+                entryIn.close();
+
+                writeString(factoryId);
+                writeInt(count);
+                out.write(entry, entry.length - count, count);
+            } else if (info.getKind() == DockLayoutInfo.Data.DOCK_LAYOUT) {
+                DockLayout<?> layout = info.getDataLayout();
+                DockFactory<DockElement, ?, Object> factory =
+                        (DockFactory<DockElement, ?, Object>) getFactory(layout.getFactoryID());
+                if (factory == null) {
+                    throw new IOException("Missing factory: " + layout.getFactoryID());
+                }
+
+                writeString(getID(factory));
+
+                buffer.reset();
+                factory.write(layout.getData(), bufferOut);
+                bufferOut.flush();
+                writeBuffer();
+            } else {
+                // there is nothing to write...
+                throw new IllegalArgumentException("Cannot store layout in stream: it was never translated and its " +
+                        "raw format is not a byte stream");
+            }
+
+            // adjacent
+            List<DockLayout<?>> adjacentLayouts = composition.getAdjacent();
+            if (adjacentLayouts == null) {
+                writeInt(0);
+            } else {
+                writeInt(adjacentLayouts.size());
+                for (DockLayout<?> adjacentLayout : adjacentLayouts) {
+                    AdjacentDockFactory<Object> adjacentFactory =
+                            (AdjacentDockFactory<Object>) getAdjacentFactory(adjacentLayout.getFactoryID());
+                    if (adjacentFactory == null) {
+                        throw new IOException("Missing adjacent factory: " + adjacentLayout.getFactoryID());
+                    }
+
+                    writeString(getAdjacentID(adjacentFactory));
+
+                    buffer.reset();
+                    adjacentFactory.write(adjacentLayout.getData(), bufferOut);
+                    bufferOut.flush();
+                    writeBuffer();
+                }
+            }
+
+            // ignore
+            out.writeBoolean(composition.isIgnoreChildren());
+
+            // children
+            List<DockLayoutComposition> children = composition.getChildren();
+            writeInt(children.size());
+            for (DockLayoutComposition child : children) {
+                write(child);
+            }
+        }
+
+        private void writeBuffer() throws IOException {
+            writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+
+        /**
+         * Writes <code>value</code>, either as reference to the table of strings or as new string.
+         *
+         * @param value the value to write, can be <code>null</code>
+         * @throws IOException if an I/O-error occurs
+         */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeInt(0);
+                return;
+            }
+
+            Integer index = strings.get(value);
+            if (index == null) {
+                writeInt(1);
+                out.writeUTF(value);
+                strings.put(value, strings.size());
+            } else {
+                writeInt(index + 2);
+            }
+        }
+
+        /**
+         * Writes a non-negative integer using as few bytes as possible.
+         *
+         * @param value the value to write
+         * @throws IOException if an I/O-error occurs
+         */
+        private void writeInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    /**
+     * Reads {@link DockLayoutComposition}s that were written by a {@link CompositionStreamWriter}.
+     *
+     * @author Benjamin Sigg
+     */
+    private class CompositionStreamReader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private byte[] buffer = new byte[256];
+
+        /**
+         * Creates a new reader.
+         *
+         * @param in the stream to read from
+         */
+        public CompositionStreamReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads one {@link DockLayoutComposition} and all its children.
+         *
+         * @return the composition
+         * @throws IOException if an I/O-error occurs
+         */
+        @SuppressWarnings("unchecked")
+        public DockLayoutComposition read() throws IOException {
+            // placeholder
+            String placeholder = readString();
+            Path entryPlaceholder = placeholder == null ? null : new Path(placeholder);
+
+            // factory
+            String factoryId = readString();
+            if (factoryId == null) {
+                throw new IOException("missing identifier of factory");
+            }
+            int count = readBuffer();
+            DockLayoutInfo info = readEntry(factoryId, buffer, 0, count, null, entryPlaceholder);
+
+            // adjacent
+            List<DockLayout<?>> adjacentLayouts = null;
+            int layoutCount = readInt();
+            if (layoutCount > 0) {
+                adjacentLayouts = new ArrayList<>(layoutCount);
+
+                for (int i = 0; i < layoutCount; i++) {
+                    String adjacentFactoryId = readString();
+                    int adjacentCount = readBuffer();
+
+                    AdjacentDockFactory<Object> adjacentFactory =
+                            (AdjacentDockFactory<Object>) getAdjacentFactory(adjacentFactoryId);
+                    Object data = null;
+                    if (adjacentFactory != null) {
+                        data = adjacentFactory.read(bufferIn(adjacentCount), intermediatePlaceholders);
+                    } else if (missingAdjacent != null) {
+                        data = missingAdjacent.read(getAdjacentFactoryID(adjacentFactoryId), bufferIn(adjacentCount),
+                                adjacentCount);
+                    }
+                    if (data != null) {
+                        adjacentLayouts.add(new DockLayout<>(adjacentFactoryId, data));
+                    }
+                }
+            }
+
+            // ignore
+            boolean ignore = in.readBoolean();
+
+            // children
+            int childCount = readInt();
+            List<DockLayoutComposition> children = new ArrayList<>(childCount);
+            for (int i = 0; i < childCount; i++) {
+                children.add(read());
+            }
+
+            return new DockLayoutComposition(info, adjacentLayouts, children, ignore);
+        }
+
+        private DataInputStream bufferIn(int count) {
+            return new DataInputStream(new ByteArrayInputStream(buffer, 0, count));
+        }
+
+        /**
+         * Reads a block of data into {@link #buffer}.
+         *
+         * @return the number of bytes that were read
+         * @throws IOException if an I/O-error occurs
+         */
+        private int readBuffer() throws IOException {
+            int count = readInt();
+            if (buffer.length < count) {
+                buffer = new byte[Math.max(count, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, count);
+            return count;
+        }
+
+        private String readString() throws IOException {
+            int index = readInt();
+            if (index == 0) {
+                return null;
+            }
+            if (index == 1) {
+                String value = in.readUTF();
+                strings.add(value);
+                return value;
+            }
+            index -= 2;
+            if (index >= strings.size()) {
+                throw new IOException("unknown string: " + index);
+            }
+            return strings.get(index);
+        }
+
+        private int readInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int next = in.readUnsignedByte();
+                result |= (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    if (result < 0) {
+                        throw new IOException("negative number");
+                    }
+                    return result;
+                }
+            }
+            throw new IOException("number too long");
+        }
+    }
 }
@@ -30,6 +30,7 @@ import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.FlapDockStation.Direction;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 
 import javax.swing.*;
 import java.awt.*;
@@ -65,6 +66,10 @@ public class FlapSideDropLayer implements DockStationDropLayer {
         return child;
     }
 
+    public Rectangle getScreenBounds() {
+        return DockUtilities.getScreenBounds(getComponent(), station.getBorderSideSnapSize());
+    }
+
     public boolean contains(int x, int y) {
         Point point = new Point(x, y);
         SwingUtilities.convertPointFromScreen(point, getComponent());
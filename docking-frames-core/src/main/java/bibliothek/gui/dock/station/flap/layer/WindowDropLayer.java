@@ -31,6 +31,8 @@ import bibliothek.gui.dock.station.layer.DefaultDropLayer;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
 
+import java.awt.*;
+
 /**
  * Describes the area covered by the currently open {@link FlapWindow}.
  *
@@ -59,6 +61,12 @@ public class WindowDropLayer extends DefaultDropLayer {
         return false;
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        // the window can be opened or closed at any time
+        return null;
+    }
+
     @Override
     public DockStationDropLayer modify(DockStationDropLayer child) {
         child.setPriority(getPriority().merge(child.getPriority()));
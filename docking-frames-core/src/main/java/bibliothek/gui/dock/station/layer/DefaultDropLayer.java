@@ -27,6 +27,7 @@ package bibliothek.gui.dock.station.layer;
 
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.util.DockUtilities;
 
 import javax.swing.*;
 import java.awt.*;
@@ -69,6 +70,20 @@ public class DefaultDropLayer implements DockStationDropLayer {
         return component.contains(point);
     }
 
+    /**
+     * Gets the boundaries of {@link #getComponent()} on the screen. These boundaries are only correct as long as
+     * {@link #contains(int, int)} never accepts a point outside of {@link #getComponent()}: subclasses may narrow
+     * {@link #contains(int, int)}, but subclasses that widen it (e.g. to include a window or some other
+     * {@link Component}) must also override this method and either return boundaries that include the additional
+     * area, or return <code>null</code>.
+     *
+     * @return the boundaries of {@link #getComponent()}, an empty rectangle if it is invisible, or <code>null</code>
+     * if there is no component
+     */
+    public Rectangle getScreenBounds() {
+        return DockUtilities.getScreenBounds(getComponent(), 0);
+    }
+
     public Component getComponent() {
         Dockable dockable = station.asDockable();
         if (dockable == null) {
@@ -97,6 +97,22 @@ public interface DockStationDropLayer {
      */
     boolean contains(int x, int y);
 
+    /**
+     * Gets a rectangle on the screen which contains all the points for which {@link #contains(int, int)} may
+     * return <code>true</code>. The rectangle is used to quickly skip levels which cannot be hit by the mouse, it
+     * may be larger than the actual area of this level. The result may change whenever the {@link #getComponent()
+     * component} of this level is moved, resized, shown or hidden.
+     *
+     * The default implementation returns <code>null</code>, hence levels that do not override this method are
+     * always checked.
+     *
+     * @return the boundaries of this level in screen coordinates, an empty rectangle if this level is currently
+     * invisible, or <code>null</code> if the area of this level is unknown or may change without notice
+     */
+    default Rectangle getScreenBounds() {
+        return null;
+    }
+
     /**
      * Gets the basic priority of this level.
      *
@@ -59,4 +59,16 @@ public interface ScreenDockWindowFactory {
      */
     ScreenDockWindow updateWindow(ScreenDockWindow window, WindowConfiguration configuration,
                                   ScreenDockStation station);
+
+    /**
+     * Called if <code>station</code> no longer uses this factory, either because another factory replaced this
+     * factory, or because <code>station</code> was removed from its {@link bibliothek.gui.DockController}. The
+     * factory should release any resource it keeps for <code>station</code>. The default implementation
+     * does nothing.
+     *
+     * @param station the station which no longer uses this factory
+     */
+    default void uninstall(ScreenDockStation station) {
+        // ignore
+    }
 }
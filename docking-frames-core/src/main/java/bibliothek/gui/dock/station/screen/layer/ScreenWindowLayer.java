@@ -51,6 +51,11 @@ public class ScreenWindowLayer extends DefaultDropLayer {
         return window.contains(x, y);
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        return window.getWindowBounds();
+    }
+
     @Override
     public Component getComponent() {
         return window.getDockableDisplayer().getComponent();
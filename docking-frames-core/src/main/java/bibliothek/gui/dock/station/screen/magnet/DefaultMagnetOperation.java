@@ -77,7 +77,7 @@ public class DefaultMagnetOperation implements MagnetOperation {
      * @param request    information about the window that was moved
      */
     protected void moved(MagnetController controller, MagnetRequest request) {
-        ScreenDockWindow[] partners = controller.getAttracted(request.getWindow());
+        ScreenDockWindow[] partners = controller.getAttracted(request.getWindow(), threshold);
 
         int nearest = threshold;
         ScreenDockWindow nearestWindow = null;
@@ -160,7 +160,7 @@ public class DefaultMagnetOperation implements MagnetOperation {
      * @param request    information about the window that was resized
      */
     protected void resized(MagnetController controller, MagnetRequest request) {
-        ScreenDockWindow[] partners = controller.getAttracted(request.getWindow());
+        ScreenDockWindow[] partners = controller.getAttracted(request.getWindow(), threshold);
 
         @SuppressWarnings("unchecked")
         List<ScreenDockWindow>[] neighbors = new List[4];
@@ -29,6 +29,7 @@ import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.ScreenDockStation;
 import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.ScreenDockWindowListener;
 import bibliothek.gui.dock.station.screen.magnet.AttractorStrategy.Attraction;
 import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
 import bibliothek.gui.dock.util.PropertyValue;
@@ -38,6 +39,7 @@ import bibliothek.util.FrameworkOnly;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -230,6 +232,58 @@ public class MagnetController {
         return result.toArray(new ScreenDockWindow[0]);
     }
 
+    /**
+     * Gets all the {@link ScreenDockWindow}s of the {@link #getStation() station} that are attracted to
+     * <code>window</code> and of which at least one side is at most <code>threshold</code> pixels away from
+     * the opposite side of <code>window</code>. The result is the subset of {@link #getAttracted(ScreenDockWindow)}
+     * that can actually interact with <code>window</code>, in the same order. The current boundaries of the
+     * windows are used.
+     *
+     * @param window    the window that has moved and whose partners are searched
+     * @param threshold the maximal distance between two sides, at least 0
+     * @return all the partner windows, may be empty, is never <code>null</code>, does not contain <code>window</code>
+     */
+    public ScreenDockWindow[] getAttracted(ScreenDockWindow window, int threshold) {
+        List<ScreenDockWindow> result = new ArrayList<>();
+        for (ScreenDockWindow next : getNeighbors(window, threshold, false)) {
+            Attraction attraction = getAttraction(window.getDockable(), next.getDockable());
+            switch (attraction) {
+                case STRONGLY_ATTRACTED, ATTRACTED -> result.add(next);
+            }
+        }
+        return result.toArray(new ScreenDockWindow[0]);
+    }
+
+    /**
+     * Gets all the {@link ScreenDockWindow}s of the {@link #getStation() station} of which at least one side
+     * is at most <code>threshold</code> pixels away from the opposite side of <code>window</code>. Whether the
+     * windows overlap on the other axis is not checked. While an operation is running the windows are looked up
+     * in an index, otherwise all windows are checked.
+     *
+     * @param window            the window whose neighbors are searched
+     * @param threshold         the maximal distance between two sides, at least 0
+     * @param initialBoundaries if <code>true</code>, then the initial boundaries of the windows are used
+     * @return the neighbors in the same order as in {@link #getWindows()}, does not contain <code>window</code>
+     */
+    public ScreenDockWindow[] getNeighbors(ScreenDockWindow window, int threshold, boolean initialBoundaries) {
+        if (current != null) {
+            return current.getNeighbors(window, threshold, initialBoundaries);
+        }
+
+        List<ScreenDockWindow> result = new ArrayList<>();
+        for (ScreenDockWindow next : getWindows()) {
+            if (next != window) {
+                for (Side side : Side.values()) {
+                    if (distance(window, side, next, side.opposite(), initialBoundaries) <= threshold) {
+                        result.add(next);
+                        break;
+                    }
+                }
+            }
+        }
+        return result.toArray(new ScreenDockWindow[0]);
+    }
+
     /**
      * Calculates the distance between <code>sideA</code> of <code>windowA</code> to <code>sideB</code> of
      * <code>windowB</code>.
@@ -334,13 +388,7 @@ public class MagnetController {
      * @return the x or y coordinate of <code>side</code>
      */
     public int getValue(Rectangle rectangle, Side side) {
-        return switch (side) {
-            case NORTH -> rectangle.y;
-            case SOUTH -> rectangle.y + rectangle.height - 1;
-            case WEST -> rectangle.x;
-            case EAST -> rectangle.x + rectangle.width - 1;
-            default -> throw new IllegalStateException("unknown side: " + side);
-        };
+        return SideIndex.getValue(rectangle, side);
     }
 
     /**
@@ -396,6 +444,50 @@ public class MagnetController {
          */
         private final Map<ScreenDockWindow, Rectangle> initialBoundaries = new HashMap<>();
 
+        /**
+         * the sides of all windows at the time the operation started
+         */
+        private final SideIndex<ScreenDockWindow> initialIndex = new SideIndex<>();
+
+        /**
+         * the current sides of all windows, updated whenever a window changes its shape
+         */
+        private final SideIndex<ScreenDockWindow> currentIndex = new SideIndex<>();
+
+        /**
+         * the location of each window in {@link #windows}
+         */
+        private final Map<ScreenDockWindow, Integer> order = new IdentityHashMap<>();
+
+        /**
+         * all the windows that are observed by {@link #shapeListener}
+         */
+        private ScreenDockWindow[] windows;
+
+        /**
+         * keeps {@link #currentIndex} up to date
+         */
+        private final ScreenDockWindowListener shapeListener = new ScreenDockWindowListener() {
+            public void shapeChanged(ScreenDockWindow window) {
+                Integer index = order.get(window);
+                if (index != null && window != getWindow()) {
+                    currentIndex.put(window, index, window.getWindowBounds());
+                }
+            }
+
+            public void visibilityChanged(ScreenDockWindow window) {
+                // ignore
+            }
+
+            public void fullscreenStateChanged(ScreenDockWindow window) {
+                // ignore
+            }
+
+            public void windowClosing(ScreenDockWindow window) {
+                // ignore
+            }
+        };
+
         /**
          * the unmodified boundaries
          */
@@ -419,11 +511,67 @@ public class MagnetController {
         public Operation(ScreenDockWindow window) {
             this.window = window;
 
-            for (ScreenDockWindow check : getWindows()) {
-                initialBoundaries.put(check, check.getWindowBounds());
+            windows = getWindows();
+            for (int i = 0; i < windows.length; i++) {
+                Rectangle bounds = windows[i].getWindowBounds();
+                initialBoundaries.put(windows[i], bounds);
+                initialIndex.put(windows[i], i, bounds);
+            }
+            index();
+        }
+
+        /**
+         * Fills {@link #currentIndex} with the current boundaries of the windows of the station and
+         * starts observing these windows.
+         */
+        private void index() {
+            for (ScreenDockWindow check : windows) {
+                check.removeScreenDockWindowListener(shapeListener);
+            }
+
+            windows = getWindows();
+            order.clear();
+            currentIndex.clear();
+            for (int i = 0; i < windows.length; i++) {
+                order.put(windows[i], i);
+                if (windows[i] == window && baseBoundaries != null) {
+                    currentIndex.put(windows[i], i, baseBoundaries);
+                } else {
+                    currentIndex.put(windows[i], i, windows[i].getWindowBounds());
+                }
+                windows[i].addScreenDockWindowListener(shapeListener);
             }
         }
 
+        /**
+         * Searches the windows near <code>window</code> using the indices of this operation.
+         *
+         * @param window            the window whose neighbors are searched
+         * @param threshold         the maximal distance between two sides
+         * @param initialBoundaries whether to use the initial or the current boundaries
+         * @return the neighbors of <code>window</code>
+         * @see MagnetController#getNeighbors(ScreenDockWindow, int, boolean)
+         */
+        public ScreenDockWindow[] getNeighbors(ScreenDockWindow window, int threshold, boolean initialBoundaries) {
+            List<ScreenDockWindow> result;
+            if (initialBoundaries) {
+                result = initialIndex.getNeighbors(getInitialBounds(window), threshold);
+            } else {
+                if (windows.length != getStation().getDockableCount()) {
+                    index();
+                }
+                Rectangle bounds;
+                if (window == this.window && baseBoundaries != null) {
+                    bounds = baseBoundaries;
+                } else {
+                    bounds = window.getWindowBounds();
+                }
+                result = currentIndex.getNeighbors(bounds, threshold);
+            }
+            result.remove(window);
+            return result.toArray(new ScreenDockWindow[0]);
+        }
+
         public ScreenDockWindow getWindow() {
             return window;
         }
@@ -587,6 +735,10 @@ public class MagnetController {
         public Rectangle attract(Rectangle bounds) {
             baseBoundaries = new Rectangle(bounds);
             resultBoundaries = new Rectangle(bounds);
+            Integer index = order.get(window);
+            if (index != null) {
+                currentIndex.put(window, index, baseBoundaries);
+            }
 
             if (operation == null) {
                 MagnetStrategy strategy = getStrategy();
@@ -605,6 +757,9 @@ public class MagnetController {
             if (current == this) {
                 current = null;
             }
+            for (ScreenDockWindow check : windows) {
+                check.removeScreenDockWindowListener(shapeListener);
+            }
             if (operation != null) {
                 operation.destroy();
                 operation = null;
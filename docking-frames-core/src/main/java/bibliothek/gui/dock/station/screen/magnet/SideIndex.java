@@ -0,0 +1,233 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2011 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.screen.magnet;
+
+import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+/**
+ * A {@link SideIndex} keeps the four sides of a set of rectangles sorted by their coordinates. The index is
+ * used by the {@link MagnetController} to find the {@link ScreenDockWindow}s that are near to a moved window
+ * without comparing the moved window with every other window. Finding the neighbors of a rectangle costs
+ * <code>O(log n + k)</code>, where <code>n</code> is the number of items and <code>k</code> the number of
+ * items that are found. Updating the boundaries of an item costs <code>O(log n)</code>.<br>
+ * Each item has an <code>order</code>, the results of a search are sorted by that order.
+ *
+ * @param <W> the kind of items that are stored in this index, usually {@link ScreenDockWindow}
+ * @author Benjamin Sigg
+ */
+public class SideIndex<W> {
+    /**
+     * all the items of this index
+     */
+    private final Map<W, Entry<W>> entries = new IdentityHashMap<>();
+
+    /**
+     * for each {@link Side} the items ordered by the location of that side
+     */
+    private final List<NavigableMap<Integer, List<Entry<W>>>> sides = new ArrayList<>();
+
+    /**
+     * Creates a new, empty index.
+     */
+    public SideIndex() {
+        for (int i = 0; i < Side.values().length; i++) {
+            sides.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Gets the location of the side <code>side</code> of <code>rectangle</code>.
+     *
+     * @param rectangle some rectangle
+     * @param side      the side to read
+     * @return the x or y coordinate of <code>side</code>
+     */
+    public static int getValue(Rectangle rectangle, Side side) {
+        return switch (side) {
+            case NORTH -> rectangle.y;
+            case SOUTH -> rectangle.y + rectangle.height - 1;
+            case WEST -> rectangle.x;
+            case EAST -> rectangle.x + rectangle.width - 1;
+            default -> throw new IllegalStateException("unknown side: " + side);
+        };
+    }
+
+    /**
+     * Adds <code>item</code> to this index or updates the boundaries of <code>item</code>.
+     *
+     * @param item   the item to store, not <code>null</code>
+     * @param order  the order of <code>item</code> in the results of a search
+     * @param bounds the current boundaries of <code>item</code>, not <code>null</code>
+     */
+    public void put(W item, int order, Rectangle bounds) {
+        if (item == null) {
+            throw new IllegalArgumentException("item must not be null");
+        }
+        Entry<W> entry = entries.get(item);
+        if (entry != null) {
+            if (entry.order == order && Arrays.equals(entry.values, values(bounds))) {
+                return;
+            }
+            remove(item);
+        }
+
+        entry = new Entry<>(item, order, values(bounds));
+        entries.put(item, entry);
+        for (Side side : Side.values()) {
+            sides.get(side.ordinal()).computeIfAbsent(entry.values[side.ordinal()], key -> new ArrayList<>(2))
+                    .add(entry);
+        }
+    }
+
+    /**
+     * Removes <code>item</code> from this index.
+     *
+     * @param item the item to remove
+     * @return <code>true</code> if <code>item</code> was found
+     */
+    public boolean remove(W item) {
+        Entry<W> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        for (Side side : Side.values()) {
+            NavigableMap<Integer, List<Entry<W>>> map = sides.get(side.ordinal());
+            Integer key = entry.values[side.ordinal()];
+            List<Entry<W>> bucket = map.get(key);
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                map.remove(key);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether <code>item</code> is stored in this index.
+     *
+     * @param item the item to search
+     * @return <code>true</code> if <code>item</code> is known
+     */
+    public boolean contains(W item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Gets the number of items in this index.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all items from this index.
+     */
+    public void clear() {
+        entries.clear();
+        for (NavigableMap<Integer, List<Entry<W>>> side : sides) {
+            side.clear();
+        }
+    }
+
+    /**
+     * Searches all the items whose side <code>side</code> is between <code>min</code> and <code>max</code>.
+     *
+     * @param side the side to check
+     * @param min  the minimal location of the side, inclusive
+     * @param max  the maximal location of the side, inclusive
+     * @return the items, ordered by their order, may be empty
+     */
+    public List<W> search(Side side, int min, int max) {
+        List<Entry<W>> result = new ArrayList<>();
+        collect(side, min, max, result);
+        return sort(result);
+    }
+
+    /**
+     * Searches all the items of which at least one side is at most <code>threshold</code> pixels away from the
+     * opposite side of <code>bounds</code>. Whether the items and <code>bounds</code> actually overlap on the
+     * other axis is not checked.
+     *
+     * @param bounds    the boundaries whose neighbors are searched
+     * @param threshold the maximal distance between two sides, at least 0
+     * @return the items, ordered by their order and each item only once, may be empty
+     */
+    public List<W> getNeighbors(Rectangle bounds, int threshold) {
+        List<Entry<W>> result = new ArrayList<>();
+        for (Side side : Side.values()) {
+            int value = getValue(bounds, side);
+            collect(side.opposite(), value - threshold, value + threshold, result);
+        }
+        return sort(result);
+    }
+
+    private void collect(Side side, int min, int max, List<Entry<W>> result) {
+        if (min <= max) {
+            for (List<Entry<W>> bucket : sides.get(side.ordinal()).subMap(min, true, max, true).values()) {
+                result.addAll(bucket);
+            }
+        }
+    }
+
+    private List<W> sort(List<Entry<W>> entries) {
+        entries.sort((a, b) -> Integer.compare(a.order, b.order));
+        Set<Entry<W>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<W> result = new ArrayList<>(entries.size());
+        for (Entry<W> entry : entries) {
+            if (seen.add(entry)) {
+                result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    private static int[] values(Rectangle bounds) {
+        int[] values = new int[Side.values().length];
+        for (Side side : Side.values()) {
+            values[side.ordinal()] = getValue(bounds, side);
+        }
+        return values;
+    }
+
+    /**
+     * One item of a {@link SideIndex}.
+     *
+     * @param item   the item itself
+     * @param order  the order of the item in the results of a search
+     * @param values the location of each {@link Side} of the item
+     * @param <W>    the kind of item
+     * @author Benjamin Sigg
+     */
+    private record Entry<W>(W item, int order, int[] values) {
+    }
+}
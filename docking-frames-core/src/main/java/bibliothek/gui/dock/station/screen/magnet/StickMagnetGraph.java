@@ -34,8 +34,10 @@ import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The {@link StickMagnetGraph} is a helper class for a {@link MagnetStrategy}. The {@link StickMagnetGraph}
@@ -183,14 +185,21 @@ public class StickMagnetGraph {
             nodes[index] = new DefaultNode(index, windows[index]);
         }
 
+        Map<ScreenDockWindow, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < windows.length; i++) {
+            positions.put(windows[i], i);
+        }
+
         LinkedList<Integer> queue = new LinkedList<>();
         queue.add(index);
 
         while (!queue.isEmpty()) {
             index = queue.poll();
 
-            for (int i = 0, n = nodes.length; i < n; i++) {
-                if (i != index) {
+            for (ScreenDockWindow candidate : getCandidates(windows[index])) {
+                Integer position = positions.get(candidate);
+                if (position != null && position != index) {
+                    int i = position;
                     Side relation = relation(windows[index], windows[i]);
                     if (relation != null) {
                         if (nodes[i] == null) {
@@ -210,6 +219,20 @@ public class StickMagnetGraph {
         }
     }
 
+    /**
+     * Gets all the windows which may be in a {@link #relation(ScreenDockWindow, ScreenDockWindow) relation}
+     * with <code>window</code>. The default implementation asks the {@link MagnetController} for the windows
+     * whose initial boundaries are at most one pixel away from <code>window</code>. Subclasses that change
+     * {@link #relation(ScreenDockWindow, ScreenDockWindow)} such that windows further apart are related
+     * need to override this method as well.
+     *
+     * @param window the window whose neighbors are searched
+     * @return the windows that need to be checked, in the same order as {@link MagnetController#getWindows()}
+     */
+    protected ScreenDockWindow[] getCandidates(ScreenDockWindow window) {
+        return getController().getNeighbors(window, 1, true);
+    }
+
     /**
      * Gets the relation of <code>moved</code> to <code>fixed</code>. The relation is <code>null</code>
      * if the two windows to not stick together.
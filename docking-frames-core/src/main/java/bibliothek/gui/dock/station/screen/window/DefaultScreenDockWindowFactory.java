@@ -33,9 +33,19 @@ import bibliothek.gui.dock.title.DockTitle;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
- * A default implementation of {@link ScreenDockWindowFactory}.
+ * A default implementation of {@link ScreenDockWindowFactory}.<br>
+ * Creating a native window is expensive. This factory can keep a {@link #setPoolCapacity(int) pool} of
+ * hidden windows: a window that is {@link ScreenDockWindow#destroy() destroyed} is hidden and put into the pool
+ * instead of being disposed, and the next call to {@link #createWindow(ScreenDockStation, WindowConfiguration)}
+ * with the same station and an equal {@link WindowConfiguration} reuses it. Windows that remain unused for
+ * longer than the {@link #setPoolTimeout(int) timeout} are disposed. The pool is disabled by default.
  *
  * @author Benjamin Sigg
  */
@@ -79,6 +89,36 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
      */
     private String titleText = null;
 
+    /**
+     * the maximum number of unused windows that are kept for each kind of window, 0 disables the pool
+     */
+    private int poolCapacity = 0;
+
+    /**
+     * the number of milliseconds an unused window remains in the pool
+     */
+    private int poolTimeout = 30000;
+
+    /**
+     * the unused windows, the most recently released window is the first element of each deque
+     */
+    private final Map<PoolKey, Deque<PoolEntry>> pool = new HashMap<>();
+
+    /**
+     * disposes windows that remained too long in the {@link #pool}, <code>null</code> if not yet created
+     */
+    private Timer poolTimer;
+
+    /**
+     * how many windows were taken from the {@link #pool}
+     */
+    private int poolHits = 0;
+
+    /**
+     * how many windows had to be created because the {@link #pool} was empty
+     */
+    private int poolMisses = 0;
+
     /**
      * Sets the kind of window that this factory will create
      *
@@ -178,6 +218,162 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
         return titleText;
     }
 
+    /**
+     * Sets the maximum number of unused windows this factory keeps for each combination of
+     * {@link ScreenDockStation} and {@link WindowConfiguration}. A value of 0 disables the pool and disposes
+     * all the windows that are currently pooled.
+     *
+     * @param poolCapacity the capacity of the pool, at least 0
+     */
+    public void setPoolCapacity(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("poolCapacity must be at least 0");
+        }
+        this.poolCapacity = poolCapacity;
+
+        Iterator<Deque<PoolEntry>> iterator = pool.values().iterator();
+        while (iterator.hasNext()) {
+            Deque<PoolEntry> windows = iterator.next();
+            while (windows.size() > poolCapacity) {
+                windows.removeLast().window.discard();
+            }
+            if (windows.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum number of unused windows this factory keeps for each kind of window.
+     *
+     * @return the capacity, 0 if the pool is disabled
+     * @see #setPoolCapacity(int)
+     */
+    public int getPoolCapacity() {
+        return poolCapacity;
+    }
+
+    /**
+     * Sets how long an unused window remains in the pool before it is disposed.
+     *
+     * @param poolTimeout the timeout in milliseconds, at least 1
+     */
+    public void setPoolTimeout(int poolTimeout) {
+        if (poolTimeout < 1) {
+            throw new IllegalArgumentException("poolTimeout must be at least 1");
+        }
+        this.poolTimeout = poolTimeout;
+        if (poolTimer != null && poolTimer.isRunning()) {
+            schedulePoolTimer();
+        }
+    }
+
+    /**
+     * Tells how long an unused window remains in the pool before it is disposed.
+     *
+     * @return the timeout in milliseconds
+     */
+    public int getPoolTimeout() {
+        return poolTimeout;
+    }
+
+    /**
+     * Gets the number of windows that were reused instead of being created.
+     *
+     * @return the number of pool hits
+     */
+    public int getPoolHits() {
+        return poolHits;
+    }
+
+    /**
+     * Gets the number of windows that had to be created while the pool was enabled.
+     *
+     * @return the number of pool misses
+     */
+    public int getPoolMisses() {
+        return poolMisses;
+    }
+
+    /**
+     * Gets the number of unused windows that are currently in the pool.
+     *
+     * @return the number of pooled windows
+     */
+    public int getPooledWindowCount() {
+        int count = 0;
+        for (Deque<PoolEntry> windows : pool.values()) {
+            count += windows.size();
+        }
+        return count;
+    }
+
+    /**
+     * Creates hidden windows in advance, such that <code>station</code> does not have to wait for a
+     * new native window the next time a {@link Dockable} with <code>configuration</code> is shown. Does
+     * nothing if the pool is disabled or already contains enough windows.
+     *
+     * @param station       the station which will use the windows
+     * @param configuration the configuration of the windows
+     * @param count         how many windows should be ready
+     */
+    public void prepareWindows(ScreenDockStation station, WindowConfiguration configuration, int count) {
+        if (configuration.getShape() != null) {
+            return;
+        }
+        PoolKey key = new PoolKey(station, configuration, kind, undecorated);
+        Deque<PoolEntry> windows = pool.get(key);
+        int missing = Math.min(count, poolCapacity) - (windows == null ? 0 : windows.size());
+        for (int i = 0; i < missing; i++) {
+            PooledWindow window = (PooledWindow) createWindow(station, configuration, key);
+            if (!release(window, key)) {
+                window.discard();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Disposes all the windows that are currently in the pool.
+     */
+    public void clearPool() {
+        for (Deque<PoolEntry> windows : pool.values()) {
+            for (PoolEntry entry : windows) {
+                entry.window.discard();
+            }
+        }
+        pool.clear();
+        if (poolTimer != null) {
+            poolTimer.stop();
+        }
+    }
+
+
+    /**
+     * Disposes all the windows in the pool that were created for <code>station</code>.
+     *
+     * @param station the station whose windows are no longer needed
+     */
+    public void clearPool(ScreenDockStation station) {
+        Iterator<Map.Entry<PoolKey, Deque<PoolEntry>>> iterator = pool.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<PoolKey, Deque<PoolEntry>> next = iterator.next();
+            if (next.getKey().station() == station) {
+                for (PoolEntry entry : next.getValue()) {
+                    entry.window.discard();
+                }
+                iterator.remove();
+            }
+        }
+        if (pool.isEmpty() && poolTimer != null) {
+            poolTimer.stop();
+        }
+    }
+
+    @Override
+    public void uninstall(ScreenDockStation station) {
+        clearPool(station);
+    }
 
     public ScreenDockWindow updateWindow(ScreenDockWindow window, WindowConfiguration configuration,
                                          ScreenDockStation station) {
@@ -186,24 +382,240 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
 
 
     public ScreenDockWindow createWindow(ScreenDockStation station, WindowConfiguration configuration) {
-        AbstractScreenDockWindow window;
+        AbstractScreenDockWindow window = null;
+        PoolKey key = null;
 
-        if (kind == Kind.FRAME) {
-            window = new ScreenDockFrame(station, configuration, undecorated);
-        } else {
-            Window owner = station.getOwner();
-            if (owner instanceof Frame) {
-                window = new ScreenDockDialog(station, configuration, (Frame) owner, undecorated);
-            } else if (owner instanceof Dialog) {
-                window = new ScreenDockDialog(station, configuration, (Dialog) owner, undecorated);
+        // windows with a shape cannot be reused, their shape is disabled when they are destroyed
+        if (poolCapacity > 0 && configuration.getShape() == null) {
+            key = new PoolKey(station, configuration, kind, undecorated);
+            Deque<PoolEntry> windows = pool.get(key);
+            if (windows == null) {
+                poolMisses++;
             } else {
-                window = new ScreenDockDialog(station, configuration, undecorated);
+                window = windows.removeFirst().window.asWindow();
+                if (windows.isEmpty()) {
+                    pool.remove(key);
+                }
+                poolHits++;
             }
         }
 
+        if (window == null) {
+            window = createWindow(station, configuration, key);
+        }
+
         window.setShowTitle(showDockTitle);
         window.setTitleIcon(titleIcon);
         window.setTitleText(titleText);
         return window;
     }
+
+    private AbstractScreenDockWindow createWindow(ScreenDockStation station, WindowConfiguration configuration,
+                                                  PoolKey key) {
+        if (kind == Kind.FRAME) {
+            if (key != null) {
+                return new PooledFrame(station, configuration, key);
+            }
+            return new ScreenDockFrame(station, configuration, undecorated);
+        }
+
+        Window owner = station.getOwner();
+        if (key != null) {
+            if (owner instanceof Frame) {
+                return new PooledDialog(station, configuration, (Frame) owner, key);
+            } else if (owner instanceof Dialog) {
+                return new PooledDialog(station, configuration, (Dialog) owner, key);
+            } else {
+                return new PooledDialog(station, configuration, key);
+            }
+        }
+        if (owner instanceof Frame) {
+            return new ScreenDockDialog(station, configuration, (Frame) owner, undecorated);
+        } else if (owner instanceof Dialog) {
+            return new ScreenDockDialog(station, configuration, (Dialog) owner, undecorated);
+        } else {
+            return new ScreenDockDialog(station, configuration, undecorated);
+        }
+    }
+
+    /**
+     * Puts <code>window</code> into the pool, if there is space left and if <code>window</code> can be reused.
+     *
+     * @param window the window that is no longer used
+     * @param key    the key that was used to create <code>window</code>
+     * @return <code>true</code> if <code>window</code> is now in the pool, <code>false</code> if it must be
+     * disposed
+     */
+    private boolean release(PooledWindow window, PoolKey key) {
+        AbstractScreenDockWindow screenWindow = window.asWindow();
+        if (poolCapacity <= 0 || screenWindow.getDockable() != null) {
+            return false;
+        }
+
+        // ScreenDockStation removes the fullscreen strategy before destroying a window, and isFullscreen()
+        // fails for a visible window without strategy. A hidden window can always be asked, and a window
+        // that still remembers its normal bounds was shown in fullscreen mode.
+        screenWindow.setVisible(false);
+        if (screenWindow.getNormalBounds() != null || screenWindow.isFullscreen()) {
+            return false;
+        }
+        if (key.kind() != kind || key.undecorated() != undecorated || key.owner() != key.station().getOwner()) {
+            return false;
+        }
+
+        Deque<PoolEntry> windows = pool.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (windows.size() >= poolCapacity) {
+            return false;
+        }
+
+        screenWindow.setPreventFocusStealing(false);
+        windows.addFirst(new PoolEntry(window, System.currentTimeMillis()));
+
+        if (poolTimer == null) {
+            poolTimer = new Timer(poolTimeout, e -> evictPool());
+            poolTimer.setRepeats(false);
+        }
+        if (!poolTimer.isRunning()) {
+            schedulePoolTimer();
+        }
+        return true;
+    }
+
+    /**
+     * Disposes all the windows whose timeout expired and restarts {@link #poolTimer} if there are windows left.
+     */
+    private void evictPool() {
+        long now = System.currentTimeMillis();
+        Iterator<Deque<PoolEntry>> iterator = pool.values().iterator();
+        while (iterator.hasNext()) {
+            Deque<PoolEntry> windows = iterator.next();
+            while (!windows.isEmpty() && windows.getLast().released + poolTimeout <= now) {
+                windows.removeLast().window.discard();
+            }
+            if (windows.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        if (!pool.isEmpty()) {
+            schedulePoolTimer();
+        }
+    }
+
+    /**
+     * (Re-)starts {@link #poolTimer} such that it fires when the oldest window in the pool expires.
+     */
+    private void schedulePoolTimer() {
+        long oldest = Long.MAX_VALUE;
+        for (Deque<PoolEntry> windows : pool.values()) {
+            oldest = Math.min(oldest, windows.getLast().released);
+        }
+        long delay = oldest + poolTimeout - System.currentTimeMillis();
+        poolTimer.setInitialDelay((int) Math.max(1, Math.min(delay, poolTimeout)));
+        poolTimer.restart();
+    }
+
+    /**
+     * Describes which windows can replace each other: windows created for the same station, with the same owner
+     * and with equal configurations.
+     */
+    private record PoolKey(ScreenDockStation station, Window owner, Kind kind, boolean undecorated,
+                           boolean moveOnTitleGrab, boolean moveOnBorder, boolean allowDragAndDropOnTitle,
+                           boolean resetOnDropable, boolean resizeable, boolean transparent,
+                           ScreenDockWindowBorderFactory borderFactory) {
+        PoolKey(ScreenDockStation station, WindowConfiguration configuration, Kind kind, boolean undecorated) {
+            this(station, kind == Kind.FRAME ? null : station.getOwner(), kind, undecorated,
+                    configuration.isMoveOnTitleGrab(), configuration.isMoveOnBorder(),
+                    configuration.isAllowDragAndDropOnTitle(), configuration.isResetOnDropable(),
+                    configuration.isResizeable(), configuration.isTransparent(), configuration.getBorderFactory());
+        }
+    }
+
+    /**
+     * An unused window and the time when it was put into the pool.
+     */
+    private record PoolEntry(PooledWindow window, long released) {
+    }
+
+    /**
+     * A window that is put into the pool when it is destroyed.
+     */
+    private interface PooledWindow {
+        /**
+         * Gets <code>this</code> as {@link AbstractScreenDockWindow}.
+         *
+         * @return <code>this</code>
+         */
+        AbstractScreenDockWindow asWindow();
+
+        /**
+         * Really destroys this window.
+         */
+        void discard();
+    }
+
+    /**
+     * A {@link ScreenDockDialog} that returns to the pool when it is destroyed.
+     */
+    private class PooledDialog extends ScreenDockDialog implements PooledWindow {
+        private final PoolKey key;
+
+        public PooledDialog(ScreenDockStation station, WindowConfiguration configuration, PoolKey key) {
+            super(station, configuration, key.undecorated());
+            this.key = key;
+        }
+
+        public PooledDialog(ScreenDockStation station, WindowConfiguration configuration, Frame owner,
+                            PoolKey key) {
+            super(station, configuration, owner, key.undecorated());
+            this.key = key;
+        }
+
+        public PooledDialog(ScreenDockStation station, WindowConfiguration configuration, Dialog owner,
+                            PoolKey key) {
+            super(station, configuration, owner, key.undecorated());
+            this.key = key;
+        }
+
+        public AbstractScreenDockWindow asWindow() {
+            return this;
+        }
+
+        @Override
+        public void destroy() {
+            if (!release(this, key)) {
+                super.destroy();
+            }
+        }
+
+        public void discard() {
+            super.destroy();
+        }
+    }
+
+    /**
+     * A {@link ScreenDockFrame} that returns to the pool when it is destroyed.
+     */
+    private class PooledFrame extends ScreenDockFrame implements PooledWindow {
+        private final PoolKey key;
+
+        public PooledFrame(ScreenDockStation station, WindowConfiguration configuration, PoolKey key) {
+            super(station, configuration, key.undecorated());
+            this.key = key;
+        }
+
+        public AbstractScreenDockWindow asWindow() {
+            return this;
+        }
+
+        @Override
+        public void destroy() {
+            if (!release(this, key)) {
+                super.destroy();
+            }
+        }
+
+        public void discard() {
+            super.destroy();
+        }
+    }
 }
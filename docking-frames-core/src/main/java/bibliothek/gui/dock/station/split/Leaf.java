@@ -87,7 +87,21 @@ public class Leaf extends SpanSplitNode {
      * @param handle the element
      */
     public void setHandle(StationChildHandle handle) {
+        Dockable oldDockable = getDockable();
         this.handle = handle;
+        dockableChanged(oldDockable);
+    }
+
+    /**
+     * Informs the {@link Root} of this leaf that the {@link Dockable} of this leaf changed.
+     *
+     * @param oldDockable the previous dockable, can be <code>null</code>
+     */
+    private void dockableChanged(Dockable oldDockable) {
+        Root root = getRoot();
+        if (root != null) {
+            root.dockableChanged(this, oldDockable);
+        }
     }
 
     @Override
@@ -200,12 +214,15 @@ public class Leaf extends SpanSplitNode {
                 }
             }
 
+            Dockable oldDockable = handle.getDockable();
             getAccess().removeHandle(handle, token);
             handle = null;
+            dockableChanged(oldDockable);
         }
 
         if (dockable != null) {
             handle = getAccess().newHandle(dockable);
+            dockableChanged(null);
 
             if (updatePlaceholders) {
                 getAccess().getPlaceholderSet().set(this, dockable);
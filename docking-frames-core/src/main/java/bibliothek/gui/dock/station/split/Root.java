@@ -32,6 +32,8 @@ import bibliothek.gui.dock.layout.location.AsideRequest;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -56,6 +58,16 @@ public class Root extends SpanSplitNode {
      */
     private Rectangle baseBounds = null;
 
+    /**
+     * all the nodes of this tree, including this root, accessible by their unique identifier
+     */
+    private final Map<Long, SplitNode> nodesById = new HashMap<>();
+
+    /**
+     * all the leafs of this tree which currently show a {@link Dockable}
+     */
+    private final Map<Dockable, Leaf> leafsByDockable = new IdentityHashMap<>();
+
     /**
      * Creates a new root.
      *
@@ -75,6 +87,7 @@ public class Root extends SpanSplitNode {
      */
     public Root(SplitDockAccess access, long id) {
         super(access, id);
+        nodesById.put(getId(), this);
     }
 
     @Override
@@ -425,7 +438,114 @@ public class Root extends SpanSplitNode {
 
     @Override
     public Leaf getLeaf(Dockable dockable) {
-        return child == null ? null : child.getLeaf(dockable);
+        Leaf leaf = leafsByDockable.get(dockable);
+        if (leaf != null && leaf.getDockable() != dockable) {
+            return null;
+        }
+        return leaf;
+    }
+
+    /**
+     * Searches the node whose {@link SplitNode#getId() id} equals <code>id</code>. This method
+     * uses an index and runs in constant time.
+     *
+     * @param id the id to search
+     * @return the node with the id <code>id</code> or <code>null</code> if no such node is in this tree
+     */
+    public SplitNode getNode(long id) {
+        SplitNode node = nodesById.get(id);
+        if (node != null && node.getId() != id) {
+            return null;
+        }
+        return node;
+    }
+
+    /**
+     * Adds <code>node</code> and all its children to the index of this root. Called whenever
+     * a subtree is attached to this root.
+     *
+     * @param node the new subtree
+     */
+    protected void addToIndex(SplitNode node) {
+        node.visit(new SplitNodeVisitor() {
+            public void handleRoot(Root root) {
+                nodesById.put(root.getId(), root);
+            }
+
+            public void handleNode(Node node) {
+                nodesById.put(node.getId(), node);
+            }
+
+            public void handleLeaf(Leaf leaf) {
+                nodesById.put(leaf.getId(), leaf);
+                Dockable dockable = leaf.getDockable();
+                if (dockable != null) {
+                    leafsByDockable.put(dockable, leaf);
+                }
+            }
+
+            public void handlePlaceholder(Placeholder placeholder) {
+                nodesById.put(placeholder.getId(), placeholder);
+            }
+        });
+    }
+
+    /**
+     * Removes <code>node</code> and all its children from the index of this root. Called whenever
+     * a subtree is removed from this root.
+     *
+     * @param node the subtree that was removed
+     */
+    protected void removeFromIndex(SplitNode node) {
+        node.visit(new SplitNodeVisitor() {
+            public void handleRoot(Root root) {
+                nodesById.remove(root.getId(), root);
+            }
+
+            public void handleNode(Node node) {
+                nodesById.remove(node.getId(), node);
+            }
+
+            public void handleLeaf(Leaf leaf) {
+                nodesById.remove(leaf.getId(), leaf);
+                Dockable dockable = leaf.getDockable();
+                if (dockable != null) {
+                    leafsByDockable.remove(dockable, leaf);
+                }
+            }
+
+            public void handlePlaceholder(Placeholder placeholder) {
+                nodesById.remove(placeholder.getId(), placeholder);
+            }
+        });
+    }
+
+    /**
+     * Called if the {@link SplitNode#getId() identifier} of <code>node</code>, which is part of this
+     * tree, changed.
+     *
+     * @param node  the node whose identifier changed
+     * @param oldId the previous identifier of <code>node</code>
+     */
+    protected void idChanged(SplitNode node, long oldId) {
+        nodesById.remove(oldId, node);
+        nodesById.put(node.getId(), node);
+    }
+
+    /**
+     * Called if the {@link Dockable} of <code>leaf</code>, which is part of this tree, changed.
+     *
+     * @param leaf        the leaf whose dockable changed
+     * @param oldDockable the previous dockable of <code>leaf</code>, can be <code>null</code>
+     */
+    protected void dockableChanged(Leaf leaf, Dockable oldDockable) {
+        if (oldDockable != null) {
+            leafsByDockable.remove(oldDockable, leaf);
+        }
+        Dockable dockable = leaf.getDockable();
+        if (dockable != null) {
+            leafsByDockable.put(dockable, leaf);
+        }
     }
 
     @Override
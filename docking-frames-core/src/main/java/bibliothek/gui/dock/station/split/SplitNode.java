@@ -442,10 +442,20 @@ public abstract class SplitNode {
     public void setParent(SplitNode parent) {
         if (this.parent != null) {
             SplitNode node = this.parent;
+            Root root = node.getRoot();
             this.parent = null;
             node.setChild(null, node.getChildLocation(this));
+            if (root != null) {
+                root.removeFromIndex(this);
+            }
         }
         this.parent = parent;
+        if (parent != null) {
+            Root root = parent.getRoot();
+            if (root != null) {
+                root.addToIndex(this);
+            }
+        }
     }
 
     /**
@@ -519,6 +529,7 @@ public abstract class SplitNode {
             }
         }
 
+        long oldId = getId();
         boolean issue = true;
         while (issue) {
             issue = false;
@@ -531,6 +542,12 @@ public abstract class SplitNode {
                 }
             }
         }
+        if (oldId != getId()) {
+            Root root = getRoot();
+            if (root != null) {
+                root.idChanged(this, oldId);
+            }
+        }
 
         return delta + 1;
     }
@@ -30,6 +30,7 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 
 import javax.swing.*;
 import java.awt.*;
@@ -81,6 +82,10 @@ public class SideSnapDropLayer implements DockStationDropLayer {
         return child;
     }
 
+    public Rectangle getScreenBounds() {
+        return DockUtilities.getScreenBounds(getComponent(), station.getBorderSideSnapSize());
+    }
+
     public boolean contains(int x, int y) {
         if (!station.isAllowSideSnap()) {
             return false;
@@ -284,6 +284,14 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
         repaint();
     }
 
+    /**
+     * Called by the {@link CombinedStackDockContentPane} if it became invalid, e.g. because
+     * one of the tabs changed its size.
+     */
+    void contentInvalidated() {
+        fireInvalidated();
+    }
+
     /**
      * Repaints the contents of this component.
      */
@@ -841,6 +849,7 @@ public abstract class CombinedStackDockComponent<T extends CombinedTab, M extend
          * and updates {@link #text}, {@link #icon} and {@link #tooltip}.
          */
         public void forward() {
+            discardMeasuringTab(dockable);
             CombinedTab tab = getTab(dockable);
             if (tab != null) {
                 tab.setIcon(icon);
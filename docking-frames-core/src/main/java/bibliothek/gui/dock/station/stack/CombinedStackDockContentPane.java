@@ -101,6 +101,15 @@ public class CombinedStackDockContentPane extends ConfiguredBackgroundPanel {
         }
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        // invalidate is called by the super constructor, before parent is set
+        if (parent != null) {
+            parent.contentInvalidated();
+        }
+    }
+
     @Override
     public void doLayout() {
         super.doLayout();
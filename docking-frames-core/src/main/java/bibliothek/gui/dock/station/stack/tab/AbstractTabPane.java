@@ -41,7 +41,11 @@ import java.util.Map;
  * storage and destruction of {@link Tab}s and {@link TabMenu}s, it also stores
  * a list of currently visible {@link Dockable}s.<br>
  * Subclasses should call {@link #setController(DockController)} to make sure
- * this pane can use all available information.
+ * this pane can use all available information.<br>
+ * If {@link TabPane#LAZY_TABS} is set, then the tabs of {@link Dockable}s that are moved into a menu are
+ * destroyed. Their last known size is kept in a lightweight stand-in that is handed out by
+ * {@link #getMeasuringTab(Dockable)}, and a new tab is only created once the {@link Dockable} is shown
+ * on a tab again.
  *
  * @param <T> the kind of tabs this pane supports
  * @param <M> the kind of menus this pane supports
@@ -66,6 +70,17 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
                 }
             };
 
+    /**
+     * whether tabs are only kept for the {@link Dockable}s that are currently shown on a tab
+     */
+    private final PropertyValue<Boolean> lazyTabs =
+            new PropertyValue<>(TabPane.LAZY_TABS) {
+                @Override
+                protected void valueChanged(Boolean oldValue, Boolean newValue) {
+                    measuringTabs.clear();
+                    revalidate();
+                }
+            };
 
     /**
      * the controller in whose realm this pane works
@@ -87,6 +102,16 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
      */
     private final Map<Dockable, T> tabs = new HashMap<>();
 
+    /**
+     * stand-ins for the tabs that were destroyed because {@link #lazyTabs} is set
+     */
+    private final Map<Dockable, MeasuringTab> measuringTabs = new HashMap<>();
+
+    /**
+     * the sizes of the tab that was measured last, used to estimate the size of tabs that were never created
+     */
+    private MeasuringTab prototype;
+
     /**
      * all the menus, visible and invisible
      */
@@ -120,6 +145,7 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
     public void setController(DockController controller) {
         this.controller = controller;
         layoutManager.setProperties(controller);
+        lazyTabs.setProperties(controller);
         fireControllerChanged();
     }
 
@@ -137,6 +163,8 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
             throw new IllegalArgumentException("tab placement must not be null");
         }
         this.tabPlacement = tabPlacement;
+        measuringTabs.clear();
+        prototype = null;
         revalidate();
     }
 
@@ -194,6 +222,7 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
      * update the layout lazily.
      */
     public void revalidate() {
+        fireInvalidated();
         doLayout();
     }
 
@@ -260,6 +289,15 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
         }
     }
 
+    /**
+     * Informs all {@link TabPaneListener}s that the layout of this pane became invalid.
+     */
+    protected void fireInvalidated() {
+        for (TabPaneListener listener : listeners()) {
+            listener.invalidated(this);
+        }
+    }
+
     /**
      * Informs all {@link TabPaneListener} that the current {@link DockController} changed.
      */
@@ -363,6 +401,8 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
             tabRemoved(tab);
         }
         clearTabs();
+        measuringTabs.clear();
+        prototype = null;
 
         for (Map.Entry<Dockable, M> item : menuPosition.entrySet()) {
             removeFromMenu(item.getValue(), item.getKey());
@@ -390,6 +430,8 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
             tabRemoved(tab);
         }
         clearTabs();
+        measuringTabs.clear();
+        prototype = null;
 
         for (Map.Entry<Dockable, M> item : menuPosition.entrySet()) {
             removeFromMenu(item.getValue(), item.getKey());
@@ -558,6 +600,7 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
             tab = newTab(dockable);
             tab.setOrientation(getDockTabPlacement());
             putTab(dockable, tab);
+            measuringTabs.remove(dockable);
         }
         tab.setPaneVisible(true);
 
@@ -582,10 +625,78 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
             tab = newTab(dockable);
             tab.setOrientation(getDockTabPlacement());
             putTab(dockable, tab);
+            measuringTabs.remove(dockable);
         }
         return tab;
     }
 
+    /**
+     * Gets a {@link Tab} whose size can be used to decide where to show <code>dockable</code>. If
+     * {@link TabPane#LAZY_TABS} is not set, or if <code>dockable</code> already has a tab, then the result
+     * is the same as {@link #getOnTab(Dockable)}. Otherwise a lightweight stand-in is returned, which
+     * reports the last known size of the tab of <code>dockable</code>, or the size of another tab if
+     * <code>dockable</code> never had a tab. Only if no size is known at all a real tab is created.<br>
+     * A stand-in is only valid until <code>dockable</code> gets a real tab, is removed from this pane, the
+     * {@link #setDockTabPlacement(TabPlacement) placement} of the tabs or {@link TabPane#LAZY_TABS} changes,
+     * or {@link #discardMeasuringTab(Dockable)} is called. Clients should therefore not store the result
+     * beyond one layout pass. A stand-in must never be shown, its {@link Tab#setPaneVisible(boolean)}
+     * has no effect. Call {@link #putOnTab(Dockable)} to show <code>dockable</code> on a tab.
+     *
+     * @param dockable the element whose tab is measured
+     * @return either the tab of <code>dockable</code> or a stand-in with the estimated size of the tab
+     * @throws IllegalArgumentException if <code>dockable</code> is not a child of this pane
+     */
+    public Tab getMeasuringTab(Dockable dockable) {
+        if (isLazyTabs() && !tabs.containsKey(dockable)) {
+            MeasuringTab result = measuringTabs.get(dockable);
+            if (result == null && prototype != null) {
+                if (!dockables.contains(dockable)) {
+                    throw new IllegalArgumentException("dockable not child of this pane");
+                }
+                result = new MeasuringTab(dockable, prototype.minimum, prototype.preferred);
+                measuringTabs.put(dockable, result);
+            }
+            if (result != null) {
+                return result;
+            }
+        }
+
+        T tab = getOnTab(dockable);
+        if (isLazyTabs()) {
+            prototype = new MeasuringTab(dockable, tab.getMinimumSize(), tab.getPreferredSize());
+        }
+        return tab;
+    }
+
+    /**
+     * Tells whether the tabs of {@link Dockable}s that are shown in a menu are destroyed.
+     *
+     * @return whether {@link TabPane#LAZY_TABS} is set
+     */
+    public boolean isLazyTabs() {
+        return lazyTabs.getValue();
+    }
+
+    /**
+     * Sets whether the tabs of {@link Dockable}s that are shown in a menu are destroyed, a value of
+     * <code>null</code> reinstalls the default value of {@link TabPane#LAZY_TABS}.
+     *
+     * @param lazyTabs whether tabs should only exist for {@link Dockable}s that are shown on a tab
+     */
+    public void setLazyTabs(Boolean lazyTabs) {
+        this.lazyTabs.setValue(lazyTabs);
+    }
+
+    /**
+     * Forgets the size that was remembered for the tab of <code>dockable</code>. Subclasses should call
+     * this method if the content of the tab, e.g. its text or icon, changes while the tab does not exist.
+     *
+     * @param dockable the element whose tab changed
+     */
+    protected void discardMeasuringTab(Dockable dockable) {
+        measuringTabs.remove(dockable);
+    }
+
 
     /**
      * Sets the info component.
@@ -674,9 +785,20 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
         addToMenu((M) menu, dockable);
         menuPosition.put(dockable, (M) menu);
 
-        T tab = tabs.get(dockable);
-        if (tab != null) {
-            tab.setPaneVisible(false);
+        if (isLazyTabs()) {
+            T tab = removeTab(dockable);
+            if (tab != null) {
+                MeasuringTab measuring = new MeasuringTab(dockable, tab.getMinimumSize(), tab.getPreferredSize());
+                measuringTabs.put(dockable, measuring);
+                prototype = measuring;
+                tab.setPaneVisible(false);
+                tabRemoved(tab);
+            }
+        } else {
+            T tab = tabs.get(dockable);
+            if (tab != null) {
+                tab.setPaneVisible(false);
+            }
         }
     }
 
@@ -728,6 +850,8 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
      * @param dockable the element to remove
      */
     private void cleanOut(Dockable dockable) {
+        measuringTabs.remove(dockable);
+
         // tab
         T tab = removeTab(dockable);
         if (tab != null) {
@@ -811,4 +935,84 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
      * @param menu the destroyed menu
      */
     protected abstract void menuRemoved(M menu);
+
+    /**
+     * A lightweight stand-in for a {@link Tab} that does not exist, it only remembers the size
+     * of the tab. A {@link MeasuringTab} is never shown.
+     *
+     * @author Benjamin Sigg
+     */
+    private class MeasuringTab implements Tab {
+        private final Dockable dockable;
+        private final Dimension minimum;
+        private final Dimension preferred;
+        private final Rectangle bounds = new Rectangle();
+        private int zOrder;
+
+        public MeasuringTab(Dockable dockable, Dimension minimum, Dimension preferred) {
+            this.dockable = dockable;
+            this.minimum = new Dimension(minimum);
+            this.preferred = new Dimension(preferred);
+        }
+
+        public Dockable getDockable() {
+            return dockable;
+        }
+
+        public Dimension getMinimumSize(Tab[] tabs) {
+            return getMinimumSize();
+        }
+
+        public Dimension getPreferredSize(Tab[] tabs) {
+            return getPreferredSize();
+        }
+
+        public TabPane getTabParent() {
+            return AbstractTabPane.this;
+        }
+
+        public Rectangle getBounds() {
+            return new Rectangle(bounds);
+        }
+
+        public void setBounds(Rectangle bounds) {
+            this.bounds.setBounds(bounds);
+        }
+
+        public void setZOrder(int order) {
+            zOrder = order;
+        }
+
+        public int getZOrder() {
+            return zOrder;
+        }
+
+        public Insets getOverlap(TabPaneComponent other) {
+            return new Insets(0, 0, 0, 0);
+        }
+
+        public Dimension getMinimumSize() {
+            return new Dimension(minimum);
+        }
+
+        public Dimension getPreferredSize() {
+            return new Dimension(preferred);
+        }
+
+        public Dimension getMaximumSize() {
+            return new Dimension(preferred);
+        }
+
+        public void setPaneVisible(boolean visible) {
+            // ignore
+        }
+
+        public boolean isPaneVisible() {
+            return false;
+        }
+
+        public void setOrientation(TabPlacement orientation) {
+            // ignore
+        }
+    }
 }
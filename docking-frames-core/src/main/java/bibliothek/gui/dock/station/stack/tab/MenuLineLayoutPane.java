@@ -43,6 +43,11 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane {
     private final TabsLayoutBlock tabs;
     private final MenuLineLayout layout;
 
+    /**
+     * all the possible layouts, <code>null</code> if they need to be recalculated
+     */
+    private List<MenuLineLayoutPossibility> layouts;
+
     /**
      * Creates new layout information for <code>pane</code>.
      *
@@ -248,12 +253,34 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane {
         }
     }
 
+    /**
+     * Discards the cached list of possible layouts. This method is called automatically whenever
+     * a tab is added or removed, the selection or the info component changes, or the {@link TabPane}
+     * becomes invalid. Applying one of the layouts does not discard the list, the candidates remain
+     * valid if only another set of tabs becomes visible.
+     */
+    public void invalidate() {
+        layouts = null;
+    }
+
+    /**
+     * Gets a list of all available layouts. The list is cached until {@link #invalidate()} is called.
+     *
+     * @return the list of all available layouts, must not be modified
+     */
+    private List<MenuLineLayoutPossibility> listLayouts() {
+        if (layouts == null) {
+            layouts = createLayouts();
+        }
+        return layouts;
+    }
+
     /**
      * Creates a list of all available layouts.
      *
      * @return the list of all available layouts
      */
-    private List<MenuLineLayoutPossibility> listLayouts() {
+    private List<MenuLineLayoutPossibility> createLayouts() {
         List<MenuLineLayoutPossibility> results = new ArrayList<>();
         TabPlacement orientation = getPane().getDockTabPlacement();
 
@@ -319,6 +346,30 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane {
         return new MenuLineLayoutPossibility(this, tabSize, menuSize, infoSize);
     }
 
+    @Override
+    public void added(TabPane pane, Dockable dockable) {
+        super.added(pane, dockable);
+        invalidate();
+    }
+
+    @Override
+    public void removed(TabPane pane, Dockable dockable) {
+        super.removed(pane, dockable);
+        invalidate();
+    }
+
+    @Override
+    public void selectionChanged(TabPane pane) {
+        super.selectionChanged(pane);
+        invalidate();
+    }
+
+    @Override
+    public void invalidated(TabPane pane) {
+        super.invalidated(pane);
+        invalidate();
+    }
+
     @Override
     public void infoComponentChanged(TabPane pane, LonelyTabPaneComponent oldInfo, LonelyTabPaneComponent newInfo) {
         super.infoComponentChanged(pane, oldInfo, newInfo);
@@ -327,5 +378,6 @@ public class MenuLineLayoutPane extends AbstractTabLayoutManagerPane {
         } else {
             info = newInfo.toLayoutBlock();
         }
+        invalidate();
     }
 }
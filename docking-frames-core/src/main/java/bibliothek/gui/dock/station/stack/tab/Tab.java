@@ -44,7 +44,9 @@ public interface Tab extends TabPaneComponent {
 
     /**
      * Gets the minimum size of this tab under the assumption that
-     * this tab is displayed together with <code>tabs</code>.
+     * this tab is displayed together with <code>tabs</code>. The size may only
+     * depend on the direct neighbors of this tab, callers may not pass any
+     * other tabs.
      *
      * @param tabs the displayed tabs, exactly one entry is <code>this</code>
      *             and no entry is <code>null</code>
@@ -54,7 +56,9 @@ public interface Tab extends TabPaneComponent {
 
     /**
      * Gets the preferred size of this tab under the assumption that
-     * this tab is displayed together with <code>tabs</code>.
+     * this tab is displayed together with <code>tabs</code>. The size may only
+     * depend on the direct neighbors of this tab, callers may not pass any
+     * other tabs.
      *
      * @param tabs the displayed tabs, exactly one entry is <code>this</code>
      *             and no entry is <code>null</code>
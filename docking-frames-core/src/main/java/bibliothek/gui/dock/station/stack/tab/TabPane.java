@@ -60,6 +60,17 @@ public interface TabPane {
                         }
                     }, true);
 
+    /**
+     * If set, then {@link Tab}s only exist for the {@link Dockable}s that are currently shown on a tab. The tabs
+     * of {@link Dockable}s that are moved into a {@link TabMenu} are destroyed, and their size is remembered
+     * for the next layout. This saves time and memory for panes with a large number of children, at the cost of
+     * layouts that are based on estimated sizes.
+     */
+    PropertyKey<Boolean> LAZY_TABS =
+            new PropertyKey<>("dock.tabpane.lazy_tabs",
+                    new ConstantPropertyFactory<>(false),
+                    true);
+
     /**
      * When calculating the minimum size of a {@link TabPane}, then prefer using really small minimum sizes
      * over showing the content correctly.
@@ -175,6 +186,24 @@ public interface TabPane {
      */
     Tab getOnTab(Dockable dockable);
 
+    /**
+     * Gets a {@link Tab} whose size can be used to decide where to show <code>dockable</code>. The result
+     * is either the same as {@link #getOnTab(Dockable)}, or a lightweight stand-in that is never shown and
+     * that may only report an estimated size. Other than {@link #getOnTab(Dockable)} this method does not
+     * need to create a new tab, hence a {@link TabLayoutManager} should prefer this method when measuring
+     * {@link Dockable}s that may end up in a {@link TabMenu}. To actually show <code>dockable</code> on a
+     * tab, {@link #putOnTab(Dockable)} has to be called.
+     *
+     * The default implementation returns {@link #getOnTab(Dockable)}, which is always a valid answer, but
+     * creates the tab if it does not yet exist.
+     *
+     * @param dockable the element whose tab is measured
+     * @return a tab describing the size of the tab of <code>dockable</code>
+     */
+    default Tab getMeasuringTab(Dockable dockable) {
+        return getOnTab(dockable);
+    }
+
     /**
      * Creates a new menu for this pane.
      *
@@ -49,4 +49,15 @@ public interface TabPaneListener {
      * @param controller the new controller, can be <code>null</code>
      */
     void controllerChanged(TabPane pane, DockController controller);
+
+    /**
+     * Called if the layout of <code>pane</code> became invalid, e.g. because the text or the icon of a tab
+     * changed. Any size that was calculated earlier for <code>pane</code> may be wrong. The default
+     * implementation does nothing.
+     *
+     * @param pane the source of this event
+     */
+    default void invalidated(TabPane pane) {
+        // ignore
+    }
 }
@@ -248,7 +248,8 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock {
      * the default implementation the fist tab is always {@link #getSelectedTab()},
      * then all the currently displayed tabs follow, only after them the invisible
      * tabs follow. Tabs whose {@link Dockable} is no longer registered at the
-     * owning {@link TabPane} are ignored.
+     * owning {@link TabPane} are ignored. Invisible tabs may be
+     * {@link TabPane#getMeasuringTab(Dockable) stand-ins} that are only used to measure sizes.
      *
      * @return all tabs, ordered by importance
      * @throws IllegalStateException if {@link #getPane()} returns <code>null</code>
@@ -263,7 +264,7 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock {
         int[] visibleToInvisible = getOriginalTabLocations();
 
         for (int i = 0; i < allTabs.length; i++) {
-            allTabs[i] = pane.getOnTab(dockables[i]);
+            allTabs[i] = pane.getMeasuringTab(dockables[i]);
         }
 
         Tab[] result = new Tab[allTabs.length];
@@ -543,13 +544,36 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock {
      */
     protected static class TabsSize extends Size {
         /**
-         * tabs required for this size
+         * tabs required for this size, may contain more than {@link #count} entries
          */
-        private final Tab[] tabs;
+        private Tab[] tabs;
+
+        /**
+         * the number of entries of {@link #tabs} which are required
+         */
+        private final int count;
 
         public TabsSize(Type type, Dimension size, Tab[] tabs, double score) {
+            this(type, size, tabs, tabs.length, score);
+        }
+
+        /**
+         * Creates a new size which requires the first <code>count</code> entries of <code>tabs</code>. Several
+         * sizes can share the same array, it is copied only when {@link #getTabs()} is called.
+         *
+         * @param type  the kind of size this is
+         * @param size  the amount of needed pixels
+         * @param tabs  the tabs, ordered by importance, must not be modified afterwards
+         * @param count the number of tabs from <code>tabs</code> which are shown with this size
+         * @param score how well this size is liked
+         */
+        public TabsSize(Type type, Dimension size, Tab[] tabs, int count, double score) {
             super(type, size, score);
+            if (count < 0 || count > tabs.length) {
+                throw new IllegalArgumentException("count out of bounds: " + count);
+            }
             this.tabs = tabs;
+            this.count = count;
         }
 
         /**
@@ -558,6 +582,9 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock {
          * @return the tabs
          */
         public Tab[] getTabs() {
+            if (tabs.length != count) {
+                tabs = Arrays.copyOf(tabs, count);
+            }
             return tabs;
         }
 
@@ -567,12 +594,12 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock {
          * @return the number of tabs
          */
         public int getTabCount() {
-            return tabs.length;
+            return count;
         }
 
         @Override
         public String toString() {
-            return "[width=" + getWidth() + ", height=" + getHeight() + ", tabs=" + Arrays.toString(tabs) + "]";
+            return "[width=" + getWidth() + ", height=" + getHeight() + ", tabs=" + Arrays.toString(getTabs()) + "]";
         }
     }
 }
@@ -29,10 +29,8 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.stack.tab.*;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
+import java.util.*;
 
 /**
  * This {@link TabsLayoutBlock} orders its tabs in a line.
@@ -111,11 +109,8 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
             collector.insert(tabs[i]);
 
             Dimension size = collector.getMinimumSize();
-            Tab[] selection = new Tab[i + 1];
-            System.arraycopy(tabs, 0, selection, 0, i + 1);
-
-            result[i] =
-                    new LineSize(Size.Type.MINIMUM, size, selection, i + 1 == tabs.length, i / (double) tabs.length);
+            result[i] = new LineSize(Size.Type.MINIMUM, size, tabs, i + 1, i + 1 == tabs.length,
+                    i / (double) tabs.length);
         }
 
         Dimension preferred = collector.getPreferredSize();
@@ -385,6 +380,21 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
             this.allTabs = allTabs;
         }
 
+        /**
+         * Creates a new size which shows the first <code>count</code> tabs of <code>tabs</code>.
+         *
+         * @param type    the kind of size this is
+         * @param size    the amount of needed pixels
+         * @param tabs    the tabs ordered by importance, may be shared with other sizes and must not be modified
+         * @param count   the number of tabs from <code>tabs</code> shown with this size
+         * @param allTabs whether the first <code>count</code> tabs include all available tabs
+         * @param score   how well this size is liked
+         */
+        public LineSize(Type type, Dimension size, Tab[] tabs, int count, boolean allTabs, double score) {
+            super(type, size, tabs, count, score);
+            this.allTabs = allTabs;
+        }
+
         /**
          * Tells whether this size represents a size where all tabs are shown.
          *
@@ -505,29 +515,48 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
 
     /**
      * Used to calculate the minimum and preferred size of a set of
-     * {@link Tab}s.
+     * {@link Tab}s. The collector is filled one tab after the other, and it
+     * keeps the sum of all sizes up to date. Since the size of a tab
+     * depends only on its direct neighbors, inserting a tab requires only the
+     * sizes of the new tab and its two neighbors to be recalculated.
      *
      * @author Benjamin Sigg
      */
     protected class SizeCollector {
-        private final Dockable[] dockables;
+        private final Map<Dockable, Integer> indices;
         private final Tab[] tabs;
+        private final BitSet visible;
+        private final boolean horizontal;
 
         private final Dimension[] minimum;
         private final Dimension[] preferred;
         private final int[] overlapPrevious;
         private final int[] overlapNext;
 
+        private final Sum minimumSum = new Sum();
+        private final Sum preferredSum = new Sum();
+
+        /**
+         * The sum of all the overlaps between the visible tabs
+         */
+        private int overlap;
+
         /**
          * Creates a new collector
          *
          * @param dockables underlying set of {@link Dockable}s.
          */
         public SizeCollector(Dockable[] dockables) {
-            this.dockables = dockables;
             int size = dockables.length;
 
+            indices = new IdentityHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                indices.put(dockables[i], i);
+            }
+
             tabs = new Tab[size];
+            visible = new BitSet(size);
+            horizontal = getOrientation().isHorizontal();
             minimum = new Dimension[size];
             preferred = new Dimension[size];
             overlapPrevious = new int[size];
@@ -541,76 +570,116 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
          * @param tab the new tab
          */
         public void insert(Tab tab) {
-            Dockable dockable = tab.getDockable();
-            for (int i = 0; i < dockables.length; i++) {
-                if (dockables[i] == dockable) {
-                    insert(tab, i);
-                    return;
-                }
+            Integer index = indices.get(tab.getDockable());
+            if (index != null) {
+                insert(tab, index);
             }
         }
 
-        /**
-         * Gets all the tabs that are currently not <code>null</code>
-         *
-         * @return the visible tabs
-         */
-        private Tab[] getVisibleTabs() {
-            int count = 0;
-            for (Tab tab : tabs) {
-                if (tab != null) {
-                    count++;
-                }
+        private void insert(Tab tab, int index) {
+            if (tabs[index] != null) {
+                remove(index);
             }
-            Tab[] visible = new Tab[count];
-            int index = 0;
-            for (Tab tab : tabs) {
-                if (tab != null) {
-                    visible[index++] = tab;
-                }
+
+            int previous = visible.previousSetBit(index - 1);
+            int next = visible.nextSetBit(index + 1);
+
+            if (previous != -1 && next != -1) {
+                overlap -= Math.max(overlapNext[previous], overlapPrevious[next]);
             }
-            return visible;
-        }
 
-        private void insert(Tab tab, int index) {
             tabs[index] = tab;
-            Tab[] visibleTabs = getVisibleTabs();
+            visible.set(index);
 
-            for (int i = 0; i < tabs.length; i++) {
-                if (tabs[i] != null) {
-                    minimum[i] = tabs[i].getMinimumSize(visibleTabs);
-                    preferred[i] = tabs[i].getPreferredSize(visibleTabs);
+            if (previous != -1) {
+                if (horizontal) {
+                    overlapNext[previous] = tabs[previous].getOverlap(tab).right;
+                    overlapPrevious[index] = tab.getOverlap(tabs[previous]).left;
+                } else {
+                    overlapNext[previous] = tabs[previous].getOverlap(tab).bottom;
+                    overlapPrevious[index] = tab.getOverlap(tabs[previous]).top;
                 }
+                overlap += Math.max(overlapNext[previous], overlapPrevious[index]);
             }
 
-            boolean horizontal = getOrientation().isHorizontal();
-
-            // search previous
-            for (int i = index - 1; i >= 0; i--) {
-                if (tabs[i] != null) {
-                    if (horizontal) {
-                        overlapNext[i] = tabs[i].getOverlap(tab).right;
-                        overlapPrevious[index] = tab.getOverlap(tabs[i]).left;
-                    } else {
-                        overlapNext[i] = tabs[i].getOverlap(tab).bottom;
-                        overlapPrevious[index] = tab.getOverlap(tabs[i]).top;
-                    }
-                    break;
+            if (next != -1) {
+                if (horizontal) {
+                    overlapNext[index] = tab.getOverlap(tabs[next]).right;
+                    overlapPrevious[next] = tabs[next].getOverlap(tab).left;
+                } else {
+                    overlapNext[index] = tab.getOverlap(tabs[next]).bottom;
+                    overlapPrevious[next] = tabs[next].getOverlap(tab).top;
                 }
+                overlap += Math.max(overlapNext[index], overlapPrevious[next]);
             }
 
-            // search next
-            for (int i = index + 1; i < tabs.length; i++) {
-                if (tabs[i] != null) {
-                    if (horizontal) {
-                        overlapNext[index] = tab.getOverlap(tabs[i]).right;
-                        overlapPrevious[i] = tabs[i].getOverlap(tab).left;
-                    } else {
-                        overlapNext[index] = tab.getOverlap(tabs[i]).bottom;
-                        overlapPrevious[i] = tabs[i].getOverlap(tab).top;
-                    }
-                    break;
-                }
+            update(index);
+            if (previous != -1) {
+                update(previous);
+            }
+            if (next != -1) {
+                update(next);
+            }
+        }
+
+        private void remove(int index) {
+            int previous = visible.previousSetBit(index - 1);
+            int next = visible.nextSetBit(index + 1);
+
+            if (previous != -1) {
+                overlap -= Math.max(overlapNext[previous], overlapPrevious[index]);
+            }
+            if (next != -1) {
+                overlap -= Math.max(overlapNext[index], overlapPrevious[next]);
+            }
+            if (previous != -1 && next != -1) {
+                overlap += Math.max(overlapNext[previous], overlapPrevious[next]);
+            }
+
+            minimumSum.replace(minimum[index], null);
+            preferredSum.replace(preferred[index], null);
+            minimum[index] = null;
+            preferred[index] = null;
+            tabs[index] = null;
+            visible.clear(index);
+        }
+
+        /**
+         * Recalculates the size of the tab at <code>index</code> using its current neighbors.
+         *
+         * @param index the index of a visible tab
+         */
+        private void update(int index) {
+            Tab tab = tabs[index];
+            Tab[] neighbors = neighbors(index);
+
+            Dimension newMinimum = tab.getMinimumSize(neighbors);
+            minimumSum.replace(minimum[index], newMinimum);
+            minimum[index] = newMinimum;
+
+            Dimension newPreferred = tab.getPreferredSize(neighbors);
+            preferredSum.replace(preferred[index], newPreferred);
+            preferred[index] = newPreferred;
+        }
+
+        /**
+         * Gets the tab at <code>index</code> together with its visible neighbors.
+         *
+         * @param index the index of a visible tab
+         * @return the tab and its neighbors, ordered as they are shown
+         */
+        private Tab[] neighbors(int index) {
+            int previous = visible.previousSetBit(index - 1);
+            int next = visible.nextSetBit(index + 1);
+
+            if (previous == -1 && next == -1) {
+                return new Tab[]{tabs[index]};
+            } else if (previous == -1) {
+                return new Tab[]{tabs[index], tabs[next]};
+            } else if (next == -1) {
+                return new Tab[]{tabs[previous], tabs[index]};
+            } else {
+                return new Tab[]{tabs[previous], tabs[index], tabs[next]};
             }
         }
 
@@ -620,7 +689,7 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
          * @return minimum size
          */
         public Dimension getMinimumSize() {
-            return getSize(minimum);
+            return getSize(minimumSum, minimum);
         }
 
         /**
@@ -629,50 +698,90 @@ public class LineTabsLayoutBlock extends AbstractTabsLayoutBlock {
          * @return preferred size
          */
         public Dimension getPreferredSize() {
-            return getSize(preferred);
+            return getSize(preferredSum, preferred);
         }
 
-        private Dimension getSize(Dimension[] required) {
-            int width = 0;
-            int height = 0;
-
-            int previous = -1;
+        private Dimension getSize(Sum sum, Dimension[] required) {
+            int length = sum.length - overlap;
+            int breadth = sum.getBreadth(required);
 
-            if (getOrientation().isHorizontal()) {
-                for (int i = 0; i < tabs.length; i++) {
-                    if (tabs[i] != null) {
-                        Dimension size = required[i];
-
-                        height = Math.max(height, size.height);
-
-                        width += size.width;
-
-                        if (previous != -1) {
-                            width -= Math.max(overlapNext[previous], overlapPrevious[i]);
-                        }
+            if (horizontal) {
+                return new Dimension(length, breadth);
+            } else {
+                return new Dimension(breadth, length);
+            }
+        }
 
-                        previous = i;
+        /**
+         * The sum of the sizes of the visible tabs along the line, and the largest size of the
+         * visible tabs orthogonal to the line.
+         */
+        private class Sum {
+            private int length;
+            /**
+             * the largest breadth of all visible tabs, may be too big if {@link #breadthCount} is 0
+             */
+            private int breadth;
+            /**
+             * how many visible tabs have a breadth of {@link #breadth}
+             */
+            private int breadthCount;
+
+            /**
+             * Replaces the size of one tab.
+             *
+             * @param oldSize the old size of the tab, <code>null</code> if the tab was not visible
+             * @param newSize the new size of the tab, <code>null</code> if the tab is no longer visible
+             */
+            public void replace(Dimension oldSize, Dimension newSize) {
+                if (oldSize != null) {
+                    length -= length(oldSize);
+                    if (breadthCount > 0 && breadth(oldSize) == breadth) {
+                        breadthCount--;
                     }
                 }
-            } else {
-                for (int i = 0; i < tabs.length; i++) {
-                    if (tabs[i] != null) {
-                        Dimension size = required[i];
-
-                        width = Math.max(width, size.width);
-
-                        height += size.height;
+                if (newSize != null) {
+                    length += length(newSize);
+                    int newBreadth = breadth(newSize);
+                    if (newBreadth > breadth) {
+                        breadth = newBreadth;
+                        breadthCount = 1;
+                    } else if (newBreadth == breadth && breadthCount > 0) {
+                        breadthCount++;
+                    }
+                }
+            }
 
-                        if (previous != -1) {
-                            height -= Math.max(overlapNext[previous], overlapPrevious[i]);
+            /**
+             * Gets the largest breadth of all the sizes, recalculates the value only if the last
+             * of the sizes which had the largest breadth shrank or was removed.
+             *
+             * @param sizes the current sizes
+             * @return the largest breadth
+             */
+            public int getBreadth(Dimension[] sizes) {
+                if (breadthCount == 0) {
+                    breadth = 0;
+                    for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+                        int next = breadth(sizes[i]);
+                        if (next > breadth) {
+                            breadth = next;
+                            breadthCount = 1;
+                        } else if (next == breadth) {
+                            breadthCount++;
                         }
-
-                        previous = i;
                     }
                 }
+                return breadth;
+            }
+
+            private int length(Dimension size) {
+                return horizontal ? size.width : size.height;
             }
 
-            return new Dimension(width, height);
+            private int breadth(Dimension size) {
+                return horizontal ? size.height : size.width;
+            }
         }
     }
 }
@@ -29,9 +29,7 @@ package bibliothek.gui.dock.station.support;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockStationListener;
-
-import java.util.ArrayList;
-import java.util.List;
+import bibliothek.util.ListenerList;
 
 /**
  * This manager stores {@link DockStationListener DockStationListeners}
@@ -40,7 +38,7 @@ import java.util.List;
  * @author Benjamin Sigg
  */
 public class DockStationListenerManager {
-    private final List<DockStationListener> listeners = new ArrayList<>();
+    private final ListenerList<DockStationListener> listeners = new ListenerList<>(DockStationListener[]::new);
     private DockStation station;
 
     /**
@@ -91,7 +89,7 @@ public class DockStationListenerManager {
      * @param value    the new state
      */
     public void fireDockableVisibilitySet(Dockable dockable, boolean value) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableShowingChanged(station, dockable, value);
         }
     }
@@ -103,7 +101,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was added
      */
     public void fireDockableAdded(Dockable dockable) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableAdded(station, dockable);
         }
     }
@@ -115,7 +113,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was removed
      */
     public void fireDockableRemoved(Dockable dockable) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableRemoved(station, dockable);
         }
     }
@@ -127,7 +125,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be added
      */
     public void fireDockableAdding(Dockable dockable) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableAdding(station, dockable);
         }
     }
@@ -139,7 +137,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be removed
      */
     public void fireDockableRemoving(Dockable dockable) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableRemoving(station, dockable);
         }
     }
@@ -152,7 +150,7 @@ public class DockStationListenerManager {
      * @param newSelected the selected {@link Dockable}
      */
     public void fireDockableSelected(Dockable oldSelected, Dockable newSelected) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockableSelected(station, oldSelected, newSelected);
         }
     }
@@ -164,7 +162,7 @@ public class DockStationListenerManager {
      * @param dockables the elements that have a new position
      */
     public void fireDockablesRepositioned(Dockable... dockables) {
-        for (DockStationListener listener : listeners.toArray(new DockStationListener[0])) {
+        for (DockStationListener listener : listeners.toArray()) {
             listener.dockablesRepositioned(station, dockables);
         }
     }
@@ -71,6 +71,32 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
      */
     private Entry headDockable = null;
 
+    /**
+     * root of the tree that allows to convert between entries and indices in logarithmic time
+     */
+    private Entry root = null;
+
+    /**
+     * used to assign random priorities to the nodes of the tree
+     */
+    private final Random priorities = new Random();
+
+    /**
+     * all the entries whose placeholder set contains a given placeholder, may contain entries which
+     * no longer contain the placeholder, these are removed lazily
+     */
+    private final Map<Path, List<Entry>> placeholderIndex = new HashMap<>();
+
+    /**
+     * the entries that represent a dockable
+     */
+    private final Map<D, Entry> dockableIndex = new IdentityHashMap<>();
+
+    /**
+     * all the entries whose item has a {@link PlaceholderMap}
+     */
+    private final Set<Entry> mapEntries = new HashSet<>();
+
     /**
      * identifiers for the various sublists this list consists of
      */
@@ -584,12 +610,11 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
      * @param placeholders the placeholders to remove
      */
     public void removeAll(Set<Path> placeholders) {
-        Iterator<Item> iter = list().iterator();
-        while (iter.hasNext()) {
-            Item item = iter.next();
+        for (Entry entry : candidates(placeholders)) {
+            Item item = entry.item;
             item.removeAll(placeholders);
             if (item.getPlaceholderSet() == null && item.isPlaceholder()) {
-                iter.remove();
+                entry.remove();
             }
         }
     }
@@ -606,18 +631,37 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
     }
 
     private void ensureRemoved(Item ignore, Path placeholder) {
-        Iterator<Item> iter = list().iterator();
-        while (iter.hasNext()) {
-            Item item = iter.next();
+        for (Entry entry : candidates(Collections.singleton(placeholder))) {
+            Item item = entry.item;
             if (item != ignore) {
                 item.remove(placeholder);
                 if (item.getPlaceholderSet() == null && item.isPlaceholder()) {
-                    iter.remove();
+                    entry.remove();
                 }
             }
         }
     }
 
+    /**
+     * Collects all the entries which may be affected if the placeholders <code>placeholders</code> are removed
+     * from this list. These are the entries which contain at least one of the placeholders, and all the entries
+     * with a {@link PlaceholderMap} since these maps may contain the placeholders as well.
+     *
+     * @param placeholders the placeholders that are going to be removed
+     * @return the entries that need to be visited, in no particular order
+     */
+    private List<Entry> candidates(Collection<Path> placeholders) {
+        Set<Entry> result = new LinkedHashSet<>(mapEntries);
+        for (Path placeholder : placeholders) {
+            List<Entry> entries = placeholderIndex.get(placeholder);
+            if (entries != null) {
+                result.addAll(entries);
+            }
+        }
+        result.removeIf(entry -> !entry.linked);
+        return new ArrayList<>(result);
+    }
+
     /**
      * Removes the <code>index</code>'th {@link Dockable} from this list were
      * <code>index</code> is an index used in {@link #dockables()}.
@@ -734,15 +778,8 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
             return -1;
         }
 
-        while (entry != null && entry.item.isPlaceholder()) {
-            entry = entry.previous(Level.BASE);
-        }
-
-        if (entry == null) {
-            return 0;
-        } else {
-            return entry.index(Level.DOCKABLE) + 1;
-        }
+        // the number of dockables in front of the entry, including the entry itself
+        return entry.rank(Level.DOCKABLE) + (entry.isPartOf(Level.DOCKABLE) ? 1 : 0);
     }
 
     /**
@@ -952,47 +989,94 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
     }
 
     private Entry search(Path placeholder) {
-        Entry entry = this.head;
-        while (entry != null) {
-            Set<Path> set = entry.item.getPlaceholderSet();
-            if (set != null && set.contains(placeholder)) {
-                return entry;
+        return search(placeholder, Level.BASE);
+    }
+
+    /**
+     * Searches the first entry of the sublist <code>level</code> whose placeholder set contains
+     * <code>placeholder</code>.
+     *
+     * @param placeholder the placeholder to search
+     * @param level       the sublist to search in
+     * @return the first matching entry or <code>null</code>
+     */
+    private Entry search(Path placeholder, Level level) {
+        List<Entry> entries = placeholderIndex.get(placeholder);
+        if (entries == null) {
+            return null;
+        }
+
+        Entry result = null;
+        int resultIndex = -1;
+
+        Iterator<Entry> iter = entries.iterator();
+        while (iter.hasNext()) {
+            Entry entry = iter.next();
+            if (!entry.linked || !entry.item.hasPlaceholder(placeholder)) {
+                iter.remove();
+            } else if (entry.isPartOf(level)) {
+                if (result == null) {
+                    result = entry;
+                } else {
+                    if (resultIndex == -1) {
+                        resultIndex = result.index(level);
+                    }
+                    int index = entry.index(level);
+                    if (index < resultIndex) {
+                        result = entry;
+                        resultIndex = index;
+                    }
+                }
             }
-            entry = entry.next(Level.BASE);
         }
-        return null;
+        if (entries.isEmpty()) {
+            placeholderIndex.remove(placeholder);
+        }
+        return result;
     }
 
     private Entry search(D dockable) {
-        Entry entry = head(Level.DOCKABLE);
-        while (entry != null) {
-            if (entry.item.getDockable().asDockable() == dockable) {
+        Entry entry = dockableIndex.get(dockable);
+        if (entry != null && entry.linked) {
+            P value = entry.item.getDockable();
+            if (value != null && value.asDockable() == dockable) {
                 return entry;
             }
-            entry = entry.next(Level.DOCKABLE);
         }
         return null;
     }
 
     private Entry search(P dockable) {
-        Entry entry = head(Level.DOCKABLE);
-        while (entry != null) {
-            if (entry.item.getDockable() == dockable) {
-                return entry;
-            }
-            entry = entry.next(Level.DOCKABLE);
+        if (dockable == null) {
+            return null;
+        }
+        Entry entry = search(dockable.asDockable());
+        if (entry != null && entry.item.getDockable() == dockable) {
+            return entry;
         }
         return null;
     }
 
     private Entry search(int index, Level level) {
-        Entry entry = head(level);
+        Entry entry = root;
+        index = Math.max(index, 0);
 
-        while (entry != null && index > 0) {
-            entry = entry.next(level);
-            index--;
+        while (entry != null) {
+            int leftCount = entry.left == null ? 0 : entry.left.count(level);
+            if (index < leftCount) {
+                entry = entry.left;
+            } else {
+                index -= leftCount;
+                if (entry.isPartOf(level)) {
+                    if (index == 0) {
+                        return entry;
+                    }
+                    index--;
+                }
+                entry = entry.right;
+            }
         }
-        return entry;
+        return null;
     }
 
     /**
@@ -1033,10 +1117,16 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
      * Clears this list, all entries are removed
      */
     public void clear() {
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            entry.linked = false;
+        }
         head = null;
         headDockable = null;
         headPlaceholder = null;
-        invalidate();
+        root = null;
+        placeholderIndex.clear();
+        dockableIndex.clear();
+        mapEntries.clear();
     }
 
     private Entry head(Level level) {
@@ -1047,11 +1137,14 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         };
     }
 
-    private void invalidate() {
-        dockables.invalidate();
-        allPlaceholders.invalidate();
-        purePlaceholders.invalidate();
-        allItems.invalidate();
+    /**
+     * Gets the number of entries in the sublist <code>level</code>.
+     *
+     * @param level the sublist to count
+     * @return the size of the sublist
+     */
+    private int count(Level level) {
+        return root == null ? 0 : root.count(level);
     }
 
     @Override
@@ -1059,6 +1152,13 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         return list().toString();
     }
 
+    /**
+     * An entry of the list. Entries are linked twice: once in the list of all entries and once in the
+     * list of their {@link Level}. In addition each entry is a node of a randomized binary search tree
+     * (a treap) whose in-order traversal matches the list of all entries. Every node of the tree knows
+     * how many entries and dockables its subtree contains, which allows to translate between entries
+     * and indices of any {@link Level} in logarithmic time.
+     */
     private class Entry {
         private Item item;
         private boolean itemWasPlaceholder;
@@ -1066,19 +1166,40 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         private Entry next, previous;
         private Entry nextLevel, previousLevel;
 
+        /**
+         * the neighbors of this entry in the tree
+         */
+        private Entry parent, left, right;
+
+        /**
+         * the priority of this node in the tree, parents have a smaller priority than their children
+         */
+        private final int priority = priorities.nextInt();
+
+        /**
+         * the number of entries in the subtree of this entry, including this entry
+         */
+        private int count;
+
+        /**
+         * the number of entries representing a dockable in the subtree of this entry, including this entry
+         */
+        private int dockableCount;
+
+        /**
+         * whether this entry is currently stored in the list
+         */
+        private boolean linked = false;
+
         public Entry(Entry predecessor, Item item) {
             this.item = item;
             insertAfter(predecessor);
         }
 
         public void insertAfter(Entry predecessor) {
-            invalidate();
-
             item.setOwner(this);
             itemWasPlaceholder = item.isPlaceholder();
 
-            Entry predecessorLevel = null;
-
             if (predecessor == null) {
                 next = head;
                 if (head != null) {
@@ -1086,7 +1207,6 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
                 }
 
                 head = this;
-                predecessorLevel = null;
             } else {
                 next = predecessor.next;
                 if (next != null) {
@@ -1095,16 +1215,15 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
                 predecessor.next = this;
                 this.previous = predecessor;
-
-                Entry search = predecessor;
-                while (search != null && predecessorLevel == null) {
-                    if (search.item.isPlaceholder() == item.isPlaceholder()) {
-                        predecessorLevel = search;
-                    }
-                    search = search.previous(Level.BASE);
-                }
             }
 
+            insertNode(predecessor);
+            linked = true;
+
+            Level level = level();
+            int index = index(level);
+            Entry predecessorLevel = index == 0 ? null : search(index - 1, level);
+
             Entry successorLevel = null;
             if (predecessorLevel == null) {
                 if (item.isPlaceholder()) {
@@ -1128,27 +1247,26 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
                 nextLevel = successorLevel;
                 successorLevel.previousLevel = this;
             }
+
+            addToIndex();
         }
 
         public void move(int delta, Level level) {
             if (delta == 0) {
                 return;
             }
-            Entry newPredecessor = this;
+            int index = index(level);
+            Entry newPredecessor;
             if (delta > 0) {
-                for (int i = 0; i < delta; i++) {
-                    newPredecessor = newPredecessor.next(level);
-                    if (newPredecessor == null) {
-                        throw new IllegalArgumentException("delta too big");
-                    }
+                newPredecessor = search(index + delta, level);
+                if (newPredecessor == null) {
+                    throw new IllegalArgumentException("delta too big");
                 }
             } else {
-                for (int i = -delta; i >= 0; i--) {
-                    if (newPredecessor == null) {
-                        throw new IllegalArgumentException("delta too big");
-                    }
-                    newPredecessor = newPredecessor.previous(level);
+                if (index + delta < 0) {
+                    throw new IllegalArgumentException("delta too big");
                 }
+                newPredecessor = index + delta == 0 ? null : search(index + delta - 1, level);
             }
 
             remove();
@@ -1171,82 +1289,312 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
             };
         }
 
+        /**
+         * Gets the sublist, other than {@link Level#BASE}, this entry belongs to.
+         *
+         * @return the sublist
+         */
+        private Level level() {
+            return itemWasPlaceholder ? Level.PLACEHOLDER : Level.DOCKABLE;
+        }
+
+        /**
+         * Tells whether this entry is part of the sublist <code>level</code>.
+         *
+         * @param level some sublist
+         * @return whether this entry can be found in <code>level</code>
+         */
+        public boolean isPartOf(Level level) {
+            return switch (level) {
+                case BASE -> true;
+                case PLACEHOLDER -> itemWasPlaceholder;
+                case DOCKABLE -> !itemWasPlaceholder;
+            };
+        }
+
+        /**
+         * Gets the number of entries of sublist <code>level</code> in the subtree of this entry.
+         *
+         * @param level the sublist to count
+         * @return the number of entries
+         */
+        public int count(Level level) {
+            return switch (level) {
+                case BASE -> count;
+                case DOCKABLE -> dockableCount;
+                case PLACEHOLDER -> count - dockableCount;
+            };
+        }
+
         public int index(Level level) {
-            Entry entry = head(level);
-            int index = 0;
-            while (entry != this && entry != null) {
-                entry = entry.next(level);
-                index++;
-            }
-            if (entry == null) {
+            if (!linked || !isPartOf(level)) {
                 return -1;
             }
-            return index;
+            return rank(level);
         }
 
-        public void refresh() {
-            set(item);
+        /**
+         * Counts how many entries of the sublist <code>level</code> are in front of this entry.
+         *
+         * @param level the sublist to count
+         * @return the number of entries in front of this entry
+         */
+        public int rank(Level level) {
+            int rank = left == null ? 0 : left.count(level);
+            for (Entry node = this; node.parent != null; node = node.parent) {
+                if (node.parent.right == node) {
+                    rank += node.parent.count(level) - node.count(level);
+                }
+            }
+            return rank;
         }
 
-        public void set(Item item) {
-            this.item.setOwner(null);
-            item.setOwner(this);
+        /**
+         * Inserts this entry into the tree, directly after <code>predecessor</code>.
+         *
+         * @param predecessor the entry in front of this entry, <code>null</code> if this entry is the new head
+         */
+        private void insertNode(Entry predecessor) {
+            parent = null;
+            left = null;
+            right = null;
+            updateCount();
+
+            if (root == null) {
+                root = this;
+                return;
+            }
 
-            if (itemWasPlaceholder != item.isPlaceholder()) {
-                itemWasPlaceholder = item.isPlaceholder();
+            if (predecessor == null) {
+                parent = root;
+                while (parent.left != null) {
+                    parent = parent.left;
+                }
+                parent.left = this;
+            } else if (predecessor.right == null) {
+                parent = predecessor;
+                parent.right = this;
+            } else {
+                parent = predecessor.right;
+                while (parent.left != null) {
+                    parent = parent.left;
+                }
+                parent.left = this;
+            }
 
-                invalidate();
-                removeLevel();
+            for (Entry node = parent; node != null; node = node.parent) {
+                node.count++;
+                node.dockableCount += dockableCount;
+            }
 
-                Entry levelPredecessor = findLevelPredecessor(item.isPlaceholder());
-                Entry levelSuccessor = findLevelSuccessor(item.isPlaceholder());
+            while (parent != null && parent.priority > priority) {
+                rotateUp();
+            }
+        }
 
-                if (levelPredecessor == null) {
-                    if (item.isPlaceholder()) {
-                        headPlaceholder = this;
-                    } else {
-                        headDockable = this;
-                    }
-                    previousLevel = null;
+        /**
+         * Removes this entry from the tree.
+         */
+        private void removeNode() {
+            while (left != null || right != null) {
+                if (left == null) {
+                    right.rotateUp();
+                } else if (right == null || left.priority < right.priority) {
+                    left.rotateUp();
                 } else {
-                    levelPredecessor.nextLevel = this;
-                    previousLevel = levelPredecessor;
+                    right.rotateUp();
                 }
+            }
 
-                if (levelSuccessor != null) {
-                    nextLevel = levelSuccessor;
-                    levelSuccessor.previousLevel = this;
+            if (parent == null) {
+                root = null;
+            } else {
+                if (parent.left == this) {
+                    parent.left = null;
                 } else {
-                    nextLevel = null;
+                    parent.right = null;
                 }
+                for (Entry node = parent; node != null; node = node.parent) {
+                    node.count--;
+                    node.dockableCount -= dockableCount;
+                }
+                parent = null;
             }
-            this.item = item;
         }
 
-        private Entry findLevelPredecessor(boolean placeholder) {
-            Entry entry = previous;
-            while (entry != null) {
-                if (entry.item.isPlaceholder() == placeholder) {
-                    return entry;
+        /**
+         * Exchanges the places of this entry and its parent in the tree, without changing the order
+         * of the entries.
+         */
+        private void rotateUp() {
+            Entry oldParent = parent;
+            Entry grandParent = oldParent.parent;
+
+            if (oldParent.left == this) {
+                oldParent.left = right;
+                if (right != null) {
+                    right.parent = oldParent;
+                }
+                right = oldParent;
+            } else {
+                oldParent.right = left;
+                if (left != null) {
+                    left.parent = oldParent;
                 }
-                entry = entry.previous;
+                left = oldParent;
             }
-            return null;
+            oldParent.parent = this;
+
+            parent = grandParent;
+            if (grandParent == null) {
+                root = this;
+            } else if (grandParent.left == oldParent) {
+                grandParent.left = this;
+            } else {
+                grandParent.right = this;
+            }
+
+            oldParent.updateCount();
+            updateCount();
         }
 
-        private Entry findLevelSuccessor(boolean placeholder) {
-            Entry entry = next;
-            while (entry != null) {
-                if (entry.item.isPlaceholder() == placeholder) {
-                    return entry;
+        private void updateCount() {
+            count = 1;
+            dockableCount = itemWasPlaceholder ? 0 : 1;
+            if (left != null) {
+                count += left.count;
+                dockableCount += left.dockableCount;
+            }
+            if (right != null) {
+                count += right.count;
+                dockableCount += right.dockableCount;
+            }
+        }
+
+        private void addToIndex() {
+            Set<Path> placeholders = item.getPlaceholderSet();
+            if (placeholders != null) {
+                for (Path placeholder : placeholders) {
+                    addToIndex(placeholder);
                 }
-                entry = entry.next;
             }
-            return null;
+            addToIndex(item.getDockable());
+            if (item.getPlaceholderMap() != null) {
+                mapEntries.add(this);
+            }
+        }
+
+        private void removeFromIndex() {
+            Set<Path> placeholders = item.getPlaceholderSet();
+            if (placeholders != null) {
+                for (Path placeholder : placeholders) {
+                    removeFromIndex(placeholder);
+                }
+            }
+            removeFromIndex(item.getDockable());
+            mapEntries.remove(this);
+        }
+
+        public void addToIndex(Path placeholder) {
+            if (linked) {
+                List<Entry> entries = placeholderIndex.computeIfAbsent(placeholder, key -> new ArrayList<>(1));
+                if (!entries.contains(this)) {
+                    entries.add(this);
+                }
+            }
+        }
+
+        public void removeFromIndex(Path placeholder) {
+            List<Entry> entries = placeholderIndex.get(placeholder);
+            if (entries != null) {
+                entries.remove(this);
+                if (entries.isEmpty()) {
+                    placeholderIndex.remove(placeholder);
+                }
+            }
+        }
+
+        public void addToIndex(P dockable) {
+            if (linked && dockable != null) {
+                dockableIndex.put(dockable.asDockable(), this);
+            }
+        }
+
+        public void removeFromIndex(P dockable) {
+            if (dockable != null) {
+                dockableIndex.remove(dockable.asDockable(), this);
+            }
+        }
+
+        public void setHasMap(boolean map) {
+            if (linked) {
+                if (map) {
+                    mapEntries.add(this);
+                } else {
+                    mapEntries.remove(this);
+                }
+            }
+        }
+
+        public void refresh() {
+            set(item);
+        }
+
+        public void set(Item item) {
+            if (linked) {
+                removeFromIndex();
+            }
+            this.item.setOwner(null);
+            item.setOwner(this);
+
+            if (itemWasPlaceholder != item.isPlaceholder()) {
+                itemWasPlaceholder = item.isPlaceholder();
+
+                if (linked) {
+                    removeLevel();
+
+                    int delta = itemWasPlaceholder ? -1 : 1;
+                    for (Entry node = this; node != null; node = node.parent) {
+                        node.dockableCount += delta;
+                    }
+
+                    Level level = level();
+                    int index = index(level);
+                    Entry levelPredecessor = index == 0 ? null : search(index - 1, level);
+                    Entry levelSuccessor = search(index + 1, level);
+
+                    if (levelPredecessor == null) {
+                        if (item.isPlaceholder()) {
+                            headPlaceholder = this;
+                        } else {
+                            headDockable = this;
+                        }
+                        previousLevel = null;
+                    } else {
+                        levelPredecessor.nextLevel = this;
+                        previousLevel = levelPredecessor;
+                    }
+
+                    if (levelSuccessor != null) {
+                        nextLevel = levelSuccessor;
+                        levelSuccessor.previousLevel = this;
+                    } else {
+                        nextLevel = null;
+                    }
+                }
+            }
+            this.item = item;
+            if (linked) {
+                addToIndex();
+            }
         }
 
         public void remove() {
-            invalidate();
+            if (linked) {
+                removeFromIndex();
+                removeNode();
+                linked = false;
+            }
 
             if (next != null) {
                 next.previous = previous;
@@ -1268,8 +1616,6 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         }
 
         private void removeLevel() {
-            invalidate();
-
             if (nextLevel != null) {
                 nextLevel.previousLevel = previousLevel;
             }
@@ -1399,7 +1745,8 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         }
 
         /**
-         * Returns the value of this placeholder.
+         * Returns the value of this placeholder. The set should only be modified through the methods of
+         * this item, otherwise the enclosing list may not find the placeholders that are added.
          *
          * @return the placeholder or <code>null</code> if <code>this</code>
          * has no a placeholders
@@ -1418,7 +1765,17 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
             if (placeholderSet != null && placeholderSet.contains(null)) {
                 throw new IllegalArgumentException("placeholderSet contains a null value");
             }
+            if (owner != null && this.placeholderSet != null) {
+                for (Path placeholder : this.placeholderSet) {
+                    owner.removeFromIndex(placeholder);
+                }
+            }
             this.placeholderSet = placeholderSet;
+            if (owner != null && placeholderSet != null) {
+                for (Path placeholder : placeholderSet) {
+                    owner.addToIndex(placeholder);
+                }
+            }
         }
 
         /**
@@ -1429,6 +1786,11 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         public void removeAll(Set<Path> placeholders) {
             if (placeholderSet != null) {
                 placeholderSet.removeAll(placeholders);
+                if (owner != null) {
+                    for (Path placeholder : placeholders) {
+                        owner.removeFromIndex(placeholder);
+                    }
+                }
                 if (placeholderSet.isEmpty()) {
                     placeholderSet = null;
                 }
@@ -1449,6 +1811,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         public void remove(Path placeholder) {
             if (placeholderSet != null) {
                 placeholderSet.remove(placeholder);
+                if (owner != null) {
+                    owner.removeFromIndex(placeholder);
+                }
                 if (placeholderSet.isEmpty()) {
                     placeholderSet = null;
                 }
@@ -1475,6 +1840,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
                 placeholderSet = new HashSet<>();
             }
             placeholderSet.add(placeholder);
+            if (owner != null) {
+                owner.addToIndex(placeholder);
+            }
         }
 
         /**
@@ -1513,6 +1881,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
          * @param dockable the new value, can be <code>null</code>
          */
         public void setDockable(P dockable) {
+            owner.removeFromIndex(value);
             this.value = dockable;
             owner.refresh();
         }
@@ -1535,6 +1904,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
             } else {
                 this.placeholderMap = placeholders;
             }
+            if (owner != null) {
+                owner.setHasMap(placeholders != null);
+            }
         }
 
         /**
@@ -1719,7 +2091,6 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
     private abstract class SubList<A> implements Filter<A> {
         private final Level level;
-        private int size = -1;
 
         protected abstract A unwrap(Item item);
 
@@ -1740,26 +2111,15 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
             return PlaceholderList.this;
         }
 
-        public void invalidate() {
-            size = -1;
-        }
-
         private Entry getEntry(int index) {
             if (index < 0) {
                 throw new IndexOutOfBoundsException("index < 0: " + index);
             }
 
-            Entry entry = head(level);
-            int start = index;
-
-            while (index > 0) {
-                entry = entry.next(level);
-                index--;
-                if (entry == null) {
-                    throw new IndexOutOfBoundsException("index=" + start + ", size=" + size());
-                }
+            Entry entry = search(index, level);
+            if (entry == null) {
+                throw new IndexOutOfBoundsException("index=" + index + ", size=" + size());
             }
-
             return entry;
         }
 
@@ -1794,13 +2154,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
         private void insert(int index, Item item) {
             if (size() == index) {
-                Entry entry = head;
-                Entry predecessor = null;
-                while (entry != null) {
-                    predecessor = entry;
-                    entry = entry.next;
-                }
-                new Entry(predecessor, item);
+                new Entry(search(count(Level.BASE) - 1, Level.BASE), item);
             } else {
                 Entry entry = getEntry(index);
                 new Entry(entry.previous(level), item);
@@ -1829,16 +2183,11 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         }
 
         public int indexOfPlaceholder(Path placeholder) {
-            int index = 0;
-            Entry entry = head(level);
-            while (entry != null) {
-                if (entry.item.hasPlaceholder(placeholder)) {
-                    return index;
-                }
-                entry = entry.next(level);
-                index++;
+            Entry entry = search(placeholder, level);
+            if (entry == null) {
+                return -1;
             }
-            return -1;
+            return entry.index(level);
         }
 
         public A remove(int index) {
@@ -1869,15 +2218,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
         }
 
         public int size() {
-            if (size == -1) {
-                size = 0;
-                Entry entry = head(level);
-                while (entry != null) {
-                    size++;
-                    entry = entry.next(level);
-                }
-            }
-            return size;
+            return count(level);
         }
 
         public void move(int source, int destination) {
@@ -27,8 +27,11 @@ package bibliothek.gui.dock.station.support;
 
 import bibliothek.util.Path;
 import bibliothek.util.Version;
+import bibliothek.util.xml.XAttribute;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -176,6 +179,64 @@ public class PlaceholderMap {
         }
     }
 
+    /**
+     * Creates a new map reading the content of the map directly from the current element of <code>in</code>. Only
+     * the keys and the single values are materialized as {@link XElement}s, nested maps and arrays are streamed.
+     * Afterwards the current element of <code>in</code> is finished.
+     *
+     * @param in       the content to read
+     * @param strategy guard to identify the placeholders which are allowed to be stored, can be <code>null</code>
+     * @throws XException if the content of <code>in</code> is malformed
+     */
+    public PlaceholderMap(XStreamReader in, PlaceholderStrategy strategy) {
+        setPlaceholderStrategy(strategy);
+
+        boolean hasVersion = false;
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "version" -> {
+                    version = in.readElement().getInt();
+                    hasVersion = true;
+                }
+                case "format" -> format = new Path(in.readElement().getString());
+                case "entry" -> readEntry(in, strategy);
+                default -> in.skip();
+            }
+        }
+
+        if (!hasVersion) {
+            throw new XException("missing element 'version'");
+        }
+        if (format == null) {
+            throw new XException("missing element 'format'");
+        }
+    }
+
+    private void readEntry(XStreamReader in, PlaceholderStrategy strategy) {
+        PlaceholderKey placeholder = null;
+        Map<String, Object> items = new LinkedHashMap<>();
+
+        while (in.nextChild()) {
+            switch (in.getName()) {
+                case "key" -> placeholder = new PlaceholderKey(in.readElement());
+                case "item" -> {
+                    String key = in.getString("key");
+                    items.put(key, read(in, strategy));
+                }
+                default -> in.skip();
+            }
+        }
+
+        if (placeholder == null) {
+            throw new XException("missing element 'key'");
+        }
+        placeholder = placeholder.shrink(strategy);
+        if (placeholder != null) {
+            add(placeholder);
+            data.get(placeholder).putAll(items);
+        }
+    }
+
     /**
      * Writes the contents of this map into <code>out</code>.
      *
@@ -313,6 +374,76 @@ public class PlaceholderMap {
         }
     }
 
+    /**
+     * Writes the contents of this map as children of the current element of <code>out</code>. The output is
+     * the same as the output of {@link #write(XElement)}.
+     *
+     * @param out the writer, the attributes of its current element will not be modified
+     * @throws IOException in case of an I/O error
+     */
+    public void write(XStreamWriter out) throws IOException {
+        out.startElement("version");
+        out.setInt(version);
+        out.endElement();
+        out.startElement("format");
+        out.setString(format.toString());
+        out.endElement();
+
+        for (Map.Entry<Key, Map<String, Object>> entry : data.entrySet()) {
+            out.startElement("entry");
+            XElement xkey = new XElement("key");
+            ((PlaceholderKey) entry.getKey()).write(xkey);
+            out.addElement(xkey);
+            for (Map.Entry<String, Object> mapEntry : entry.getValue().entrySet()) {
+                out.startElement("item");
+                out.addString("key", mapEntry.getKey());
+                write(mapEntry.getValue(), out);
+                out.endElement();
+            }
+            out.endElement();
+        }
+    }
+
+    private void write(Object value, XStreamWriter out) throws IOException {
+        if (value instanceof PlaceholderMap) {
+            out.addString("type", "p");
+            ((PlaceholderMap) value).write(out);
+        } else if (value instanceof Object[] array) {
+            out.addString("type", "a");
+            for (Object item : array) {
+                out.startElement("item");
+                write(item, out);
+                out.endElement();
+            }
+        } else {
+            XElement xvalue = new XElement("item");
+            write(value, xvalue);
+            for (XAttribute attribute : xvalue.attributes()) {
+                out.addString(attribute.getName(), attribute.getValue());
+            }
+            out.setValue(xvalue.getValue());
+        }
+    }
+
+    private Object read(XStreamReader in, PlaceholderStrategy strategy) {
+        String type = in.getString("type");
+        if ("p".equals(type)) {
+            return new PlaceholderMap(in, strategy);
+        }
+        if ("a".equals(type)) {
+            List<Object> result = new ArrayList<>();
+            while (in.nextChild()) {
+                if ("item".equals(in.getName())) {
+                    result.add(read(in, strategy));
+                } else {
+                    in.skip();
+                }
+            }
+            return result.toArray();
+        }
+        return read(in.readElement(), strategy);
+    }
+
     private Object read(XElement in, PlaceholderStrategy strategy) {
         String type = in.getString("type");
         if ("s".equals(type)) {
@@ -25,27 +25,25 @@
  */
 package bibliothek.gui.dock.themes.basic;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.dock.station.span.Span;
 import bibliothek.gui.dock.station.span.SpanCallback;
 import bibliothek.gui.dock.station.span.SpanFactory;
 import bibliothek.gui.dock.station.span.SpanMode;
+import bibliothek.gui.dock.util.AnimationClock;
 
-import javax.swing.*;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 /**
- * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s.
+ * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s. The
+ * animation is driven by the {@link DockController#getAnimationClock() clock} of the station using the span.
  *
  * @author Benjamin Sigg
  */
 public class BasicSpanFactory implements SpanFactory {
     private int duration;
     private int minSpeed;
-    private final Timer timer;
-    private final Collection<BasicSpan> ticking = new HashSet<>();
 
     /**
      * Creates a new factory
@@ -56,11 +54,6 @@ public class BasicSpanFactory implements SpanFactory {
     public BasicSpanFactory(int duration, int minSpeed) {
         setDuration(duration);
         setMinSpeed(minSpeed);
-        timer = new Timer(0, e -> tick());
-        timer.setRepeats(true);
-        timer.setCoalesce(true);
-        timer.setDelay(20);
-        timer.setInitialDelay(0);
     }
 
     /**
@@ -100,30 +93,7 @@ public class BasicSpanFactory implements SpanFactory {
         return new BasicSpan(callback);
     }
 
-    private synchronized void start(BasicSpan span) {
-        if (ticking.isEmpty()) {
-            ticking.add(span);
-            timer.start();
-        } else {
-            ticking.add(span);
-        }
-    }
-
-    private synchronized void stop(BasicSpan span) {
-        ticking.remove(span);
-        if (ticking.isEmpty()) {
-            timer.stop();
-        }
-    }
-
-    private synchronized void tick() {
-        long now = System.nanoTime();
-        for (BasicSpan span : ticking.toArray(new BasicSpan[0])) {
-            span.tick(now);
-        }
-    }
-
-    private class BasicSpan implements Span {
+    private class BasicSpan implements Span, AnimationClock.Animation {
         private final SpanCallback callback;
         private final Map<SpanMode, Integer> sizes = new HashMap<>(2);
         private SpanMode currentMode;
@@ -134,6 +104,11 @@ public class BasicSpanFactory implements SpanFactory {
         private long animationStart = -1;
         private int duration;
 
+        /**
+         * the clock this span is currently registered at, <code>null</code> if not animated
+         */
+        private AnimationClock clock;
+
         public BasicSpan(SpanCallback callback) {
             this.callback = callback;
         }
@@ -151,12 +126,29 @@ public class BasicSpanFactory implements SpanFactory {
 
                 animationDuration = 0;
                 animationStart = -1;
-                start(this);
+                start();
+            }
+        }
+
+        private void start() {
+            DockController controller = callback.getStation().getController();
+            AnimationClock next = controller == null ? AnimationClock.getDefault() : controller.getAnimationClock();
+            if (clock != next) {
+                stop();
+                clock = next;
+            }
+            clock.start(this);
+        }
+
+        private void stop() {
+            if (clock != null) {
+                clock.stop(this);
+                clock = null;
             }
         }
 
         public void set(SpanMode mode) {
-            stop(this);
+            stop();
             animationDuration = -1;
             sizeTarget = getSize(mode);
             callback.resized();
@@ -185,7 +177,7 @@ public class BasicSpanFactory implements SpanFactory {
             animationDuration = (int) ((now - animationStart) / 1000000);
             if (animationDuration >= duration) {
                 animationDuration = -1;
-                stop(this);
+                stop();
             }
             callback.resized();
         }
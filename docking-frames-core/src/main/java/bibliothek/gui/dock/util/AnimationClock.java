@@ -0,0 +1,218 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import bibliothek.gui.DockController;
+
+import javax.swing.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An {@link AnimationClock} drives many small animations, e.g. fading colors or growing spans, with one
+ * single {@link Timer}. The timer only runs while at least one {@link Animation} is registered, there
+ * are no events at all if nothing moves. All the animations make their step within the same event, the
+ * repaints they request are therefore merged by Swing into one paint pass per frame.<br>
+ * Each {@link DockController} owns a clock, see {@link DockController#getAnimationClock()}. Animations that
+ * are not yet associated with a controller can use the {@link #getDefault() default clock}.<br>
+ * The animations are always executed on the EDT.
+ *
+ * @author Benjamin Sigg
+ */
+public class AnimationClock {
+    /**
+     * The number of frames per second a new clock uses.
+     */
+    public static final int DEFAULT_FRAMES_PER_SECOND = 60;
+
+    /**
+     * The clock used by animations that are not associated with a {@link DockController}
+     */
+    private static AnimationClock defaultClock;
+
+    /**
+     * Gets a clock that can be used by animations that are not associated with any {@link DockController}.
+     *
+     * @return the default clock, never <code>null</code>
+     */
+    public static synchronized AnimationClock getDefault() {
+        if (defaultClock == null) {
+            defaultClock = new AnimationClock();
+        }
+        return defaultClock;
+    }
+
+    /**
+     * An animation that is driven by an {@link AnimationClock}.
+     *
+     * @author Benjamin Sigg
+     */
+    public interface Animation {
+        /**
+         * Called once per frame as long as this animation is {@link AnimationClock#start(Animation) registered}.
+         * An animation that is finished should call {@link AnimationClock#stop(Animation)}.
+         *
+         * @param now the current time as reported by {@link System#nanoTime()}, the same value is given to
+         *            all the animations of one frame
+         */
+        void tick(long now);
+    }
+
+    /**
+     * the timer that triggers the frames
+     */
+    private final Timer timer;
+
+    /**
+     * all the animations that are currently running
+     */
+    private final Set<Animation> animations = new LinkedHashSet<>();
+
+    /**
+     * the number of frames per second as requested by the client
+     */
+    private int framesPerSecond;
+
+    /**
+     * Creates a new clock running with {@link #DEFAULT_FRAMES_PER_SECOND} frames per second.
+     */
+    public AnimationClock() {
+        this(DEFAULT_FRAMES_PER_SECOND);
+    }
+
+    /**
+     * Creates a new clock.
+     *
+     * @param framesPerSecond how many frames to show within one second, at least 1
+     */
+    public AnimationClock(int framesPerSecond) {
+        timer = new Timer(toDelay(framesPerSecond), e -> tick());
+        this.framesPerSecond = framesPerSecond;
+        timer.setCoalesce(true);
+        timer.setRepeats(true);
+    }
+
+    private static int toDelay(int framesPerSecond) {
+        if (framesPerSecond < 1) {
+            throw new IllegalArgumentException("framesPerSecond must be at least 1: " + framesPerSecond);
+        }
+        return Math.max(1, 1000 / framesPerSecond);
+    }
+
+    /**
+     * Sets the number of frames this clock shows within one second.
+     *
+     * @param framesPerSecond the new frame rate, at least 1
+     */
+    public void setFramesPerSecond(int framesPerSecond) {
+        int delay = toDelay(framesPerSecond);
+        timer.setDelay(delay);
+        timer.setInitialDelay(delay);
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * Gets the number of frames this clock shows within one second. This is the value that was set by the
+     * client, the timer rounds the delay between two frames to whole milliseconds.
+     *
+     * @return the frame rate
+     */
+    public int getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Registers <code>animation</code>, its {@link Animation#tick(long)} method will be called once per
+     * frame until {@link #stop(Animation)} is called. Does nothing if <code>animation</code> is already running.
+     *
+     * @param animation the animation to start, not <code>null</code>
+     */
+    public synchronized void start(Animation animation) {
+        if (animation == null) {
+            throw new IllegalArgumentException("animation must not be null");
+        }
+        animations.add(animation);
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Removes <code>animation</code> from this clock. The timer of this clock stops if there are no
+     * animations left.
+     *
+     * @param animation the animation to stop
+     */
+    public synchronized void stop(Animation animation) {
+        animations.remove(animation);
+        if (animations.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Tells whether <code>animation</code> is currently registered at this clock.
+     *
+     * @param animation the animation to search
+     * @return whether <code>animation</code> is running
+     */
+    public synchronized boolean isRunning(Animation animation) {
+        return animations.contains(animation);
+    }
+
+    /**
+     * Tells whether this clock currently has any running animations.
+     *
+     * @return whether the timer of this clock is running
+     */
+    public synchronized boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    /**
+     * Stops all animations and the timer of this clock. The clock can still be used afterwards.
+     */
+    public synchronized void kill() {
+        animations.clear();
+        timer.stop();
+    }
+
+    /**
+     * Executes one frame.
+     */
+    private void tick() {
+        Animation[] current;
+        synchronized (this) {
+            current = animations.toArray(new Animation[0]);
+        }
+        long now = System.nanoTime();
+        for (Animation animation : current) {
+            if (isRunning(animation)) {
+                animation.tick(now);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A cache of disabled versions of {@link ImageIcon}s. Converting an icon into its disabled version is done by the
+ * {@link LookAndFeel} and requires a new image for each conversion. Many titles, buttons and menus show the same
+ * icon, with this cache the conversion happens only once per icon.<br>
+ * The cache is keyed weakly on the original icon, it does not prevent the icon from being garbage collected. An
+ * entry is only reused if the {@link LookAndFeel}, the image of the icon and the scale of the screen did not change.
+ * The entire cache is cleared as soon as the {@link LookAndFeel} changes.<br>
+ * Only {@link ImageIcon}s are cached, other icons may paint themselves differently depending on the
+ * {@link Component} they are painted on.
+ *
+ * @author Benjamin Sigg
+ */
+public class DisabledIconCache {
+    /**
+     * the cache that is used by {@link DockUtilities#disabledIcon(JComponent, Icon)}
+     */
+    private static final DisabledIconCache DEFAULT = new DisabledIconCache();
+
+    /**
+     * Gets the cache that is shared by all the components of the framework.
+     *
+     * @return the shared cache
+     */
+    public static DisabledIconCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * the cached icons
+     */
+    private final Map<ImageIcon, Entry> entries = new WeakHashMap<>();
+
+    /**
+     * the {@link LookAndFeel} which was used to create the entries of this cache
+     */
+    private LookAndFeel lookAndFeel;
+
+    /**
+     * Gets a disabled version of <code>icon</code>. The disabled version is either taken from this cache, or created
+     * by the current {@link LookAndFeel}.
+     *
+     * @param parent the component on which the icon will be painted, can be <code>null</code>
+     * @param icon   the icon to convert, not <code>null</code>
+     * @return the disabled version of <code>icon</code>, or <code>null</code> if the {@link LookAndFeel} does
+     * not offer a disabled version
+     */
+    public synchronized Icon get(JComponent parent, ImageIcon icon) {
+        LookAndFeel current = UIManager.getLookAndFeel();
+        if (current != lookAndFeel) {
+            entries.clear();
+            lookAndFeel = current;
+        }
+
+        Image image = icon.getImage();
+        double scale = scale(parent);
+
+        Entry entry = entries.get(icon);
+        if (entry != null && entry.image == image && entry.scale == scale) {
+            Icon disabled = entry.disabled.get();
+            if (disabled != null || entry.empty) {
+                return disabled;
+            }
+        }
+
+        Icon disabled = current == null ? null : current.getDisabledIcon(parent, icon);
+        entries.put(icon, new Entry(image, scale, disabled));
+        return disabled;
+    }
+
+    /**
+     * Removes all icons from this cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private double scale(JComponent parent) {
+        if (parent != null) {
+            GraphicsConfiguration configuration = parent.getGraphicsConfiguration();
+            if (configuration != null) {
+                return configuration.getDefaultTransform().getScaleX();
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * A disabled version of an icon.
+     *
+     * @author Benjamin Sigg
+     */
+    private static class Entry {
+        /**
+         * the image of the original icon
+         */
+        private final Image image;
+        /**
+         * the scale of the screen
+         */
+        private final double scale;
+        /**
+         * the disabled icon, softly referenced in case the icon itself references the original icon
+         */
+        private final SoftReference<Icon> disabled;
+        /**
+         * whether the {@link LookAndFeel} did not offer any disabled icon
+         */
+        private final boolean empty;
+
+        public Entry(Image image, double scale, Icon disabled) {
+            this.image = image;
+            this.scale = scale;
+            this.disabled = new SoftReference<>(disabled);
+            this.empty = disabled == null;
+        }
+    }
+}
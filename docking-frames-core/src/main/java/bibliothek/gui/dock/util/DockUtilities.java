@@ -78,9 +78,82 @@ public class DockUtilities {
     }
 
     /**
-     * whether {@link DockUtilities#checkLayoutLocked()} is enabled
+     * Tells how often {@link DockUtilities#checkLayoutLocked()} actually searches the callstack.
+     *
+     * @author Benjamin Sigg
+     */
+    public enum CheckLayoutLockedMode {
+        /**
+         * The callstack is never searched, no warnings are printed.
+         */
+        DISABLED,
+        /**
+         * Only one out of {@link DockUtilities#CHECK_LAYOUT_LOCKED_SAMPLE_RATE} calls searches the callstack. Code
+         * that modifies the layout usually does so more than once, hence a problem is still detected eventually.
+         * This mode has to be enabled explicitly, e.g. with the system property
+         * {@link DockUtilities#CHECK_LAYOUT_LOCKED_PROPERTY}.
+         */
+        SAMPLED,
+        /**
+         * Each call searches the callstack. This is the default mode.
+         */
+        ALWAYS
+    }
+
+    /**
+     * The name of the system property which can be used to set the initial {@link CheckLayoutLockedMode}, the value
+     * of the property must be the name of one of the constants of {@link CheckLayoutLockedMode}.
      */
-    private static boolean checkLayoutLock = true;
+    public static final String CHECK_LAYOUT_LOCKED_PROPERTY = "bibliothek.gui.dock.checkLayoutLocked";
+
+    /**
+     * If {@link CheckLayoutLockedMode#SAMPLED} is used, then one out of this many calls to
+     * {@link #checkLayoutLocked()} actually searches the callstack.
+     */
+    public static final int CHECK_LAYOUT_LOCKED_SAMPLE_RATE = 64;
+
+    /**
+     * how {@link DockUtilities#checkLayoutLocked()} behaves
+     */
+    private static CheckLayoutLockedMode checkLayoutLockMode = initialCheckLayoutLockedMode();
+
+    /**
+     * counts the calls to {@link #checkLayoutLocked()} if {@link CheckLayoutLockedMode#SAMPLED} is used
+     */
+    private static int checkLayoutLockSample = 0;
+
+    /**
+     * used to search the callstack, <code>null</code> if the callstack cannot be searched
+     */
+    private static StackWalker checkLayoutLockWalker;
+
+    /**
+     * the result of searching the annotation {@link LayoutLocked} for a class, its superclasses and its interfaces
+     */
+    private static final ClassValue<LayoutLockedVerdict> LAYOUT_LOCKED_VERDICTS = new ClassValue<>() {
+        @Override
+        protected LayoutLockedVerdict computeValue(Class<?> type) {
+            return layoutLockedVerdict(type);
+        }
+    };
+
+    /**
+     * The result of searching the annotation {@link LayoutLocked} for some class.
+     */
+    private enum LayoutLockedVerdict {
+        /**
+         * the annotation is not present
+         */
+        NONE,
+        /**
+         * the annotation is present and the layout is locked
+         */
+        LOCKED,
+        /**
+         * the annotation is present and the layout is not locked
+         */
+        UNLOCKED
+    }
 
     /**
      * Visits <code>dockable</code> and all its children.
@@ -462,6 +535,48 @@ public class DockUtilities {
         }
     }
 
+    /**
+     * Gets the boundaries of <code>component</code> on the screen, enlarged by <code>margin</code> pixels
+     * on each side.
+     *
+     * @param component the component whose boundaries are searched, can be <code>null</code>
+     * @param margin    the number of pixels to add on each side
+     * @return the boundaries in screen coordinates, <code>null</code> if <code>component</code> is <code>null</code>,
+     * or an empty rectangle if <code>component</code> is not showing
+     */
+    public static Rectangle getScreenBounds(Component component, int margin) {
+        if (component == null) {
+            return null;
+        }
+        if (!component.isShowing()) {
+            return new Rectangle();
+        }
+        Point location = component.getLocationOnScreen();
+        return new Rectangle(location.x - margin, location.y - margin,
+                component.getWidth() + 2 * margin, component.getHeight() + 2 * margin);
+    }
+
+    /**
+     * Gets the boundaries of <code>component</code> on the screen like {@link #getScreenBounds(Component, int)},
+     * but the result also covers the same rectangle moved by the location of <code>component</code> within its
+     * parent. Some {@link bibliothek.gui.dock.station.layer.DockStationDropLayer}s compare the mouse with the
+     * boundaries of their component relative to its parent, the result of this method contains the area
+     * these layers may accept.
+     *
+     * @param component the component whose boundaries are searched, can be <code>null</code>
+     * @param margin    the number of pixels to add on each side
+     * @return the boundaries in screen coordinates, <code>null</code> if <code>component</code> is <code>null</code>,
+     * or an empty rectangle if <code>component</code> is not showing
+     */
+    public static Rectangle getScreenBoundsWithParentOffset(Component component, int margin) {
+        Rectangle bounds = getScreenBounds(component, margin);
+        if (bounds != null && !bounds.isEmpty()) {
+            bounds = bounds.union(new Rectangle(bounds.x + component.getX(), bounds.y + component.getY(),
+                    bounds.width, bounds.height));
+        }
+        return bounds;
+    }
+
     /**
      * Ensures that <code>newChild</code> has no parent, and that there will
      * be no cycle when <code>newChild</code> is added to <code>newParent</code>
@@ -543,7 +658,8 @@ public class DockUtilities {
     }
 
     /**
-     * Gets a "disabled" icon according to the current look and feel.
+     * Gets a "disabled" icon according to the current look and feel. The disabled versions of
+     * {@link ImageIcon}s are shared through the {@link DisabledIconCache}.
      *
      * @param parent the component on which the icon will be painted, can be <code>null</code>
      * @param icon   an icon or <code>null</code>
@@ -554,7 +670,12 @@ public class DockUtilities {
             return null;
         }
 
-        Icon result = UIManager.getLookAndFeel().getDisabledIcon(parent, icon);
+        Icon result;
+        if (icon instanceof ImageIcon imageIcon) {
+            result = DisabledIconCache.getDefault().get(parent, imageIcon);
+        } else {
+            result = UIManager.getLookAndFeel().getDisabledIcon(parent, icon);
+        }
         if (result != null) {
             return result;
         }
@@ -752,65 +873,131 @@ public class DockUtilities {
     }
 
     /**
-     * Ensures that {@link #checkLayoutLocked()} never prints out any warnings.
+     * Ensures that {@link #checkLayoutLocked()} never prints out any warnings. This is equivalent of
+     * calling {@link #setCheckLayoutLockedMode(CheckLayoutLockedMode)} with {@link CheckLayoutLockedMode#DISABLED}.
      */
     public static void disableCheckLayoutLocked() {
-        checkLayoutLock = false;
+        setCheckLayoutLockedMode(CheckLayoutLockedMode.DISABLED);
+    }
+
+    /**
+     * Sets how often {@link #checkLayoutLocked()} searches the callstack. The default value is
+     * {@link CheckLayoutLockedMode#ALWAYS}, it can be changed with the system property
+     * {@link #CHECK_LAYOUT_LOCKED_PROPERTY}.
+     *
+     * @param mode the new mode, not <code>null</code>
+     */
+    public static void setCheckLayoutLockedMode(CheckLayoutLockedMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        checkLayoutLockMode = mode;
+    }
+
+    /**
+     * Tells how often {@link #checkLayoutLocked()} searches the callstack.
+     *
+     * @return the current mode, not <code>null</code>
+     */
+    public static CheckLayoutLockedMode getCheckLayoutLockedMode() {
+        return checkLayoutLockMode;
+    }
+
+    private static CheckLayoutLockedMode initialCheckLayoutLockedMode() {
+        try {
+            return initialCheckLayoutLockedMode(System.getProperty(CHECK_LAYOUT_LOCKED_PROPERTY));
+        } catch (SecurityException e) {
+            return CheckLayoutLockedMode.ALWAYS;
+        }
+    }
+
+    /**
+     * Gets the {@link CheckLayoutLockedMode} that is used if the system property
+     * {@link #CHECK_LAYOUT_LOCKED_PROPERTY} has the value <code>property</code>.
+     *
+     * @param property the value of the property, can be <code>null</code>
+     * @return the initial mode, {@link CheckLayoutLockedMode#ALWAYS} unless <code>property</code> names another mode
+     */
+    static CheckLayoutLockedMode initialCheckLayoutLockedMode(String property) {
+        if (property != null) {
+            try {
+                return CheckLayoutLockedMode.valueOf(property.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // ignore and use the default value
+            }
+        }
+        return CheckLayoutLockedMode.ALWAYS;
     }
 
     /**
      * Searches for a class or interface that is marked with {@link LayoutLocked} in the current
-     * callstack and prints a warning if found.
+     * callstack and prints a warning if found. Depending on the {@link #getCheckLayoutLockedMode() mode}
+     * this method does nothing, or searches only the callstack of some of the calls.
      */
     public static void checkLayoutLocked() {
-        if (checkLayoutLock) {
-            StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-            Set<Class<?>> tested = new HashSet<>();
-
-            for (StackTraceElement element : elements) {
-                try {
-                    Class<?> clazz = Class.forName(element.getClassName());
-                    if (checkLayoutLocked(clazz, tested)) {
-                        return;
-                    }
-                } catch (ClassNotFoundException | SecurityException e) {
-                    // ignore and continue
-                } catch (RuntimeException | Error e) {
-                    // may happen if a ClassLoader is not happy about "forName". Not nice, but better
-                    // than crashing the application.
-                }
+        CheckLayoutLockedMode mode = checkLayoutLockMode;
+        if (mode == CheckLayoutLockedMode.DISABLED) {
+            return;
+        }
+        if (mode == CheckLayoutLockedMode.SAMPLED && ++checkLayoutLockSample % CHECK_LAYOUT_LOCKED_SAMPLE_RATE != 0) {
+            return;
+        }
+
+        StackWalker walker = layoutLockedWalker();
+        if (walker == null) {
+            return;
+        }
+
+        Class<?> locked = walker.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(clazz -> LAYOUT_LOCKED_VERDICTS.get(clazz) != LayoutLockedVerdict.NONE)
+                .findFirst()
+                .filter(clazz -> LAYOUT_LOCKED_VERDICTS.get(clazz) == LayoutLockedVerdict.LOCKED)
+                .orElse(null));
+
+        if (locked != null) {
+            System.err.println("Warning: layout should not be modified by subclasses of " + locked.getName());
+            System.err.println(" This is only an information, not an exception. If your code is actually safe" +
+                    " you can:");
+            System.err.println(" - disabled the warning by calling DockUtilities.disableCheckLayoutLocked() )");
+            System.err.println(" - mark your code as safe by setting the annotation 'LayoutLocked'");
+            for (StackTraceElement item : Thread.currentThread().getStackTrace()) {
+                System.err.println(item);
             }
         }
     }
 
-    private static boolean checkLayoutLocked(Class<?> clazz, Set<Class<?>> tested) {
-        if (clazz != null && tested.add(clazz)) {
-            LayoutLocked locked = clazz.getAnnotation(LayoutLocked.class);
-            if (locked != null) {
-                if (locked.locked()) {
-                    System.err.println("Warning: layout should not be modified by subclasses of " + clazz.getName());
-                    System.err.println(" This is only an information, not an exception. If your code is actually safe" +
-                            " you can:");
-                    System.err.println(" - disabled the warning by calling DockUtilities.disableCheckLayoutLocked() )");
-                    System.err.println(" - mark your code as safe by setting the annotation 'LayoutLocked'");
-                    for (StackTraceElement item : Thread.currentThread().getStackTrace()) {
-                        System.err.println(item);
-                    }
-                }
-                return true;
+    private static StackWalker layoutLockedWalker() {
+        if (checkLayoutLockWalker == null) {
+            try {
+                checkLayoutLockWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+            } catch (SecurityException e) {
+                // not allowed to search the callstack, there is no point in trying again
+                checkLayoutLockMode = CheckLayoutLockedMode.DISABLED;
             }
+        }
+        return checkLayoutLockWalker;
+    }
 
-            boolean result = checkLayoutLocked(clazz.getSuperclass(), tested);
-            if (result) {
+    private static LayoutLockedVerdict layoutLockedVerdict(Class<?> clazz) {
+        LayoutLocked locked = clazz.getAnnotation(LayoutLocked.class);
+        if (locked != null) {
+            return locked.locked() ? LayoutLockedVerdict.LOCKED : LayoutLockedVerdict.UNLOCKED;
+        }
+
+        Class<?> superclass = clazz.getSuperclass();
+        if (superclass != null) {
+            LayoutLockedVerdict result = LAYOUT_LOCKED_VERDICTS.get(superclass);
+            if (result != LayoutLockedVerdict.NONE) {
                 return result;
             }
-            for (Class<?> interfaze : clazz.getInterfaces()) {
-                result = checkLayoutLocked(interfaze, tested);
-                if (result) {
-                    return result;
-                }
+        }
+        for (Class<?> interfaze : clazz.getInterfaces()) {
+            LayoutLockedVerdict result = LAYOUT_LOCKED_VERDICTS.get(interfaze);
+            if (result != LayoutLockedVerdict.NONE) {
+                return result;
             }
         }
-        return false;
+        return LayoutLockedVerdict.NONE;
     }
 }
@@ -27,6 +27,7 @@ package bibliothek.gui.dock.util;
 
 import bibliothek.gui.DockController;
 import bibliothek.util.Path;
+import bibliothek.util.container.IdentityIndexedSet;
 
 import java.util.*;
 
@@ -45,21 +46,11 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      */
     private final Map<Path, UIPriorityValue<B>> bridges = new HashMap<>();
 
-    /**
-     * how often some bridges are observed
-     */
-    private final Map<Path, Integer> bridgesAccess = new HashMap<>();
-
     /**
      * the map of resources that have been set
      */
     private final Map<String, UIPriorityValue<V>> resources = new HashMap<>();
 
-    /**
-     * how often some resources are observed
-     */
-    private final Map<String, Integer> resourcesAccess = new HashMap<>();
-
     /**
      * all the backup schemes for missing values (resources and bridges)
      */
@@ -71,9 +62,26 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     private final PriorityValue<UISchemeListener<V, U, B>> schemeListeners = new PriorityValue<>();
 
     /**
-     * a list of all observers
+     * all observers in the order in which they were added
      */
-    private final List<Observer> observers = new LinkedList<>();
+    private final IdentityIndexedSet<Observer> observers = new IdentityIndexedSet<>();
+
+    /**
+     * all observers grouped by the {@link UIValue} they wrap
+     */
+    private final Map<U, List<Observer>> observersByValue = new IdentityHashMap<>();
+
+    /**
+     * all observers grouped by the id of the resource they observe, a key is only present if there is at least
+     * one observer
+     */
+    private final Map<String, IdentityIndexedSet<Observer>> observersById = new HashMap<>();
+
+    /**
+     * all observers grouped by the path of the bridge they use, a key is only present if there is at least
+     * one observer
+     */
+    private final Map<Path, IdentityIndexedSet<Observer>> observersByPath = new HashMap<>();
 
     /**
      * whether to stall updates or not
@@ -203,11 +211,14 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     }
 
     private void schemeUpdate(Priority priority, UISchemeEvent<V, U, B> event) {
+        Set<String> updatedResources = new HashSet<>();
+        Set<Path> updatedBridges = new HashSet<>();
+
         try {
-            lockUpdate();
+            updateLock++;
 
             // collect changes
-            Set<String> usedResources = getAllUsedResources();
+            Set<String> usedResources = new HashSet<>(observersById.keySet());
             Collection<String> changedResources = event.changedResources(usedResources);
             if (changedResources == null) {
                 changedResources = usedResources;
@@ -224,6 +235,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             // resources
             for (String name : changedResources) {
                 UIPriorityValue<V> value = resources.get(name);
+                V before = value == null ? null : value.getValue();
                 V replacement = null;
                 if (scheme != null) {
                     replacement = scheme.getResource(name, this);
@@ -249,11 +261,16 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
                         resources.remove(name);
                     }
                 }
+
+                if (!Objects.equals(before, value == null ? null : value.getValue())) {
+                    updatedResources.add(name);
+                }
             }
 
             // bridges
             for (Path name : changedBridges) {
                 UIPriorityValue<B> value = bridges.get(name);
+                B before = value == null ? null : value.getValue();
                 B replacement = null;
                 if (scheme != null) {
                     replacement = scheme.getBridge(name, this);
@@ -279,28 +296,101 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
                         bridges.remove(name);
                     }
                 }
+
+                // bridges of paths that are not observed are not stored, their old value is unknown
+                if (before != (value == null ? null : value.getValue()) || !isObserved(name)) {
+                    updatedBridges.add(name);
+                }
             }
         } finally {
-            unlockUpdate();
+            updateLock--;
         }
-    }
 
-    private Set<String> getAllUsedResources() {
-        Set<String> result = new HashSet<>();
-        for (Observer observer : observers) {
-            result.add(observer.id);
+        if (updateLock == 0) {
+            update(updatedResources, updatedBridges);
         }
-        return result;
     }
 
+    /**
+     * Gets the paths of all the bridges that are used by at least one observer, including the parents of these paths.
+     *
+     * @return the used paths
+     */
     private Set<Path> getAllUsedBridges() {
         Set<Path> result = new HashSet<>();
-        for (Observer observer : observers) {
-            result.add(observer.path);
+        for (Path path : observersByPath.keySet()) {
+            while (path != null && result.add(path)) {
+                path = path.getParent();
+            }
         }
         return result;
     }
 
+    /**
+     * Informs the observers of the resources <code>ids</code> and the observers whose bridges might have
+     * changed because the bridges <code>paths</code> changed. Observers that are not affected by the
+     * changes are not touched.
+     *
+     * @param ids   the resources whose values changed
+     * @param paths the bridges which changed
+     */
+    private void update(Set<String> ids, Set<Path> paths) {
+        Set<Observer> handled = null;
+
+        if (!paths.isEmpty()) {
+            List<Map.Entry<Path, IdentityIndexedSet<Observer>>> affected = new ArrayList<>();
+            for (Map.Entry<Path, IdentityIndexedSet<Observer>> entry : observersByPath.entrySet()) {
+                if (isAffected(entry.getKey(), paths)) {
+                    affected.add(entry);
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                handled = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+
+            for (Map.Entry<Path, IdentityIndexedSet<Observer>> entry : affected) {
+                B bridge = getBridgeFor(entry.getKey());
+                for (Observer observer : new ArrayList<>(entry.getValue())) {
+                    observer.setBridge(bridge, ids.contains(observer.id));
+                    if (handled != null) {
+                        handled.add(observer);
+                    }
+                }
+            }
+        }
+
+        for (String id : ids) {
+            IdentityIndexedSet<Observer> group = observersById.get(id);
+            if (group != null) {
+                V value = get(id);
+                for (Observer observer : new ArrayList<>(group)) {
+                    if (handled == null || !handled.contains(observer)) {
+                        observer.update(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether the result of {@link #getBridgeFor(Path)} may change for <code>path</code> if the bridges
+     * <code>changed</code> were modified.
+     *
+     * @param path    the path of some observer
+     * @param changed the bridges that changed
+     * @return <code>true</code> if <code>path</code> or one of its parents is in <code>changed</code>
+     */
+    private boolean isAffected(Path path, Set<Path> changed) {
+        while (path != null) {
+            if (changed.contains(path)) {
+                return true;
+            }
+            path = path.getParent();
+        }
+        return false;
+    }
+
     /**
      * Adds a new bridge between this {@link UIProperties} and a set of
      * {@link UIValue}s that have a certain type.
@@ -328,9 +418,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
 
         if (value.set(priority, bridge, null)) {
             if (updateLock == 0) {
-                for (Observer check : observers) {
-                    check.resetBridge();
-                }
+                update(Collections.emptySet(), Collections.singleton(path));
             }
         }
     }
@@ -360,9 +448,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             }
 
             if (change && updateLock == 0) {
-                for (Observer check : observers) {
-                    check.resetBridge();
-                }
+                update(Collections.emptySet(), Collections.singleton(path));
             }
         }
     }
@@ -378,7 +464,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      */
     public void unpublish(Priority priority, B bridge) {
         Iterator<Map.Entry<Path, UIPriorityValue<B>>> iterator = bridges.entrySet().iterator();
-        boolean change = false;
+        Set<Path> changed = new HashSet<>();
 
         UIScheme<V, U, B> scheme = schemes.get(priority);
 
@@ -393,7 +479,9 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
                         replacement = scheme.getBridge(entry.getKey(), this);
                     }
 
-                    change = next.set(priority, replacement, scheme) || change;
+                    if (next.set(priority, replacement, scheme)) {
+                        changed.add(entry.getKey());
+                    }
                     if (isRemoveable(entry.getKey(), next)) {
                         iterator.remove();
                     }
@@ -401,10 +489,8 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             }
         }
 
-        if (change && updateLock == 0) {
-            for (Observer check : observers) {
-                check.resetBridge();
-            }
+        if (!changed.isEmpty() && updateLock == 0) {
+            update(Collections.emptySet(), changed);
         }
     }
 
@@ -459,7 +545,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @return if <code>path</code> is observed
      */
     public boolean isObserved(Path path) {
-        return bridgesAccess.containsKey(path);
+        return observersByPath.containsKey(path);
     }
 
     private boolean isRemoveable(Path path, UIPriorityValue<B> value) {
@@ -502,6 +588,9 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
 
         Observer combination = new Observer(id, path, value);
         observers.add(combination);
+        observersByValue.computeIfAbsent(value, key -> new ArrayList<>(1)).add(combination);
+        observersById.computeIfAbsent(id, key -> new IdentityIndexedSet<>()).add(combination);
+        observersByPath.computeIfAbsent(path, key -> new IdentityIndexedSet<>()).add(combination);
         combination.resetAll();
     }
 
@@ -511,14 +600,14 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @param value the observer to remove
      */
     public void remove(U value) {
-        ListIterator<Observer> list = observers.listIterator();
-        while (list.hasNext()) {
-            Observer next = list.next();
-            if (next.getValue() == value) {
-                list.remove();
-                next.destroy();
-                return;
+        List<Observer> group = observersByValue.get(value);
+        if (group != null) {
+            Observer next = group.remove(0);
+            if (group.isEmpty()) {
+                observersByValue.remove(value);
             }
+            observers.remove(next);
+            next.destroy();
         }
     }
 
@@ -529,7 +618,7 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
      * @return if <code>id</code> is observed
      */
     public boolean isObserved(String id) {
-        return resourcesAccess.containsKey(id);
+        return observersById.containsKey(id);
     }
 
     private boolean isRemoveable(String id, UIPriorityValue<V> value) {
@@ -609,8 +698,9 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
 
             if (value.set(priority, resource, scheme)) {
                 if (updateLock == 0) {
-                    for (Observer observer : observers) {
-                        if (observer.id.equals(id)) {
+                    IdentityIndexedSet<Observer> group = observersById.get(id);
+                    if (group != null) {
+                        for (Observer observer : group) {
                             observer.update(resource);
                         }
                     }
@@ -790,22 +880,6 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             this.id = id;
             this.path = path;
             this.value = value;
-
-            Integer count = bridgesAccess.get(path);
-            if (count == null) {
-                count = 1;
-            } else {
-                count = count + 1;
-            }
-            bridgesAccess.put(path, count);
-
-            count = resourcesAccess.get(id);
-            if (count == null) {
-                count = 1;
-            } else {
-                count = count + 1;
-            }
-            resourcesAccess.put(id, count);
         }
 
         /**
@@ -814,20 +888,18 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
         public void destroy() {
             setBridge(null, false);
 
-            Integer count = bridgesAccess.get(path);
-            if (count == 1) {
-                bridgesAccess.remove(path);
+            IdentityIndexedSet<Observer> group = observersByPath.get(path);
+            group.remove(this);
+            if (group.isEmpty()) {
+                observersByPath.remove(path);
                 checkRemove(path);
-            } else {
-                bridgesAccess.put(path, count - 1);
             }
 
-            count = resourcesAccess.get(id);
-            if (count == 1) {
-                resourcesAccess.remove(id);
+            group = observersById.get(id);
+            group.remove(this);
+            if (group.isEmpty()) {
+                observersById.remove(id);
                 checkRemove(id);
-            } else {
-                resourcesAccess.put(id, count - 1);
             }
         }
 
@@ -852,13 +924,6 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
             }
         }
 
-        /**
-         * Ensures that the correct {@link UIBridge} is used.
-         */
-        public void resetBridge() {
-            setBridge(getBridgeFor(path), false);
-        }
-
         /**
          * Sets the {@link UIBridge} of this <code>Observer</code>.
          *
@@ -0,0 +1,148 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A list of listeners which hands out the same array of listeners until the list is modified. Code firing events
+ * usually copies its listeners into an array before calling them, because a listener may add or remove listeners
+ * while it is executed. With a {@link ListenerList} that copy is only made once after each modification, hence
+ * firing an event does not allocate any memory.<br>
+ * Like an {@link ArrayList} this list can contain the same listener more than once, and {@link #remove(Object)}
+ * removes only the first occurrence. This class is not thread safe.
+ *
+ * @param <L> the type of the listeners
+ * @author Benjamin Sigg
+ */
+public class ListenerList<L> {
+    /**
+     * the listeners in the order in which they were added
+     */
+    private final List<L> listeners = new ArrayList<>(2);
+
+    /**
+     * creates new arrays of listeners
+     */
+    private final IntFunction<L[]> generator;
+
+    /**
+     * a copy of {@link #listeners}, <code>null</code> if the list was modified since the copy was made
+     */
+    private L[] snapshot;
+
+    /**
+     * Creates a new, empty list.
+     *
+     * @param generator creates arrays of listeners with the requested length, e.g. <code>MyListener[]::new</code>
+     */
+    public ListenerList(IntFunction<L[]> generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("generator must not be null");
+        }
+        this.generator = generator;
+        snapshot = generator.apply(0);
+    }
+
+    /**
+     * Adds <code>listener</code> at the end of this list.
+     *
+     * @param listener the new listener
+     */
+    public void add(L listener) {
+        listeners.add(listener);
+        snapshot = null;
+    }
+
+    /**
+     * Removes the first occurrence of <code>listener</code> from this list.
+     *
+     * @param listener the listener to remove
+     * @return <code>true</code> if <code>listener</code> was found
+     */
+    public boolean remove(Object listener) {
+        if (listeners.remove(listener)) {
+            snapshot = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all listeners from this list.
+     */
+    public void clear() {
+        if (!listeners.isEmpty()) {
+            listeners.clear();
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Tells whether <code>listener</code> is in this list.
+     *
+     * @param listener the listener to search
+     * @return <code>true</code> if <code>listener</code> was found
+     */
+    public boolean contains(Object listener) {
+        return listeners.contains(listener);
+    }
+
+    /**
+     * Gets the number of listeners in this list.
+     *
+     * @return the number of listeners
+     */
+    public int size() {
+        return listeners.size();
+    }
+
+    /**
+     * Tells whether this list has no listeners.
+     *
+     * @return <code>true</code> if there are no listeners
+     */
+    public boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    /**
+     * Gets all the listeners of this list. The array is shared with other callers and remains the same until
+     * this list is modified, it must not be changed.
+     *
+     * @return the current listeners, never <code>null</code>
+     */
+    public L[] toArray() {
+        L[] result = snapshot;
+        if (result == null) {
+            result = listeners.toArray(generator.apply(listeners.size()));
+            snapshot = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.container;
+
+import java.util.*;
+
+/**
+ * A {@link Set} that compares its elements by identity and remembers the order in which they were added.
+ * Adding, removing and searching an element runs in constant time. Accessing an element by its
+ * {@link #get(int) index} runs in constant time as well, as long as the set is not modified between
+ * two calls.
+ *
+ * @param <E> the type of the elements
+ * @author Benjamin Sigg
+ */
+public class IdentityIndexedSet<E> extends AbstractSet<E> {
+    /**
+     * the nodes of the linked list, accessible by their element
+     */
+    private final IdentityHashMap<E, Node<E>> nodes = new IdentityHashMap<>();
+
+    /**
+     * the first and the last node of the list
+     */
+    private Node<E> head, tail;
+
+    /**
+     * all the elements in the order of the list, <code>null</code> if the set was modified
+     */
+    private Object[] array;
+
+    /**
+     * counts the modifications of this set
+     */
+    private int modifications = 0;
+
+    @Override
+    public boolean add(E element) {
+        if (nodes.containsKey(element)) {
+            return false;
+        }
+        Node<E> node = new Node<>(element);
+        nodes.put(element, node);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+            node.previous = tail;
+        }
+        tail = node;
+        changed();
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        Node<E> node = nodes.remove(element);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return nodes.containsKey(element);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+        head = null;
+        tail = null;
+        changed();
+    }
+
+    /**
+     * Gets the <code>index</code>'th element of this set.
+     *
+     * @param index the index of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException if <code>index</code> is not between 0 and {@link #size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= nodes.size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + nodes.size());
+        }
+        return (E) snapshot()[index];
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] result) {
+        Object[] snapshot = snapshot();
+        if (result.length < snapshot.length) {
+            return (T[]) Arrays.copyOf(snapshot, snapshot.length, result.getClass());
+        }
+        System.arraycopy(snapshot, 0, result, 0, snapshot.length);
+        if (result.length > snapshot.length) {
+            result[snapshot.length] = null;
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new NodeIterator(head, true);
+    }
+
+    /**
+     * Gets an iterator which visits the elements of this set in reverse order, starting with the element
+     * that was added last.
+     *
+     * @return the new iterator
+     */
+    public Iterator<E> descendingIterator() {
+        return new NodeIterator(tail, false);
+    }
+
+    /**
+     * Gets an array containing all the elements of this set, the array is cached until this set
+     * is modified.
+     *
+     * @return the cached array, must not be modified
+     */
+    private Object[] snapshot() {
+        if (array == null) {
+            Object[] result = new Object[nodes.size()];
+            int index = 0;
+            for (Node<E> node = head; node != null; node = node.next) {
+                result[index++] = node.element;
+            }
+            array = result;
+        }
+        return array;
+    }
+
+    private void unlink(Node<E> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+        changed();
+    }
+
+    private void changed() {
+        array = null;
+        modifications++;
+    }
+
+    /**
+     * An {@link Iterator} walking along the linked list of nodes.
+     */
+    private class NodeIterator implements Iterator<E> {
+        private final boolean ascending;
+        private Node<E> next;
+        private Node<E> current;
+        private int expected = modifications;
+
+        public NodeIterator(Node<E> first, boolean ascending) {
+            this.next = first;
+            this.ascending = ascending;
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public E next() {
+            if (expected != modifications) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = ascending ? next.next : next.previous;
+            return current.element;
+        }
+
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (expected != modifications) {
+                throw new ConcurrentModificationException();
+            }
+            nodes.remove(current.element);
+            unlink(current);
+            current = null;
+            expected = modifications;
+        }
+    }
+
+    /**
+     * One entry of the linked list.
+     *
+     * @param <E> the type of the element
+     */
+    private static class Node<E> {
+        private final E element;
+        private Node<E> previous;
+        private Node<E> next;
+
+        public Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -618,17 +618,27 @@ public class XElement extends XContainer implements Iterable<XElement> {
 
     @Override
     public void setString(String s) {
+        super.setString(wrap(s));
+    }
+
+    /**
+     * Wraps <code>s</code> in brackets if necessary, such that leading and trailing whitespaces survive
+     * reading and writing the value of an element.
+     *
+     * @param s the string to wrap
+     * @return the wrapped string
+     */
+    static String wrap(String s) {
         if (s.length() == 0) {
-            s = "[]";
-        } else {
-            if (Character.isWhitespace(s.charAt(0)) || Character.isWhitespace(s.charAt(s.length() - 1))) {
-                s = "[" + s + "]";
-            } else if (s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
-                s = "[" + s + "]";
-            }
+            return "[]";
         }
-
-        super.setString(s);
+        if (Character.isWhitespace(s.charAt(0)) || Character.isWhitespace(s.charAt(s.length() - 1))) {
+            return "[" + s + "]";
+        }
+        if (s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
+            return "[" + s + "]";
+        }
+        return s;
     }
 
     @Override
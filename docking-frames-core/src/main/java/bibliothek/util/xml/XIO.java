@@ -39,7 +39,8 @@ import java.util.LinkedList;
 /**
  * Class used to read and write xml-files. Clients should use
  * {@link #writeUTF(XElement, OutputStream)} and {@link #readUTF(InputStream)} to
- * guarantee maximal independence from the underlying file system.
+ * guarantee maximal independence from the underlying file system. Large files can be read and written
+ * without building a tree of {@link XElement}s using the {@link XStreamReader} and the {@link XStreamWriter}.
  *
  * @author Benjamin Sigg
  */
@@ -77,12 +78,12 @@ public class XIO {
      * @throws IOException if an I/O-error occurs
      */
     public static void write(XElement element, OutputStream out, String encoding) throws IOException {
-        OutputStreamWriter writer = new OutputStreamWriter(out, encoding) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, encoding) {
             @Override
             public void close() {
                 // ignore
             }
-        };
+        });
         write(element, writer);
         writer.flush();
     }
@@ -128,7 +129,7 @@ public class XIO {
      * @param out     the stream to write into
      * @throws IOException if an I/O-error occurs
      */
-    private static void write(XElement element, int tabs, Appendable out) throws IOException {
+    static void write(XElement element, int tabs, Appendable out) throws IOException {
         for (int i = 0; i < tabs; i++) {
             out.append("\t");
         }
@@ -183,18 +184,24 @@ public class XIO {
      * @param value the value to encode
      * @param out   the stream to write into
      */
-    private static void encode(String value, Appendable out) throws IOException {
+    static void encode(String value, Appendable out) throws IOException {
+        int start = 0;
         for (int i = 0, n = value.length(); i < n; i++) {
-            char c = value.charAt(i);
-            switch (c) {
-                case '<' -> out.append("&lt;");
-                case '>' -> out.append("&gt;");
-                case '\'' -> out.append("&apos;");
-                case '"' -> out.append("&quot;");
-                case '&' -> out.append("&amp;");
-                default -> out.append(c);
+            String replacement = switch (value.charAt(i)) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '\'' -> "&apos;";
+                case '"' -> "&quot;";
+                case '&' -> "&amp;";
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i);
+                out.append(replacement);
+                start = i + 1;
             }
         }
+        out.append(value, start, value.length());
     }
 
     /**
@@ -254,6 +261,10 @@ public class XIO {
          * the current stack of active entries
          */
         private final LinkedList<XElement> stack = new LinkedList<>();
+        /**
+         * the text collected for the entries of {@link #stack}
+         */
+        private final LinkedList<StringBuilder> values = new LinkedList<>();
 
         /**
          * Gets the first element that was read.
@@ -276,6 +287,7 @@ public class XIO {
             }
 
             stack.addFirst(element);
+            values.addFirst(new StringBuilder());
 
             // read the attributes
             for (int i = 0, n = attributes.getLength(); i < n; i++) {
@@ -288,12 +300,7 @@ public class XIO {
         @Override
         public void characters(char[] ch, int start, int length) {
             if (length > 0) {
-                String value = new String(ch, start, length);
-                String old = stack.getFirst().getValue();
-                if (old != null && old.length() > 0) {
-                    value = old + value;
-                }
-                stack.getFirst().setValue(value);
+                values.getFirst().append(ch, start, length);
             }
         }
 
@@ -301,6 +308,7 @@ public class XIO {
         public void endElement(String uri, String localName, String name) {
 
             XElement element = stack.removeFirst();
+            element.setValue(values.removeFirst().toString());
             element.setValue(element.getString().trim());
         }
     }
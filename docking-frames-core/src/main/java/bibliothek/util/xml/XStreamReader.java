@@ -0,0 +1,296 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A pull reader for xml files. Unlike {@link XIO#read(Reader)} this reader does not build the whole tree of
+ * {@link XElement}s, instead it visits one element after the other. Clients can still
+ * {@link #readElement() materialize} single elements, e.g. to hand them over to code that works with
+ * {@link XElement}s.<br>
+ * The reader always points to the start of an element, the <i>current element</i>. Attributes can only be
+ * read while the reader is at the start of an element. A typical loop over the children of the current
+ * element looks like this:
+ * <pre>
+ * while( reader.nextChild() ){
+ *     if( "child".equals( reader.getName() )){
+ *         String name = reader.getString( "name" );
+ *         XElement content = reader.readElement();
+ *     }
+ *     else{
+ *         reader.skip();
+ *     }
+ * }
+ * </pre>
+ * Each child visited by {@link #nextChild()} must be finished by either another loop of {@link #nextChild()} calls
+ * until <code>false</code> is returned, or by {@link #skip()}, or by {@link #readElement()}.
+ *
+ * @author Benjamin Sigg
+ * @see XStreamWriter
+ */
+public class XStreamReader implements Closeable {
+    /**
+     * Creates a new reader reading a file that is encoded in <code>UTF-8</code>.
+     *
+     * @param in the stream to read from
+     * @return the new reader, pointing to the root element
+     * @throws IOException if <code>in</code> cannot be read
+     */
+    public static XStreamReader readUTF(InputStream in) throws IOException {
+        return new XStreamReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * the source of all events
+     */
+    private final XMLStreamReader reader;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param in the characters to read
+     * @throws IOException if <code>in</code> cannot be read or does not contain a root element
+     */
+    public XStreamReader(Reader in) throws IOException {
+        try {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            reader = factory.createXMLStreamReader(in);
+            while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                // search the root
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the name of the current element.
+     *
+     * @return the name of the current element
+     * @throws IllegalStateException if the reader is not at the start of an element
+     */
+    public String getName() {
+        ensureStart();
+        return reader.getLocalName();
+    }
+
+    /**
+     * Gets the value of the attribute <code>name</code> of the current element.
+     *
+     * @param name the name of the attribute
+     * @return the attribute or <code>null</code> if not present
+     * @throws IllegalStateException if the reader is not at the start of an element
+     */
+    public XAttribute getAttribute(String name) {
+        ensureStart();
+        for (int i = 0, n = reader.getAttributeCount(); i < n; i++) {
+            if (reader.getAttributeLocalName(i).equals(name)) {
+                XAttribute attribute = new XAttribute(name);
+                attribute.setString(reader.getAttributeValue(i));
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the current element has an attribute <code>name</code>.
+     *
+     * @param name the name of the attribute
+     * @return whether the attribute exists
+     */
+    public boolean attributeExists(String name) {
+        return getAttribute(name) != null;
+    }
+
+    /**
+     * Gets the value of an attribute.
+     *
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist
+     */
+    public String getString(String name) {
+        return getExistingAttribute(name).getString();
+    }
+
+    /**
+     * Gets the value of an attribute.
+     *
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or if the value
+     *                    is in the wrong format
+     */
+    public int getInt(String name) {
+        return getExistingAttribute(name).getInt();
+    }
+
+    /**
+     * Gets the value of an attribute.
+     *
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or if the value
+     *                    is in the wrong format
+     */
+    public long getLong(String name) {
+        return getExistingAttribute(name).getLong();
+    }
+
+    /**
+     * Gets the value of an attribute.
+     *
+     * @param name the name of the attribute
+     * @return the value of the attribute
+     * @throws XException if the attribute does not exist or if the value
+     *                    is in the wrong format
+     */
+    public boolean getBoolean(String name) {
+        return getExistingAttribute(name).getBoolean();
+    }
+
+    private XAttribute getExistingAttribute(String name) {
+        XAttribute attribute = getAttribute(name);
+        if (attribute == null) {
+            throw new XException("no attribute known with name: " + name);
+        }
+        return attribute;
+    }
+
+    /**
+     * Moves to the next child of the current element. If there are no more children, then the end
+     * of the current element is consumed and <code>false</code> is returned.
+     *
+     * @return <code>true</code> if the reader now points to a child, <code>false</code> if the
+     * current element is finished
+     * @throws XException if the underlying stream is corrupt
+     */
+    public boolean nextChild() {
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    return true;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    return false;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new XException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Skips the current element including all its children.
+     *
+     * @throws XException if the underlying stream is corrupt
+     */
+    public void skip() {
+        ensureStart();
+        while (nextChild()) {
+            skip();
+        }
+    }
+
+    /**
+     * Reads the current element including all its children and attributes. Afterwards the current
+     * element is finished.
+     *
+     * @return the element that was read
+     * @throws XException if the underlying stream is corrupt
+     */
+    public XElement readElement() {
+        ensureStart();
+        XElement element = new XElement(reader.getLocalName());
+        for (int i = 0, n = reader.getAttributeCount(); i < n; i++) {
+            XAttribute attribute = new XAttribute(reader.getAttributeLocalName(i));
+            attribute.setString(reader.getAttributeValue(i));
+            element.addAttribute(attribute);
+        }
+
+        StringBuilder value = null;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    element.addElement(readElement());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (value == null) {
+                        value = new StringBuilder();
+                    }
+                    value.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new XException(e.getMessage(), e);
+        }
+
+        // same post-processing as the SAX based reader of XIO
+        if (value != null) {
+            element.setValue(value.toString());
+        }
+        element.setValue(element.getString().trim());
+        return element;
+    }
+
+    private void ensureStart() {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            throw new IllegalStateException("the reader is not at the start of an element");
+        }
+    }
+
+    /**
+     * Closes this reader, but not the underlying source of characters.
+     *
+     * @throws IOException if the reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A buffered writer for xml files. Unlike {@link XIO#write(XElement, Appendable)} this writer does not need
+ * a tree of {@link XElement}s, instead clients open and close one element after the other. Subtrees that are
+ * available as {@link XElement} can be written with {@link #addElement(XElement)}. The output is formatted
+ * exactly like the output of {@link XIO}.<br>
+ * Attributes have to be written directly after the element was {@link #startElement(String) started}, and the
+ * value of an element has to be set before its first child is written.
+ *
+ * @author Benjamin Sigg
+ * @see XStreamReader
+ */
+public class XStreamWriter implements Closeable, Flushable {
+    /**
+     * Creates a new writer which encodes the characters in <code>UTF-8</code>. Closing the writer will
+     * flush, but not close <code>out</code>.
+     *
+     * @param out the stream to write into
+     * @return the new writer
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public static XStreamWriter writeUTF(OutputStream out) throws IOException {
+        return new XStreamWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * the destination of all characters
+     */
+    private final Writer out;
+
+    /**
+     * the elements that are currently open, the top of the stack is the innermost element
+     */
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    /**
+     * whether the root element was already started
+     */
+    private boolean rootStarted = false;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param out the destination of all characters, will be buffered by this writer
+     * @throws IOException if <code>out</code> cannot be written
+     */
+    public XStreamWriter(Writer out) throws IOException {
+        if (out instanceof BufferedWriter) {
+            this.out = out;
+        } else {
+            this.out = new BufferedWriter(out);
+        }
+        this.out.write("<?xml version='1.0'?>\n");
+    }
+
+    /**
+     * Starts a new element as child of the current element. The element has to be closed by
+     * {@link #endElement()}.
+     *
+     * @param name the name of the element
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XStreamWriter startElement(String name) throws IOException {
+        beginChild();
+        indent(stack.size());
+        out.write('<');
+        out.write(name);
+        stack.push(new Frame(name));
+        return this;
+    }
+
+    /**
+     * Writes <code>element</code> and all its children as child of the current element.
+     *
+     * @param element the element to write
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XStreamWriter addElement(XElement element) throws IOException {
+        beginChild();
+        XIO.write(element, stack.size(), out);
+        endChild();
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     *
+     * @param name  the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException           if an I/O-error occurs
+     * @throws IllegalStateException if the current element already has a value or children
+     */
+    public XStreamWriter addString(String name, String value) throws IOException {
+        Frame frame = current();
+        if (frame.value != null || frame.children) {
+            throw new IllegalStateException("attributes must be written before value and children");
+        }
+        out.write(' ');
+        out.write(name);
+        out.write("=\"");
+        XIO.encode(value, out);
+        out.write('"');
+        return this;
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     *
+     * @param name  the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XStreamWriter addInt(String name, int value) throws IOException {
+        return addString(name, String.valueOf(value));
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     *
+     * @param name  the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XStreamWriter addLong(String name, long value) throws IOException {
+        return addString(name, String.valueOf(value));
+    }
+
+    /**
+     * Adds an attribute to the current element.
+     *
+     * @param name  the name of the attribute
+     * @param value the value of the attribute
+     * @return <code>this</code>
+     * @throws IOException if an I/O-error occurs
+     */
+    public XStreamWriter addBoolean(String name, boolean value) throws IOException {
+        return addString(name, String.valueOf(value));
+    }
+
+    /**
+     * Sets the exact value of the current element, the value is not modified by this method.
+     *
+     * @param value the value
+     * @return <code>this</code>
+     * @throws IllegalStateException if the current element already has children
+     * @see XContainer#setValue(String)
+     */
+    public XStreamWriter setValue(String value) {
+        Frame frame = current();
+        if (frame.children) {
+            throw new IllegalStateException("the value must be set before any child is written");
+        }
+        frame.value = value;
+        return this;
+    }
+
+    /**
+     * Sets the value of the current element.
+     *
+     * @param value the value
+     * @return <code>this</code>
+     * @see XElement#setString(String)
+     */
+    public XStreamWriter setString(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        return setValue(XElement.wrap(value));
+    }
+
+    /**
+     * Sets the value of the current element.
+     *
+     * @param value the value
+     * @return <code>this</code>
+     */
+    public XStreamWriter setInt(int value) {
+        return setValue(String.valueOf(value));
+    }
+
+    /**
+     * Sets the value of the current element.
+     *
+     * @param value the value
+     * @return <code>this</code>
+     */
+    public XStreamWriter setLong(long value) {
+        return setValue(String.valueOf(value));
+    }
+
+    /**
+     * Sets the value of the current element.
+     *
+     * @param value the value
+     * @return <code>this</code>
+     */
+    public XStreamWriter setBoolean(boolean value) {
+        return setValue(String.valueOf(value));
+    }
+
+    /**
+     * Closes the current element.
+     *
+     * @return <code>this</code>
+     * @throws IOException           if an I/O-error occurs
+     * @throws IllegalStateException if there is no open element
+     */
+    public XStreamWriter endElement() throws IOException {
+        Frame frame = current();
+        stack.pop();
+
+        if (frame.children) {
+            indent(stack.size());
+            out.write("</");
+            out.write(frame.name);
+            out.write('>');
+        } else if (frame.value != null && frame.value.length() > 0) {
+            out.write('>');
+            XIO.encode(frame.value, out);
+            out.write("</");
+            out.write(frame.name);
+            out.write('>');
+        } else {
+            out.write("/>");
+        }
+
+        endChild();
+        return this;
+    }
+
+    private Frame current() {
+        Frame frame = stack.peek();
+        if (frame == null) {
+            throw new IllegalStateException("there is no open element");
+        }
+        return frame;
+    }
+
+    /**
+     * Called before a new child is written, closes the start tag of the parent.
+     */
+    private void beginChild() throws IOException {
+        Frame parent = stack.peek();
+        if (parent == null) {
+            if (rootStarted) {
+                throw new IllegalStateException("there can be only one root element");
+            }
+            rootStarted = true;
+        } else if (!parent.children) {
+            parent.children = true;
+            out.write('>');
+            if (parent.value != null && parent.value.length() > 0) {
+                out.write('\n');
+                indent(stack.size());
+                XIO.encode(parent.value, out);
+            }
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Called after a child was written completely.
+     */
+    private void endChild() throws IOException {
+        if (!stack.isEmpty()) {
+            out.write('\n');
+        }
+    }
+
+    private void indent(int tabs) throws IOException {
+        for (int i = 0; i < tabs; i++) {
+            out.write('\t');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Closes all elements that are still open, then flushes and closes the underlying writer.
+     *
+     * @throws IOException if an I/O-error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        while (!stack.isEmpty()) {
+            endElement();
+        }
+        out.close();
+    }
+
+    /**
+     * Information about an element that is not yet closed.
+     *
+     * @author Benjamin Sigg
+     */
+    private static class Frame {
+        /**
+         * the name of the element
+         */
+        private final String name;
+        /**
+         * the value of the element, written when the start tag is closed
+         */
+        private String value;
+        /**
+         * whether at least one child was written
+         */
+        private boolean children = false;
+
+        public Frame(String name) {
+            this.name = name;
+        }
+    }
+}
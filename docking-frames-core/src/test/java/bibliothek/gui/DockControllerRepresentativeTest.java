@@ -0,0 +1,125 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui;
+
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.DockElementRepresentative;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.util.SimpleDockElementRepresentative;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link DockController#searchElement(java.awt.Component)} and
+ * {@link DockController#getRepresentatives(bibliothek.gui.dock.DockElement)} follow changes of the
+ * representatives and of the component hierarchy.
+ *
+ * @author Benjamin Sigg
+ */
+public class DockControllerRepresentativeTest {
+    private DockController controller;
+    private DefaultDockable first;
+    private DefaultDockable second;
+    private JPanel panel;
+    private JPanel other;
+    private JLabel label;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        SplitDockStation split = new SplitDockStation();
+        controller.add(split);
+
+        first = new DefaultDockable("first");
+        second = new DefaultDockable("second");
+        panel = new JPanel();
+        other = new JPanel();
+        label = new JLabel("label");
+        panel.add(label);
+        first.add(panel);
+        first.add(other);
+
+        split.drop(first);
+        split.drop(second);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void searchFollowsRepresentatives() {
+        assertSame(first, controller.searchElement(label).getElement());
+        assertSame(first, controller.searchElement(label).getElement());
+
+        DockElementRepresentative representative = new SimpleDockElementRepresentative(second, panel);
+        controller.addRepresentative(representative);
+        assertSame(representative, controller.searchElement(label));
+        assertTrue(Arrays.asList(controller.getRepresentatives(second)).contains(representative));
+        assertFalse(Arrays.asList(controller.getRepresentatives(first)).contains(representative));
+
+        controller.removeRepresentative(representative);
+        assertSame(first, controller.searchElement(label).getElement());
+        assertFalse(Arrays.asList(controller.getRepresentatives(second)).contains(representative));
+    }
+
+    @Test
+    public void searchFollowsHierarchy() {
+        DockElementRepresentative representative = new SimpleDockElementRepresentative(second, panel);
+        controller.addRepresentative(representative);
+        assertSame(representative, controller.searchElement(label));
+
+        panel.remove(label);
+        other.add(label);
+        assertSame(first, controller.searchElement(label).getElement());
+
+        other.remove(label);
+        panel.add(label);
+        assertSame(representative, controller.searchElement(label));
+
+        panel.remove(label);
+        assertNull(controller.searchElement(label));
+    }
+
+    @Test
+    public void replacedRepresentativeIsRemovedFromIndex() {
+        DockElementRepresentative representative = new SimpleDockElementRepresentative(second, panel);
+        DockElementRepresentative replacement = new SimpleDockElementRepresentative(first, panel);
+        controller.addRepresentative(representative);
+        controller.addRepresentative(replacement);
+
+        assertFalse(Arrays.asList(controller.getRepresentatives(second)).contains(representative));
+        assertTrue(Arrays.asList(controller.getRepresentatives(first)).contains(replacement));
+        assertSame(replacement, controller.searchElement(label));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui;
+
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.frontend.Setting;
+import bibliothek.gui.dock.station.split.SplitDockGrid;
+import bibliothek.util.Version;
+import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XIO;
+import bibliothek.util.xml.XStreamReader;
+import bibliothek.util.xml.XStreamWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@link Setting}s of a {@link DockFrontend} survive being stored and read again,
+ * even if they are only decoded when needed.
+ *
+ * @author Benjamin Sigg
+ */
+public class DockFrontendSettingsTest {
+    private DockFrontend source;
+    private DockFrontend target;
+
+    @BeforeEach
+    public void setUp() {
+        source = createFrontend();
+        target = createFrontend();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        source.getController().kill();
+        target.getController().kill();
+    }
+
+    @Test
+    public void streamRoundTrip() throws IOException {
+        source.setLazySettings(true);
+        target.setLazySettings(true);
+        for (int i = 0; i < 10; i++) {
+            source.save("setting " + i);
+        }
+
+        byte[] data = write(source);
+        target.setSettingsCacheSize(2);
+        target.read(new DataInputStream(new ByteArrayInputStream(data)));
+        assertEquals(source.getSettings(), target.getSettings());
+
+        // settings which were never decoded are written without changes, only the final layout may differ
+        byte[] written = write(target);
+        int named = data.length - write(target, target.getSetting(false));
+        assertArrayEquals(Arrays.copyOf(data, named), Arrays.copyOf(written, named));
+
+        Set<String> names = target.getSettings();
+        for (String name : names) {
+            assertNotNull(target.getSetting(name));
+            target.load(name);
+            assertEquals(name, target.getCurrentSetting());
+        }
+
+        DockFrontend copy = createFrontend();
+        try {
+            copy.read(new DataInputStream(new ByteArrayInputStream(write(target))));
+            assertEquals(names, copy.getSettings());
+        } finally {
+            copy.getController().kill();
+        }
+    }
+
+    @Test
+    public void eagerFormatIsDefault() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            source.save("setting " + i);
+        }
+
+        assertFalse(source.isLazySettings());
+        byte[] data = write(source);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        assertEquals(Version.VERSION_1_1_1a, Version.read(in));
+
+        target.read(new DataInputStream(new ByteArrayInputStream(data)));
+        assertEquals(source.getSettings(), target.getSettings());
+
+        // the named settings are written without changes, only the final layout may differ
+        int named = data.length - write(target, target.getSetting(false));
+        assertArrayEquals(Arrays.copyOf(data, named), Arrays.copyOf(write(target), named));
+    }
+
+    @Test
+    public void changedSettingSurvivesCache() throws IOException {
+        source.setLazySettings(true);
+        for (int i = 0; i < 10; i++) {
+            source.save("setting " + i);
+        }
+
+        target.setLazySettings(true);
+        target.read(new DataInputStream(new ByteArrayInputStream(write(source))));
+
+        Setting changed = target.getSetting("setting 0");
+        int invisible = changed.getInvisibleCount();
+        changed.addInvisible("changed", "split", null, null);
+
+        for (int i = 1; i <= 6; i++) {
+            target.load("setting " + i);
+        }
+
+        assertSame(changed, target.getSetting("setting 0"));
+
+        DockFrontend copy = createFrontend();
+        try {
+            copy.read(new DataInputStream(new ByteArrayInputStream(write(target))));
+            Setting read = copy.getSetting("setting 0");
+            assertEquals(invisible + 1, read.getInvisibleCount());
+            assertEquals("changed", read.getInvisibleKey(invisible));
+        } finally {
+            copy.getController().kill();
+        }
+    }
+
+    @Test
+    public void xmlRoundTrip() {
+        for (int i = 0; i < 10; i++) {
+            source.save("setting " + i);
+        }
+
+        XElement element = new XElement("frontend");
+        source.writeXML(element);
+        target.setSettingsCacheSize(0);
+        target.readXML(element);
+        assertEquals(source.getSettings(), target.getSettings());
+
+        XElement copy = new XElement("frontend");
+        target.writeXML(copy);
+        assertEquals(element.getElement("settings").getElementCount(), copy.getElement("settings").getElementCount());
+
+        for (String name : target.getSettings()) {
+            target.load(name);
+            assertEquals(name, target.getCurrentSetting());
+        }
+
+        assertTrue(target.delete("setting 3"));
+        assertNull(target.getSetting("setting 3"));
+        assertEquals(9, target.getSettings().size());
+    }
+
+    @Test
+    public void xmlStreamRoundTrip() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            source.save("setting " + i);
+        }
+        source.hide(source.getDockable("dockable 2"));
+
+        XElement element = new XElement("frontend");
+        source.writeXML(element);
+        StringWriter expected = new StringWriter();
+        XIO.write(element, expected);
+
+        StringWriter actual = new StringWriter();
+        XStreamWriter out = new XStreamWriter(actual);
+        out.startElement("frontend");
+        source.writeXML(out);
+        out.endElement();
+        out.close();
+        assertEquals(expected.toString(), actual.toString());
+
+        target.setSettingsCacheSize(0);
+        target.readXML(new XStreamReader(new StringReader(actual.toString())));
+        assertEquals(source.getSettings(), target.getSettings());
+
+        // settings which were never decoded are copied without changes
+        StringWriter copy = new StringWriter();
+        out = new XStreamWriter(copy);
+        out.startElement("frontend");
+        target.writeXML(out);
+        out.endElement();
+        out.close();
+        XElement xcopy = XIO.read(copy.toString());
+        assertEquals(element.getElement("settings").toString(), xcopy.getElement("settings").toString());
+
+        for (String name : target.getSettings()) {
+            target.load(name);
+            assertEquals(name, target.getCurrentSetting());
+        }
+    }
+
+    @Test
+    public void layoutStreamFormat() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            source.save("setting " + i);
+        }
+
+        assertEquals(Version.VERSION_1_0_8, source.getLayoutStreamFormat());
+        byte[] original = write(source);
+
+        source.setLayoutStreamFormat(Version.VERSION_1_1_2);
+        byte[] compact = write(source);
+        assertTrue(compact.length < original.length, "compact format should be smaller");
+
+        target.read(new DataInputStream(new ByteArrayInputStream(compact)));
+        assertEquals(source.getSettings(), target.getSettings());
+        target.setLayoutStreamFormat(Version.VERSION_1_0_8);
+        for (String name : target.getSettings()) {
+            target.load(name);
+        }
+        assertEquals(original.length, write(target).length);
+
+        assertThrows(IllegalArgumentException.class, () -> source.setLayoutStreamFormat(Version.VERSION_1_0_4));
+    }
+
+    private byte[] write(DockFrontend frontend) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        frontend.write(out);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private int write(DockFrontend frontend, Setting setting) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        frontend.write(setting, false, out);
+        out.close();
+        return bytes.size();
+    }
+
+    private DockFrontend createFrontend() {
+        DockFrontend frontend = new DockFrontend();
+        SplitDockStation station = new SplitDockStation();
+        frontend.addRoot("split", station);
+
+        SplitDockGrid grid = new SplitDockGrid();
+        for (int i = 0; i < 4; i++) {
+            DefaultDockable dockable = new DefaultDockable("dockable " + i);
+            frontend.addDockable("dockable " + i, dockable);
+            grid.addDockable(i % 2, i / 2, 1, 1, dockable);
+        }
+        station.dropTree(grid.toTree());
+        return frontend;
+    }
+}
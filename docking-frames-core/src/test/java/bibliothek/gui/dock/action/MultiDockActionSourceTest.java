@@ -0,0 +1,120 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.action;
+
+import bibliothek.gui.dock.action.actions.SimpleButtonAction;
+import bibliothek.gui.dock.event.DockActionSourceListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a {@link MultiDockActionSource} with listeners reports the same actions and events as
+ * its children, even though it caches the indices of the actions.
+ *
+ * @author Benjamin Sigg
+ */
+public class MultiDockActionSourceTest {
+    @Test
+    public void indicesFollowChanges() {
+        Random random = new Random(7);
+
+        MultiDockActionSource root = new MultiDockActionSource();
+        root.setSeparateSources(true);
+        MultiDockActionSource nested = new MultiDockActionSource();
+        nested.setSeparateSources(true);
+
+        List<DefaultDockActionSource> leaves = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            DefaultDockActionSource leaf = new DefaultDockActionSource();
+            leaves.add(leaf);
+            nested.add(leaf);
+        }
+        root.add(nested);
+
+        List<DockAction> mirror = new ArrayList<>();
+        root.addDockActionSourceListener(new DockActionSourceListener() {
+            public void actionsAdded(DockActionSource source, int firstIndex, int lastIndex) {
+                for (int i = firstIndex; i <= lastIndex; i++) {
+                    mirror.add(i, source.getDockAction(i));
+                }
+            }
+
+            public void actionsRemoved(DockActionSource source, int firstIndex, int lastIndex) {
+                for (int i = lastIndex; i >= firstIndex; i--) {
+                    mirror.remove(i);
+                }
+            }
+        });
+        mirror.clear();
+        mirror.addAll(list(root));
+
+        for (int step = 0; step < 2000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                DefaultDockActionSource leaf = leaves.get(random.nextInt(leaves.size()));
+                leaf.add(random.nextInt(leaf.getDockActionCount() + 1), new SimpleButtonAction());
+            } else if (operation < 9) {
+                DefaultDockActionSource leaf = leaves.get(random.nextInt(leaves.size()));
+                if (leaf.getDockActionCount() > 0) {
+                    leaf.remove(random.nextInt(leaf.getDockActionCount()));
+                }
+            } else if (random.nextBoolean() || leaves.size() < 2) {
+                DefaultDockActionSource leaf = new DefaultDockActionSource(new SimpleButtonAction());
+                leaves.add(leaf);
+                (random.nextBoolean() ? root : nested).add(leaf);
+            } else {
+                DefaultDockActionSource leaf = leaves.remove(random.nextInt(leaves.size()));
+                root.remove(leaf);
+                nested.remove(leaf);
+            }
+
+            List<DockAction> expected = list(root);
+            assertEquals(expected.size(), root.getDockActionCount(), "step " + step + " op " + operation);
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i), root.getDockAction(i));
+            }
+            assertEquals(expected, mirror);
+            for (DefaultDockActionSource leaf : leaves) {
+                for (DockAction action : leaf) {
+                    assertTrue(nested.getSource(action) >= 0 || root.getSource(action) >= 0);
+                }
+            }
+        }
+    }
+
+    private List<DockAction> list(DockActionSource source) {
+        List<DockAction> result = new ArrayList<>();
+        for (DockAction action : source) {
+            result.add(action);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@link DockRegister} remains correct and fast when it has to handle a large number
+ * of {@link Dockable}s.
+ *
+ * @author Benjamin Sigg
+ */
+public class DockRegisterTest {
+    private static final int COUNT = 10000;
+
+    private DockController controller;
+    private DockRegister register;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        register = new DockRegister(controller);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void registerManyDockables() {
+        List<Dockable> dockables = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            dockables.add(new DefaultDockable("dockable " + i));
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (Dockable dockable : dockables) {
+                register.register(dockable);
+            }
+        });
+
+        assertEquals(COUNT, register.getDockableCount());
+        assertEquals(COUNT, register.getDockables().size());
+        for (int i = 0; i < COUNT; i++) {
+            assertSame(dockables.get(i), register.getDockable(i));
+            assertTrue(register.isRegistered(dockables.get(i)));
+        }
+
+        // registering twice has no effect
+        register.register(dockables.get(0));
+        assertEquals(COUNT, register.getDockableCount());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (int i = 0; i < COUNT; i += 2) {
+                register.unregister(dockables.get(i));
+            }
+        });
+
+        assertEquals(COUNT / 2, register.getDockableCount());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i % 2 == 1, register.isRegistered(dockables.get(i)));
+        }
+        for (int i = 0; i < COUNT / 2; i++) {
+            assertSame(dockables.get(2 * i + 1), register.getDockable(i));
+        }
+
+        Dockable[] array = register.listDockables();
+        assertEquals(COUNT / 2, array.length);
+        int index = 0;
+        for (Dockable dockable : register.getDockables()) {
+            assertSame(array[index++], dockable);
+        }
+    }
+}
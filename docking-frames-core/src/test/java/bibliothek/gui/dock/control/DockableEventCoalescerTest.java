@@ -0,0 +1,148 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the order and the number of the events executed by a {@link DockableEventCoalescer}.
+ *
+ * @author Benjamin Sigg
+ */
+public class DockableEventCoalescerTest {
+    private DockController controller;
+    private SplitDockStation split;
+    private StackDockStation stack;
+    private DefaultDockable dockable;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        split = new SplitDockStation();
+        controller.add(split);
+        stack = new StackDockStation();
+        dockable = new DefaultDockable("dockable");
+        stack.drop(dockable);
+        stack.drop(new DefaultDockable("sibling"));
+        split.drop(stack);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void eventsAreCollectedWhileStalled() throws Exception {
+        List<String> log = new ArrayList<>();
+        DockableEventCoalescer coalescer = controller.getEventCoalescer();
+        assertSame(split, stack.getDockParent());
+
+        Runnable checkDockable = () -> log.add("check dockable");
+        Runnable eventDockable = () -> {
+            log.add("dockable");
+            coalescer.postCheck(dockable, checkDockable);
+        };
+        Runnable eventStack = () -> {
+            log.add("stack");
+            coalescer.post(dockable, eventDockable);
+        };
+        Runnable eventSplit = () -> log.add("split");
+
+        invokeAndWait(() -> {
+            controller.freezeLayout();
+            for (int i = 0; i < 3; i++) {
+                coalescer.postCheck(dockable, checkDockable);
+                coalescer.post(dockable, eventDockable);
+                coalescer.post(stack, eventStack);
+                coalescer.post(split, eventSplit);
+            }
+        });
+        invokeAndWait(() -> {
+            assertTrue(log.isEmpty());
+            controller.meltLayout();
+        });
+        invokeAndWait(() -> {
+        });
+
+        assertEquals(List.of("split", "stack", "dockable", "dockable", "check dockable"), log);
+    }
+
+    @Test
+    public void selfRepostingEventDoesNotBlock() throws Exception {
+        DockableEventCoalescer coalescer = controller.getEventCoalescer();
+        int[] runs = {0};
+        boolean[] stop = {false};
+
+        Runnable event = new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+                if (!stop[0]) {
+                    coalescer.post(dockable, this);
+                }
+            }
+        };
+
+        int[] first = {0};
+        invokeAndWait(() -> {
+            coalescer.post(dockable, event);
+            coalescer.flush();
+            first[0] = runs[0];
+        });
+        assertEquals(DockableEventCoalescer.MAX_ROUNDS, first[0]);
+
+        // the remaining events are executed by a later task
+        invokeAndWait(() -> {
+            assertTrue(runs[0] > first[0]);
+            stop[0] = true;
+        });
+        invokeAndWait(() -> {
+        });
+
+        int last = runs[0];
+        invokeAndWait(() -> {
+        });
+        assertEquals(last, runs[0]);
+    }
+
+    private void invokeAndWait(Runnable run) throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(run);
+    }
+}
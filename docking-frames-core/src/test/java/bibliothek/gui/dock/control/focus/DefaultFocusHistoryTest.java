@@ -0,0 +1,189 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.focus;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the order in which a {@link DefaultFocusHistory} reports the {@link Dockable}s.
+ *
+ * @author Benjamin Sigg
+ */
+public class DefaultFocusHistoryTest {
+    private DockController controller;
+    private DefaultFocusHistory history;
+    private SplitDockStation split;
+    private StackDockStation stack;
+    private DefaultDockable a, b, c, d;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        history = (DefaultFocusHistory) controller.getFocusHistory();
+        split = new SplitDockStation();
+        controller.add(split);
+        stack = new StackDockStation();
+        a = new DefaultDockable("a");
+        b = new DefaultDockable("b");
+        c = new DefaultDockable("c");
+        d = new DefaultDockable("d");
+        stack.drop(a);
+        stack.drop(b);
+        stack.drop(c);
+        split.drop(stack);
+        split.drop(d);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void focusMovesToEnd() throws Exception {
+        focus(b);
+        focus(d);
+        focus(a);
+        focus(b);
+
+        // split, stack and c never had the focus
+        Dockable[] result = history.getHistory();
+        assertEquals(6, result.length);
+        assertTrue(List.of(result).subList(0, 3).containsAll(List.of(split, stack, c)));
+        assertSame(d, result[3]);
+        assertSame(a, result[4]);
+        assertSame(b, result[5]);
+
+        assertSame(b, history.getFirst(dockable -> true));
+        assertSame(a, history.getFirst(dockable -> dockable != b));
+        assertNull(history.getFirst(dockable -> dockable == c));
+    }
+
+    @Test
+    public void newestOnStation() throws Exception {
+        assertNull(history.getNewestOn(split));
+
+        focus(a);
+        focus(d);
+        focus(b);
+
+        assertSame(b, history.getNewestOn(stack));
+        assertSame(b, history.getNewestOn(split));
+        assertSame(b, history.getNewestOn(stack, split));
+        assertNull(history.getNewestOn());
+
+        focus(a);
+        focus(d);
+        assertSame(a, history.getNewestOn(stack));
+        assertSame(d, history.getNewestOn(split));
+    }
+
+    @Test
+    public void unregisteredDockablesAreForgotten() throws Exception {
+        focus(a);
+        focus(d);
+
+        split.drag(d);
+        assertSame(a, history.getNewestOn(split));
+        for (Dockable dockable : history.getHistory()) {
+            assertNotSame(d, dockable);
+        }
+    }
+
+    @Test
+    public void deepChainsAreClimbedOnce() throws Exception {
+        int depth = 20;
+        List<CountingSplit> chain = new ArrayList<>();
+        CountingSplit parent = new CountingSplit();
+        split.drop(parent);
+        chain.add(parent);
+        for (int i = 1; i < depth; i++) {
+            CountingSplit child = new CountingSplit();
+            parent.drop(child);
+            chain.add(child);
+            parent = child;
+        }
+
+        List<Dockable> leaves = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            DefaultDockable leaf = new DefaultDockable("leaf " + i);
+            parent.drop(leaf);
+            leaves.add(leaf);
+        }
+        for (Dockable leaf : leaves) {
+            focus(leaf);
+        }
+        focus(a);
+
+        // none of the leaves is a child of the stack, each station of the chain is visited only once
+        CountingSplit.climbed = 0;
+        assertSame(a, history.getNewestOn(stack));
+        CountingSplit.climbed = 0;
+        assertNull(history.getNewestOn(new StackDockStation()));
+        assertTrue(CountingSplit.climbed <= depth, "climbed " + CountingSplit.climbed + " times");
+
+        CountingSplit.climbed = 0;
+        assertSame(leaves.get(leaves.size() - 1), history.getNewestOn(chain.get(depth / 2)));
+        assertTrue(CountingSplit.climbed <= depth, "climbed " + CountingSplit.climbed + " times");
+        assertSame(a, history.getNewestOn(chain.get(depth / 2), stack));
+        assertSame(a, history.getNewestOn(split));
+    }
+
+    private void focus(Dockable dockable) throws Exception {
+        controller.setFocusedDockable(dockable, true);
+        // the focus is transferred on the event dispatch thread
+        EventQueue.invokeAndWait(() -> {
+            // ignore
+        });
+        assertSame(dockable, controller.getFocusedDockable());
+    }
+
+    /**
+     * A {@link SplitDockStation} counting how often the chain of parents is climbed through it.
+     */
+    private static class CountingSplit extends SplitDockStation {
+        private static int climbed;
+
+        @Override
+        public Dockable asDockable() {
+            climbed++;
+            return super.asDockable();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.relocator;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.station.layer.DefaultDropLayer;
+import bibliothek.gui.dock.station.layer.DockStationDropLayer;
+import bibliothek.gui.dock.station.layer.DockStationDropLayerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentEvent;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which stations a {@link DropLayerIndex} reports for a location on the screen.
+ *
+ * @author Benjamin Sigg
+ */
+public class DropLayerIndexTest {
+    private DockController controller;
+    private DropLayerIndex index;
+
+    /**
+     * the boundaries each station reports, stations without entry have unknown boundaries
+     */
+    private final Map<DockStation, Rectangle> bounds = new HashMap<>();
+
+    /**
+     * the component of the layer of each station
+     */
+    private final Map<DockStation, JPanel> components = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        controller.getProperties().set(DockStationDropLayerFactory.DROP_LAYER_FACTORY, station -> {
+            JPanel component = components.computeIfAbsent(station, key -> new JPanel());
+            return new DockStationDropLayer[]{new DefaultDropLayer(station) {
+                @Override
+                public Component getComponent() {
+                    return component;
+                }
+
+                @Override
+                public Rectangle getScreenBounds() {
+                    Rectangle result = bounds.get(station);
+                    return result == null ? null : new Rectangle(result);
+                }
+            }};
+        });
+        index = new DropLayerIndex(controller);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        index.unbind();
+        controller.kill();
+    }
+
+    @Test
+    public void stationsAreBucketedByCell() {
+        DockStation a = station(new Rectangle(0, 0, 100, 100));
+        DockStation b = station(new Rectangle(1000, 1000, 100, 100));
+        DockStation c = station(new Rectangle(90, 90, 200, 50));
+        index.bind();
+
+        assertEquals(Set.of(a), stationsAt(50, 50));
+        assertEquals(Set.of(a, c), stationsAt(95, 95));
+        assertEquals(Set.of(c), stationsAt(250, 100));
+        assertEquals(Set.of(b), stationsAt(1050, 1050));
+        assertEquals(Set.of(), stationsAt(500, 500));
+        assertEquals(Set.of(), stationsAt(-50, -50));
+    }
+
+    @Test
+    public void hugeAndUnknownStationsAreAlwaysReported() {
+        DockStation small = station(new Rectangle(0, 0, 100, 100));
+        DockStation huge = station(new Rectangle(0, 0, 128 * 20, 128 * 20));
+        DockStation unknown = station(null);
+        index.bind();
+
+        assertEquals(Set.of(small, huge, unknown), stationsAt(50, 50));
+        assertEquals(Set.of(huge, unknown), stationsAt(-5000, 5000));
+    }
+
+    @Test
+    public void movedStationIsMeasuredAgain() {
+        DockStation station = station(new Rectangle(0, 0, 100, 100));
+        index.bind();
+        assertEquals(Set.of(station), stationsAt(50, 50));
+
+        bounds.put(station, new Rectangle(500, 500, 100, 100));
+        // no event yet, the index still uses the old boundaries
+        assertEquals(Set.of(station), stationsAt(50, 50));
+
+        JPanel component = components.get(station);
+        component.dispatchEvent(new ComponentEvent(component, ComponentEvent.COMPONENT_MOVED));
+        assertEquals(Set.of(), stationsAt(50, 50));
+        assertEquals(Set.of(station), stationsAt(550, 550));
+
+        bounds.put(station, new Rectangle(500, 500, 300, 300));
+        component.dispatchEvent(new ComponentEvent(component, ComponentEvent.COMPONENT_RESIZED));
+        assertEquals(Set.of(station), stationsAt(750, 750));
+    }
+
+    @Test
+    public void removedStationIsNotReported() {
+        DockStation station = station(new Rectangle(0, 0, 100, 100));
+        index.bind();
+        assertEquals(Set.of(station), stationsAt(50, 50));
+
+        controller.remove(station);
+        assertEquals(Set.of(), stationsAt(50, 50));
+    }
+
+    @Test
+    public void unbindReleasesListeners() {
+        DockStation station = station(new Rectangle(0, 0, 100, 100));
+        JPanel component = new JPanel();
+        components.put(station, component);
+        int listeners = component.getComponentListeners().length;
+
+        index.bind();
+        assertEquals(Set.of(station), stationsAt(50, 50));
+        assertEquals(listeners + 1, component.getComponentListeners().length);
+
+        index.unbind();
+        assertFalse(index.isBound());
+        assertEquals(listeners, component.getComponentListeners().length);
+        assertEquals(0, component.getHierarchyListeners().length);
+        assertEquals(0, component.getHierarchyBoundsListeners().length);
+
+        // new stations are ignored after unbind
+        station(new Rectangle(0, 0, 100, 100));
+        assertEquals(Set.of(), stationsAt(50, 50));
+    }
+
+    @Test
+    public void killUnbindsRelocatorIndex() {
+        DockController other = new DockController();
+        DefaultDockRelocator relocator = (DefaultDockRelocator) other.getRelocator();
+        assertTrue(relocator.getDropLayerIndex().isBound());
+
+        other.kill();
+        assertFalse(relocator.getDropLayerIndex().isBound());
+    }
+
+    private DockStation station(Rectangle screenBounds) {
+        StackDockStation station = new StackDockStation();
+        if (screenBounds != null) {
+            bounds.put(station, screenBounds);
+        }
+        controller.add(station);
+        return station;
+    }
+
+    private Set<DockStation> stationsAt(int x, int y) {
+        Set<DockStation> result = new HashSet<>();
+        index.getStationsAt(x, y, result);
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.event;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which listeners of a {@link LocatedListenerList} are affected by an event, and in which order.
+ *
+ * @author Benjamin Sigg
+ */
+public class LocatedListenerListTest {
+    private DockController controller;
+    private SplitDockStation split;
+    private StackDockStation stack;
+    private DefaultDockable dockable;
+    private DefaultDockable sibling;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        split = new SplitDockStation();
+        controller.add(split);
+        stack = new StackDockStation();
+        dockable = new DefaultDockable("dockable");
+        sibling = new DefaultDockable("sibling");
+        stack.drop(dockable);
+        stack.drop(sibling);
+        stack.drop(new DefaultDockable("third"));
+        split.drop(stack);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void innermostListenersFirst() {
+        LocatedListenerList<Listener> list = new LocatedListenerList<>();
+        Listener global = add(list, null);
+        Listener atSplit = add(list, split);
+        Listener atDockable = add(list, dockable);
+        Listener atSibling = add(list, sibling);
+        Listener atStack = add(list, stack);
+        Listener secondAtDockable = add(list, dockable);
+
+        assertEquals(6, list.size());
+        assertEquals(List.of(atDockable, secondAtDockable, atStack, atSplit, global), list.affected(dockable));
+        assertEquals(List.of(atSibling, atStack, atSplit, global), list.affected(sibling));
+        assertEquals(List.of(atStack, atSplit, global), list.affected(stack));
+        assertEquals(List.of(atSplit, global), list.affected(split));
+        assertEquals(List.of(global), list.affected(null));
+    }
+
+    @Test
+    public void fireStopsAtConsumingListener() {
+        LocatedListenerList<Listener> list = new LocatedListenerList<>();
+        add(list, null);
+        add(list, split);
+        Listener atStack = add(list, stack);
+        add(list, dockable);
+        atStack.consume = true;
+
+        List<Listener> called = new ArrayList<>();
+        assertTrue(list.fire(dockable, called, (listener, element, argument) -> {
+            assertSame(dockable, element);
+            argument.add(listener);
+            return listener.consume;
+        }));
+        assertEquals(list.affected(dockable).subList(0, 2), called);
+
+        called.clear();
+        assertFalse(list.fire(sibling, called, (listener, element, argument) -> false));
+    }
+
+    @Test
+    public void removeListenerWithChangedLocation() {
+        LocatedListenerList<Listener> list = new LocatedListenerList<>();
+        Listener listener = add(list, dockable);
+        Listener other = add(list, dockable);
+
+        listener.location = null;
+        list.removeListener(listener);
+        assertEquals(1, list.size());
+        assertEquals(List.of(other), list.affected(dockable));
+
+        list.removeListener(other);
+        assertEquals(0, list.size());
+        assertEquals(List.of(), list.affected(dockable));
+    }
+
+    @Test
+    public void followsTreeChanges() {
+        LocatedListenerList<Listener> list = new LocatedListenerList<>();
+        Listener atStack = add(list, stack);
+        Listener atDockable = add(list, dockable);
+
+        stack.drag(dockable);
+        split.drop(dockable);
+
+        assertEquals(List.of(atDockable), list.affected(dockable));
+        assertEquals(List.of(atStack), list.affected(sibling));
+    }
+
+    private Listener add(LocatedListenerList<Listener> list, DockElement location) {
+        Listener listener = new Listener();
+        listener.location = location;
+        list.addListener(listener);
+        return listener;
+    }
+
+    private static class Listener implements LocatedListener {
+        private DockElement location;
+        private boolean consume;
+
+        public DockElement getTreeLocation() {
+            return location;
+        }
+    }
+}
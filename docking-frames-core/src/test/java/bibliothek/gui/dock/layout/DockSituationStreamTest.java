@@ -0,0 +1,137 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import bibliothek.util.Path;
+import bibliothek.util.Version;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DockSituationStreamTest {
+    @Test
+    public void bothFormatsKeepUnknownEntries() throws IOException {
+        Random random = new Random(13);
+        DockLayoutComposition composition = createComposition(random, 4);
+
+        DockSituation situation = new DockSituation();
+
+        situation.setStreamFormat(Version.VERSION_1_0_8);
+        byte[] old = write(situation, composition);
+        DockLayoutComposition readOld = read(situation, old);
+        assertSame(composition, readOld);
+
+        situation.setStreamFormat(Version.VERSION_1_1_2);
+        byte[] current = write(situation, composition);
+        DockLayoutComposition readCurrent = read(situation, current);
+        assertSame(composition, readCurrent);
+
+        assertTrue(current.length < old.length, "new format should be smaller");
+
+        // converting between the formats must not change anything
+        situation.setStreamFormat(Version.VERSION_1_0_8);
+        assertArrayEquals(old, write(situation, readCurrent));
+    }
+
+    @Test
+    public void originalFormatIsDefault() throws IOException {
+        DockLayoutComposition composition = createComposition(new Random(17), 3);
+
+        DockSituation situation = new DockSituation();
+        assertEquals(Version.VERSION_1_0_8, situation.getStreamFormat());
+        byte[] defaults = write(situation, composition);
+
+        situation.setStreamFormat(Version.VERSION_1_0_8);
+        assertArrayEquals(write(situation, composition), defaults);
+    }
+
+    @Test
+    public void unsupportedFormat() {
+        DockSituation situation = new DockSituation();
+        assertThrows(IllegalArgumentException.class, () -> situation.setStreamFormat(Version.VERSION_1_0_4));
+    }
+
+    private byte[] write(DockSituation situation, DockLayoutComposition composition) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        situation.writeComposition(composition, out);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private DockLayoutComposition read(DockSituation situation, byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        DockLayoutComposition result = situation.readComposition(in);
+        assertEquals(-1, in.read());
+        return result;
+    }
+
+    private void assertSame(DockLayoutComposition expected, DockLayoutComposition actual) {
+        assertEquals(expected.isIgnoreChildren(), actual.isIgnoreChildren());
+        assertEquals(expected.getLayout().getPlaceholder(), actual.getLayout().getPlaceholder());
+        assertEquals(DockLayoutInfo.Data.BYTE, actual.getLayout().getKind());
+        assertArrayEquals(expected.getLayout().getDataByte(), actual.getLayout().getDataByte());
+
+        List<DockLayoutComposition> expectedChildren = expected.getChildren();
+        List<DockLayoutComposition> actualChildren = actual.getChildren();
+        assertEquals(expectedChildren.size(), actualChildren.size());
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            assertSame(expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+
+    private DockLayoutComposition createComposition(Random random, int depth) throws IOException {
+        String factory = "factory" + random.nextInt(3);
+        byte[] data = new byte[random.nextInt(200)];
+        random.nextBytes(data);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(factory);
+        out.writeInt(data.length);
+        out.write(data);
+        out.close();
+
+        DockLayoutInfo info = new DockLayoutInfo(bytes.toByteArray());
+        if (random.nextBoolean()) {
+            info.setPlaceholder(new Path("placeholder", String.valueOf(random.nextInt(4))));
+        }
+
+        List<DockLayoutComposition> children = new ArrayList<>();
+        if (depth > 0) {
+            int count = random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                children.add(createComposition(random, depth - 1));
+            }
+        }
+        return new DockLayoutComposition(info, null, children, random.nextBoolean());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.screen.magnet;
+
+import bibliothek.gui.dock.station.screen.magnet.MagnetRequest.Side;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SideIndexTest {
+    @Test
+    public void neighborsMatchLinearScan() {
+        Random random = new Random(7);
+        SideIndex<String> index = new SideIndex<>();
+        List<String> items = new ArrayList<>();
+        List<Rectangle> bounds = new ArrayList<>();
+
+        for (int i = 0; i < 60; i++) {
+            items.add("item" + i);
+            bounds.add(randomBounds(random));
+            index.put(items.get(i), i, bounds.get(i));
+        }
+
+        for (int step = 0; step < 500; step++) {
+            int moved = random.nextInt(items.size());
+            bounds.set(moved, randomBounds(random));
+            index.put(items.get(moved), moved, bounds.get(moved));
+
+            Rectangle query = randomBounds(random);
+            int threshold = random.nextInt(12);
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (near(query, bounds.get(i), threshold)) {
+                    expected.add(items.get(i));
+                }
+            }
+            assertEquals(expected, index.getNeighbors(query, threshold));
+        }
+    }
+
+    @Test
+    public void searchSingleSide() {
+        SideIndex<String> index = new SideIndex<>();
+        index.put("b", 1, new Rectangle(10, 0, 10, 10));
+        index.put("a", 0, new Rectangle(20, 0, 10, 10));
+        index.put("c", 2, new Rectangle(40, 0, 10, 10));
+
+        assertEquals(List.of("a", "b"), index.search(Side.WEST, 5, 25));
+        assertEquals(List.of("b"), index.search(Side.EAST, 19, 19));
+        assertEquals(List.of(), index.search(Side.WEST, 25, 5));
+    }
+
+    @Test
+    public void removeAndUpdate() {
+        SideIndex<String> index = new SideIndex<>();
+        index.put("a", 0, new Rectangle(0, 0, 10, 10));
+        index.put("b", 1, new Rectangle(10, 0, 10, 10));
+        assertEquals(2, index.size());
+        assertEquals(List.of("b"), index.getNeighbors(new Rectangle(0, 0, 10, 10), 1));
+        assertEquals(List.of("a", "b"), index.getNeighbors(new Rectangle(0, 10, 20, 10), 1));
+
+        index.put("b", 1, new Rectangle(100, 100, 10, 10));
+        assertEquals(List.of("a"), index.getNeighbors(new Rectangle(0, 10, 20, 10), 1));
+
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        assertFalse(index.contains("a"));
+        assertEquals(List.of(), index.getNeighbors(new Rectangle(0, 10, 20, 10), 1));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.search(Side.WEST, 0, 1000));
+    }
+
+    private boolean near(Rectangle query, Rectangle item, int threshold) {
+        for (Side side : Side.values()) {
+            int distance = SideIndex.getValue(query, side) - SideIndex.getValue(item, side.opposite());
+            if (Math.abs(distance) <= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Rectangle randomBounds(Random random) {
+        return new Rectangle(random.nextInt(200), random.nextInt(200), 1 + random.nextInt(60), 1 + random.nextInt(60));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.screen.window;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.ScreenDockStation;
+import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.ScreenDockWindowFactory;
+import bibliothek.gui.dock.util.NullWindowProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a {@link ScreenDockStation} tells its {@link ScreenDockWindowFactory} when it no longer
+ * uses the factory, allowing the factory to release pooled windows.
+ *
+ * @author Benjamin Sigg
+ */
+public class ScreenDockWindowFactoryUninstallTest {
+    @Test
+    public void replacedFactoryIsUninstalled() {
+        ScreenDockStation station = new ScreenDockStation(new NullWindowProvider());
+        RecordingFactory first = new RecordingFactory();
+        RecordingFactory second = new RecordingFactory();
+
+        station.setWindowFactory(first);
+        assertTrue(first.uninstalled.isEmpty());
+
+        station.setWindowFactory(second);
+        assertEquals(List.of(station), first.uninstalled);
+        assertTrue(second.uninstalled.isEmpty());
+    }
+
+    @Test
+    public void removedStationUninstallsFactory() {
+        DockController controller = new DockController();
+        try {
+            ScreenDockStation station = new ScreenDockStation(new NullWindowProvider());
+            RecordingFactory factory = new RecordingFactory();
+            station.setWindowFactory(factory);
+
+            controller.add(station);
+            assertTrue(factory.uninstalled.isEmpty());
+
+            controller.remove(station);
+            assertEquals(List.of(station), factory.uninstalled);
+        } finally {
+            controller.kill();
+        }
+    }
+
+    @Test
+    public void clearPoolOfUnknownStation() {
+        DefaultScreenDockWindowFactory factory = new DefaultScreenDockWindowFactory();
+        factory.setPoolCapacity(2);
+        factory.uninstall(new ScreenDockStation(new NullWindowProvider()));
+        assertEquals(0, factory.getPooledWindowCount());
+    }
+
+    private static class RecordingFactory implements ScreenDockWindowFactory {
+        private final List<ScreenDockStation> uninstalled = new ArrayList<>();
+
+        public ScreenDockWindow createWindow(ScreenDockStation station, WindowConfiguration configuration) {
+            throw new UnsupportedOperationException();
+        }
+
+        public ScreenDockWindow updateWindow(ScreenDockWindow window, WindowConfiguration configuration,
+                                             ScreenDockStation station) {
+            return null;
+        }
+
+        @Override
+        public void uninstall(ScreenDockStation station) {
+            uninstalled.add(station);
+        }
+    }
+}
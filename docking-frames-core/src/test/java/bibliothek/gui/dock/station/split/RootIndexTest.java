@@ -0,0 +1,169 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the index of the {@link Root} of a {@link SplitDockStation} always matches the tree.
+ *
+ * @author Benjamin Sigg
+ */
+public class RootIndexTest {
+    private DockController controller;
+    private SplitDockStation station;
+
+    @BeforeEach
+    public void setUp() {
+        controller = new DockController();
+        station = new SplitDockStation();
+        controller.add(station);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.kill();
+    }
+
+    @Test
+    public void dropAndRemove() {
+        Random random = new Random(7);
+
+        for (int step = 0; step < 300; step++) {
+            int count = station.getDockableCount();
+            if (count == 0 || random.nextInt(3) != 0) {
+                Dockable dockable = new DefaultDockable("d" + step);
+                double x = random.nextDouble() * 0.8;
+                double y = random.nextDouble() * 0.8;
+                station.drop(dockable, new SplitDockProperty(x, y, 0.2, 0.2));
+            } else {
+                station.drag(station.getDockable(random.nextInt(count)));
+            }
+
+            check();
+        }
+    }
+
+    @Test
+    public void replace() {
+        Dockable first = new DefaultDockable("first");
+        Dockable second = new DefaultDockable("second");
+        station.drop(first);
+        station.drop(second, new SplitDockProperty(0.5, 0, 0.5, 1));
+
+        Leaf leaf = station.getRoot().getLeaf(first);
+        assertNotNull(leaf);
+
+        Dockable replacement = new DefaultDockable("replacement");
+        station.replace(first, replacement);
+
+        assertNull(station.getRoot().getLeaf(first));
+        assertNotNull(station.getRoot().getLeaf(replacement));
+        assertEquals(-1, station.indexOfDockable(first));
+        assertEquals(2, station.getDockableCount());
+        check();
+    }
+
+    @Test
+    public void removeAndLookup() {
+        List<Dockable> dockables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Dockable dockable = new DefaultDockable("d" + i);
+            station.drop(dockable, new SplitDockProperty(0.05 * i, 0, 0.05, 1));
+            dockables.add(dockable);
+        }
+        check();
+
+        // first, last and somewhere in the middle
+        for (int round = 0; round < 3; round++) {
+            int count = station.getDockableCount();
+            int index = round == 0 ? 0 : (round == 1 ? count - 1 : count / 2);
+            Dockable removed = station.getDockable(index);
+            station.drag(removed);
+            assertEquals(-1, station.indexOfDockable(removed));
+            dockables.remove(removed);
+            check();
+        }
+
+        while (station.getDockableCount() > 0) {
+            Dockable removed = station.getDockable(0);
+            station.drag(removed);
+            assertEquals(-1, station.indexOfDockable(removed));
+            check();
+        }
+        for (Dockable dockable : dockables) {
+            assertEquals(-1, station.indexOfDockable(dockable));
+        }
+    }
+
+    private void check() {
+        for (int i = 0, n = station.getDockableCount(); i < n; i++) {
+            assertEquals(i, station.indexOfDockable(station.getDockable(i)));
+        }
+
+        Root root = station.getRoot();
+        List<SplitNode> nodes = new ArrayList<>();
+        root.visit(new SplitNodeVisitor() {
+            public void handleRoot(Root root) {
+                nodes.add(root);
+            }
+
+            public void handleNode(Node node) {
+                nodes.add(node);
+            }
+
+            public void handleLeaf(Leaf leaf) {
+                nodes.add(leaf);
+                assertSame(leaf, root.getLeaf(leaf.getDockable()));
+            }
+
+            public void handlePlaceholder(Placeholder placeholder) {
+                nodes.add(placeholder);
+            }
+        });
+
+        int leafs = 0;
+        for (SplitNode node : nodes) {
+            assertSame(node, station.getNode(node.getId()));
+            if (node instanceof Leaf) {
+                leafs++;
+            }
+        }
+        assertEquals(station.getDockableCount(), leafs);
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack.tab;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.station.stack.tab.layouting.LayoutBlock;
+import bibliothek.gui.dock.station.stack.tab.layouting.TabPlacement;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that an {@link AbstractTabPane} with {@link TabPane#LAZY_TABS} only keeps the tabs that are shown.
+ *
+ * @author Benjamin Sigg
+ */
+public class AbstractTabPaneLazyTabsTest {
+    @Test
+    public void onlyVisibleTabsExist() {
+        TestPane pane = new TestPane(true);
+        fill(pane, 100);
+
+        int visible = pane.getVisibleTabCount();
+        assertTrue(visible > 0);
+        assertTrue(visible < 10);
+        assertEquals(visible, pane.getTabsList().size());
+        assertTrue(pane.created <= visible + 1, "created " + pane.created + " tabs");
+
+        for (Dockable dockable : pane.getDockables()) {
+            boolean onTab = pane.getTab(dockable) != null;
+            boolean inMenu = pane.getMenu(dockable) != null;
+            assertTrue(onTab != inMenu);
+        }
+    }
+
+    @Test
+    public void tabsAreRecycledWhenSelectionChanges() {
+        TestPane pane = new TestPane(true);
+        fill(pane, 100);
+
+        Dockable last = pane.getDockable(99);
+        assertNotNull(pane.getMenu(last));
+        pane.setSelectedDockable(last);
+
+        assertNotNull(pane.getTab(last));
+        assertTrue(pane.getTab(last).isPaneVisible());
+        assertNull(pane.getMenu(last));
+        assertEquals(pane.getVisibleTabCount(), pane.getTabsList().size());
+        assertEquals(pane.created - pane.removed, pane.getTabsList().size());
+    }
+
+    @Test
+    public void sameLayoutAsEagerTabs() {
+        TestPane eager = new TestPane(false);
+        TestPane lazy = new TestPane(true);
+        fill(eager, 30);
+        fill(lazy, 30);
+
+        assertEquals(30, eager.created);
+        for (int i = 0; i < 30; i++) {
+            Dockable eagerDockable = eager.getDockable(i);
+            Dockable lazyDockable = lazy.getDockable(i);
+            assertEquals(eager.getMenu(eagerDockable) == null, lazy.getMenu(lazyDockable) == null);
+            Tab eagerTab = eager.getTab(eagerDockable);
+            if (eagerTab.isPaneVisible()) {
+                assertEquals(eagerTab.getBounds(), lazy.getTab(lazyDockable).getBounds());
+            }
+        }
+    }
+
+    private void fill(TestPane pane, int count) {
+        for (int i = 0; i < count; i++) {
+            pane.insert(i, new DefaultDockable("dockable " + i));
+        }
+    }
+
+    private static class TestPane extends AbstractTabPane<TestTab, TestMenu, TestInfo> {
+        private int created = 0;
+        private int removed = 0;
+        private Rectangle selectedBounds = new Rectangle();
+
+        public TestPane(boolean lazy) {
+            setLayoutManager(new MenuLineLayout());
+            setLazyTabs(lazy);
+        }
+
+        public Dimension getMinimumSize(Dockable dockable) {
+            return new Dimension(10, 10);
+        }
+
+        public Dimension getPreferredSize(Dockable dockable) {
+            return new Dimension(10, 10);
+        }
+
+        public Rectangle getAvailableArea() {
+            return new Rectangle(0, 0, 250, 200);
+        }
+
+        public Rectangle getSelectedBounds() {
+            return selectedBounds;
+        }
+
+        public void setSelectedBounds(Rectangle bounds) {
+            selectedBounds = bounds;
+        }
+
+        @Override
+        protected void addToMenu(TestMenu menu, Dockable dockable) {
+            menu.dockables.add(dockable);
+        }
+
+        @Override
+        protected void removeFromMenu(TestMenu menu, Dockable dockable) {
+            menu.dockables.remove(dockable);
+        }
+
+        @Override
+        protected TestTab newTab(Dockable dockable) {
+            created++;
+            return new TestTab(this, dockable);
+        }
+
+        @Override
+        public TestMenu newMenu() {
+            return new TestMenu(this);
+        }
+
+        @Override
+        protected void tabRemoved(TestTab tab) {
+            removed++;
+        }
+
+        @Override
+        protected void menuRemoved(TestMenu menu) {
+            // ignore
+        }
+    }
+
+    private abstract static class TestComponent implements TabPaneComponent {
+        private final TabPane pane;
+        private final Rectangle bounds = new Rectangle();
+        private boolean visible;
+        private int zOrder;
+
+        public TestComponent(TabPane pane) {
+            this.pane = pane;
+        }
+
+        public TabPane getTabParent() {
+            return pane;
+        }
+
+        public Rectangle getBounds() {
+            return new Rectangle(bounds);
+        }
+
+        public void setBounds(Rectangle bounds) {
+            this.bounds.setBounds(bounds);
+        }
+
+        public void setZOrder(int order) {
+            zOrder = order;
+        }
+
+        public int getZOrder() {
+            return zOrder;
+        }
+
+        public Insets getOverlap(TabPaneComponent other) {
+            return new Insets(0, 0, 0, 0);
+        }
+
+        public Dimension getMaximumSize() {
+            return getPreferredSize();
+        }
+
+        public void setPaneVisible(boolean visible) {
+            this.visible = visible;
+        }
+
+        public boolean isPaneVisible() {
+            return visible;
+        }
+
+        public void setOrientation(TabPlacement orientation) {
+            // ignore
+        }
+    }
+
+    private static class TestTab extends TestComponent implements Tab {
+        private final Dockable dockable;
+
+        public TestTab(TabPane pane, Dockable dockable) {
+            super(pane);
+            this.dockable = dockable;
+        }
+
+        public Dockable getDockable() {
+            return dockable;
+        }
+
+        public Dimension getMinimumSize(Tab[] tabs) {
+            return getMinimumSize();
+        }
+
+        public Dimension getPreferredSize(Tab[] tabs) {
+            return getPreferredSize();
+        }
+
+        public Dimension getMinimumSize() {
+            return new Dimension(40, 20);
+        }
+
+        public Dimension getPreferredSize() {
+            return new Dimension(50, 20);
+        }
+    }
+
+    private static class TestMenu extends TestComponent implements TabMenu {
+        private final List<Dockable> dockables = new ArrayList<>();
+
+        public TestMenu(TabPane pane) {
+            super(pane);
+        }
+
+        public Dockable[] getDockables() {
+            return dockables.toArray(new Dockable[0]);
+        }
+
+        public Dockable getDockable(int index) {
+            return dockables.get(index);
+        }
+
+        public int getDockableCount() {
+            return dockables.size();
+        }
+
+        public void addTabMenuListener(TabMenuListener listener) {
+            // ignore
+        }
+
+        public void removeTabMenuListener(TabMenuListener listener) {
+            // ignore
+        }
+
+        public Dimension getMinimumSize() {
+            return new Dimension(20, 20);
+        }
+
+        public Dimension getPreferredSize() {
+            return new Dimension(20, 20);
+        }
+    }
+
+    private abstract static class TestInfo extends TestComponent implements LonelyTabPaneComponent {
+        public TestInfo(TabPane pane) {
+            super(pane);
+        }
+
+        public LayoutBlock toLayoutBlock() {
+            return null;
+        }
+    }
+}
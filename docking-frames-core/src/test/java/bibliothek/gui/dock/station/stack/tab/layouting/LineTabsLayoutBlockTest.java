@@ -0,0 +1,239 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack.tab.layouting;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.station.stack.tab.Tab;
+import bibliothek.gui.dock.station.stack.tab.TabPane;
+import bibliothek.gui.dock.station.stack.tab.TabPaneComponent;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LineTabsLayoutBlockTest {
+    @Test
+    public void sizeCollectorMatchesFullCalculation() {
+        Random random = new Random(7);
+
+        for (TabPlacement placement : new TabPlacement[]{TabPlacement.TOP_OF_DOCKABLE, TabPlacement.LEFT_OF_DOCKABLE}) {
+            LineTabsLayoutBlock block = new LineTabsLayoutBlock();
+            block.setOrientation(placement);
+
+            for (int run = 0; run < 20; run++) {
+                int count = 1 + random.nextInt(30);
+                Dockable[] dockables = new Dockable[count];
+                List<TestTab> tabs = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    dockables[i] = new DefaultDockable();
+                    tabs.add(new TestTab(dockables[i], i, random));
+                }
+                Collections.shuffle(tabs, random);
+
+                LineTabsLayoutBlock.SizeCollector collector = block.new SizeCollector(dockables);
+                TestTab[] visible = new TestTab[count];
+                for (TestTab tab : tabs) {
+                    collector.insert(tab);
+                    visible[tab.index] = tab;
+
+                    assertEquals(expected(visible, placement, true), collector.getMinimumSize());
+                    assertEquals(expected(visible, placement, false), collector.getPreferredSize());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sizeCollectorTracksBreadthOfReplacedTabs() {
+        Random random = new Random(11);
+
+        for (TabPlacement placement : new TabPlacement[]{TabPlacement.TOP_OF_DOCKABLE, TabPlacement.LEFT_OF_DOCKABLE}) {
+            LineTabsLayoutBlock block = new LineTabsLayoutBlock();
+            block.setOrientation(placement);
+
+            int count = 12;
+            Dockable[] dockables = new Dockable[count];
+            for (int i = 0; i < count; i++) {
+                dockables[i] = new DefaultDockable();
+            }
+
+            LineTabsLayoutBlock.SizeCollector collector = block.new SizeCollector(dockables);
+            TestTab[] visible = new TestTab[count];
+
+            // few different breadths, so many tabs share the largest one and tabs are replaced often
+            for (int step = 0; step < 300; step++) {
+                int index = random.nextInt(count);
+                TestTab tab = new TestTab(dockables[index], index, 20 + random.nextInt(10), 10 + random.nextInt(3),
+                        random.nextInt(5));
+                collector.insert(tab);
+                visible[index] = tab;
+
+                assertEquals(expected(visible, placement, true), collector.getMinimumSize());
+                assertEquals(expected(visible, placement, false), collector.getPreferredSize());
+            }
+        }
+    }
+
+    private Dimension expected(TestTab[] tabs, TabPlacement placement, boolean minimum) {
+        List<Tab> visible = new ArrayList<>();
+        for (TestTab tab : tabs) {
+            if (tab != null) {
+                visible.add(tab);
+            }
+        }
+        Tab[] all = visible.toArray(new Tab[0]);
+        boolean horizontal = placement.isHorizontal();
+
+        int length = 0;
+        int breadth = 0;
+        for (int i = 0; i < all.length; i++) {
+            Dimension size = minimum ? all[i].getMinimumSize(all) : all[i].getPreferredSize(all);
+            length += horizontal ? size.width : size.height;
+            breadth = Math.max(breadth, horizontal ? size.height : size.width);
+
+            if (i > 0) {
+                Insets next = all[i - 1].getOverlap(all[i]);
+                Insets previous = all[i].getOverlap(all[i - 1]);
+                if (horizontal) {
+                    length -= Math.max(next.right, previous.left);
+                } else {
+                    length -= Math.max(next.bottom, previous.top);
+                }
+            }
+        }
+
+        return horizontal ? new Dimension(length, breadth) : new Dimension(breadth, length);
+    }
+
+    /**
+     * A tab whose size depends on whether it has neighbors.
+     */
+    private static class TestTab implements Tab {
+        private final Dockable dockable;
+        private final int index;
+        private final int width;
+        private final int height;
+        private final int overlap;
+
+        public TestTab(Dockable dockable, int index, Random random) {
+            this(dockable, index, 20 + random.nextInt(50), 10 + random.nextInt(20), random.nextInt(5));
+        }
+
+        public TestTab(Dockable dockable, int index, int width, int height, int overlap) {
+            this.dockable = dockable;
+            this.index = index;
+            this.width = width;
+            this.height = height;
+            this.overlap = overlap;
+        }
+
+        public Dockable getDockable() {
+            return dockable;
+        }
+
+        private Dimension size(Tab[] tabs, int base) {
+            for (int i = 0; i < tabs.length; i++) {
+                if (tabs[i] == this) {
+                    int w = base + width;
+                    int h = base + height;
+                    if (i > 0) {
+                        w += 3;
+                        h += ((TestTab) tabs[i - 1]).index % 3;
+                    }
+                    if (i + 1 < tabs.length) {
+                        w += 5;
+                        h += ((TestTab) tabs[i + 1]).index % 2;
+                    }
+                    return new Dimension(w, h);
+                }
+            }
+            throw new IllegalArgumentException("tab not in array");
+        }
+
+        public Dimension getMinimumSize(Tab[] tabs) {
+            return size(tabs, 0);
+        }
+
+        public Dimension getPreferredSize(Tab[] tabs) {
+            return size(tabs, 10);
+        }
+
+        public Insets getOverlap(TabPaneComponent other) {
+            int value = overlap + ((TestTab) other).overlap;
+            return new Insets(value, value + 1, value + 2, value + 3);
+        }
+
+        public TabPane getTabParent() {
+            return null;
+        }
+
+        public Rectangle getBounds() {
+            return new Rectangle();
+        }
+
+        public void setBounds(Rectangle bounds) {
+            // ignore
+        }
+
+        public void setZOrder(int order) {
+            // ignore
+        }
+
+        public int getZOrder() {
+            return 0;
+        }
+
+        public Dimension getMinimumSize() {
+            return new Dimension(width, height);
+        }
+
+        public Dimension getPreferredSize() {
+            return new Dimension(width + 10, height + 10);
+        }
+
+        public Dimension getMaximumSize() {
+            return getPreferredSize();
+        }
+
+        public void setPaneVisible(boolean visible) {
+            // ignore
+        }
+
+        public boolean isPaneVisible() {
+            return true;
+        }
+
+        public void setOrientation(TabPlacement orientation) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import bibliothek.gui.dock.station.support.PlaceholderList.Level;
+import bibliothek.util.Path;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies random modifications to a {@link PlaceholderList} and compares the results of the indexed
+ * lookups with the results of a plain iteration over the list.
+ *
+ * @author Benjamin Sigg
+ */
+public class PlaceholderListTest {
+    private static final int PATHS = 40;
+
+    @Test
+    public void randomModifications() {
+        Random random = new Random(42);
+        TestList list = new TestList();
+        int nextDockable = 0;
+
+        for (int step = 0; step < 4000; step++) {
+            int size = list.list().size();
+            int dockables = list.dockables().size();
+
+            switch (random.nextInt(9)) {
+                case 0, 1 -> list.dockables().add(random.nextInt(dockables + 1), new TestItem("d" + nextDockable++));
+                case 2 -> {
+                    if (dockables > 0) {
+                        list.remove(random.nextInt(dockables));
+                    }
+                }
+                case 3 -> list.put(path(random), new TestItem("d" + nextDockable++));
+                case 4 -> list.list().insertPlaceholder(random.nextInt(size + 1), path(random));
+                case 5 -> {
+                    if (size > 0 && size > 2 * dockables) {
+                        list.list().remove(random.nextInt(size));
+                    }
+                }
+                case 6 -> {
+                    if (dockables > 0) {
+                        list.dockables().move(random.nextInt(dockables), random.nextInt(dockables));
+                    }
+                }
+                case 7 -> {
+                    if (size > 0) {
+                        list.list().move(random.nextInt(size), random.nextInt(size));
+                    }
+                }
+                case 8 -> {
+                    if (random.nextBoolean()) {
+                        list.removeAll(path(random));
+                    } else if (dockables > 0) {
+                        list.dockables().addPlaceholder(random.nextInt(dockables), path(random));
+                    }
+                }
+            }
+
+            check(list);
+        }
+    }
+
+    @Test
+    public void clearAndReuse() {
+        TestList list = new TestList();
+        for (int i = 0; i < 10; i++) {
+            list.dockables().add(new TestItem("d" + i));
+            list.remove(0);
+        }
+        assertEquals(10, list.list().size());
+        check(list);
+
+        TestList.Item item = list.list().get(0);
+        list.clear();
+        item.add(new Path("p", "old"));
+        assertFalse(list.hasPlaceholder(new Path("p", "old")));
+        assertEquals(0, list.list().size());
+
+        list.dockables().add(new TestItem("x"));
+        list.remove(0);
+        assertEquals(0, list.getListIndex(new Path("p", "x")));
+        check(list);
+    }
+
+    private static Path path(Random random) {
+        int index = random.nextInt(PATHS);
+        if (index < PATHS / 2) {
+            return new Path("p", "d" + index);
+        }
+        return new Path("q", String.valueOf(index));
+    }
+
+    private static void check(TestList list) {
+        List<TestList.Item> items = new ArrayList<>();
+        for (TestList.Item item : list.list()) {
+            items.add(item);
+        }
+
+        assertEquals(items.size(), list.list().size());
+        assertEquals(items.size(), list.size(Level.BASE));
+
+        int dockables = 0;
+        int placeholders = 0;
+
+        for (int i = 0; i < items.size(); i++) {
+            TestList.Item item = items.get(i);
+            assertSame(item, list.list().get(i));
+
+            if (item.isPlaceholder()) {
+                assertSame(item.getPlaceholderSet(), list.purePlaceholders().get(placeholders));
+                assertEquals(placeholders, list.baseToLevel(i, Level.PLACEHOLDER));
+                assertEquals(-1, list.baseToLevel(i, Level.DOCKABLE));
+                assertEquals(i, list.levelToBase(placeholders, Level.PLACEHOLDER));
+                placeholders++;
+            } else {
+                assertSame(item.getDockable(), list.dockables().get(dockables));
+                assertSame(item, list.getItem(item.getDockable().asDockable()));
+                assertEquals(dockables, list.baseToLevel(i, Level.DOCKABLE));
+                assertEquals(-1, list.baseToLevel(i, Level.PLACEHOLDER));
+                assertEquals(i, list.levelToBase(dockables, Level.DOCKABLE));
+                dockables++;
+            }
+        }
+
+        assertEquals(dockables, list.dockables().size());
+        assertEquals(placeholders, list.purePlaceholders().size());
+
+        for (int p = 0; p < PATHS; p++) {
+            Path path = p < PATHS / 2 ? new Path("p", "d" + p) : new Path("q", String.valueOf(p));
+
+            int listIndex = -1;
+            int dockableIndex = -1;
+            int dockablesInFront = 0;
+            int level = 0;
+
+            for (int i = 0; i < items.size(); i++) {
+                TestList.Item item = items.get(i);
+                if (item.hasPlaceholder(path)) {
+                    if (listIndex == -1) {
+                        listIndex = i;
+                        dockablesInFront = level + (item.isPlaceholder() ? 0 : 1);
+                    }
+                    if (dockableIndex == -1 && !item.isPlaceholder()) {
+                        dockableIndex = level;
+                    }
+                }
+                if (!item.isPlaceholder()) {
+                    level++;
+                }
+            }
+
+            assertEquals(listIndex, list.getListIndex(path), path.toString());
+            assertEquals(listIndex != -1, list.hasPlaceholder(path));
+            assertEquals(listIndex, list.list().indexOfPlaceholder(path));
+            assertEquals(dockableIndex, list.dockables().indexOfPlaceholder(path));
+            assertEquals(listIndex == -1 ? -1 : dockablesInFront, list.getDockableIndex(path));
+        }
+    }
+
+    private static class TestItem implements PlaceholderListItem<String> {
+        private final String name;
+
+        public TestItem(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String asDockable() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class TestList extends PlaceholderList<String, Object, TestItem> {
+        @Override
+        protected Path getPlaceholder(String dockable) {
+            return new Path("p", dockable);
+        }
+
+        @Override
+        protected String toString(String dockable) {
+            return dockable;
+        }
+
+        @Override
+        protected Object toStation(String dockable) {
+            return null;
+        }
+
+        @Override
+        protected PlaceholderMap getPlaceholders(Object station) {
+            return null;
+        }
+
+        @Override
+        protected void setPlaceholders(Object station, PlaceholderMap map) {
+            // not supported
+        }
+
+        @Override
+        protected String[] getChildren(Object station) {
+            return new String[0];
+        }
+    }
+}
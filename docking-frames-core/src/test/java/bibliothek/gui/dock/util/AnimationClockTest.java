@@ -0,0 +1,181 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import bibliothek.extension.gui.dock.theme.bubble.BubbleColorAnimation;
+import bibliothek.extension.gui.dock.theme.smooth.SmoothChanger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks when an {@link AnimationClock} runs its timer and how animations move between clocks.
+ *
+ * @author Benjamin Sigg
+ */
+public class AnimationClockTest {
+    private AnimationClock clockA;
+    private AnimationClock clockB;
+
+    @BeforeEach
+    public void setUp() {
+        clockA = new AnimationClock();
+        clockB = new AnimationClock();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clockA.kill();
+        clockB.kill();
+    }
+
+    @Test
+    public void framesPerSecondAreStoredAsRequested() {
+        assertEquals(AnimationClock.DEFAULT_FRAMES_PER_SECOND, clockA.getFramesPerSecond());
+
+        clockA.setFramesPerSecond(24);
+        assertEquals(24, clockA.getFramesPerSecond());
+
+        clockA.setFramesPerSecond(5000);
+        assertEquals(5000, clockA.getFramesPerSecond());
+
+        assertThrows(IllegalArgumentException.class, () -> clockA.setFramesPerSecond(0));
+        assertEquals(5000, clockA.getFramesPerSecond());
+        assertEquals(30, new AnimationClock(30).getFramesPerSecond());
+    }
+
+    @Test
+    public void timerStopsWithLastAnimation() {
+        AnimationClock.Animation first = now -> {
+            // ignore
+        };
+        AnimationClock.Animation second = now -> {
+            // ignore
+        };
+        assertFalse(clockA.isRunning());
+
+        clockA.start(first);
+        clockA.start(second);
+        assertTrue(clockA.isRunning());
+        assertTrue(clockA.isRunning(first));
+
+        clockA.stop(first);
+        assertTrue(clockA.isRunning());
+        assertFalse(clockA.isRunning(first));
+
+        clockA.stop(second);
+        assertFalse(clockA.isRunning());
+        assertFalse(clockA.isRunning(second));
+    }
+
+    @Test
+    public void animationStoppingItselfStopsTimer() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger ticks = new AtomicInteger();
+        clockA.start(new AnimationClock.Animation() {
+            public void tick(long now) {
+                if (ticks.incrementAndGet() == 3) {
+                    clockA.stop(this);
+                    done.countDown();
+                }
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        EventQueue.invokeAndWait(() -> {
+            // ignore
+        });
+        assertEquals(3, ticks.get());
+        assertFalse(clockA.isRunning());
+    }
+
+    @Test
+    public void setClockMovesRunningChanger() {
+        SmoothChanger changer = new SmoothChanger(60000, 2) {
+            @Override
+            protected int destination() {
+                return 1;
+            }
+
+            @Override
+            protected void repaint(int[] current) {
+                // ignore
+            }
+        };
+        changer.setClock(clockA);
+        changer.trigger();
+        assertTrue(changer.isRunning());
+        assertTrue(clockA.isRunning());
+
+        changer.setClock(clockB);
+        assertTrue(changer.isRunning());
+        assertFalse(clockA.isRunning());
+        assertTrue(clockB.isRunning());
+    }
+
+    @Test
+    public void setClockDoesNotStartIdleChanger() {
+        SmoothChanger changer = new SmoothChanger(60000, 2) {
+            @Override
+            protected int destination() {
+                return 1;
+            }
+
+            @Override
+            protected void repaint(int[] current) {
+                // ignore
+            }
+        };
+        changer.setClock(clockA);
+        changer.setClock(clockB);
+        assertFalse(changer.isRunning());
+        assertFalse(clockA.isRunning());
+        assertFalse(clockB.isRunning());
+    }
+
+    @Test
+    public void setClockMovesRunningColorAnimation() {
+        BubbleColorAnimation animation = new BubbleColorAnimation();
+        animation.setDuration(60000);
+        animation.setClock(clockA);
+        animation.putColor("color", Color.RED);
+        assertFalse(clockA.isRunning());
+
+        animation.putColor("color", Color.BLUE);
+        assertTrue(clockA.isRunning());
+
+        animation.setClock(clockB);
+        assertFalse(clockA.isRunning());
+        assertTrue(clockB.isRunning());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import bibliothek.gui.dock.station.LayoutLocked;
+import bibliothek.gui.dock.util.DockUtilities.CheckLayoutLockedMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link DockUtilities#checkLayoutLocked()} finds the {@link LayoutLocked} annotation of the
+ * callers and respects the {@link CheckLayoutLockedMode}.
+ *
+ * @author Benjamin Sigg
+ */
+public class CheckLayoutLockedTest {
+    private CheckLayoutLockedMode mode;
+    private PrintStream err;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    public void setUp() {
+        mode = DockUtilities.getCheckLayoutLockedMode();
+        err = System.err;
+        output = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(output, true));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setErr(err);
+        DockUtilities.setCheckLayoutLockedMode(mode);
+    }
+
+    @Test
+    public void lockedCallerIsReported() {
+        DockUtilities.setCheckLayoutLockedMode(CheckLayoutLockedMode.ALWAYS);
+        new LockedCaller().modify();
+        assertEquals(1, warnings());
+    }
+
+    @Test
+    public void unlockedCallerIsIgnored() {
+        DockUtilities.setCheckLayoutLockedMode(CheckLayoutLockedMode.ALWAYS);
+        new UnlockedCaller().modify();
+        new PlainCaller().modify();
+        assertEquals(0, warnings());
+    }
+
+    @Test
+    public void disabled() {
+        DockUtilities.setCheckLayoutLockedMode(CheckLayoutLockedMode.DISABLED);
+        new LockedCaller().modify();
+        assertEquals(0, warnings());
+    }
+
+    @Test
+    public void sampled() {
+        DockUtilities.setCheckLayoutLockedMode(CheckLayoutLockedMode.SAMPLED);
+        LockedCaller caller = new LockedCaller();
+        for (int i = 0; i < DockUtilities.CHECK_LAYOUT_LOCKED_SAMPLE_RATE * 3; i++) {
+            caller.modify();
+        }
+        assertEquals(3, warnings());
+    }
+
+    @Test
+    public void alwaysIsDefault() {
+        assertEquals(CheckLayoutLockedMode.ALWAYS, DockUtilities.initialCheckLayoutLockedMode(null));
+        assertEquals(CheckLayoutLockedMode.ALWAYS, DockUtilities.initialCheckLayoutLockedMode("unknown"));
+        assertEquals(CheckLayoutLockedMode.SAMPLED, DockUtilities.initialCheckLayoutLockedMode(" sampled "));
+        assertEquals(CheckLayoutLockedMode.DISABLED, DockUtilities.initialCheckLayoutLockedMode("DISABLED"));
+    }
+
+    private int warnings() {
+        String text = output.toString();
+        int count = 0;
+        int index = text.indexOf("Warning: layout should not be modified");
+        while (index >= 0) {
+            count++;
+            index = text.indexOf("Warning: layout should not be modified", index + 1);
+        }
+        return count;
+    }
+
+    @LayoutLocked
+    private interface Locked {
+        void modify();
+    }
+
+    @LayoutLocked(locked = false)
+    private static class UnlockedCaller implements Locked {
+        public void modify() {
+            DockUtilities.checkLayoutLocked();
+        }
+    }
+
+    private static class LockedCaller implements Locked {
+        public void modify() {
+            DockUtilities.checkLayoutLocked();
+        }
+    }
+
+    private static class PlainCaller {
+        public void modify() {
+            DockUtilities.checkLayoutLocked();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.plaf.metal.MetalLookAndFeel;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@link DisabledIconCache} shares disabled icons and forgets them when the
+ * {@link LookAndFeel} changes.
+ *
+ * @author Benjamin Sigg
+ */
+public class DisabledIconCacheTest {
+    private LookAndFeel lookAndFeel;
+
+    @BeforeEach
+    public void setUp() {
+        lookAndFeel = UIManager.getLookAndFeel();
+    }
+
+    @AfterEach
+    public void tearDown() throws UnsupportedLookAndFeelException {
+        UIManager.setLookAndFeel(lookAndFeel);
+    }
+
+    @Test
+    public void sameIconIsConvertedOnce() {
+        ImageIcon icon = createIcon();
+        Icon first = DockUtilities.disabledIcon(null, icon);
+        assertNotNull(first);
+        assertNotSame(icon, first);
+        assertSame(first, DockUtilities.disabledIcon(null, icon));
+        assertNotSame(first, DockUtilities.disabledIcon(null, createIcon()));
+    }
+
+    @Test
+    public void changedImageIsConvertedAgain() {
+        ImageIcon icon = createIcon();
+        Icon first = DockUtilities.disabledIcon(null, icon);
+        icon.setImage(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+        assertNotSame(first, DockUtilities.disabledIcon(null, icon));
+    }
+
+    @Test
+    public void lookAndFeelChangeClearsCache() throws UnsupportedLookAndFeelException {
+        ImageIcon icon = createIcon();
+        Icon first = DockUtilities.disabledIcon(null, icon);
+        UIManager.setLookAndFeel(new MetalLookAndFeel());
+        assertNotSame(first, DockUtilities.disabledIcon(null, icon));
+    }
+
+    private ImageIcon createIcon() {
+        return new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+    }
+}
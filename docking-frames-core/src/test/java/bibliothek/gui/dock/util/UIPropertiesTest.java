@@ -0,0 +1,191 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import bibliothek.util.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link UIProperties} informs only those {@link UIValue}s whose resource or bridge actually
+ * changed.
+ *
+ * @author Benjamin Sigg
+ */
+public class UIPropertiesTest {
+    private static final Path KIND = new Path("test", "kind");
+    private static final Path OTHER_KIND = new Path("other");
+
+    private UIProperties<String, Value, Bridge> properties;
+    private Scheme scheme;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new UIProperties<>(null);
+        scheme = new Scheme();
+        scheme.resources.put("a", "a1");
+        scheme.resources.put("b", "b1");
+        properties.setScheme(Priority.DEFAULT, scheme);
+    }
+
+    @Test
+    public void schemeChangeTouchesChangedKeysOnly() {
+        Value a = new Value();
+        Value b = new Value();
+        properties.add("a", KIND, a);
+        properties.add("b", KIND, b);
+        assertEquals(List.of("a1"), a.values);
+        assertEquals(List.of("b1"), b.values);
+
+        scheme.resources.put("a", "a2");
+        scheme.fireAll();
+        assertEquals(List.of("a1", "a2"), a.values);
+        assertEquals(List.of("b1"), b.values);
+
+        scheme.fireAll();
+        assertEquals(List.of("a1", "a2"), a.values);
+        assertEquals(List.of("b1"), b.values);
+    }
+
+    @Test
+    public void higherPriorityHidesSchemeChange() {
+        Value a = new Value();
+        properties.add("a", KIND, a);
+        properties.put(Priority.CLIENT, "a", "client");
+        assertEquals(List.of("a1", "client"), a.values);
+
+        scheme.resources.put("a", "a2");
+        scheme.fireAll();
+        assertEquals(List.of("a1", "client"), a.values);
+
+        properties.put(Priority.CLIENT, "a", null);
+        assertEquals("a2", properties.get("a"));
+    }
+
+    @Test
+    public void bridgeChangeTouchesChildPathsOnly() {
+        Value a = new Value();
+        Value other = new Value();
+        properties.add("a", KIND, a);
+        properties.add("a", OTHER_KIND, other);
+
+        Bridge bridge = new Bridge();
+        scheme.bridges.put(new Path("test"), bridge);
+        scheme.fireAll();
+        assertEquals(List.of("a1", "bridged a1"), a.values);
+        assertEquals(List.of("a1"), other.values);
+        assertEquals(List.of(a), bridge.added);
+
+        properties.remove(a);
+        assertEquals(List.of(a), bridge.removed);
+        assertFalse(properties.isObserved(KIND));
+        assertTrue(properties.isObserved("a"));
+
+        properties.remove(other);
+        assertFalse(properties.isObserved("a"));
+    }
+
+    @Test
+    public void sameValueObservingTwice() {
+        Value a = new Value();
+        properties.add("a", KIND, a);
+        properties.add("b", KIND, a);
+        assertEquals(List.of("a1", "b1"), a.values);
+
+        properties.remove(a);
+        assertFalse(properties.isObserved("a"));
+        assertTrue(properties.isObserved("b"));
+
+        properties.put(Priority.CLIENT, "b", "b2");
+        assertEquals(List.of("a1", "b1", "b2"), a.values);
+    }
+
+    private static class Value implements UIValue<String> {
+        private final List<String> values = new ArrayList<>();
+
+        public void set(String value) {
+            values.add(value);
+        }
+    }
+
+    private static class Bridge implements UIBridge<String, Value> {
+        private final List<Value> added = new ArrayList<>();
+        private final List<Value> removed = new ArrayList<>();
+
+        public void add(String id, Value uiValue) {
+            added.add(uiValue);
+        }
+
+        public void remove(String id, Value uiValue) {
+            removed.add(uiValue);
+        }
+
+        public void set(String id, String value, Value uiValue) {
+            uiValue.set("bridged " + value);
+        }
+    }
+
+    private static class Scheme extends AbstractUIScheme<String, Value, Bridge> {
+        private final Map<String, String> resources = new HashMap<>();
+        private final Map<Path, Bridge> bridges = new HashMap<>();
+
+        public void install(UIProperties<String, Value, Bridge> properties) {
+            // ignore
+        }
+
+        public void uninstall(UIProperties<String, Value, Bridge> properties) {
+            // ignore
+        }
+
+        public String getResource(String name, UIProperties<String, Value, Bridge> properties) {
+            return resources.get(name);
+        }
+
+        public Bridge getBridge(Path name, UIProperties<String, Value, Bridge> properties) {
+            return bridges.get(name);
+        }
+
+        public void fireAll() {
+            fire(new UISchemeEvent<>() {
+                public UIScheme<String, Value, Bridge> getScheme() {
+                    return Scheme.this;
+                }
+
+                public Collection<String> changedResources(Set<String> names) {
+                    return null;
+                }
+
+                public Collection<Path> changedBridges(Set<Path> names) {
+                    return null;
+                }
+            });
+        }
+    }
+}
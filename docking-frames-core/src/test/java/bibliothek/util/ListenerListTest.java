@@ -0,0 +1,106 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a {@link ListenerList} shares its snapshot until it is modified.
+ *
+ * @author Benjamin Sigg
+ */
+public class ListenerListTest {
+    @Test
+    public void snapshotIsSharedUntilModified() {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable[]::new);
+        Runnable a = () -> {
+        };
+        Runnable b = () -> {
+        };
+
+        Runnable[] empty = list.toArray();
+        assertEquals(0, empty.length);
+        assertSame(empty, list.toArray());
+
+        list.add(a);
+        list.add(b);
+        Runnable[] snapshot = list.toArray();
+        assertArrayEquals(new Runnable[]{a, b}, snapshot);
+        assertSame(snapshot, list.toArray());
+
+        Runnable unknown = () -> {
+        };
+        assertFalse(list.remove(unknown));
+        assertSame(snapshot, list.toArray());
+
+        assertTrue(list.remove(a));
+        assertArrayEquals(new Runnable[]{a, b}, snapshot);
+        assertArrayEquals(new Runnable[]{b}, list.toArray());
+    }
+
+    @Test
+    public void duplicatesAreKept() {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable[]::new);
+        Runnable a = () -> {
+        };
+        list.add(a);
+        list.add(a);
+        assertEquals(2, list.size());
+
+        list.remove(a);
+        assertArrayEquals(new Runnable[]{a}, list.toArray());
+        assertTrue(list.contains(a));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+    }
+
+    @Test
+    public void listenersModifyingTheListDuringAnEvent() {
+        ListenerList<Runnable> list = new ListenerList<>(Runnable[]::new);
+        int[] calls = new int[1];
+        Runnable counter = () -> calls[0]++;
+        list.add(new Runnable() {
+            public void run() {
+                list.remove(this);
+                list.add(counter);
+            }
+        });
+
+        for (Runnable listener : list.toArray()) {
+            listener.run();
+        }
+        assertEquals(0, calls[0]);
+
+        for (Runnable listener : list.toArray()) {
+            listener.run();
+        }
+        assertEquals(1, calls[0]);
+    }
+}
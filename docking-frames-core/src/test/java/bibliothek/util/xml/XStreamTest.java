@@ -0,0 +1,165 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2007 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util.xml;
+
+import bibliothek.gui.dock.station.support.PlaceholderMap;
+import bibliothek.gui.dock.station.support.PlaceholderMap.Key;
+import bibliothek.util.Path;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XStreamTest {
+    @Test
+    public void writerMatchesXIO() throws IOException {
+        XElement root = createDocument();
+
+        StringWriter expected = new StringWriter();
+        XIO.write(root, expected);
+
+        StringWriter actual = new StringWriter();
+        XStreamWriter out = new XStreamWriter(actual);
+        out.startElement("root");
+        out.addString("name", "a & <b>");
+        out.startElement("text");
+        out.setString("  hello\n  world  ");
+        out.endElement();
+        out.startElement("nested");
+        out.addInt("count", 2);
+        out.addElement(root.getElement("nested").getElement("leaf"));
+        out.startElement("empty");
+        out.endElement();
+        out.endElement();
+        out.close();
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void readElementMatchesXIO() throws IOException {
+        StringWriter text = new StringWriter();
+        XIO.write(createDocument(), text);
+
+        XElement expected = XIO.read(text.toString());
+        XElement actual = new XStreamReader(new StringReader(text.toString())).readElement();
+
+        assertEquals(toString(expected), toString(actual));
+    }
+
+    @Test
+    public void navigateChildren() throws IOException {
+        StringWriter text = new StringWriter();
+        XIO.write(createDocument(), text);
+
+        XStreamReader in = new XStreamReader(new StringReader(text.toString()));
+        assertEquals("root", in.getName());
+        assertEquals("a & <b>", in.getString("name"));
+
+        assertTrue(in.nextChild());
+        assertEquals("text", in.getName());
+        in.skip();
+
+        assertTrue(in.nextChild());
+        assertEquals("nested", in.getName());
+        assertEquals(2, in.getInt("count"));
+        assertTrue(in.nextChild());
+        assertEquals("leaf", in.readElement().getName());
+        assertTrue(in.nextChild());
+        assertEquals("empty", in.getName());
+        assertFalse(in.nextChild());
+        assertFalse(in.nextChild());
+
+        assertFalse(in.nextChild());
+        in.close();
+    }
+
+    @Test
+    public void placeholderMapRoundTrip() throws IOException {
+        PlaceholderMap map = createMap();
+
+        XElement expected = new XElement("map");
+        map.write(expected);
+
+        StringWriter text = new StringWriter();
+        XStreamWriter out = new XStreamWriter(text);
+        out.startElement("map");
+        map.write(out);
+        out.close();
+
+        assertEquals(toString(expected), toString(XIO.read(text.toString())));
+
+        PlaceholderMap read = new PlaceholderMap(new XStreamReader(new StringReader(text.toString())), null);
+        XElement actual = new XElement("map");
+        read.write(actual);
+
+        assertEquals(toString(expected), toString(actual));
+    }
+
+    private XElement createDocument() {
+        XElement root = new XElement("root");
+        root.addString("name", "a & <b>");
+        root.addElement("text").setString("  hello\n  world  ");
+        XElement nested = root.addElement("nested");
+        nested.addInt("count", 2);
+        XElement leaf = nested.addElement("leaf");
+        leaf.addBoolean("flag", true);
+        leaf.addElement("value").setLong(42L);
+        nested.addElement("empty");
+        return root;
+    }
+
+    private PlaceholderMap createMap() {
+        PlaceholderMap map = new PlaceholderMap(new Path("test", "outer"), 3);
+        Key key = map.newKey("anchor", new Path("a"), new Path("b"));
+        map.add(key);
+        map.putString(key, "string", "x < y");
+        map.putInt(key, "int", 7);
+        map.putBoolean(key, "boolean", true);
+        map.putPath(key, "path", new Path("p", "q"));
+
+        PlaceholderMap inner = new PlaceholderMap(new Path("test", "inner"), 1);
+        Key innerKey = inner.newUniqueKey(new Path("c"));
+        inner.add(innerKey);
+        inner.putDouble(innerKey, "double", 0.5);
+        inner.putArray(innerKey, "array", new Object[]{"s", 1L, new Object[]{Boolean.FALSE}});
+        map.putMap(key, "map", inner);
+
+        Key other = map.newKey(new Path("d"));
+        map.add(other);
+        map.putArray(other, "empty", new Object[0]);
+        return map;
+    }
+
+    private String toString(XElement element) throws IOException {
+        StringWriter out = new StringWriter();
+        XIO.write(element, out);
+        return out.toString();
+    }
+}
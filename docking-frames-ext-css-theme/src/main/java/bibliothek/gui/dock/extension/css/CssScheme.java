@@ -37,6 +37,7 @@ import bibliothek.gui.dock.extension.css.property.paint.CssPaint;
 import bibliothek.gui.dock.extension.css.property.paint.CssPaintType;
 import bibliothek.gui.dock.extension.css.property.shape.CssShape;
 import bibliothek.gui.dock.extension.css.property.shape.CssShapeType;
+import bibliothek.gui.dock.extension.css.scheme.CssRuleIndex;
 import bibliothek.gui.dock.extension.css.scheme.MatchedCssRule;
 import bibliothek.gui.dock.extension.css.transition.CssTransition;
 import bibliothek.gui.dock.extension.css.transition.DefaultAnimatedCssRuleChain;
@@ -62,6 +63,21 @@ public class CssScheme {
 
     private final List<CssRule> rules = new ArrayList<>();
 
+    /**
+     * index over {@link #rules}, updated together with the order of the rules
+     */
+    private final CssRuleIndex index = new CssRuleIndex();
+
+    /**
+     * the rules that were added, removed or modified since the last call to {@link #match()}
+     */
+    private final Set<CssRule> changedRules = new HashSet<>();
+
+    /**
+     * whether all the items need to be matched again, regardless of {@link #changedRules}
+     */
+    private boolean rematchAll = false;
+
     private final Map<CssItem, Match> items = new HashMap<>();
     private final Map<Class<?>, CssType<?>> types = new HashMap<>();
 
@@ -73,7 +89,7 @@ public class CssScheme {
 
     private final CssRuleListener selectorChangedListener = source -> {
         rulesAreSorted = false;
-        rematch();
+        rematch(source);
     };
 
     /**
@@ -185,20 +201,31 @@ public class CssScheme {
      * @return the properties of the rule, <code>null</code> if nothing was found
      */
     public CssRuleContent search(CssItem item) {
+        return union(searchRules(item.getPath()));
+    }
+
+    /**
+     * Searches all the {@link CssRule}s whose {@link CssSelector} matches <code>path</code>.
+     *
+     * @param path the path to search
+     * @return the matching rules, ordered by their specificity
+     */
+    private List<CssRule> searchRules(CssPath path) {
         synchronized (RULES_LOCK) {
             ensureRulesSorted();
-            CssRuleContentUnion result = null;
+            return index.search(path);
+        }
+    }
 
-            for (CssRule rule : rules) {
-                if (rule.getSelector().matches(item.getPath())) {
-                    if (result == null) {
-                        result = new CssRuleContentUnion();
-                    }
-                    result.add(rule.getContent());
-                }
-            }
-            return result;
+    private CssRuleContentUnion union(List<CssRule> rules) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        CssRuleContentUnion result = new CssRuleContentUnion();
+        for (CssRule rule : rules) {
+            result.add(rule.getContent());
         }
+        return result;
     }
 
     /**
@@ -216,7 +243,7 @@ public class CssScheme {
         }
         rulesAreSorted = false;
         rule.addRuleListener(selectorChangedListener);
-        rematch();
+        rematch(rule);
     }
 
     /**
@@ -231,7 +258,7 @@ public class CssScheme {
         }
         rule.removeRuleListener(selectorChangedListener);
         rulesAreSorted = false;
-        rematch();
+        rematch(rule);
     }
 
     /**
@@ -244,6 +271,7 @@ public class CssScheme {
             rule.removeRuleListener(selectorChangedListener);
         }
         synchronized (RULES_LOCK) {
+            changedRules.addAll(this.rules);
             this.rules.clear();
         }
         addRules(rules);
@@ -258,20 +286,44 @@ public class CssScheme {
         for (CssRule rule : rules) {
             synchronized (RULES_LOCK) {
                 this.rules.add(rule);
+                changedRules.add(rule);
             }
             rule.addRuleListener(selectorChangedListener);
         }
         rulesAreSorted = false;
-        rematch();
+        scheduleMatch();
     }
 
     /**
      * Schedules a call to {@link #match()}, the call will be executed later in the EDT.
      */
     public void rematch() {
-        if (!rematchPending) {
-            EventQueue.invokeLater(this::match);
+        synchronized (RULES_LOCK) {
+            rematchAll = true;
+        }
+        scheduleMatch();
+    }
+
+    /**
+     * Schedules matching those {@link CssItem}s which are affected by a change of <code>rule</code>.
+     *
+     * @param rule the rule that was added, removed or modified
+     */
+    private void rematch(CssRule rule) {
+        synchronized (RULES_LOCK) {
+            changedRules.add(rule);
+        }
+        scheduleMatch();
+    }
+
+    private void scheduleMatch() {
+        synchronized (RULES_LOCK) {
+            if (rematchPending) {
+                return;
+            }
+            rematchPending = true;
         }
+        EventQueue.invokeLater(this::matchChanged);
     }
 
     /**
@@ -279,18 +331,59 @@ public class CssScheme {
      * {@link CssRule}.
      */
     public void match() {
-        rematchPending = false;
-        ensureRulesSorted();
+        synchronized (RULES_LOCK) {
+            rematchPending = false;
+            rematchAll = false;
+            changedRules.clear();
+            ensureRulesSorted();
+        }
 
         for (Match match : items.values()) {
             match.searchRule();
         }
     }
 
+    /**
+     * Matches only those {@link CssItem}s which were matched by, or are now matched by, one of the
+     * {@link #changedRules}. Items whose {@link CssPath} changes are matched immediately by their {@link Match}.
+     */
+    private void matchChanged() {
+        Set<CssRule> changedSet;
+
+        synchronized (RULES_LOCK) {
+            if (rematchAll) {
+                changedSet = null;
+            } else {
+                rematchPending = false;
+                ensureRulesSorted();
+                changedSet = new HashSet<>(changedRules);
+                changedRules.clear();
+            }
+        }
+
+        if (changedSet == null) {
+            match();
+            return;
+        }
+        if (changedSet.isEmpty()) {
+            return;
+        }
+
+        CssRuleIndex changed = new CssRuleIndex();
+        changed.setRules(new ArrayList<>(changedSet));
+
+        for (Match match : items.values()) {
+            if (match.isAffected(changed, changedSet)) {
+                match.searchRule();
+            }
+        }
+    }
+
     private void ensureRulesSorted() {
         if (!rulesAreSorted) {
             synchronized (RULES_LOCK) {
                 rules.sort(Comparator.comparing(a -> a.getSelector().getSpecificity()));
+                index.setRules(rules);
             }
             rulesAreSorted = true;
         }
@@ -362,6 +455,11 @@ public class CssScheme {
         private final CssItem item;
         private CssPath path;
 
+        /**
+         * the rules that were found by the last search, <code>null</code> if never searched
+         */
+        private List<CssRule> matchedRules;
+
         private MatchedCssRule currentMatch;
 
         /**
@@ -384,7 +482,29 @@ public class CssScheme {
         }
 
         private void searchRule() {
-            setRule(search(item));
+            List<CssRule> nextRules = searchRules(item.getPath());
+            if (!nextRules.equals(matchedRules)) {
+                matchedRules = nextRules;
+                setRule(union(nextRules));
+            }
+        }
+
+        /**
+         * Tells whether a change of the rules <code>changedRules</code> may affect this match.
+         *
+         * @param changed      an index over <code>changedRules</code>
+         * @param changedRules the rules that were added, removed or modified
+         * @return whether the rules of this match need to be searched again
+         */
+        private boolean isAffected(CssRuleIndex changed, Set<CssRule> changedRules) {
+            if (matchedRules != null) {
+                for (CssRule rule : matchedRules) {
+                    if (changedRules.contains(rule)) {
+                        return true;
+                    }
+                }
+            }
+            return !changed.search(item.getPath()).isEmpty();
         }
 
         private void animate(CssPropertyKey transitionKey, CssTransition<?> transition) {
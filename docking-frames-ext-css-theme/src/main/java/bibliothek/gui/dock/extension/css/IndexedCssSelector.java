@@ -0,0 +1,93 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.extension.css;
+
+/**
+ * A {@link CssSelector} that knows one simple condition every matching {@link CssPath} has to fulfill. The
+ * {@link CssScheme} uses this condition to sort its {@link CssRule}s into buckets, and to test only those
+ * rules whose condition is met by a path. Selectors that do not implement this interface are tested against
+ * every path.
+ *
+ * @author Benjamin Sigg
+ */
+public interface IndexedCssSelector extends CssSelector {
+    /**
+     * Gets the condition that any {@link CssPath} must fulfill in order to be matched by this selector. The
+     * result must not change as long as the selector does not fire an event to its {@link CssRuleListener}s.
+     *
+     * @return the condition, or <code>null</code> if there is no simple condition
+     */
+    Key getKey();
+
+    /**
+     * Tells which property of a {@link CssNode} is tested by a {@link Key}.
+     *
+     * @author Benjamin Sigg
+     */
+    enum KeyType {
+        /**
+         * the {@link CssNode#getName() name} of a node
+         */
+        ELEMENT,
+        /**
+         * the {@link CssNode#getIdentifier() identifier} of a node
+         */
+        IDENTIFIER,
+        /**
+         * one of the {@link CssNode#hasClass(String) classes} of a node
+         */
+        CLASS,
+        /**
+         * one of the {@link CssNode#hasPseudoClass(String) pseudo-classes} of a node
+         */
+        PSEUDO_CLASS
+    }
+
+    /**
+     * A condition telling that at least one {@link CssNode} of a {@link CssPath} must have a property
+     * with value <code>name</code>.
+     *
+     * @param type the property that is tested, not <code>null</code>
+     * @param name the value of the property, not <code>null</code>
+     * @author Benjamin Sigg
+     */
+    record Key(KeyType type, String name) {
+        /**
+         * Tells whether <code>node</code> fulfills this condition.
+         *
+         * @param node the node to test
+         * @return whether <code>node</code> has the property described by this key
+         */
+        public boolean matches(CssNode node) {
+            return switch (type) {
+                case ELEMENT -> name.equals(node.getName());
+                case IDENTIFIER -> name.equals(node.getIdentifier());
+                case CLASS -> node.hasClass(name);
+                case PSEUDO_CLASS -> node.hasPseudoClass(name);
+            };
+        }
+    }
+}
@@ -28,6 +28,7 @@ package bibliothek.gui.dock.extension.css.intern;
 import bibliothek.gui.dock.extension.css.CssPath;
 import bibliothek.gui.dock.extension.css.CssSelector;
 import bibliothek.gui.dock.extension.css.CssSpecificity;
+import bibliothek.gui.dock.extension.css.IndexedCssSelector;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -39,7 +40,7 @@ import java.util.List;
  *
  * @author Benjamin Sigg
  */
-public class DefaultCssSelector implements CssSelector {
+public class DefaultCssSelector implements IndexedCssSelector {
     private enum Specificity {
         STYLE, ID, ATTRIBUTE, ELEMENT
     }
@@ -60,8 +61,14 @@ public class DefaultCssSelector implements CssSelector {
 
     private final CssSpecificity specificity;
 
+    /**
+     * the condition used to index this selector, can be <code>null</code>
+     */
+    private final Key key;
+
     private DefaultCssSelector(Step[] steps) {
         this.steps = steps;
+        this.key = searchKey(steps);
 
         int countStyle = 0;
         int countId = 0;
@@ -83,6 +90,41 @@ public class DefaultCssSelector implements CssSelector {
         specificity = new CssSpecificity(countStyle, countId, countAttribute, countElement);
     }
 
+    /**
+     * Searches the most selective condition of the last compound of <code>steps</code>, the last compound
+     * being all the steps after the last element.
+     *
+     * @param steps the steps of a selector
+     * @return the most selective condition or <code>null</code>
+     */
+    private static Key searchKey(Step[] steps) {
+        Key best = null;
+        for (int i = steps.length - 1; i >= 0; i--) {
+            Key next = steps[i].getKey();
+            if (next != null && (best == null || rank(next.type()) < rank(best.type()))) {
+                best = next;
+            }
+            if (steps[i].isElement()) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private static int rank(KeyType type) {
+        return switch (type) {
+            case IDENTIFIER -> 0;
+            case CLASS -> 1;
+            case ELEMENT -> 2;
+            case PSEUDO_CLASS -> 3;
+        };
+    }
+
+    @Override
+    public Key getKey() {
+        return key;
+    }
+
     @Override
     public boolean matches(CssPath path) {
         return matches(path, -1, 0);
@@ -156,6 +198,20 @@ public class DefaultCssSelector implements CssSelector {
         int[] matches(CssPath path, int offset);
 
         Specificity getSpecificity();
+
+        /**
+         * Gets the condition a node must fulfill to be matched by this step.
+         *
+         * @return the condition or <code>null</code> if any node can be matched
+         */
+        Key getKey();
+
+        /**
+         * Tells whether this step selects a new node, rather than adding conditions to the current node.
+         *
+         * @return whether this step starts a new compound
+         */
+        boolean isElement();
     }
 
     private static class Any implements Step {
@@ -177,6 +233,16 @@ public class DefaultCssSelector implements CssSelector {
             return null;
         }
 
+        @Override
+        public Key getKey() {
+            return null;
+        }
+
+        @Override
+        public boolean isElement() {
+            return true;
+        }
+
         @Override
         public int hashCode() {
             return 0;
@@ -219,6 +285,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ELEMENT;
         }
 
+        @Override
+        public Key getKey() {
+            return new Key(KeyType.ELEMENT, name);
+        }
+
+        @Override
+        public boolean isElement() {
+            return true;
+        }
+
         @Override
         public String toString() {
             return name;
@@ -242,6 +318,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ELEMENT;
         }
 
+        @Override
+        public Key getKey() {
+            return new Key(KeyType.ELEMENT, name);
+        }
+
+        @Override
+        public boolean isElement() {
+            return true;
+        }
+
         @Override
         public String toString() {
             return " > " + name;
@@ -264,6 +350,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ATTRIBUTE;
         }
 
+        @Override
+        public Key getKey() {
+            return new Key(KeyType.PSEUDO_CLASS, name);
+        }
+
+        @Override
+        public boolean isElement() {
+            return false;
+        }
+
         @Override
         public String toString() {
             return ":" + name;
@@ -290,6 +386,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ATTRIBUTE;
         }
 
+        @Override
+        public Key getKey() {
+            return null;
+        }
+
+        @Override
+        public boolean isElement() {
+            return false;
+        }
+
         @Override
         public String toString() {
             if (value == null) {
@@ -315,6 +421,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ATTRIBUTE;
         }
 
+        @Override
+        public Key getKey() {
+            return new Key(KeyType.CLASS, name);
+        }
+
+        @Override
+        public boolean isElement() {
+            return false;
+        }
+
         @Override
         public String toString() {
             return "." + name;
@@ -337,6 +453,16 @@ public class DefaultCssSelector implements CssSelector {
             return Specificity.ID;
         }
 
+        @Override
+        public Key getKey() {
+            return new Key(KeyType.IDENTIFIER, name);
+        }
+
+        @Override
+        public boolean isElement() {
+            return false;
+        }
+
         @Override
         public String toString() {
             return "#" + name;
@@ -0,0 +1,147 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.extension.css.scheme;
+
+import bibliothek.gui.dock.extension.css.CssNode;
+import bibliothek.gui.dock.extension.css.CssPath;
+import bibliothek.gui.dock.extension.css.CssRule;
+import bibliothek.gui.dock.extension.css.CssScheme;
+import bibliothek.gui.dock.extension.css.CssSelector;
+import bibliothek.gui.dock.extension.css.IndexedCssSelector;
+import bibliothek.gui.dock.extension.css.IndexedCssSelector.Key;
+import bibliothek.gui.dock.extension.css.IndexedCssSelector.KeyType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over a list of {@link CssRule}s used by the {@link CssScheme}. Rules whose selector is an
+ * {@link IndexedCssSelector} are put into buckets according to their {@link IndexedCssSelector#getKey() key},
+ * when searching the rules of a {@link CssPath} only the buckets whose key is met by the path are
+ * tested. All other rules are tested against any path.
+ *
+ * @author Benjamin Sigg
+ */
+public class CssRuleIndex {
+    /**
+     * all the rules, in the order in which they are returned
+     */
+    private CssRule[] rules = new CssRule[0];
+
+    /**
+     * the buckets of rules, the bits are indices in {@link #rules}
+     */
+    private final Map<Key, BitSet> buckets = new HashMap<>();
+
+    /**
+     * the keys of {@link #buckets} which test classes or pseudo-classes, as nodes cannot list their
+     * classes these keys have to be tested one by one
+     */
+    private final List<Key> classKeys = new ArrayList<>();
+
+    /**
+     * the rules which need to be tested against any path
+     */
+    private final BitSet unindexed = new BitSet();
+
+    /**
+     * Replaces the contents of this index. The index has to be updated whenever a rule is added or removed,
+     * or whenever the selector of a rule changes.
+     *
+     * @param rules the new rules, the order of this list is the order in which {@link #search(CssPath)} reports
+     *              matching rules
+     */
+    public void setRules(List<CssRule> rules) {
+        this.rules = rules.toArray(new CssRule[0]);
+        buckets.clear();
+        classKeys.clear();
+        unindexed.clear();
+
+        for (int i = 0; i < this.rules.length; i++) {
+            CssSelector selector = this.rules[i].getSelector();
+            Key key = selector instanceof IndexedCssSelector indexed ? indexed.getKey() : null;
+            if (key == null) {
+                unindexed.set(i);
+            } else {
+                BitSet bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new BitSet();
+                    buckets.put(key, bucket);
+                    if (key.type() == KeyType.CLASS || key.type() == KeyType.PSEUDO_CLASS) {
+                        classKeys.add(key);
+                    }
+                }
+                bucket.set(i);
+            }
+        }
+    }
+
+    /**
+     * Searches all the rules whose selector matches <code>path</code>.
+     *
+     * @param path the path to search
+     * @return the matching rules, in the order in which they were given to {@link #setRules(List)}
+     */
+    public List<CssRule> search(CssPath path) {
+        BitSet candidates = (BitSet) unindexed.clone();
+
+        int size = path.getSize();
+        for (int i = 0; i < size; i++) {
+            CssNode node = path.getNode(i);
+            or(candidates, buckets.get(new Key(KeyType.ELEMENT, node.getName())));
+            String identifier = node.getIdentifier();
+            if (identifier != null) {
+                or(candidates, buckets.get(new Key(KeyType.IDENTIFIER, identifier)));
+            }
+        }
+
+        for (Key key : classKeys) {
+            for (int i = 0; i < size; i++) {
+                if (key.matches(path.getNode(i))) {
+                    candidates.or(buckets.get(key));
+                    break;
+                }
+            }
+        }
+
+        List<CssRule> result = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (rules[i].getSelector().matches(path)) {
+                result.add(rules[i]);
+            }
+        }
+        return result;
+    }
+
+    private void or(BitSet candidates, BitSet bucket) {
+        if (bucket != null) {
+            candidates.or(bucket);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package bibliothek.gui.dock.extension.css.intern;
+
+import bibliothek.gui.dock.extension.css.CssRule;
+import bibliothek.gui.dock.extension.css.path.DefaultCssNode;
+import bibliothek.gui.dock.extension.css.path.DefaultCssPath;
+import bibliothek.gui.dock.extension.css.scheme.CssRuleIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CssRuleIndexTest {
+    private static final String[] NAMES = {"a", "b", "c", "d"};
+
+    @Test
+    public void searchMatchesLinearScan() {
+        Random random = new Random(42);
+
+        List<CssRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add(new DefaultCssRule(randomSelector(random)));
+        }
+
+        CssRuleIndex index = new CssRuleIndex();
+        index.setRules(rules);
+
+        for (int i = 0; i < 1000; i++) {
+            DefaultCssPath path = randomPath(random);
+
+            List<CssRule> expected = new ArrayList<>();
+            for (CssRule rule : rules) {
+                if (rule.getSelector().matches(path)) {
+                    expected.add(rule);
+                }
+            }
+
+            assertEquals(expected, index.search(path));
+        }
+    }
+
+    private DefaultCssSelector randomSelector(Random random) {
+        DefaultCssSelector.Builder builder = DefaultCssSelector.selector();
+        int compounds = 1 + random.nextInt(3);
+        for (int i = 0; i < compounds; i++) {
+            switch (random.nextInt(3)) {
+                case 0 -> builder.any();
+                case 1 -> builder.element(name(random));
+                case 2 -> builder.child(name(random));
+            }
+            int modifiers = random.nextInt(3);
+            for (int j = 0; j < modifiers; j++) {
+                switch (random.nextInt(4)) {
+                    case 0 -> builder.identifier(name(random));
+                    case 1 -> builder.clazz(name(random));
+                    case 2 -> builder.pseudo(name(random));
+                    case 3 -> builder.attribute(name(random));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private DefaultCssPath randomPath(Random random) {
+        DefaultCssPath path = new DefaultCssPath();
+        int size = 1 + random.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            DefaultCssNode node = new DefaultCssNode(name(random));
+            if (random.nextInt(3) == 0) {
+                node.setIdentifier(name(random));
+            }
+            if (random.nextBoolean()) {
+                node.addClass(name(random));
+            }
+            if (random.nextBoolean()) {
+                node.addPseudoClass(name(random));
+            }
+            if (random.nextInt(3) == 0) {
+                node.putProperty(name(random), "x");
+            }
+            path.addNode(node);
+        }
+        return path;
+    }
+
+    private String name(Random random) {
+        return NAMES[random.nextInt(NAMES.length)];
+    }
+}
@@ -34,6 +34,7 @@ import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.Transparency;
 import glass.eclipse.CGlassExtension;
 import glass.eclipse.theme.factory.IGlassParameterFactory;
+import glass.eclipse.theme.utils.CGlassImageCache;
 import glass.eclipse.theme.utils.COutlineHelper;
 import kux.glass.CGlassFactory;
 import kux.glass.CGlassFactoryGenerator;
@@ -232,33 +233,21 @@ public class CGlassEclipseButtonTitle extends BasicButtonDockTitle {
 
         if (w > 0 && h > 0) {
             if (glassStrip != null) {
-                BufferedImage im = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-
-                Graphics2D gg = im.createGraphics();
-                gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                gg.setColor(component.getBackground());
+                // the outline depends on the selection, and on the round edges if there is a border
+                int shape = isSelected() ? 1 : 0;
                 if (ec != null) {
-                    gg.fill(ec.createShape(0, 0, w, h, ec.getCornerRadius()));
-
-                } else {
-                    gg.fillRect(0, 0, w, h);
+                    shape |= 1 << 1 | ec.getRoundEdges() << 2 | ec.getCornerRadius() << 6;
                 }
 
-                if (!isSelected()) {
-                    gg.setComposite(AlphaComposite.SrcIn);
-                } else {
-                    gg.setComposite(AlphaComposite.SrcAtop);
+                Color background = component.getBackground();
+                CGlassImageCache cache = CGlassImageCache.getInstance();
+                CGlassImageCache.Key key = new CGlassImageCache.Key("title.button", w, h, shape, glassStrip, background);
+                BufferedImage im = cache.get(key);
+                if (im == null) {
+                    im = createBackground(w, h, ec, background);
+                    cache.put(key, im);
                 }
 
-                try {
-                    glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
-                } catch (Exception e) {
-                    glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
-                }
-
-                gg.dispose();
-
                 if (!getOrientation().isHorizontal()) {
                     AffineTransform atTrans = AffineTransform.getTranslateInstance(x /* + h */, y + w);
                     atTrans.concatenate(COutlineHelper.tRot90CCW);
@@ -272,6 +261,36 @@ public class CGlassEclipseButtonTitle extends BasicButtonDockTitle {
         }
     }
 
+    private BufferedImage createBackground(int w, int h, CEclipseBorder ec, Color background) {
+        BufferedImage im = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D gg = im.createGraphics();
+        gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        gg.setColor(background);
+        if (ec != null) {
+            gg.fill(ec.createShape(0, 0, w, h, ec.getCornerRadius()));
+
+        } else {
+            gg.fillRect(0, 0, w, h);
+        }
+
+        if (!isSelected()) {
+            gg.setComposite(AlphaComposite.SrcIn);
+        } else {
+            gg.setComposite(AlphaComposite.SrcAtop);
+        }
+
+        try {
+            glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
+        } catch (Exception e) {
+            glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
+        }
+
+        gg.dispose();
+        return im;
+    }
+
     @Override
     protected void changeBorder() {
         int flags;
@@ -5,6 +5,7 @@ import bibliothek.gui.DockUI;
 import bibliothek.gui.dock.themes.color.DefaultColorScheme;
 import bibliothek.gui.dock.util.laf.LookAndFeelColors;
 import glass.eclipse.theme.utils.CDockColorMap;
+import glass.eclipse.theme.utils.CGlassImageCache;
 
 import java.awt.*;
 
@@ -76,6 +77,9 @@ public class CGlassEclipseColorSchemeExtension extends DefaultColorScheme {
         setColor("glass.paint.insertion", Color.GRAY);
         setColor("glass.paint.line", Color.GRAY);
 
+        // images rendered with the old colors are never used again
+        CGlassImageCache.getInstance().clear();
+
         // colors of externalized window borders
         //      setColor("line", Color.RED);
         //      setColor("line.highlight.inner", Color.BLUE);
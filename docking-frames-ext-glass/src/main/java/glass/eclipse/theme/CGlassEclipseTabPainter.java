@@ -40,6 +40,7 @@ import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import glass.eclipse.CGlassExtension;
 import glass.eclipse.theme.factory.IGlassParameterFactory;
+import glass.eclipse.theme.utils.CGlassImageCache;
 import glass.eclipse.theme.utils.COutlineHelper;
 import kux.glass.CGlassFactory;
 import kux.glass.CGlassFactoryGenerator;
@@ -559,23 +560,36 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
             Shape sTab = createUnSelectedTabShape(isHorizontal() ? w : w, isHorizontal() ? h : h, false, true);
 
             BufferedImage img;
-            dImg = new Dimension(isHorizontal() ? w + CORNER_RADIUS : h + CORNER_RADIUS, isHorizontal() ? h : w);
             if (glassUnSelected != null) {
-                img = new BufferedImage(dImg.width, dImg.height, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D gg = img.createGraphics();
-
-                gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                gg.setColor(Color.WHITE);
-                gg.fill(sTab);
-
-                gg.setComposite(AlphaComposite.SrcIn);
-                try {
-                    glass.Render2Graphics(dImg, gg, glassUnSelected, true);
-                } catch (Exception e) {
-                    glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
-                }
+                // the clipping shape depends only on the orientation and on the position relative to the selection
+                int shape = getOrientation().ordinal() | (getTabIndex() < getSelectedIndex() ? 1 << 2 : 0);
+
+                int imgWidth = isHorizontal() ? w + CORNER_RADIUS : h + CORNER_RADIUS;
+                int imgHeight = isHorizontal() ? h : w;
+
+                CGlassImageCache cache = CGlassImageCache.getInstance();
+                CGlassImageCache.Key key =
+                        new CGlassImageCache.Key("tab.unselected", imgWidth, imgHeight, shape, glassUnSelected, null);
+                img = cache.get(key);
+                if (img == null) {
+                    dImg = new Dimension(imgWidth, imgHeight);
+                    img = new BufferedImage(dImg.width, dImg.height, BufferedImage.TYPE_INT_ARGB);
+                    Graphics2D gg = img.createGraphics();
+
+                    gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    gg.setColor(Color.WHITE);
+                    gg.fill(sTab);
+
+                    gg.setComposite(AlphaComposite.SrcIn);
+                    try {
+                        glass.Render2Graphics(dImg, gg, glassUnSelected, true);
+                    } catch (Exception e) {
+                        glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
+                    }
 
-                gg.dispose();
+                    gg.dispose();
+                    cache.put(key, img);
+                }
 
                 if (!isHorizontal()) {
                     AffineTransform atTrans = AffineTransform.getTranslateInstance(x/* + w*/, y + h);
@@ -632,58 +646,65 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
             }
 
             // draw glass
-            // first render to image because glass is transparent and we would see the inactive tab in background
-            BufferedImage bimg = null;
-            dImg = new Dimension(isHorizontal() ? w : h, isHorizontal() ? h : w);
+            IGlassFactory.SGlassParameter parameter;
+            IGlassFactory.SGlassParameter fallback;
+            int state;
             if (!isEnabled()) {
-                if (glassDisabled != null) {
-                    try {
-                        bimg = glass.RenderBufferedImage(glassDisabled, dImg, true);
-                    } catch (Exception e) {
-                        bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_GRAY, dImg, true);
-                    }
-                }
+                parameter = glassDisabled;
+                fallback = CGlassFactory.VALUE_GRAY;
+                state = 0;
             } else if (bActive) {
-                if (glassFocused != null) {
-                    try {
-                        bimg = glass.RenderBufferedImage(glassFocused, dImg, true);
-                    } catch (Exception e) {
-                        bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_STEEL, dImg, true);
-                    }
-                }
+                parameter = glassFocused;
+                fallback = CGlassFactory.VALUE_STEEL;
+                state = 1;
             } else {
-                if (glassSelected != null) {
+                parameter = glassSelected;
+                fallback = CGlassFactory.VALUE_DARKENED_PLAIN;
+                state = 2;
+            }
+
+            if (parameter != null) {
+                // the clipping shape depends only on the orientation and on whether this is the first tab
+                int shape = getOrientation().ordinal() | (getTabIndex() == 0 ? 1 << 2 : 0) | state << 3;
+
+                CGlassImageCache cache = CGlassImageCache.getInstance();
+                CGlassImageCache.Key key = new CGlassImageCache.Key("tab.selected", w, h, shape, parameter, null);
+                BufferedImage b = cache.get(key);
+                if (b == null) {
+                    // first render to image because glass is transparent and we would see the inactive tab in
+                    // background
+                    BufferedImage bimg;
+                    dImg = new Dimension(isHorizontal() ? w : h, isHorizontal() ? h : w);
                     try {
-                        bimg = glass.RenderBufferedImage(glassSelected, dImg, true);
+                        bimg = glass.RenderBufferedImage(parameter, dImg, true);
                     } catch (Exception e) {
-                        bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_DARKENED_PLAIN, dImg, true);
+                        bimg = glass.RenderBufferedImage(fallback, dImg, true);
                     }
-                }
-            }
 
-            if (bimg != null) {
-                // glass is translucent, so we could see the sharp edge of an unselected tab behind
-                // So, we paint the glass image onto a other image were only the glass part is visible (white)
-                BufferedImage b = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D gg2d = b.createGraphics();
-                gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    // glass is translucent, so we could see the sharp edge of an unselected tab behind
+                    // So, we paint the glass image onto a other image were only the glass part is visible (white)
+                    b = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                    Graphics2D gg2d = b.createGraphics();
+                    gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-                gg2d.setColor(Color.WHITE);
-                gg2d.fill(sTab);
+                    gg2d.setColor(Color.WHITE);
+                    gg2d.fill(sTab);
 
-                gg2d.setClip(sTab);
-                gg2d.setComposite(AlphaComposite.SrcAtop);
-                if (!isHorizontal()) {
-                    AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
-                    atTrans.concatenate(COutlineHelper.tRot90CCW);
+                    gg2d.setClip(sTab);
+                    gg2d.setComposite(AlphaComposite.SrcAtop);
+                    if (!isHorizontal()) {
+                        AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
+                        atTrans.concatenate(COutlineHelper.tRot90CCW);
 
-                    gg2d.drawImage(bimg, atTrans, null);
-                } else {
+                        gg2d.drawImage(bimg, atTrans, null);
+                    } else {
 
-                    gg2d.drawImage(bimg, 0, 0, null);
-                }
+                        gg2d.drawImage(bimg, 0, 0, null);
+                    }
 
-                gg2d.dispose();
+                    gg2d.dispose();
+                    cache.put(key, b);
+                }
 
                 g2d.drawImage(b, x, y, null);
             }
@@ -724,10 +745,17 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
         if (dImg.width > 0 && dImg.height > 0) {
             if (glassUnSelected != null) {
-                try {
-                    bimg = glass.RenderBufferedImage(glassUnSelected, dImg, true);
-                } catch (Exception e) {
-                    bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_RED, dImg, true);
+                CGlassImageCache cache = CGlassImageCache.getInstance();
+                CGlassImageCache.Key key =
+                        new CGlassImageCache.Key("tab.plain", dImg.width, dImg.height, 0, glassUnSelected, null);
+                bimg = cache.get(key);
+                if (bimg == null) {
+                    try {
+                        bimg = glass.RenderBufferedImage(glassUnSelected, dImg, true);
+                    } catch (Exception e) {
+                        bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_RED, dImg, true);
+                    }
+                    cache.put(key, bimg);
                 }
 
                 if (!isHorizontal()) {
@@ -36,6 +36,7 @@ import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.color.DockColor;
 import glass.eclipse.theme.factory.IGlassParameterFactory;
+import glass.eclipse.theme.utils.CGlassImageCache;
 import glass.eclipse.theme.utils.COutlineHelper;
 import kux.glass.CGlassFactory;
 import kux.glass.CGlassFactoryGenerator;
@@ -137,37 +138,21 @@ public class CGlassStripPainter implements TabPanePainter {
             Graphics2D g2d = (Graphics2D) g.create();
 
             if (glassStrip != null) {
-                BufferedImage im = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-
-                Graphics2D gg = im.createGraphics();
-                gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                gg.setColor(Color.WHITE);
-
-                if (pane.getComponent().getBorder() instanceof CEclipseBorder ec) {
-
-                    Path2D p = switch (pane.getDockTabPlacement()) {
-                        case BOTTOM_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 1,
-                                w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
-                        case TOP_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 0,
-                                w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
-                        case RIGHT_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 1,
-                                w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
-                        case LEFT_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 0,
-                                w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
-                    };
-                    gg.fill(p);
-                } else {
-                    gg.fillRect(0, 0, w, h);
-                }
+                CEclipseBorder ec = pane.getComponent().getBorder() instanceof CEclipseBorder b ? b : null;
 
-                gg.setComposite(AlphaComposite.SrcIn);
-                try {
-                    glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
-                } catch (Exception e) {
-                    glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
+                // the outline depends on the placement, and on the round edges if there is a border
+                int shape = pane.getDockTabPlacement().ordinal();
+                if (ec != null) {
+                    shape |= 1 << 2 | toTransformedEdgeMask(ec.getRoundEdges()) << 3 | ec.getCornerRadius() << 7;
                 }
 
-                gg.dispose();
+                CGlassImageCache cache = CGlassImageCache.getInstance();
+                CGlassImageCache.Key key = new CGlassImageCache.Key("strip", w, h, shape, glassStrip, null);
+                BufferedImage im = cache.get(key);
+                if (im == null) {
+                    im = createBackground(w, h, ec);
+                    cache.put(key, im);
+                }
 
                 if (!horizontal) {
                     AffineTransform atTrans = AffineTransform.getTranslateInstance(x /*+ h*/, y + w);
@@ -183,6 +168,40 @@ public class CGlassStripPainter implements TabPanePainter {
         }
     }
 
+    private BufferedImage createBackground(int w, int h, CEclipseBorder ec) {
+        BufferedImage im = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D gg = im.createGraphics();
+        gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        gg.setColor(Color.WHITE);
+
+        if (ec != null) {
+            Path2D p = switch (pane.getDockTabPlacement()) {
+                case BOTTOM_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 1,
+                        w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
+                case TOP_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 0,
+                        w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
+                case RIGHT_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 1,
+                        w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
+                case LEFT_OF_DOCKABLE -> CEclipseBorder.CreateBorderShape(0, 0,
+                        w + 1, h, toTransformedEdgeMask(ec.getRoundEdges()), ec.getCornerRadius());
+            };
+            gg.fill(p);
+        } else {
+            gg.fillRect(0, 0, w, h);
+        }
+
+        gg.setComposite(AlphaComposite.SrcIn);
+        try {
+            glass.Render2Graphics(new Dimension(w, h), gg, glassStrip, true);
+        } catch (Exception e) {
+            glass.Render2Graphics(new Dimension(w, h), gg, CGlassFactory.VALUE_STEEL, true);
+        }
+
+        gg.dispose();
+        return im;
+    }
+
     public void setController(DockController controller) {
         ColorManager colors = controller == null ? null : controller.getColors();
         color.setManager(colors);
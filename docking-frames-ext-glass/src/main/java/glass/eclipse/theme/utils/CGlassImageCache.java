@@ -0,0 +1,216 @@
+package glass.eclipse.theme.utils;
+
+import kux.glass.IGlassFactory.SGlassParameter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * A bounded cache of pre-rendered glass images. Rendering the glass effect is expensive, and the painters of
+ * this extension repaint the same tabs and strips with the same size and colors over and over again. The cache
+ * keeps those images around until the amount of memory they use exceeds the {@link #getCapacity() capacity},
+ * then the least recently used images are dropped.<br>
+ * Images handed out by the cache are shared between all painters, clients must not modify them.<br>
+ * The cache has to be {@link #clear() cleared} when the colors of the glass effect change, otherwise the
+ * outdated images remain in memory until they are evicted.
+ *
+ * @author Benjamin Sigg
+ */
+public class CGlassImageCache {
+    /**
+     * the default capacity of the cache in bytes
+     */
+    public static final long DEFAULT_CAPACITY = 8L * 1024 * 1024;
+
+    /**
+     * the cache shared by all glass painters
+     */
+    private static final CGlassImageCache INSTANCE = new CGlassImageCache(DEFAULT_CAPACITY);
+
+    /**
+     * Gets the cache that is shared by all the painters of the glass extension.
+     *
+     * @return the shared cache
+     */
+    public static CGlassImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * the images, ordered from least to most recently used
+     */
+    private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * the maximum number of bytes all images together may use
+     */
+    private long capacity;
+
+    /**
+     * the number of bytes all images together use
+     */
+    private long size;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity the maximum number of bytes the images may use, at least 0
+     */
+    public CGlassImageCache(long capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Sets the maximum number of bytes the images of this cache may use. Images are evicted immediately if
+     * the cache is too big for the new capacity.
+     *
+     * @param capacity the new capacity, at least 0
+     */
+    public synchronized void setCapacity(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be at least 0");
+        }
+        this.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * Gets the maximum number of bytes the images of this cache may use.
+     *
+     * @return the capacity
+     */
+    public synchronized long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of bytes the images of this cache currently use.
+     *
+     * @return the current size
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Searches the image that was stored for <code>key</code>.
+     *
+     * @param key the description of the image
+     * @return the image or <code>null</code> if not present, the image must not be modified
+     */
+    public synchronized BufferedImage get(Key key) {
+        return images.get(key);
+    }
+
+    /**
+     * Stores <code>image</code> for <code>key</code>. Images which are bigger than the capacity of this
+     * cache are not stored.
+     *
+     * @param key   the description of the image
+     * @param image the image, must not be modified after this method was called
+     */
+    public synchronized void put(Key key, BufferedImage image) {
+        long bytes = sizeOf(image);
+        if (bytes > capacity) {
+            return;
+        }
+
+        BufferedImage old = images.put(key.copy(), image);
+        if (old != null) {
+            size -= sizeOf(old);
+        }
+        size += bytes;
+        evict();
+    }
+
+    /**
+     * Removes all images from this cache.
+     */
+    public synchronized void clear() {
+        images.clear();
+        size = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, BufferedImage>> iterator = images.entrySet().iterator();
+        while (size > capacity && iterator.hasNext()) {
+            size -= sizeOf(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    /**
+     * Describes one image of a {@link CGlassImageCache}. Two keys are equal if all their properties are equal.
+     *
+     * @author Benjamin Sigg
+     */
+    public static final class Key {
+        private final String kind;
+        private final int width;
+        private final int height;
+        private final int shape;
+        private final SGlassParameter glass;
+        private final Color color;
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         *
+         * @param kind   the painter and the part it paints, e.g. "tab.selected"
+         * @param width  the width of the image
+         * @param height the height of the image
+         * @param shape  a bit-field describing the outline of the image, its meaning depends on <code>kind</code>
+         * @param glass  the parameters used to render the glass effect, can be <code>null</code>. The cache stores
+         *               a copy of the parameters, hence they can be modified after the key was used.
+         * @param color  an additional color used to paint the image, can be <code>null</code>
+         */
+        public Key(String kind, int width, int height, int shape, SGlassParameter glass, Color color) {
+            this.kind = kind;
+            this.width = width;
+            this.height = height;
+            this.shape = shape;
+            this.glass = glass;
+            this.color = color;
+            int h = kind.hashCode();
+            h = 31 * h + width;
+            h = 31 * h + height;
+            h = 31 * h + shape;
+            h = 31 * h + Objects.hashCode(glass);
+            h = 31 * h + Objects.hashCode(color);
+            hash = h;
+        }
+
+        private Key copy() {
+            if (glass == null) {
+                return this;
+            }
+            return new Key(kind, width, height, shape, glass.clone(), color);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            return hash == other.hash && width == other.width && height == other.height && shape == other.shape &&
+                    kind.equals(other.kind) && Objects.equals(glass, other.glass) && Objects.equals(color, other.color);
+        }
+    }
+}
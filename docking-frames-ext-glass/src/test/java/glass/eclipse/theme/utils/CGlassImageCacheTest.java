@@ -0,0 +1,122 @@
+package glass.eclipse.theme.utils;
+
+import glass.eclipse.theme.CGlassEclipseColorSchemeExtension;
+import kux.glass.IGlassFactory.SGlassParameter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Checks the keys, the eviction and the clearing of a {@link CGlassImageCache}.
+ *
+ * @author Benjamin Sigg
+ */
+public class CGlassImageCacheTest {
+    @AfterEach
+    public void tearDown() {
+        CGlassImageCache.getInstance().clear();
+    }
+
+    @Test
+    public void keysCopyGlassParameters() {
+        CGlassImageCache cache = new CGlassImageCache(CGlassImageCache.DEFAULT_CAPACITY);
+        SGlassParameter glass = glass(0.5);
+        BufferedImage image = image(10, 10);
+
+        cache.put(new CGlassImageCache.Key("tab", 10, 10, 3, glass, Color.RED), image);
+        assertSame(image, cache.get(new CGlassImageCache.Key("tab", 10, 10, 3, glass(0.5), Color.RED)));
+
+        // the painter keeps modifying its own parameters
+        glass.dIntensity = 0.9;
+        assertNull(cache.get(new CGlassImageCache.Key("tab", 10, 10, 3, glass, Color.RED)));
+        assertSame(image, cache.get(new CGlassImageCache.Key("tab", 10, 10, 3, glass(0.5), Color.RED)));
+
+        assertNull(cache.get(new CGlassImageCache.Key("tab", 10, 10, 4, glass(0.5), Color.RED)));
+        assertNull(cache.get(new CGlassImageCache.Key("strip", 10, 10, 3, glass(0.5), Color.RED)));
+        assertNull(cache.get(new CGlassImageCache.Key("tab", 10, 10, 3, glass(0.5), null)));
+        assertEquals(400, cache.getSize());
+    }
+
+    @Test
+    public void leastRecentlyUsedImagesAreEvicted() {
+        CGlassImageCache cache = new CGlassImageCache(CGlassImageCache.DEFAULT_CAPACITY);
+        assertEquals(8L * 1024 * 1024, cache.getCapacity());
+
+        // each image uses exactly 1 MB
+        BufferedImage[] images = new BufferedImage[8];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = image(512, 512);
+            cache.put(key(i), images[i]);
+        }
+        assertEquals(CGlassImageCache.DEFAULT_CAPACITY, cache.getSize());
+
+        assertSame(images[0], cache.get(key(0)));
+        BufferedImage next = image(512, 512);
+        cache.put(key(8), next);
+
+        assertEquals(CGlassImageCache.DEFAULT_CAPACITY, cache.getSize());
+        assertSame(images[0], cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+        assertSame(images[2], cache.get(key(2)));
+        assertSame(next, cache.get(key(8)));
+
+        // replacing an image does not count it twice
+        cache.put(key(8), image(512, 512));
+        assertEquals(CGlassImageCache.DEFAULT_CAPACITY, cache.getSize());
+        assertSame(images[3], cache.get(key(3)));
+
+        // images bigger than the whole cache are never stored
+        cache.put(key(9), image(2048, 1025));
+        assertNull(cache.get(key(9)));
+        assertEquals(CGlassImageCache.DEFAULT_CAPACITY, cache.getSize());
+    }
+
+    @Test
+    public void shrinkingEvicts() {
+        CGlassImageCache cache = new CGlassImageCache(CGlassImageCache.DEFAULT_CAPACITY);
+        for (int i = 0; i < 4; i++) {
+            cache.put(key(i), image(512, 512));
+        }
+        cache.get(key(0));
+
+        cache.setCapacity(2L * 1024 * 1024);
+        assertEquals(2L * 1024 * 1024, cache.getSize());
+        assertNotNull(cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+        assertNull(cache.get(key(2)));
+        assertNotNull(cache.get(key(3)));
+
+        cache.setCapacity(0);
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get(key(0)));
+        assertThrows(IllegalArgumentException.class, () -> cache.setCapacity(-1));
+    }
+
+    @Test
+    public void colorSchemeClearsCache() {
+        CGlassImageCache cache = CGlassImageCache.getInstance();
+        cache.put(key(0), image(10, 10));
+        assertNotNull(cache.get(key(0)));
+
+        new CGlassEclipseColorSchemeExtension();
+        assertNull(cache.get(key(0)));
+        assertEquals(0, cache.getSize());
+    }
+
+    private static CGlassImageCache.Key key(int index) {
+        return new CGlassImageCache.Key("tab", 512, 512, index, glass(0.5), null);
+    }
+
+    private static SGlassParameter glass(double intensity) {
+        return new SGlassParameter(0.0, 0.0, 0.4, 0.63, 0.0, 0.0, null, null, null, 0.27, 0.85, intensity, 0.49);
+    }
+
+    private static BufferedImage image(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
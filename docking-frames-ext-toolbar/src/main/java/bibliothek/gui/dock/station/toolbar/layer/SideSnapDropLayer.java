@@ -36,6 +36,7 @@ import bibliothek.gui.dock.ToolbarDockStation;
 import bibliothek.gui.dock.ToolbarGroupDockStation;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 
 import javax.swing.*;
 import java.awt.*;
@@ -94,6 +95,12 @@ public class SideSnapDropLayer implements DockStationDropLayer {
         return child;
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        // contains compares the mouse with the bounds of the component relative to its parent
+        return DockUtilities.getScreenBoundsWithParentOffset(getComponent(), station.getBorderSideSnapSize());
+    }
+
     @Override
     public boolean contains(int x, int y) {
         if (!station.isAllowSideSnap()) {
@@ -35,6 +35,7 @@ import bibliothek.gui.dock.ToolbarContainerDockStation;
 import bibliothek.gui.dock.station.layer.DefaultDropLayer;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 
 import javax.swing.*;
 import java.awt.*;
@@ -58,6 +59,11 @@ public class ToolbarContainerDropLayer extends DefaultDropLayer {
         return station.getComponent();
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        return DockUtilities.getScreenBounds(getComponent(), station.getSideSnapSize());
+    }
+
     @Override
     public boolean contains(int x, int y) {
         Component component = getComponent();
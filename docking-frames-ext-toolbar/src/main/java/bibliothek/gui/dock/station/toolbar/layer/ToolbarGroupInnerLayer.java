@@ -34,6 +34,7 @@ import bibliothek.gui.dock.ToolbarGroupDockStation;
 import bibliothek.gui.dock.station.StationChildHandle;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.station.toolbar.layout.ToolbarGridLayoutManager;
 
 import javax.swing.*;
@@ -72,6 +73,11 @@ public class ToolbarGroupInnerLayer implements DockStationDropLayer {
         return 0;
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        return DockUtilities.getScreenBounds(component, 0);
+    }
+
     @Override
     public boolean contains(int x, int y) {
         final Point mouseCoord = new Point(x, y);
@@ -35,6 +35,7 @@ import bibliothek.gui.dock.ToolbarGroupDockStation;
 import bibliothek.gui.dock.station.StationChildHandle;
 import bibliothek.gui.dock.station.layer.DockStationDropLayer;
 import bibliothek.gui.dock.station.layer.LayerPriority;
+import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.station.toolbar.layout.ToolbarGridLayoutManager;
 
 import javax.swing.*;
@@ -63,6 +64,12 @@ public class ToolbarGroupOuterLayer extends ToolbarGroupInnerLayer {
         return child;
     }
 
+    @Override
+    public Rectangle getScreenBounds() {
+        // contains compares the mouse with the bounds of the component relative to its parent
+        return DockUtilities.getScreenBoundsWithParentOffset(getComponent(), getStation().getBorderSideSnapSize());
+    }
+
     @Override
     public boolean contains(int x, int y) {
         ToolbarGroupDockStation station = getStation();
@@ -83,6 +83,12 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      */
     private Wrapper[][] cachedComponents;
 
+    /**
+     * the positions of columns and lines as they were when {@link #layoutContainer(Container)} was called the last
+     * time, <code>null</code> if not yet known or outdated
+     */
+    private Geometry geometry;
+
     private enum Size {
         MAXIMUM, MINIMUM, PREFERRED;
 
@@ -168,6 +174,7 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      * @param column the column where an item is inserted
      */
     public void mutate(int column) {
+        geometry = null;
         spans.mutate(column);
     }
 
@@ -178,6 +185,7 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      * @param line   the location of the new item
      */
     public void mutate(int column, int line) {
+        geometry = null;
         spans.mutate(column, line);
     }
 
@@ -256,16 +264,19 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
     @Override
     public void addLayoutComponent(String name, Component comp) {
         cachedComponents = null;
+        geometry = null;
     }
 
     @Override
     public void removeLayoutComponent(Component comp) {
         cachedComponents = null;
+        geometry = null;
     }
 
     @Override
     public void addLayoutComponent(Component comp, Object constraints) {
         cachedComponents = null;
+        geometry = null;
     }
 
     /**
@@ -277,6 +288,11 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      * @see #isColumnAt(int)
      */
     public int getColumnAt(int location) {
+        Geometry current = geometry();
+        if (current != null) {
+            return current.getColumnAt(location);
+        }
+
         int index = 0;
 
         for (int i = 0, n = grid.getColumnCount(); i < n; i++) {
@@ -305,6 +321,11 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      * @see #getColumnAt(int)
      */
     public boolean isColumnAt(int location) {
+        Geometry current = geometry();
+        if (current != null) {
+            return current.isColumnAt(location);
+        }
+
         for (int i = 0, n = grid.getColumnCount(); i < n; i++) {
             Rectangle bounds = getBounds(i);
 
@@ -330,6 +351,11 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
      * @return the best line to insert a new item or -1
      */
     public int getInsertionLineAt(int column, int location) {
+        Geometry current = geometry();
+        if (current != null) {
+            return current.getInsertionLineAt(column, location);
+        }
+
         int count = grid.getLineCount(column);
         for (int i = 0; i < count; i++) {
             Rectangle bounds = getBounds(column, i);
@@ -466,11 +492,26 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
         } else {
             layout(parent, components, layoutSize(parent, components, Size.MINIMUM), available, Size.MINIMUM);
         }
+        geometry = Geometry.create(this, components);
         for (ToolbarGridLayoutManagerListener listener : listeners) {
             listener.didLayout(parent);
         }
     }
 
+    /**
+     * Gets the positions of the columns and lines as they were after the last layout, if the components did not
+     * change since then.
+     *
+     * @return the cached positions or <code>null</code> if they have to be calculated by asking each cell
+     */
+    private Geometry geometry() {
+        Geometry current = geometry;
+        if (current == null || current.cells != layout()) {
+            return null;
+        }
+        return current;
+    }
+
     /**
      * Layouts <code>components</code> such that they fit into
      * <code>available</code>.
@@ -640,6 +681,7 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
     @Override
     public void invalidateLayout(Container target) {
         cachedComponents = null;
+        geometry = null;
     }
 
     /**
@@ -865,6 +907,129 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
         }
     }
 
+    /**
+     * The positions of columns and lines after a layout, stored such that the column or line at some location can be
+     * found with a binary search. Ends and centers are stored as running maxima, hence searching the first entry
+     * beyond a location gives the same result as checking the entries one after the other.
+     *
+     * @author Benjamin Sigg
+     */
+    private static class Geometry {
+        /**
+         * the cells for which this geometry was calculated
+         */
+        private final Wrapper[][] cells;
+
+        /**
+         * the first coordinate covered by each column, orthogonal to the orientation of the columns
+         */
+        private final int[] columnStarts;
+
+        /**
+         * the first coordinate after each column, orthogonal to the orientation of the columns
+         */
+        private final int[] columnEnds;
+
+        /**
+         * for each column the centers of its lines, parallel to the orientation of the columns
+         */
+        private final int[][] lineCenters;
+
+        private Geometry(Wrapper[][] cells, int[] columnStarts, int[] columnEnds, int[][] lineCenters) {
+            this.cells = cells;
+            this.columnStarts = columnStarts;
+            this.columnEnds = columnEnds;
+            this.lineCenters = lineCenters;
+        }
+
+        /**
+         * Collects the current boundaries of all the cells of <code>manager</code>.
+         *
+         * @param manager the layout manager that just finished a layout
+         * @param cells   the cells that were laid out
+         * @return the new geometry or <code>null</code> if some column has no cells
+         */
+        public static Geometry create(ToolbarGridLayoutManager<?> manager, Wrapper[][] cells) {
+            int[] columnStarts = new int[cells.length];
+            int[] columnEnds = new int[cells.length];
+            int[][] lineCenters = new int[cells.length][];
+            boolean vertical = manager.orientation == Orientation.VERTICAL;
+
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i].length == 0) {
+                    return null;
+                }
+                Rectangle bounds = manager.getBounds(i, cells);
+                if (vertical) {
+                    columnStarts[i] = bounds.x;
+                    columnEnds[i] = bounds.x + bounds.width;
+                } else {
+                    columnStarts[i] = bounds.y;
+                    columnEnds[i] = bounds.y + bounds.height;
+                }
+                if (i > 0) {
+                    columnEnds[i] = Math.max(columnEnds[i], columnEnds[i - 1]);
+                }
+
+                int[] centers = new int[cells[i].length];
+                for (int j = 0; j < centers.length; j++) {
+                    Rectangle cell = cells[i][j].getBounds();
+                    if (vertical) {
+                        centers[j] = cell.y + cell.height / 2;
+                    } else {
+                        centers[j] = cell.x + cell.width / 2;
+                    }
+                    if (j > 0) {
+                        centers[j] = Math.max(centers[j], centers[j - 1]);
+                    }
+                }
+                lineCenters[i] = centers;
+            }
+
+            return new Geometry(cells, columnStarts, columnEnds, lineCenters);
+        }
+
+        /**
+         * Searches the first index in <code>values</code> whose value is greater than <code>location</code>, or
+         * greater or equal if <code>inclusive</code> is set.
+         *
+         * @param values    a sorted array
+         * @param location  the location to search
+         * @param inclusive whether a value equal to <code>location</code> is a match
+         * @return the first matching index or <code>values.length</code>
+         */
+        private static int search(int[] values, int location, boolean inclusive) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] > location || (inclusive && values[mid] == location)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        public int getColumnAt(int location) {
+            int index = search(columnEnds, location, false);
+            if (index == columnEnds.length) {
+                return Math.max(0, index - 1);
+            }
+            return index;
+        }
+
+        public boolean isColumnAt(int location) {
+            int index = search(columnEnds, location, false);
+            return index < columnEnds.length && columnStarts[index] <= location;
+        }
+
+        public int getInsertionLineAt(int column, int location) {
+            return search(lineCenters[column], location, true);
+        }
+    }
+
     /**
      * A wrapper around one {@link Component}, caches minimal, maximal or
      * preferred size.
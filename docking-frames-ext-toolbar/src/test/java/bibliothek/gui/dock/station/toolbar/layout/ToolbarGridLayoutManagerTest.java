@@ -0,0 +1,96 @@
+package bibliothek.gui.dock.station.toolbar.layout;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Orientation;
+import bibliothek.gui.dock.ToolbarDockStation;
+import bibliothek.gui.dock.ToolbarGroupDockStation;
+import bibliothek.gui.dock.ToolbarItemDockable;
+import bibliothek.gui.dock.control.SingleParentRemover;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ToolbarGridLayoutManagerTest {
+    @Test
+    public void cachedGeometryMatchesCells() {
+        for (Orientation orientation : Orientation.values()) {
+            DockController controller = new DockController();
+            controller.setSingleParentRemover(new SingleParentRemover() {
+                @Override
+                protected boolean test(DockStation station) {
+                    return false;
+                }
+            });
+            try {
+                ToolbarGroupDockStation station = new ToolbarGroupDockStation();
+                controller.add(station);
+                station.setOrientation(orientation);
+
+                int[] lines = {3, 1, 4, 2};
+                for (int column = 0; column < lines.length; column++) {
+                    for (int line = 0; line < lines[column]; line++) {
+                        ToolbarDockStation toolbar = new ToolbarDockStation();
+                        toolbar.drop(new ToolbarItemDockable(new JButton("c" + column + "l" + line)));
+                        station.drop(toolbar, column, line, true);
+                    }
+                }
+
+                ToolbarGridLayoutManager<?> manager = station.getLayoutManager();
+                Container parent = find(station.getComponent(), manager);
+                assertNotNull(parent);
+                parent.setSize(parent.getPreferredSize());
+                parent.doLayout();
+
+                int size = Math.max(parent.getWidth(), parent.getHeight());
+                int[][] cached = probe(manager, station, size);
+                manager.invalidateLayout(parent);
+                int[][] scanned = probe(manager, station, size);
+
+                for (int i = 0; i < cached.length; i++) {
+                    assertEquals(scanned[i][0], cached[i][0], "column at " + i);
+                    assertEquals(scanned[i][1], cached[i][1], "is column at " + i);
+                    for (int column = 0; column < lines.length; column++) {
+                        assertEquals(scanned[i][2 + column], cached[i][2 + column], "line at " + column + "/" + i);
+                    }
+                }
+            } finally {
+                controller.kill();
+            }
+        }
+    }
+
+    private int[][] probe(ToolbarGridLayoutManager<?> manager, ToolbarGroupDockStation station, int size) {
+        int columns = station.columnCount();
+        int[][] result = new int[size + 20][];
+        for (int i = 0; i < result.length; i++) {
+            int location = i - 10;
+            result[i] = new int[2 + columns];
+            result[i][0] = manager.getColumnAt(location);
+            result[i][1] = manager.isColumnAt(location) ? 1 : 0;
+            for (int column = 0; column < columns; column++) {
+                result[i][2 + column] = manager.getInsertionLineAt(column, location);
+            }
+        }
+        return result;
+    }
+
+    private Container find(Component component, LayoutManager manager) {
+        if (component instanceof Container container) {
+            if (container.getLayout() == manager) {
+                return container;
+            }
+            for (Component child : container.getComponents()) {
+                Container result = find(child, manager);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+}